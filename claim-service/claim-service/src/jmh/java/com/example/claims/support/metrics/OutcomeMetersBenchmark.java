@@ -0,0 +1,108 @@
+package com.example.claims.support.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import io.micrometer.prometheusmetrics.PrometheusConfig;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Vergleicht die Instrumentierung eines Requests (Timer + Counter je method/outcome):
+ *
+ * - {@link #builderPerRequest}: bisheriges Muster, Timer.builder/Counter.builder + register pro Request
+ * - {@link #outcomeMeters}: vorab aufgelöste Meter über {@link OutcomeMeters}
+ *
+ * {@code lightweight=true} entspricht claims.metrics.lightweight (keine clientseitigen Percentile).
+ *
+ * Ausführen (Allokationen pro Operation in gc.alloc.rate.norm):
+ * <pre>
+ * mvn -Pjmh test-compile exec:exec -Djmh.args="OutcomeMetersBenchmark -prof gc"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OutcomeMetersBenchmark {
+
+    enum Endpoint {
+        SUBMIT_CLAIM,
+        GET_CLAIM
+    }
+
+    @Param({"false", "true"})
+    public boolean lightweight;
+
+    private MeterRegistry meterRegistry;
+    private OutcomeMeters<Endpoint> meters;
+
+    @Setup
+    public void setUp() {
+        meterRegistry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+        if (lightweight) {
+            meterRegistry.config().meterFilter(new MeterFilter() {
+                @Override
+                public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+                    return DistributionStatisticConfig.builder()
+                            .percentiles(new double[0])
+                            .build()
+                            .merge(config);
+                }
+            });
+        }
+
+        meters = OutcomeMeters.builder(Endpoint.class, "method")
+                .timer("claims.rest.latency", "REST latency per claims endpoint")
+                .counter("claims.rest.requests", "REST request count per claims endpoint")
+                .register(meterRegistry);
+
+        // gleiche Meter-IDs vorab registrieren, damit beide Varianten nur den Hot Path messen
+        builderPerRequest();
+    }
+
+    @Benchmark
+    public void builderPerRequest() {
+        Timer.Sample sample = Timer.start(meterRegistry);
+
+        Counter.builder("claims.rest.requests")
+                .description("REST request count per claims endpoint")
+                .tag("method", "SUBMIT_CLAIM")
+                .tag("outcome", "success")
+                .register(meterRegistry)
+                .increment();
+
+        sample.stop(
+                Timer.builder("claims.rest.latency")
+                        .description("REST latency per claims endpoint")
+                        .tag("method", "SUBMIT_CLAIM")
+                        .tag("outcome", "success")
+                        .publishPercentileHistogram(true)
+                        .publishPercentiles(0.5, 0.95, 0.99)
+                        .register(meterRegistry)
+        );
+    }
+
+    @Benchmark
+    public void outcomeMeters() {
+        long start = System.nanoTime();
+        meters.record(Endpoint.SUBMIT_CLAIM, Outcome.SUCCESS, start);
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.claims.api.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Request-DTO für das Anlegen mehrerer Schadenfälle in einem Aufruf (POST /claims/batch).
+ *
+ * Die einzelnen Einträge werden pro Eintrag validiert: ungültige Einträge werden in der
+ * Antwort abgelehnt, ohne den Rest des Batches zu verwerfen.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ClaimBatchCreateRequest {
+
+    @NotEmpty
+    private List<ClaimCreateRequest> claims;
+}
@@ -0,0 +1,23 @@
+package com.example.claims.api.dto;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Ergebnis eines Eintrags aus POST /claims/batch: {@code claim} bei CREATED,
+ * {@code error} bei REJECTED. {@code index} ist die Position im Request.
+ */
+@Value
+@Builder
+public class ClaimBatchItemResponse {
+
+    public enum Status {
+        CREATED,
+        REJECTED
+    }
+
+    int index;
+    Status status;
+    ClaimResponse claim;
+    String error;
+}
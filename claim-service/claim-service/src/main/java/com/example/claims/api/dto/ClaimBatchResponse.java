@@ -0,0 +1,15 @@
+package com.example.claims.api.dto;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.List;
+
+@Value
+@Builder
+public class ClaimBatchResponse {
+
+    int created;
+    int rejected;
+    List<ClaimBatchItemResponse> results;
+}
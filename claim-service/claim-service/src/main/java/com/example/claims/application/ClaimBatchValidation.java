@@ -0,0 +1,26 @@
+package com.example.claims.application;
+
+import com.example.claims.infrastructure.policy.PolicySummary;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Ergebnis der Downstream-Prüfungen für einen Batch-Submit: jede Policy und jeder Kunde
+ * des Batches genau einmal. Fehlende Einträge gelten wie im Einzelpfad als
+ * "keine Policy" bzw. "Kunde ungültig".
+ */
+public record ClaimBatchValidation(
+        Map<UUID, PolicySummary> policies,
+        Map<UUID, Boolean> customers
+) {
+
+    public Optional<PolicySummary> policy(UUID policyId) {
+        return Optional.ofNullable(policies.get(policyId));
+    }
+
+    public boolean customerValid(UUID customerId) {
+        return Boolean.TRUE.equals(customers.get(customerId));
+    }
+}
@@ -2,6 +2,8 @@ package com.example.claims.application;
 
 import com.example.claims.domain.Claim;
 
+import java.util.List;
+
 /**
  * ClaimIntegrationService kapselt die Kommunikation zu nachgelagerten Systemen,
  * die über Statusänderungen eines Claims informiert werden sollen.
@@ -13,6 +15,14 @@ public interface ClaimIntegrationService {
 
     void onClaimSubmitted(Claim claim);
 
+    /**
+     * Mehrere neu eingereichte Claims (Batch-Submit, Write-Combiner).
+     * Default: einzeln; event-driven publiziert die Events gemeinsam.
+     */
+    default void onClaimsSubmitted(List<Claim> claims) {
+        claims.forEach(this::onClaimSubmitted);
+    }
+
     void onClaimInReview(Claim claim);
 
     void onClaimApproved(Claim claim);
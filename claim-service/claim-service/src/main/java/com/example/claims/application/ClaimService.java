@@ -5,6 +5,7 @@ import com.example.claims.domain.Claim;
 import java.math.BigDecimal;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 public interface ClaimService {
 
@@ -16,6 +17,24 @@ public interface ClaimService {
                       String description,
                       BigDecimal reportedAmount);
 
+    /**
+     * Asynchrone Variante von {@link #submitClaim} für den nicht-blockierenden gRPC-Pfad:
+     * Policy-/Customer-Prüfung über die asynchronen Clients, Insert auf einem eigenen Executor.
+     */
+    CompletableFuture<Claim> submitClaimAsync(UUID policyId,
+                                              UUID customerId,
+                                              String description,
+                                              BigDecimal reportedAmount);
+
+    /**
+     * Mehrere Claims auf einmal einreichen (Batch-Submit): Policy- und Customer-Prüfung je
+     * unterschiedlicher ID nur einmal, ein Batch-INSERT in einer Transaktion, Events gemeinsam.
+     * Die Claims werden gemeinsam gespeichert oder gar nicht.
+     *
+     * @return die gespeicherten Claims in der Reihenfolge der Eingabe
+     */
+    List<Claim> submitClaims(List<ClaimSubmission> submissions);
+
     /**
      * Übergang SUBMITTED -> IN_REVIEW.
      */
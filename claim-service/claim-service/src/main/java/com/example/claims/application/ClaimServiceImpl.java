@@ -1,30 +1,65 @@
 package com.example.claims.application;
 
+import com.example.claims.application.ClaimStageMetrics.Operation;
+import com.example.claims.application.ClaimStageMetrics.Stage;
+import com.example.claims.application.ClaimStageMetrics.StageClock;
 import com.example.claims.domain.Claim;
 import com.example.claims.domain.ClaimStatus;
+import com.example.claims.domain.ClaimTransition;
 import com.example.claims.application.ClaimIntegrationService;
+import com.example.claims.infrastructure.persistence.ClaimBatchInsertJdbcRepository;
 import com.example.claims.infrastructure.persistence.ClaimEntity;
 import com.example.claims.infrastructure.persistence.ClaimEntityMapper;
 import com.example.claims.infrastructure.persistence.ClaimJpaRepository;
-import com.example.claims.infrastructure.policy.PolicyClient;
+import com.example.claims.infrastructure.persistence.ClaimTransitionJdbcRepository;
+import com.example.claims.infrastructure.persistence.DbOperationContext;
+import com.example.claims.infrastructure.policy.PolicySummary;
+import com.example.claims.support.error.ClaimBatchTooLargeException;
 import com.example.claims.support.error.ClaimNotFoundException;
 import com.example.claims.support.error.InvalidClaimStateException;
+import com.example.claims.support.id.IdGenerator;
+import io.micrometer.core.instrument.DistributionSummary;
 import io.micrometer.core.instrument.MeterRegistry;
-import com.example.claims.infrastructure.customer.CustomerClient;
 import io.micrometer.core.instrument.Timer;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.time.OffsetDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
-
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Transaktionsgrenzen werden bewusst programmatisch gesetzt: Remote-Aufrufe an
+ * Policy-/Customer-Service laufen ohne gehaltene DB-Verbindung, nur Insert/Update und
+ * Event-Übergabe laufen innerhalb der Transaktion. Jede Transaktion wird mit der
+ * Operation markiert ({@link DbOperationContext}), damit die Haltezeit der Verbindung
+ * pro Operation messbar ist.
+ *
+ * Schreibende Operationen erfassen zusätzlich die Dauer je Teilschritt ({@link ClaimStageMetrics}).
+ *
+ * Mit {@code claims.transitions.single-statement} laufen Statusübergänge als ein bedingtes
+ * UPDATE ... RETURNING ({@link ClaimTransitionJdbcRepository}) statt Laden, Merge und Mapping.
+ *
+ * Mit {@code claims.submit.write-combiner.enabled} werden neue Claims nicht einzeln gespeichert,
+ * sondern über den {@link ClaimWriteCombiner} gesammelt in einer Transaktion geschrieben.
+ *
+ * Batch-Submits ({@link #submitClaims}) prüfen jede Policy und jeden Kunden nur einmal und
+ * schreiben alle Claims mit einem Batch-INSERT ({@link ClaimBatchInsertJdbcRepository}).
+ */
 @Service
-@RequiredArgsConstructor
-@Transactional
 @Slf4j
 public class ClaimServiceImpl implements ClaimService {
 
@@ -32,8 +67,69 @@ public class ClaimServiceImpl implements ClaimService {
     private final ClaimEntityMapper claimEntityMapper;
     private final ClaimIntegrationService claimIntegrationService;
     private final MeterRegistry meterRegistry;
-    private final PolicyClient policyClient;
-    private final CustomerClient customerClient;
+    private final ClaimSubmissionValidator claimSubmissionValidator;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+    private final Executor claimPersistenceExecutor;
+    private final ClaimStageMetrics claimStageMetrics;
+    private final ClaimTransitionJdbcRepository claimTransitionRepository;
+    private final ClaimBatchInsertJdbcRepository claimBatchInsertRepository;
+    private final IdGenerator idGenerator;
+    // null, wenn der Write-Combiner nicht aktiviert ist
+    private final ClaimWriteCombiner writeCombiner;
+    private final boolean singleStatementTransitions;
+    private final int maxSubmitBatchSize;
+    private final DistributionSummary submitBatchSize;
+
+    public ClaimServiceImpl(ClaimJpaRepository claimRepository,
+                            ClaimEntityMapper claimEntityMapper,
+                            ClaimIntegrationService claimIntegrationService,
+                            MeterRegistry meterRegistry,
+                            ClaimSubmissionValidator claimSubmissionValidator,
+                            PlatformTransactionManager transactionManager,
+                            @Qualifier("claimPersistenceExecutor") Executor claimPersistenceExecutor,
+                            ClaimStageMetrics claimStageMetrics,
+                            ClaimTransitionJdbcRepository claimTransitionRepository,
+                            ClaimBatchInsertJdbcRepository claimBatchInsertRepository,
+                            IdGenerator idGenerator,
+                            ObjectProvider<ClaimWriteCombiner> writeCombiner,
+                            @Value("${claims.transitions.single-statement:false}") boolean singleStatementTransitions,
+                            @Value("${claims.submit.batch.max-size:100}") int maxSubmitBatchSize) {
+        this.claimRepository = claimRepository;
+        this.claimEntityMapper = claimEntityMapper;
+        this.claimIntegrationService = claimIntegrationService;
+        this.meterRegistry = meterRegistry;
+        this.claimSubmissionValidator = claimSubmissionValidator;
+        this.claimPersistenceExecutor = claimPersistenceExecutor;
+        this.claimStageMetrics = claimStageMetrics;
+        this.claimTransitionRepository = claimTransitionRepository;
+        this.claimBatchInsertRepository = claimBatchInsertRepository;
+        this.idGenerator = idGenerator;
+        this.writeCombiner = writeCombiner.getIfAvailable();
+        this.singleStatementTransitions = singleStatementTransitions;
+        this.maxSubmitBatchSize = maxSubmitBatchSize;
+        this.submitBatchSize = DistributionSummary.builder("claims_submit_batch_size")
+                .description("Number of claims per batch submission")
+                .publishPercentileHistogram(true)
+                .register(meterRegistry);
+
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+    }
+
+    // Helper: führt die Arbeit in einer Transaktion aus, markiert mit der Operation
+    private <T> T inTransaction(String operation, Supplier<T> work) {
+        try (var ignored = DbOperationContext.open(operation)) {
+            return transactionTemplate.execute(status -> work.get());
+        }
+    }
+
+    private <T> T inReadOnlyTransaction(String operation, Supplier<T> work) {
+        try (var ignored = DbOperationContext.open(operation)) {
+            return readOnlyTransactionTemplate.execute(status -> work.get());
+        }
+    }
 
     // Helper: Timer für eine Operation mit Tag "operation"
     private Timer timer(String operation) {
@@ -72,169 +168,367 @@ public class ClaimServiceImpl implements ClaimService {
 
         return timer("submit").record(() -> {
             incrementCounter("submit");
+            StageClock clock = claimStageMetrics.start(Operation.SUBMIT);
+
+            try {
+                // -------------------------------------------------------------
+                // 1) Policy-Lookup und Customer-Validierung (sequenziell oder Fan-out)
+                // -------------------------------------------------------------
+                log.info("ClaimServiceImpl.submitClaim: validating policyId={} and customerId={}", policyId, customerId);
+
+                ClaimSubmissionValidation validation = claimSubmissionValidator.validate(policyId, customerId);
+
+                // -------------------------------------------------------------
+                // 2) Claim-Domainobjekt erzeugen und speichern
+                //    (erst hier wird eine DB-Verbindung bezogen)
+                // -------------------------------------------------------------
+                if (writeCombiner != null) {
+                    Claim claim = newSubmittedClaim(policyId, customerId, description, reportedAmount, validation, clock);
+                    return awaitCombinedWrite(claim, clock);
+                }
+                return persistSubmittedClaim(policyId, customerId, description, reportedAmount, validation, clock);
+            } finally {
+                clock.finish();
+            }
+        });
+    }
+
+    @Override
+    public CompletableFuture<Claim> submitClaimAsync(UUID policyId,
+                                                     UUID customerId,
+                                                     String description,
+                                                     BigDecimal reportedAmount) {
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+        incrementCounter("submit");
+        StageClock clock = claimStageMetrics.start(Operation.SUBMIT);
+
+        log.info("ClaimServiceImpl.submitClaimAsync: validating policyId={} and customerId={}", policyId, customerId);
+
+        CompletableFuture<ClaimSubmissionValidation> validated = claimSubmissionValidator.validateAsync(policyId, customerId);
+
+        // Validierung blockiert keinen Thread, erst der Insert wechselt auf den Persistenz-Executor;
+        // mit Write-Combiner wird gar nicht blockiert, das Future endet mit dem Commit des Batches
+        CompletableFuture<Claim> persisted = writeCombiner != null
+                ? validated.thenCompose(validation -> combinedWrite(
+                        newSubmittedClaim(policyId, customerId, description, reportedAmount, validation, clock), clock))
+                : validated.thenApplyAsync(
+                        validation -> persistSubmittedClaim(policyId, customerId, description, reportedAmount, validation, clock),
+                        claimPersistenceExecutor);
+
+        return persisted
+                .whenComplete((claim, ex) -> {
+                    clock.finish();
+                    sample.stop(timer("submit"));
+                });
+    }
 
-            // -----------------------------------------------------------------
-            // 1) Policy-Lookup über PolicyService
-            // -----------------------------------------------------------------
-            log.info("ClaimServiceImpl.submitClaim: calling PolicyService for policyId={}", policyId);
-
-            policyClient.getPolicyById(policyId)
-                    .ifPresentOrElse(
-                            policy -> {
-                                incrementPolicyLookupCounter("found");
-                                log.info("PolicyService returned policy {} for policyId={}",
-                                        policy.policyNumber(), policyId);
-                            },
-                            () -> {
-                                incrementPolicyLookupCounter("not_found");
-                                log.warn("PolicyService did not return a policy for policyId={}", policyId);
-                            }
-                    );
-
-            // -----------------------------------------------------------------
-            // 2) Customer-Validierung über CustomerService
-            // -----------------------------------------------------------------
-            log.info("ClaimServiceImpl.submitClaim: calling CustomerService for customerId={}", customerId);
-
-            boolean customerValid = customerClient.isCustomerDataValid(customerId);
-
-            if (customerValid) {
-                incrementCustomerValidationCounter("valid");
-                log.info("CustomerService reports valid customer data for customerId={}", customerId);
-            } else {
-                incrementCustomerValidationCounter("invalid_or_not_found");
-                log.warn("CustomerService reports invalid or missing customer data for customerId={}", customerId);
+    @Override
+    public List<Claim> submitClaims(List<ClaimSubmission> submissions) {
+        if (submissions.size() > maxSubmitBatchSize) {
+            throw new ClaimBatchTooLargeException(submissions.size(), maxSubmitBatchSize);
+        }
+        if (submissions.isEmpty()) {
+            return List.of();
+        }
+
+        return timer("submitBatch").record(() -> {
+            incrementCounter("submitBatch");
+            submitBatchSize.record(submissions.size());
+
+            log.info("ClaimServiceImpl.submitClaims: validating {} claims", submissions.size());
+
+            ClaimBatchValidation validation = claimSubmissionValidator.validateAll(
+                    submissions.stream().map(ClaimSubmission::policyId).toList(),
+                    submissions.stream().map(ClaimSubmission::customerId).toList());
+
+            List<Claim> claims = new ArrayList<>(submissions.size());
+            for (ClaimSubmission submission : submissions) {
+                Claim claim = createSubmittedClaim(
+                        submission.policyId(),
+                        submission.customerId(),
+                        submission.description(),
+                        submission.reportedAmount(),
+                        validation.policy(submission.policyId()),
+                        validation.customerValid(submission.customerId()));
+                // wie im Einzelpfad: Beträge so, wie sie nach dem Speichern gelesen würden (double-Spalten)
+                claims.add(claimEntityMapper.toDomain(claimEntityMapper.toNewEntity(claim)));
             }
 
-            // -----------------------------------------------------------------
-            // 3) Claim-Domainobjekt erzeugen und speichern
-            // -----------------------------------------------------------------
-            var now = OffsetDateTime.now();
-
-            Claim claim = Claim.builder()
-                    .id(UUID.randomUUID())
-                    .policyId(policyId)
-                    .customerId(customerId)
-                    .description(description)
-                    .reportedAmount(reportedAmount)
-                    .status(ClaimStatus.SUBMITTED)
-                    .approved(false)
-                    .approvedAmount(null)
-                    .decisionReason(null)
-                    .createdAt(now)
-                    .lastUpdatedAt(now)
-                    .build();
-
-            ClaimEntity entity = claimEntityMapper.toEntity(claim);
+            return inTransaction("submitBatch", () -> {
+                claimBatchInsertRepository.insertAll(claims);
+
+                // event-driven: alle CLAIM_SUBMITTED-Events gemeinsam, sonst No-Op
+                claimIntegrationService.onClaimsSubmitted(claims);
+                return claims;
+            });
+        });
+    }
+
+    private Claim persistSubmittedClaim(UUID policyId,
+                                        UUID customerId,
+                                        String description,
+                                        BigDecimal reportedAmount,
+                                        ClaimSubmissionValidation validation,
+                                        StageClock clock) {
+
+        Claim claim = newSubmittedClaim(policyId, customerId, description, reportedAmount, validation, clock);
+
+        Claim persisted = inTransaction("submit", () -> {
+            clock.lap(Stage.TRANSACTION);
+
+            ClaimEntity entity = claimEntityMapper.toNewEntity(claim);
+            clock.lap(Stage.MAPPING);
+
             ClaimEntity saved = claimRepository.save(entity);
+            clock.lap(Stage.SAVE);
 
             Claim result = claimEntityMapper.toDomain(saved);
+            clock.lap(Stage.MAPPING);
 
             // event-driven Integration (Kafka) oder No-Op – je nach Profil
             claimIntegrationService.onClaimSubmitted(result);
+            clock.lap(Stage.INTEGRATION);
 
             return result;
         });
+        clock.lap(Stage.TRANSACTION);
+        return persisted;
     }
 
-    @Override
-    public Claim startReview(UUID claimId) {
-        return timer("startReview").record(() -> {
-            incrementCounter("startReview");
-
-            ClaimEntity entity = claimRepository.findById(claimId)
-                    .orElseThrow(() -> new ClaimNotFoundException(claimId));
+    // Queue-Wartezeit, Batch-INSERT, Integration und Commit zählen hier als Stage "transaction"
+    private CompletableFuture<Claim> combinedWrite(Claim claim, StageClock clock) {
+        return writeCombiner.submit(claim)
+                .thenApply(persisted -> {
+                    clock.lap(Stage.TRANSACTION);
+                    return persisted;
+                });
+    }
 
-            Claim domain = claimEntityMapper.toDomain(entity);
-            domain.startReview();
+    private Claim awaitCombinedWrite(Claim claim, StageClock clock) {
+        try {
+            return combinedWrite(claim, clock).join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
 
-            ClaimEntity updated = claimEntityMapper.toEntity(domain);
-            updated = claimRepository.save(updated);
+    // Validierungsergebnis protokollieren und den neuen Claim im Status SUBMITTED erzeugen
+    private Claim newSubmittedClaim(UUID policyId,
+                                    UUID customerId,
+                                    String description,
+                                    BigDecimal reportedAmount,
+                                    ClaimSubmissionValidation validation,
+                                    StageClock clock) {
+
+        // Zweige wurden bereits im Validator gemessen (im Fan-out-Modus überlappend)
+        clock.add(Stage.POLICY_LOOKUP, validation.policyLookupNanos());
+        clock.add(Stage.CUSTOMER_VALIDATION, validation.customerValidationNanos());
+        clock.skip();
+
+        Claim claim = createSubmittedClaim(policyId, customerId, description, reportedAmount,
+                validation.policy(), validation.customerValid());
+        clock.lap(Stage.MAPPING);
+        return claim;
+    }
 
-            Claim result = claimEntityMapper.toDomain(updated);
+    private Claim createSubmittedClaim(UUID policyId,
+                                       UUID customerId,
+                                       String description,
+                                       BigDecimal reportedAmount,
+                                       Optional<PolicySummary> policyLookup,
+                                       boolean customerValid) {
+
+        policyLookup
+                .ifPresentOrElse(
+                        policy -> {
+                            incrementPolicyLookupCounter("found");
+                            log.info("PolicyService returned policy {} for policyId={}",
+                                    policy.policyNumber(), policyId);
+                        },
+                        () -> {
+                            incrementPolicyLookupCounter("not_found");
+                            log.warn("PolicyService did not return a policy for policyId={}", policyId);
+                        }
+                );
+
+        if (customerValid) {
+            incrementCustomerValidationCounter("valid");
+            log.info("CustomerService reports valid customer data for customerId={}", customerId);
+        } else {
+            incrementCustomerValidationCounter("invalid_or_not_found");
+            log.warn("CustomerService reports invalid or missing customer data for customerId={}", customerId);
+        }
+
+        var now = OffsetDateTime.now();
+
+        return Claim.builder()
+                .id(idGenerator.next())
+                .policyId(policyId)
+                .customerId(customerId)
+                .description(description)
+                .reportedAmount(reportedAmount)
+                .status(ClaimStatus.SUBMITTED)
+                .approved(false)
+                .approvedAmount(null)
+                .decisionReason(null)
+                .createdAt(now)
+                .lastUpdatedAt(now)
+                .build();
+    }
 
-            claimIntegrationService.onClaimInReview(result);
-            return result;
-        });
+    @Override
+    public Claim startReview(UUID claimId) {
+        if (singleStatementTransitions) {
+            return conditionalTransition(Operation.START_REVIEW, ClaimTransition.START_REVIEW, claimId, null, null,
+                    claimIntegrationService::onClaimInReview);
+        }
+        return transition(Operation.START_REVIEW, claimId,
+                Claim::startReview,
+                claimIntegrationService::onClaimInReview);
     }
 
     @Override
     public Claim approveClaim(UUID claimId, BigDecimal approvedAmount, String decisionReason) {
-        return timer("approve").record(() -> {
-            incrementCounter("approve");
+        if (singleStatementTransitions) {
+            Claim.requireValidApprovedAmount(approvedAmount);
+            return conditionalTransition(Operation.APPROVE, ClaimTransition.APPROVE, claimId, approvedAmount, decisionReason,
+                    claimIntegrationService::onClaimApproved);
+        }
+        return transition(Operation.APPROVE, claimId,
+                domain -> domain.approve(approvedAmount, decisionReason),
+                claimIntegrationService::onClaimApproved);
+    }
 
-            ClaimEntity entity = claimRepository.findById(claimId)
-                    .orElseThrow(() -> new ClaimNotFoundException(claimId));
+    @Override
+    public Claim rejectClaim(UUID claimId, String decisionReason) {
+        if (singleStatementTransitions) {
+            return conditionalTransition(Operation.REJECT, ClaimTransition.REJECT, claimId, null, decisionReason,
+                    claimIntegrationService::onClaimRejected);
+        }
+        return transition(Operation.REJECT, claimId,
+                domain -> domain.reject(decisionReason),
+                claimIntegrationService::onClaimRejected);
+    }
 
-            Claim domain = claimEntityMapper.toDomain(entity);
-            domain.approve(approvedAmount, decisionReason);
+    @Override
+    public Claim payoutClaim(UUID claimId) {
+        if (singleStatementTransitions) {
+            return conditionalTransition(Operation.PAYOUT, ClaimTransition.PAYOUT, claimId, null, null,
+                    claimIntegrationService::onClaimPaidOut);
+        }
+        return transition(Operation.PAYOUT, claimId,
+                Claim::payout,
+                claimIntegrationService::onClaimPaidOut);
+    }
 
-            ClaimEntity updated = claimEntityMapper.toEntity(domain);
-            updated = claimRepository.save(updated);
+    // Gemeinsamer Ablauf der Statusübergänge: laden, Übergang im Domainmodell, speichern, Event
+    private Claim transition(Operation operation,
+                             UUID claimId,
+                             Consumer<Claim> stateTransition,
+                             Consumer<Claim> integration) {
 
-            Claim result = claimEntityMapper.toDomain(updated);
-            claimIntegrationService.onClaimApproved(result);
-            return result;
-        });
-    }
+        String name = operation.tagValue();
 
-    @Override
-    public Claim rejectClaim(UUID claimId, String decisionReason) {
-        return timer("reject").record(() -> {
-            incrementCounter("reject");
+        return timer(name).record(() -> {
+            StageClock clock = claimStageMetrics.start(operation);
 
-            ClaimEntity entity = claimRepository.findById(claimId)
-                    .orElseThrow(() -> new ClaimNotFoundException(claimId));
+            try {
+                Claim result = inTransaction(name, () -> {
+                    clock.lap(Stage.TRANSACTION);
+                    incrementCounter(name);
 
-            Claim domain = claimEntityMapper.toDomain(entity);
-            domain.reject(decisionReason);
+                    ClaimEntity entity = claimRepository.findById(claimId)
+                            .orElseThrow(() -> new ClaimNotFoundException(claimId));
+                    clock.lap(Stage.FIND);
 
-            ClaimEntity updated = claimEntityMapper.toEntity(domain);
-            updated = claimRepository.save(updated);
+                    Claim domain = claimEntityMapper.toDomain(entity);
+                    clock.lap(Stage.MAPPING);
 
-            Claim result = claimEntityMapper.toDomain(updated);
-            claimIntegrationService.onClaimRejected(result);
-            return result;
-        });
-    }
+                    stateTransition.accept(domain);
+                    clock.lap(Stage.TRANSITION);
 
-    @Override
-    public Claim payoutClaim(UUID claimId) {
-        return timer("payout").record(() -> {
-            incrementCounter("payout");
+                    ClaimEntity updated = claimEntityMapper.toEntity(domain);
+                    clock.lap(Stage.MAPPING);
 
-            ClaimEntity entity = claimRepository.findById(claimId)
-                    .orElseThrow(() -> new ClaimNotFoundException(claimId));
+                    updated = claimRepository.save(updated);
+                    clock.lap(Stage.SAVE);
 
-            Claim domain = claimEntityMapper.toDomain(entity);
-            domain.payout();
+                    Claim saved = claimEntityMapper.toDomain(updated);
+                    clock.lap(Stage.MAPPING);
 
-            ClaimEntity updated = claimEntityMapper.toEntity(domain);
-            updated = claimRepository.save(updated);
+                    integration.accept(saved);
+                    clock.lap(Stage.INTEGRATION);
+                    return saved;
+                });
+                clock.lap(Stage.TRANSACTION);
+                return result;
+            } finally {
+                clock.finish();
+            }
+        });
+    }
 
-            Claim result = claimEntityMapper.toDomain(updated);
-            claimIntegrationService.onClaimPaidOut(result);
-            return result;
+    // Übergang als ein Statement: Status-Prüfung in der WHERE-Bedingung, Ergebnis per RETURNING
+    private Claim conditionalTransition(Operation operation,
+                                        ClaimTransition claimTransition,
+                                        UUID claimId,
+                                        BigDecimal approvedAmount,
+                                        String decisionReason,
+                                        Consumer<Claim> integration) {
+
+        String name = operation.tagValue();
+
+        return timer(name).record(() -> {
+            StageClock clock = claimStageMetrics.start(operation);
+
+            try {
+                Claim result = inTransaction(name, () -> {
+                    clock.lap(Stage.TRANSACTION);
+                    incrementCounter(name);
+
+                    Claim updated = claimTransitionRepository
+                            .apply(claimTransition, claimId, approvedAmount, decisionReason, OffsetDateTime.now())
+                            .orElseThrow(() -> transitionRejected(claimTransition, claimId));
+                    clock.lap(Stage.SAVE);
+
+                    integration.accept(updated);
+                    clock.lap(Stage.INTEGRATION);
+                    return updated;
+                });
+                clock.lap(Stage.TRANSACTION);
+                return result;
+            } finally {
+                clock.finish();
+            }
         });
     }
 
+    // Kein Treffer: gleiche Fehler wie im Domainmodell, der Status wird nur hierfür gelesen
+    private RuntimeException transitionRejected(ClaimTransition claimTransition, UUID claimId) {
+        return claimTransitionRepository.findStatus(claimId)
+                .<RuntimeException>map(status -> claimTransition.invalid(claimId, status))
+                .orElseGet(() -> new ClaimNotFoundException(claimId));
+    }
+
     @Override
-    @Transactional(readOnly = true)
     public Claim getClaimById(UUID claimId) {
         incrementCounter("getById");
 
-        return claimRepository.findById(claimId)
+        return inReadOnlyTransaction("getById", () -> claimRepository.findById(claimId)
                 .map(claimEntityMapper::toDomain)
-                .orElseThrow(() -> new ClaimNotFoundException(claimId));
+                .orElseThrow(() -> new ClaimNotFoundException(claimId)));
     }
 
     @Override
-    @Transactional(readOnly = true)
     public List<Claim> getClaimsForCustomer(UUID customerId) {
         incrementCounter("getForCustomer");
 
-        return claimRepository.findByCustomerId(customerId).stream()
+        return inReadOnlyTransaction("getForCustomer", () -> claimRepository.findByCustomerId(customerId).stream()
                 .map(claimEntityMapper::toDomain)
-                .toList();
+                .toList());
     }
 }
@@ -0,0 +1,162 @@
+package com.example.claims.application;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.Profiles;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Laufzeit je Teilschritt ("Stage") der schreibenden Claim-Operationen, damit sichtbar wird,
+ * welcher Schritt eine Latenzspitze in claims_service_operation_duration verursacht.
+ *
+ * Metrik: claims_service_stage_duration{operation, stage, pattern}. {@code pattern} ist das
+ * aktive Kommunikationsprofil (rest, grpc, event-driven). Beim Start werden nur die Timer der
+ * Stages registriert, die eine Operation tatsächlich durchläuft ({@link Operation#stages()});
+ * pro Request entsteht nur ein {@link StageClock}.
+ *
+ * Die Stage "transaction" umfasst Verbindungsbezug, Flush (bei zugewiesenen IDs fällt der
+ * eigentliche INSERT/UPDATE erst hier an) und Commit. Im Fan-out-Modus überlappen sich
+ * policy_lookup und customer_validation, ihre Summe ist dann größer als die Wartezeit.
+ */
+@Component
+public class ClaimStageMetrics {
+
+    public enum Operation {
+        SUBMIT("submit"),
+        START_REVIEW("startReview"),
+        APPROVE("approve"),
+        REJECT("reject"),
+        PAYOUT("payout");
+
+        private final String tagValue;
+
+        Operation(String tagValue) {
+            this.tagValue = tagValue;
+        }
+
+        public String tagValue() {
+            return tagValue;
+        }
+
+        public Set<Stage> stages() {
+            return this == SUBMIT ? SUBMIT_STAGES : TRANSITION_STAGES;
+        }
+    }
+
+    public enum Stage {
+        POLICY_LOOKUP,
+        CUSTOMER_VALIDATION,
+        FIND,
+        MAPPING,
+        TRANSITION,
+        SAVE,
+        INTEGRATION,
+        TRANSACTION;
+
+        private final String tagValue = name().toLowerCase();
+
+        public String tagValue() {
+            return tagValue;
+        }
+    }
+
+    private static final Stage[] STAGES = Stage.values();
+
+    private static final Set<Stage> SUBMIT_STAGES = EnumSet.of(
+            Stage.POLICY_LOOKUP, Stage.CUSTOMER_VALIDATION, Stage.MAPPING,
+            Stage.SAVE, Stage.INTEGRATION, Stage.TRANSACTION);
+
+    private static final Set<Stage> TRANSITION_STAGES = EnumSet.of(
+            Stage.FIND, Stage.MAPPING, Stage.TRANSITION,
+            Stage.SAVE, Stage.INTEGRATION, Stage.TRANSACTION);
+
+    private final Timer[][] timers;
+
+    public ClaimStageMetrics(MeterRegistry meterRegistry, Environment environment) {
+        String pattern = activePattern(environment);
+
+        Operation[] operations = Operation.values();
+        this.timers = new Timer[operations.length][STAGES.length];
+        for (Operation operation : operations) {
+            for (Stage stage : operation.stages()) {
+                timers[operation.ordinal()][stage.ordinal()] = Timer.builder("claims_service_stage_duration")
+                        .description("Duration of individual stages within claim service operations")
+                        .tag("operation", operation.tagValue())
+                        .tag("stage", stage.tagValue())
+                        .tag("pattern", pattern)
+                        .publishPercentileHistogram(true)
+                        .register(meterRegistry);
+            }
+        }
+    }
+
+    private static String activePattern(Environment environment) {
+        if (environment.acceptsProfiles(Profiles.of("event-driven"))) {
+            return "event-driven";
+        }
+        if (environment.acceptsProfiles(Profiles.of("grpc"))) {
+            return "grpc";
+        }
+        return "rest";
+    }
+
+    public StageClock start(Operation operation) {
+        return new StageClock(timers[operation.ordinal()]);
+    }
+
+    /**
+     * Misst aufeinanderfolgende Abschnitte einer Operation. {@link #lap} schreibt die Zeit seit
+     * dem letzten Lap der angegebenen Stage gut (mehrere Abschnitte derselben Stage werden addiert),
+     * {@link #finish} zeichnet alle erreichten Stages genau einmal auf.
+     *
+     * Nicht thread-safe; im asynchronen Submit-Pfad wird die Clock nur sequenziell weitergereicht.
+     */
+    public static final class StageClock {
+
+        private final Timer[] timers;
+        private final long[] nanos = new long[STAGES.length];
+        private final boolean[] reached = new boolean[STAGES.length];
+        private long last = System.nanoTime();
+
+        private StageClock(Timer[] timers) {
+            this.timers = timers;
+        }
+
+        public void lap(Stage stage) {
+            long now = System.nanoTime();
+            add(stage, now - last);
+            last = now;
+        }
+
+        /**
+         * Stage mit extern gemessener Dauer (z.B. Zweige der Submit-Validierung), ohne den Lap-Zeitpunkt zu verschieben.
+         */
+        public void add(Stage stage, long durationNanos) {
+            if (timers[stage.ordinal()] == null) {
+                throw new IllegalArgumentException("Stage " + stage + " is not registered for this operation");
+            }
+            nanos[stage.ordinal()] += durationNanos;
+            reached[stage.ordinal()] = true;
+        }
+
+        /**
+         * Setzt den Lap-Zeitpunkt, ohne die Zeit seit dem letzten Lap einer Stage zuzuordnen.
+         */
+        public void skip() {
+            last = System.nanoTime();
+        }
+
+        public void finish() {
+            for (int i = 0; i < nanos.length; i++) {
+                if (reached[i]) {
+                    timers[i].record(nanos[i], TimeUnit.NANOSECONDS);
+                }
+            }
+        }
+    }
+}
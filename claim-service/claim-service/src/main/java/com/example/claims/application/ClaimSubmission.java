@@ -0,0 +1,15 @@
+package com.example.claims.application;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * Ein einzureichender Claim innerhalb eines Batch-Submits ({@link ClaimService#submitClaims}).
+ */
+public record ClaimSubmission(
+        UUID policyId,
+        UUID customerId,
+        String description,
+        BigDecimal reportedAmount
+) {
+}
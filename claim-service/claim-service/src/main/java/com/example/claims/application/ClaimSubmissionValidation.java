@@ -0,0 +1,30 @@
+package com.example.claims.application;
+
+import com.example.claims.infrastructure.policy.PolicySummary;
+
+import java.util.Optional;
+
+/**
+ * Ergebnis der synchronen Downstream-Prüfungen beim Einreichen eines Claims.
+ *
+ * Die Laufzeiten enthalten die Dauer je Zweig. Im Fan-out-Modus beziehen sie sich auf den
+ * gemeinsamen Startzeitpunkt, damit direkt ablesbar ist, welcher Zweig den kritischen Pfad bildet.
+ */
+public record ClaimSubmissionValidation(
+        Optional<PolicySummary> policy,
+        boolean customerValid,
+        long policyLookupNanos,
+        long customerValidationNanos,
+        boolean timedOut
+) {
+
+    public static final String BRANCH_POLICY = "policy";
+    public static final String BRANCH_CUSTOMER = "customer";
+
+    /**
+     * Zweig, der als letzter fertig wurde und damit die Gesamtdauer bestimmt.
+     */
+    public String criticalPath() {
+        return policyLookupNanos >= customerValidationNanos ? BRANCH_POLICY : BRANCH_CUSTOMER;
+    }
+}
@@ -0,0 +1,418 @@
+package com.example.claims.application;
+
+import com.example.claims.infrastructure.customer.CustomerClient;
+import com.example.claims.infrastructure.policy.PolicyClient;
+import com.example.claims.infrastructure.policy.PolicySummary;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Führt die synchronen Downstream-Prüfungen beim Einreichen eines Claims aus:
+ * Policy-Lookup über den {@link PolicyClient} und Customer-Validierung über den {@link CustomerClient}.
+ *
+ * - Standard: beide Aufrufe nacheinander (bisheriges Verhalten).
+ * - Fan-out ("claims.submit.fan-out.enabled=true"): beide Aufrufe laufen parallel
+ *   auf einem begrenzten Executor und teilen sich eine gemeinsame Deadline. Mit
+ *   "spring.threads.virtual.enabled=true" (Profil virtual-threads) läuft jeder Zweig
+ *   stattdessen auf einem eigenen virtuellen Thread.
+ *
+ * - Asynchron ({@link #validateAsync}): beide Aufrufe über die Future-Varianten der Clients,
+ *   ohne einen Thread zu blockieren (gRPC-Async-Pfad).
+ *
+ * - Batch ({@link #validateAll}): je ein Batch-Aufruf für alle unterschiedlichen Policies
+ *   bzw. Kunden eines Batch-Submits.
+ *
+ * Funktioniert mit jeder Client-Implementierung (REST, gRPC, No-Op), da nur die
+ * Interfaces verwendet werden. Läuft eine Deadline ab oder wirft ein Client eine Exception,
+ * wird – in allen Modi gleich – "keine Policy" bzw. "Kunde ungültig" angenommen.
+ */
+@Slf4j
+@Component
+public class ClaimSubmissionValidator implements DisposableBean {
+
+    private static final String MODE_SEQUENTIAL = "sequential";
+    private static final String MODE_FAN_OUT = "fan_out";
+    private static final String MODE_ASYNC = "async";
+    private static final String MODE_BATCH = "batch";
+
+    private final PolicyClient policyClient;
+    private final CustomerClient customerClient;
+
+    private final boolean fanOutEnabled;
+    private final long timeoutNanos;
+    private final ExecutorService executor;
+
+    private final Timer policyBranchTimer;
+    private final Timer customerBranchTimer;
+    private final Counter policyCriticalPathCounter;
+    private final Counter customerCriticalPathCounter;
+    private final Timer asyncPolicyBranchTimer;
+    private final Timer asyncCustomerBranchTimer;
+    private final Counter asyncPolicyCriticalPathCounter;
+    private final Counter asyncCustomerCriticalPathCounter;
+    private final Timer batchPolicyBranchTimer;
+    private final Timer batchCustomerBranchTimer;
+    private final Counter policyTimeoutCounter;
+    private final Counter customerTimeoutCounter;
+
+    public ClaimSubmissionValidator(
+            PolicyClient policyClient,
+            CustomerClient customerClient,
+            MeterRegistry meterRegistry,
+            @Value("${claims.submit.fan-out.enabled:false}") boolean fanOutEnabled,
+            @Value("${claims.submit.fan-out.pool-size:64}") int poolSize,
+            @Value("${claims.submit.fan-out.queue-capacity:1024}") int queueCapacity,
+            @Value("${claims.submit.fan-out.timeout-ms:2000}") long timeoutMs,
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+
+        this.policyClient = policyClient;
+        this.customerClient = customerClient;
+        this.fanOutEnabled = fanOutEnabled;
+        this.timeoutNanos = TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+
+        // Virtuelle Threads: ein Thread pro Zweig, Begrenzung ergibt sich aus den Request-Threads.
+        // Sonst begrenzter Pool: bei voller Queue läuft der Zweig im aufrufenden Thread (Backpressure statt Fehler)
+        if (!fanOutEnabled) {
+            this.executor = null;
+        } else if (virtualThreads) {
+            this.executor = Executors.newThreadPerTaskExecutor(
+                    Thread.ofVirtual().name("claims-fan-out-", 0).factory());
+        } else {
+            this.executor = new ThreadPoolExecutor(
+                    poolSize, poolSize,
+                    60, TimeUnit.SECONDS,
+                    new ArrayBlockingQueue<>(queueCapacity),
+                    namedThreadFactory("claims-fan-out-"),
+                    new ThreadPoolExecutor.CallerRunsPolicy());
+        }
+
+        String mode = fanOutEnabled ? MODE_FAN_OUT : MODE_SEQUENTIAL;
+        this.policyBranchTimer = branchTimer(meterRegistry, ClaimSubmissionValidation.BRANCH_POLICY, mode);
+        this.customerBranchTimer = branchTimer(meterRegistry, ClaimSubmissionValidation.BRANCH_CUSTOMER, mode);
+        this.policyCriticalPathCounter = criticalPathCounter(meterRegistry, ClaimSubmissionValidation.BRANCH_POLICY, mode);
+        this.customerCriticalPathCounter = criticalPathCounter(meterRegistry, ClaimSubmissionValidation.BRANCH_CUSTOMER, mode);
+        this.asyncPolicyBranchTimer = branchTimer(meterRegistry, ClaimSubmissionValidation.BRANCH_POLICY, MODE_ASYNC);
+        this.asyncCustomerBranchTimer = branchTimer(meterRegistry, ClaimSubmissionValidation.BRANCH_CUSTOMER, MODE_ASYNC);
+        this.asyncPolicyCriticalPathCounter = criticalPathCounter(meterRegistry, ClaimSubmissionValidation.BRANCH_POLICY, MODE_ASYNC);
+        this.asyncCustomerCriticalPathCounter = criticalPathCounter(meterRegistry, ClaimSubmissionValidation.BRANCH_CUSTOMER, MODE_ASYNC);
+        this.batchPolicyBranchTimer = branchTimer(meterRegistry, ClaimSubmissionValidation.BRANCH_POLICY, MODE_BATCH);
+        this.batchCustomerBranchTimer = branchTimer(meterRegistry, ClaimSubmissionValidation.BRANCH_CUSTOMER, MODE_BATCH);
+        this.policyTimeoutCounter = timeoutCounter(meterRegistry, ClaimSubmissionValidation.BRANCH_POLICY);
+        this.customerTimeoutCounter = timeoutCounter(meterRegistry, ClaimSubmissionValidation.BRANCH_CUSTOMER);
+
+        log.info("ClaimSubmissionValidator initialized: mode={}, virtualThreads={}, poolSize={}, queueCapacity={}, timeoutMs={}",
+                mode, fanOutEnabled && virtualThreads, poolSize, queueCapacity, timeoutMs);
+    }
+
+    // -------------------------------------------------------------------------
+    // Helper für Metriken
+    // -------------------------------------------------------------------------
+
+    private static Timer branchTimer(MeterRegistry meterRegistry, String branch, String mode) {
+        return Timer.builder("claims_submit_validation_branch_duration")
+                .description("Duration of the downstream validation branches during claim submission")
+                .tag("branch", branch)
+                .tag("mode", mode)
+                .publishPercentileHistogram(true)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+    }
+
+    private static Counter criticalPathCounter(MeterRegistry meterRegistry, String branch, String mode) {
+        return Counter.builder("claims_submit_validation_critical_path_total")
+                .description("Number of claim submissions whose validation was dominated by this branch")
+                .tag("branch", branch)
+                .tag("mode", mode)
+                .register(meterRegistry);
+    }
+
+    private static Counter timeoutCounter(MeterRegistry meterRegistry, String branch) {
+        return Counter.builder("claims_submit_validation_timeout_total")
+                .description("Number of validation branches that missed the fan-out deadline")
+                .tag("branch", branch)
+                .register(meterRegistry);
+    }
+
+    private static ThreadFactory namedThreadFactory(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    // -------------------------------------------------------------------------
+    // API
+    // -------------------------------------------------------------------------
+
+    public ClaimSubmissionValidation validate(UUID policyId, UUID customerId) {
+        ClaimSubmissionValidation result = fanOutEnabled
+                ? validateInParallel(policyId, customerId)
+                : validateSequentially(policyId, customerId);
+
+        record(result, policyId, customerId,
+                policyBranchTimer, customerBranchTimer, policyCriticalPathCounter, customerCriticalPathCounter);
+        return result;
+    }
+
+    /**
+     * Startet beide Prüfungen über die asynchronen Client-Methoden und kombiniert die Ergebnisse.
+     * Es wird kein Thread blockiert; die Deadline ({@code timeout-ms}) gilt pro Zweig ab Aufruf.
+     */
+    public CompletableFuture<ClaimSubmissionValidation> validateAsync(UUID policyId, UUID customerId) {
+        long start = System.nanoTime();
+
+        CompletableFuture<BranchResult<Optional<PolicySummary>>> policyFuture = branchAsync(
+                policyClient.getPolicyByIdAsync(policyId),
+                start, ClaimSubmissionValidation.BRANCH_POLICY, policyId, policyTimeoutCounter);
+
+        CompletableFuture<BranchResult<Boolean>> customerFuture = branchAsync(
+                customerClient.isCustomerDataValidAsync(customerId),
+                start, ClaimSubmissionValidation.BRANCH_CUSTOMER, customerId, customerTimeoutCounter);
+
+        return policyFuture.thenCombine(customerFuture, (policyResult, customerResult) -> {
+            ClaimSubmissionValidation result = toValidation(policyResult, customerResult);
+            record(result, policyId, customerId,
+                    asyncPolicyBranchTimer, asyncCustomerBranchTimer,
+                    asyncPolicyCriticalPathCounter, asyncCustomerCriticalPathCounter);
+            return result;
+        });
+    }
+
+    /**
+     * Prüfungen für einen Batch-Submit: doppelte Policy- und Kunden-IDs werden nur einmal
+     * angefragt, jeweils mit einem Batch-Aufruf ({@code getPoliciesByIds}, {@code validateCustomers}).
+     * Die Zweige laufen nacheinander; die Dauer je Zweig gilt für den ganzen Batch (mode=batch).
+     */
+    public ClaimBatchValidation validateAll(Collection<UUID> policyIds, Collection<UUID> customerIds) {
+        Set<UUID> distinctPolicyIds = new LinkedHashSet<>(policyIds);
+        Set<UUID> distinctCustomerIds = new LinkedHashSet<>(customerIds);
+
+        long start = System.nanoTime();
+        Map<UUID, PolicySummary> policies = lookupPolicies(distinctPolicyIds);
+        long policyDone = System.nanoTime();
+        Map<UUID, Boolean> customers = validateCustomers(distinctCustomerIds);
+
+        batchPolicyBranchTimer.record(policyDone - start, TimeUnit.NANOSECONDS);
+        batchCustomerBranchTimer.record(System.nanoTime() - policyDone, TimeUnit.NANOSECONDS);
+
+        log.debug("Batch submit validation: {} policies ({} found), {} customers",
+                distinctPolicyIds.size(), policies.size(), distinctCustomerIds.size());
+        return new ClaimBatchValidation(policies, customers);
+    }
+
+    private void record(ClaimSubmissionValidation result,
+                        UUID policyId,
+                        UUID customerId,
+                        Timer policyTimer,
+                        Timer customerTimer,
+                        Counter policyCriticalPath,
+                        Counter customerCriticalPath) {
+        policyTimer.record(result.policyLookupNanos(), TimeUnit.NANOSECONDS);
+        customerTimer.record(result.customerValidationNanos(), TimeUnit.NANOSECONDS);
+
+        if (ClaimSubmissionValidation.BRANCH_POLICY.equals(result.criticalPath())) {
+            policyCriticalPath.increment();
+        } else {
+            customerCriticalPath.increment();
+        }
+
+        if (log.isDebugEnabled()) {
+            log.debug("Submit validation for policyId={} customerId={}: policyNanos={} customerNanos={} criticalPath={} timedOut={}",
+                    policyId, customerId,
+                    result.policyLookupNanos(), result.customerValidationNanos(),
+                    result.criticalPath(), result.timedOut());
+        }
+    }
+
+    private ClaimSubmissionValidation validateSequentially(UUID policyId, UUID customerId) {
+        long start = System.nanoTime();
+
+        Optional<PolicySummary> policy = lookupPolicy(policyId);
+        long policyDone = System.nanoTime();
+
+        boolean customerValid = validateCustomer(customerId);
+        long customerNanos = System.nanoTime() - policyDone;
+        long policyNanos = policyDone - start;
+
+        return new ClaimSubmissionValidation(policy, customerValid, policyNanos, customerNanos, false);
+    }
+
+    // wie ein fehlgeschlagener Zweig im Fan-out: Client-Fehler ergibt "keine Policy"
+    private Optional<PolicySummary> lookupPolicy(UUID policyId) {
+        try {
+            return policyClient.getPolicyById(policyId);
+        } catch (RuntimeException ex) {
+            log.error("Submit validation branch '{}' for id={} failed: {}",
+                    ClaimSubmissionValidation.BRANCH_POLICY, policyId, ex.getMessage(), ex);
+            return Optional.empty();
+        }
+    }
+
+    // wie ein fehlgeschlagener Zweig im Fan-out: Client-Fehler ergibt "Kunde ungültig"
+    private boolean validateCustomer(UUID customerId) {
+        try {
+            return customerClient.isCustomerDataValid(customerId);
+        } catch (RuntimeException ex) {
+            log.error("Submit validation branch '{}' for id={} failed: {}",
+                    ClaimSubmissionValidation.BRANCH_CUSTOMER, customerId, ex.getMessage(), ex);
+            return false;
+        }
+    }
+
+    // Batch-Variante von lookupPolicy: Client-Fehler ergibt "keine Policy" für den ganzen Batch
+    private Map<UUID, PolicySummary> lookupPolicies(Set<UUID> policyIds) {
+        try {
+            return policyClient.getPoliciesByIds(policyIds);
+        } catch (RuntimeException ex) {
+            log.error("Submit validation branch '{}' for {} ids failed: {}",
+                    ClaimSubmissionValidation.BRANCH_POLICY, policyIds.size(), ex.getMessage(), ex);
+            return Map.of();
+        }
+    }
+
+    // Batch-Variante von validateCustomer: Client-Fehler ergibt "Kunde ungültig" für den ganzen Batch
+    private Map<UUID, Boolean> validateCustomers(Set<UUID> customerIds) {
+        try {
+            return customerClient.validateCustomers(customerIds);
+        } catch (RuntimeException ex) {
+            log.error("Submit validation branch '{}' for {} ids failed: {}",
+                    ClaimSubmissionValidation.BRANCH_CUSTOMER, customerIds.size(), ex.getMessage(), ex);
+            return Map.of();
+        }
+    }
+
+    private ClaimSubmissionValidation validateInParallel(UUID policyId, UUID customerId) {
+        long start = System.nanoTime();
+        long deadline = start + timeoutNanos;
+
+        CompletableFuture<BranchResult<Optional<PolicySummary>>> policyFuture = CompletableFuture.supplyAsync(
+                () -> new BranchResult<>(policyClient.getPolicyById(policyId), System.nanoTime() - start),
+                executor);
+
+        CompletableFuture<BranchResult<Boolean>> customerFuture = CompletableFuture.supplyAsync(
+                () -> new BranchResult<>(customerClient.isCustomerDataValid(customerId), System.nanoTime() - start),
+                executor);
+
+        BranchResult<Optional<PolicySummary>> policyResult = await(
+                policyFuture, deadline, ClaimSubmissionValidation.BRANCH_POLICY, policyId, policyTimeoutCounter);
+        BranchResult<Boolean> customerResult = await(
+                customerFuture, deadline, ClaimSubmissionValidation.BRANCH_CUSTOMER, customerId, customerTimeoutCounter);
+
+        return toValidation(policyResult, customerResult);
+    }
+
+    // Zweige ohne Ergebnis werden wie ein Client-Fehler behandelt: keine Policy bzw. Kunde ungültig
+    private ClaimSubmissionValidation toValidation(BranchResult<Optional<PolicySummary>> policyResult,
+                                                   BranchResult<Boolean> customerResult) {
+        Optional<PolicySummary> policy = policyResult.completed() ? policyResult.value() : Optional.empty();
+        boolean customerValid = customerResult.completed() && Boolean.TRUE.equals(customerResult.value());
+
+        return new ClaimSubmissionValidation(
+                policy,
+                customerValid,
+                policyResult.elapsedNanos(),
+                customerResult.elapsedNanos(),
+                policyResult.timedOut() || customerResult.timedOut()
+        );
+    }
+
+    /**
+     * Asynchrones Gegenstück zu {@link #await}: Timeout bzw. Fehler ergeben ein nicht
+     * abgeschlossenes Ergebnis. Die Deadline gilt nur für diesen Aufrufer – {@code call} wird
+     * nicht abgebrochen, da es die gemeinsame Load-Future des Caches bzw. Batchers sein kann;
+     * ein Abbruch würde alle anderen Aufrufer, die auf sie warten, mit fehlschlagen lassen.
+     * Den Downstream-Call selbst beenden die Transport-Timeouts (gRPC-Deadline,
+     * Read-Timeout des HTTP-Clients).
+     */
+    private <T> CompletableFuture<BranchResult<T>> branchAsync(CompletableFuture<T> call,
+                                                               long start,
+                                                               String branch,
+                                                               UUID id,
+                                                               Counter timeoutCounter) {
+        return call
+                .thenApply(value -> new BranchResult<>(value, System.nanoTime() - start))
+                .orTimeout(timeoutNanos, TimeUnit.NANOSECONDS)
+                .exceptionally(ex -> {
+                    Throwable cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+                    if (cause instanceof TimeoutException) {
+                        timeoutCounter.increment();
+                        log.warn("Submit validation branch '{}' for id={} exceeded the deadline", branch, id);
+                        return BranchResult.incomplete(System.nanoTime() - start, true);
+                    }
+                    log.error("Submit validation branch '{}' for id={} failed: {}", branch, id, cause.getMessage(), cause);
+                    return BranchResult.incomplete(System.nanoTime() - start, false);
+                });
+    }
+
+    /**
+     * Wartet bis zur gemeinsamen Deadline auf einen Zweig.
+     * Liefert ein nicht abgeschlossenes Ergebnis, wenn der Zweig zu spät oder fehlerhaft endet.
+     * Der Zweig läuft im Pool weiter ({@code cancel} auf einer CompletableFuture unterbricht
+     * keinen Thread); ihn beenden die Transport-Timeouts des Clients.
+     */
+    private <T> BranchResult<T> await(CompletableFuture<BranchResult<T>> future,
+                                      long deadline,
+                                      String branch,
+                                      UUID id,
+                                      Counter timeoutCounter) {
+        long start = deadline - timeoutNanos;
+        long remaining = deadline - System.nanoTime();
+        try {
+            return future.get(Math.max(remaining, 0), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException ex) {
+            timeoutCounter.increment();
+            log.warn("Submit validation branch '{}' for id={} exceeded the fan-out deadline", branch, id);
+            return BranchResult.incomplete(System.nanoTime() - start, true);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return BranchResult.incomplete(System.nanoTime() - start, false);
+        } catch (ExecutionException ex) {
+            log.error("Submit validation branch '{}' for id={} failed: {}",
+                    branch, id, ex.getCause().getMessage(), ex.getCause());
+            return BranchResult.incomplete(System.nanoTime() - start, false);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+
+    private record BranchResult<T>(T value, long elapsedNanos, boolean completed, boolean timedOut) {
+
+        BranchResult(T value, long elapsedNanos) {
+            this(value, elapsedNanos, true, false);
+        }
+
+        static <T> BranchResult<T> incomplete(long elapsedNanos, boolean timedOut) {
+            return new BranchResult<>(null, elapsedNanos, false, timedOut);
+        }
+    }
+}
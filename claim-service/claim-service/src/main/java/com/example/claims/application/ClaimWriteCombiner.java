@@ -0,0 +1,233 @@
+package com.example.claims.application;
+
+import com.example.claims.domain.Claim;
+import com.example.claims.infrastructure.persistence.ClaimBatchInsertJdbcRepository;
+import com.example.claims.infrastructure.persistence.ClaimEntityMapper;
+import com.example.claims.infrastructure.persistence.DbOperationContext;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Group Commit für neue Claims ("claims.submit.write-combiner.enabled=true"): gleichzeitige
+ * Submits legen ihren Claim in eine begrenzte Queue, ein einzelner Writer-Thread schreibt sie
+ * gesammelt mit einem Batch-INSERT in einer Transaktion. Statt eines Commits (und WAL-Fsyncs)
+ * pro Claim fällt einer pro Batch an.
+ *
+ * Geschrieben wird, sobald {@code maxBatchSize} Claims vorliegen oder {@code maxWait} seit dem
+ * ersten Claim des Batches verstrichen ist. Die Integration ({@code onClaimSubmitted}) läuft wie
+ * im Einzelpfad innerhalb der Transaktion. Das Future jedes Aufrufers wird erst nach dem Commit
+ * erfüllt; schlägt der Batch fehl, schlagen alle Futures des Batches fehl.
+ *
+ * Ist die Queue voll, wird sofort mit {@link RejectedExecutionException} abgelehnt (wie beim
+ * Persistenz-Executor), statt den aufrufenden Thread zu blockieren. Die Futures werden auf einem
+ * eigenen Completion-Pool ({@code completion-threads}) erfüllt, damit abhängige Stages der
+ * Aufrufer (Mapping, Antwort schreiben) den Writer-Thread nicht aufhalten.
+ *
+ * Metriken: claims_write_combiner_batch_size, claims_write_combiner_queue_wait,
+ * claims_write_combiner_flush_duration{outcome}, claims_write_combiner_flush_total{trigger}.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "claims.submit.write-combiner.enabled", havingValue = "true")
+public class ClaimWriteCombiner implements DisposableBean {
+
+    private final ClaimBatchInsertJdbcRepository claimBatchInsertRepository;
+    private final ClaimEntityMapper claimEntityMapper;
+    private final ClaimIntegrationService claimIntegrationService;
+    private final TransactionTemplate transactionTemplate;
+
+    private final int maxBatchSize;
+    private final long maxWaitNanos;
+    private final BlockingQueue<PendingWrite> queue;
+    private final Thread writer;
+    private final ExecutorService completionExecutor;
+
+    private final DistributionSummary batchSize;
+    private final Timer queueWaitTimer;
+    private final Timer flushSuccessTimer;
+    private final Timer flushErrorTimer;
+    private final Counter sizeFlushCounter;
+    private final Counter timeFlushCounter;
+
+    public ClaimWriteCombiner(ClaimBatchInsertJdbcRepository claimBatchInsertRepository,
+                              ClaimEntityMapper claimEntityMapper,
+                              ClaimIntegrationService claimIntegrationService,
+                              PlatformTransactionManager transactionManager,
+                              MeterRegistry meterRegistry,
+                              @Value("${claims.submit.write-combiner.max-batch-size:64}") int maxBatchSize,
+                              @Value("${claims.submit.write-combiner.max-wait-micros:1000}") long maxWaitMicros,
+                              @Value("${claims.submit.write-combiner.queue-capacity:4096}") int queueCapacity,
+                              @Value("${claims.submit.write-combiner.completion-threads:4}") int completionThreads) {
+        this.claimBatchInsertRepository = claimBatchInsertRepository;
+        this.claimEntityMapper = claimEntityMapper;
+        this.claimIntegrationService = claimIntegrationService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+        this.maxWaitNanos = TimeUnit.MICROSECONDS.toNanos(maxWaitMicros);
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, queueCapacity));
+
+        this.batchSize = DistributionSummary.builder("claims_write_combiner_batch_size")
+                .description("Number of claims written per combined insert transaction")
+                .publishPercentileHistogram(true)
+                .register(meterRegistry);
+        this.queueWaitTimer = Timer.builder("claims_write_combiner_queue_wait")
+                .description("Time a submitted claim waited in the write combiner queue before its batch was flushed")
+                .publishPercentileHistogram(true)
+                .register(meterRegistry);
+        this.flushSuccessTimer = flushTimer(meterRegistry, "success");
+        this.flushErrorTimer = flushTimer(meterRegistry, "error");
+        this.sizeFlushCounter = flushCounter(meterRegistry, "size");
+        this.timeFlushCounter = flushCounter(meterRegistry, "time");
+
+        // unbegrenzte Queue: der Writer soll beim Erfüllen weder blockieren noch abgelehnt werden
+        AtomicInteger completionCounter = new AtomicInteger();
+        this.completionExecutor = Executors.newFixedThreadPool(Math.max(1, completionThreads), runnable -> {
+            Thread thread = new Thread(runnable, "claims-write-combiner-completion-" + completionCounter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        this.writer = new Thread(this::writeLoop, "claims-write-combiner");
+        this.writer.setDaemon(true);
+        this.writer.start();
+
+        log.info("ClaimWriteCombiner initialized: maxBatchSize={}, maxWaitMicros={}, queueCapacity={}, completionThreads={}",
+                this.maxBatchSize, maxWaitMicros, queueCapacity, completionThreads);
+    }
+
+    private static Timer flushTimer(MeterRegistry meterRegistry, String outcome) {
+        return Timer.builder("claims_write_combiner_flush_duration")
+                .description("Duration of one combined insert transaction including commit")
+                .tag("outcome", outcome)
+                .publishPercentileHistogram(true)
+                .register(meterRegistry);
+    }
+
+    private static Counter flushCounter(MeterRegistry meterRegistry, String trigger) {
+        return Counter.builder("claims_write_combiner_flush_total")
+                .description("Combined insert transactions by flush trigger")
+                .tag("trigger", trigger)
+                .register(meterRegistry);
+    }
+
+    // -------------------------------------------------------------------------
+    // API
+    // -------------------------------------------------------------------------
+
+    /**
+     * @return Future mit dem gespeicherten Claim, erfüllt nach dem Commit des Batches
+     */
+    public CompletableFuture<Claim> submit(Claim claim) {
+        // wie im Einzelpfad: Beträge so, wie sie nach dem Speichern gelesen würden (double-Spalten)
+        Claim stored = claimEntityMapper.toDomain(claimEntityMapper.toNewEntity(claim));
+        PendingWrite pending = new PendingWrite(stored, new CompletableFuture<>(), System.nanoTime());
+        if (!queue.offer(pending)) {
+            return CompletableFuture.failedFuture(
+                    new RejectedExecutionException("Claim write combiner queue is full"));
+        }
+        return pending.result();
+    }
+
+    // -------------------------------------------------------------------------
+    // Writer
+    // -------------------------------------------------------------------------
+
+    private void writeLoop() {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                PendingWrite first = queue.take();
+
+                List<PendingWrite> batch = new ArrayList<>(maxBatchSize);
+                batch.add(first);
+
+                long deadline = first.enqueuedAtNanos() + maxWaitNanos;
+                while (batch.size() < maxBatchSize) {
+                    long remaining = deadline - System.nanoTime();
+                    PendingWrite next = remaining > 0
+                            ? queue.poll(remaining, TimeUnit.NANOSECONDS)
+                            : queue.poll();
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+
+                (batch.size() >= maxBatchSize ? sizeFlushCounter : timeFlushCounter).increment();
+                flush(batch);
+
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            } catch (RuntimeException ex) {
+                log.error("Unexpected error in claim write combiner: {}", ex.getMessage(), ex);
+            }
+        }
+    }
+
+    private void flush(List<PendingWrite> batch) {
+        long start = System.nanoTime();
+        batchSize.record(batch.size());
+
+        List<Claim> claims = new ArrayList<>(batch.size());
+        for (PendingWrite pending : batch) {
+            queueWaitTimer.record(start - pending.enqueuedAtNanos(), TimeUnit.NANOSECONDS);
+            claims.add(pending.claim());
+        }
+
+        try (var ignored = DbOperationContext.open("submit")) {
+            transactionTemplate.executeWithoutResult(status -> {
+                claimBatchInsertRepository.insertAll(claims);
+                // event-driven Integration (Kafka) oder No-Op – je nach Profil
+                claims.forEach(claimIntegrationService::onClaimSubmitted);
+            });
+        } catch (RuntimeException ex) {
+            flushErrorTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            log.error("Combined insert of {} claims failed: {}", batch.size(), ex.getMessage(), ex);
+            // je Future ein Task, damit langsame Stages eines Aufrufers die anderen nicht aufhalten
+            batch.forEach(pending -> completionExecutor.execute(() -> pending.result().completeExceptionally(ex)));
+            return;
+        }
+
+        flushSuccessTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        batch.forEach(pending -> completionExecutor.execute(() -> pending.result().complete(pending.claim())));
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        writer.interrupt();
+        writer.join(TimeUnit.SECONDS.toMillis(5));
+
+        // bereits geschriebene Batches noch bestätigen
+        completionExecutor.shutdown();
+        completionExecutor.awaitTermination(5, TimeUnit.SECONDS);
+
+        // nicht mehr geschriebene Claims nicht hängen lassen
+        PendingWrite pending;
+        while ((pending = queue.poll()) != null) {
+            pending.result().completeExceptionally(
+                    new RejectedExecutionException("Claim write combiner is shutting down"));
+        }
+    }
+
+    private record PendingWrite(Claim claim, CompletableFuture<Claim> result, long enqueuedAtNanos) {
+    }
+}
@@ -6,7 +6,6 @@ import lombok.Data;
 import java.math.BigDecimal;
 import java.time.OffsetDateTime;
 import java.util.UUID;
-import com.example.claims.support.error.InvalidClaimStateException;
 
 @Data
 @Builder
@@ -23,6 +22,9 @@ public class Claim {
     private BigDecimal approvedAmount;
     private String decisionReason;
 
+    private Boolean policyCoverageValid;
+    private Boolean customerDataValid;
+
     private OffsetDateTime createdAt;
     private OffsetDateTime lastUpdatedAt;
 
@@ -30,11 +32,7 @@ public class Claim {
      * Übergang SUBMITTED -> IN_REVIEW
      */
     public void startReview() {
-        if (status != ClaimStatus.SUBMITTED) {
-            throw new InvalidClaimStateException(
-                    "Claim " + id + " can only enter IN_REVIEW from SUBMITTED state, but was " + status
-            );
-        }
+        ClaimTransition.START_REVIEW.requireFrom(id, status);
         this.status = ClaimStatus.IN_REVIEW;
         this.lastUpdatedAt = OffsetDateTime.now();
     }
@@ -43,14 +41,8 @@ public class Claim {
      * Übergang IN_REVIEW -> APPROVED
      */
     public void approve(BigDecimal approvedAmount, String decisionReason) {
-        if (status != ClaimStatus.IN_REVIEW) {
-            throw new InvalidClaimStateException(
-                    "Claim " + id + " can only be approved from IN_REVIEW state, but was " + status
-            );
-        }
-        if (approvedAmount == null || approvedAmount.compareTo(BigDecimal.ZERO) < 0) {
-            throw new IllegalArgumentException("Approved amount must be non-negative");
-        }
+        ClaimTransition.APPROVE.requireFrom(id, status);
+        requireValidApprovedAmount(approvedAmount);
 
         this.status = ClaimStatus.APPROVED;
         this.approved = true;
@@ -63,11 +55,7 @@ public class Claim {
      * Übergang IN_REVIEW -> REJECTED
      */
     public void reject(String decisionReason) {
-        if (status != ClaimStatus.IN_REVIEW) {
-            throw new InvalidClaimStateException(
-                    "Claim " + id + " can only be rejected from IN_REVIEW state, but was " + status
-            );
-        }
+        ClaimTransition.REJECT.requireFrom(id, status);
         this.status = ClaimStatus.REJECTED;
         this.approved = false;
         this.approvedAmount = BigDecimal.ZERO;
@@ -79,12 +67,17 @@ public class Claim {
      * Übergang APPROVED -> PAID_OUT
      */
     public void payout() {
-        if (status != ClaimStatus.APPROVED) {
-            throw new InvalidClaimStateException(
-                    "Claim " + id + " can only be paid out from APPROVED state, but was " + status
-            );
-        }
+        ClaimTransition.PAYOUT.requireFrom(id, status);
         this.status = ClaimStatus.PAID_OUT;
         this.lastUpdatedAt = OffsetDateTime.now();
     }
+
+    /**
+     * Prüfung des Freigabebetrags, auch für Übergänge ohne geladenes Domainobjekt.
+     */
+    public static void requireValidApprovedAmount(BigDecimal approvedAmount) {
+        if (approvedAmount == null || approvedAmount.compareTo(BigDecimal.ZERO) < 0) {
+            throw new IllegalArgumentException("Approved amount must be non-negative");
+        }
+    }
 }
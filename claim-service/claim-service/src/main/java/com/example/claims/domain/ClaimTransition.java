@@ -0,0 +1,49 @@
+package com.example.claims.domain;
+
+import com.example.claims.support.error.InvalidClaimStateException;
+
+import java.util.UUID;
+
+/**
+ * Erlaubte Statusübergänge im Lebenszyklus eines Claims.
+ *
+ * Einzige Quelle der Regeln: genutzt von den Übergangsmethoden in {@link Claim} und vom
+ * bedingten UPDATE ({@code WHERE status = from}), das einen Übergang ohne vorheriges Laden ausführt.
+ */
+public enum ClaimTransition {
+
+    START_REVIEW(ClaimStatus.SUBMITTED, ClaimStatus.IN_REVIEW, "enter IN_REVIEW"),
+    APPROVE(ClaimStatus.IN_REVIEW, ClaimStatus.APPROVED, "be approved"),
+    REJECT(ClaimStatus.IN_REVIEW, ClaimStatus.REJECTED, "be rejected"),
+    PAYOUT(ClaimStatus.APPROVED, ClaimStatus.PAID_OUT, "be paid out");
+
+    private final ClaimStatus from;
+    private final ClaimStatus to;
+    private final String action;
+
+    ClaimTransition(ClaimStatus from, ClaimStatus to, String action) {
+        this.from = from;
+        this.to = to;
+        this.action = action;
+    }
+
+    public ClaimStatus from() {
+        return from;
+    }
+
+    public ClaimStatus to() {
+        return to;
+    }
+
+    public void requireFrom(UUID claimId, ClaimStatus current) {
+        if (current != from) {
+            throw invalid(claimId, current);
+        }
+    }
+
+    public InvalidClaimStateException invalid(UUID claimId, ClaimStatus current) {
+        return new InvalidClaimStateException(
+                "Claim " + claimId + " can only " + action + " from " + from + " state, but was " + current
+        );
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.claims.infrastructure.customer;
+
+import com.example.claims.support.batch.MicroBatcher;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Fasst gleichzeitige Validierungen zu einem ValidateCustomers-Aufruf zusammen
+ * (REST: GET /customers/valid?ids=). Fehlende Ergebnisse gelten als nicht valide, ebenso
+ * Aufrufer, die länger als {@code timeout} warten oder deren Batch-Aufruf fehlschlägt.
+ */
+@Slf4j
+public class BatchingCustomerClient implements CustomerClient, DisposableBean {
+
+    private final CustomerClient delegate;
+    private final MicroBatcher<UUID, Boolean> batcher;
+    private final Duration timeout;
+
+    public BatchingCustomerClient(CustomerClient delegate,
+                                  int maxBatchSize,
+                                  Duration maxWait,
+                                  int maxConcurrentBatches,
+                                  Duration timeout,
+                                  MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.timeout = timeout;
+        this.batcher = new MicroBatcher<>(
+                "customer",
+                maxBatchSize,
+                maxWait,
+                maxConcurrentBatches,
+                delegate::validateCustomers,
+                meterRegistry
+        );
+    }
+
+    @Override
+    public boolean isCustomerDataValid(UUID customerId) {
+        try {
+            return Boolean.TRUE.equals(batcher.submit(customerId).get(timeout.toNanos(), TimeUnit.NANOSECONDS));
+        } catch (TimeoutException ex) {
+            log.warn("Batched customer validation for customerId={} exceeded {} ms", customerId, timeout.toMillis());
+            return false;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (ExecutionException ex) {
+            log.error("Batched customer validation for customerId={} failed: {}",
+                    customerId, ex.getCause().getMessage(), ex.getCause());
+            return false;
+        }
+    }
+
+    @Override
+    public CompletableFuture<Boolean> isCustomerDataValidAsync(UUID customerId) {
+        return batcher.submit(customerId)
+                .orTimeout(timeout.toNanos(), TimeUnit.NANOSECONDS)
+                .thenApply(Boolean.TRUE::equals);
+    }
+
+    @Override
+    public Map<UUID, Boolean> validateCustomers(Collection<UUID> customerIds) {
+        return delegate.validateCustomers(customerIds);
+    }
+
+    @Override
+    public void destroy() {
+        batcher.close();
+    }
+}
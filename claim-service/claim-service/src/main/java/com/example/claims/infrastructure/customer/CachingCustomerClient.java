@@ -0,0 +1,72 @@
+package com.example.claims.infrastructure.customer;
+
+import com.example.claims.support.cache.LoadingTtlCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Cache der Validierungsergebnisse pro Kunde vor einem beliebigen {@link CustomerClient}.
+ *
+ * Die Gültigkeit ändert sich nur, wenn Adress- oder Kontaktdaten geändert werden. Diese Änderungen
+ * publiziert customer-service als CUSTOMER_UPDATED, woraufhin der Eintrag per {@link #evict(UUID)}
+ * entfernt wird. Die TTL ist nur die Obergrenze für verlorene Events.
+ * "false" wird kürzer gecacht, weil die Clients auch bei Downstream-Fehlern false liefern.
+ * Bulk-Validierungen beantworten Treffer aus dem Cache und fragen nur die übrigen Kunden mit
+ * einem Batch-Aufruf beim Delegate an.
+ *
+ * Ersetzt die Bean des Delegates, daher wird dessen Destroy-Hook hier weitergereicht.
+ */
+public class CachingCustomerClient implements CustomerClient, DisposableBean {
+
+    private final CustomerClient delegate;
+    private final LoadingTtlCache<UUID, Boolean> cache;
+
+    public CachingCustomerClient(CustomerClient delegate,
+                                 int maximumSize,
+                                 Duration ttl,
+                                 Duration negativeTtl,
+                                 MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.cache = new LoadingTtlCache<>(
+                "customer",
+                maximumSize,
+                ttl,
+                negativeTtl,
+                valid -> !valid,
+                meterRegistry
+        );
+    }
+
+    @Override
+    public boolean isCustomerDataValid(UUID customerId) {
+        return cache.get(customerId, delegate::isCustomerDataValid);
+    }
+
+    @Override
+    public CompletableFuture<Boolean> isCustomerDataValidAsync(UUID customerId) {
+        return cache.getAsync(customerId, delegate::isCustomerDataValidAsync);
+    }
+
+    @Override
+    public Map<UUID, Boolean> validateCustomers(Collection<UUID> customerIds) {
+        // fehlende Einträge gelten wie im Interface als nicht valide
+        return cache.getAll(customerIds, delegate::validateCustomers, false);
+    }
+
+    public void evict(UUID customerId) {
+        cache.invalidate(customerId);
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        if (delegate instanceof DisposableBean disposable) {
+            disposable.destroy();
+        }
+    }
+}
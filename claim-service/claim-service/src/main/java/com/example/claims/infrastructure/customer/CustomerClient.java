@@ -1,6 +1,10 @@
 package com.example.claims.infrastructure.customer;
 
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 public interface CustomerClient {
 
@@ -11,4 +15,26 @@ public interface CustomerClient {
      * @return true, wenn die Kundendaten vollständig/valide sind, ansonsten false.
      */
     boolean isCustomerDataValid(UUID customerId);
+
+    /**
+     * Nicht-blockierende Variante für den asynchronen gRPC-Pfad.
+     * Default: synchroner Aufruf, gRPC überschreibt das mit dem Future-Stub.
+     */
+    default CompletableFuture<Boolean> isCustomerDataValidAsync(UUID customerId) {
+        return CompletableFuture.completedFuture(isCustomerDataValid(customerId));
+    }
+
+    /**
+     * Validiert mehrere Kunden auf einmal.
+     * Default: Einzelaufrufe; REST und gRPC überschreiben das mit einem echten Batch-Aufruf.
+     *
+     * @return Map customerId -> valid; fehlende Einträge gelten als nicht valide.
+     */
+    default Map<UUID, Boolean> validateCustomers(Collection<UUID> customerIds) {
+        Map<UUID, Boolean> result = new LinkedHashMap<>();
+        for (UUID customerId : customerIds) {
+            result.put(customerId, isCustomerDataValid(customerId));
+        }
+        return result;
+    }
 }
@@ -1,17 +1,83 @@
 package com.example.claims.infrastructure.customer;
 
+import com.example.claims.infrastructure.http.RouteLeaseInterceptor;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
+import java.time.Duration;
+
 @Configuration
 public class CustomerClientConfig {
 
     @Bean
     @Profile("rest")
-    public RestTemplate customerRestTemplate(RestTemplateBuilder builder) {
-        return builder.build();
+    public RestTemplate customerRestTemplate(RestTemplateBuilder builder,
+                                             ClientHttpRequestFactory downstreamClientHttpRequestFactory,
+                                             RouteLeaseInterceptor routeLeaseInterceptor) {
+        return builder
+                .requestFactory(() -> downstreamClientHttpRequestFactory)
+                .additionalInterceptors(routeLeaseInterceptor)
+                .build();
+    }
+
+    /**
+     * Legt die optionalen Decorators um die aktive CustomerClient-Implementierung.
+     * Reihenfolge von außen nach innen: {@link CachingCustomerClient} → {@link BatchingCustomerClient}
+     * → Transport. Invalidiert wird über CustomerEventsConsumer.
+     */
+    @Bean
+    public static BeanPostProcessor customerClientDecoratorPostProcessor(
+            ObjectProvider<MeterRegistry> meterRegistry,
+            @Value("${claims.batch.customer.enabled:false}") boolean batchEnabled,
+            @Value("${claims.batch.customer.max-batch-size:64}") int maxBatchSize,
+            @Value("${claims.batch.customer.max-wait-micros:1000}") long maxWaitMicros,
+            @Value("${claims.batch.customer.max-concurrent-batches:8}") int maxConcurrentBatches,
+            @Value("${claims.batch.customer.timeout-ms:${claims.submit.fan-out.timeout-ms:2000}}") long batchTimeoutMs,
+            @Value("${claims.cache.customer.enabled:false}") boolean cacheEnabled,
+            @Value("${claims.cache.customer.maximum-size:10000}") int maximumSize,
+            @Value("${claims.cache.customer.ttl-ms:600000}") long ttlMs,
+            @Value("${claims.cache.customer.negative-ttl-ms:5000}") long negativeTtlMs) {
+
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof CustomerClient customerClient)
+                        || bean instanceof CachingCustomerClient
+                        || bean instanceof BatchingCustomerClient) {
+                    return bean;
+                }
+
+                if (batchEnabled) {
+                    customerClient = new BatchingCustomerClient(
+                            customerClient,
+                            maxBatchSize,
+                            Duration.ofNanos(maxWaitMicros * 1_000L),
+                            maxConcurrentBatches,
+                            Duration.ofMillis(batchTimeoutMs),
+                            meterRegistry.getObject()
+                    );
+                }
+
+                if (cacheEnabled) {
+                    customerClient = new CachingCustomerClient(
+                            customerClient,
+                            maximumSize,
+                            Duration.ofMillis(ttlMs),
+                            Duration.ofMillis(negativeTtlMs),
+                            meterRegistry.getObject()
+                    );
+                }
+
+                return customerClient;
+            }
+        };
     }
 }
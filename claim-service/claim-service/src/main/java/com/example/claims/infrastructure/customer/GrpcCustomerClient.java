@@ -3,6 +3,9 @@ package com.example.claims.infrastructure.customer;
 import com.example.customers.grpc.CustomerServiceGrpc;
 import com.example.customers.grpc.CustomerValidationRequest;
 import com.example.customers.grpc.CustomerValidationResponse;
+import com.example.customers.grpc.ValidateCustomersRequest;
+import com.example.customers.grpc.ValidateCustomersResponse;
+import com.example.claims.support.grpc.GrpcFutures;
 import io.grpc.ManagedChannel;
 import io.grpc.ManagedChannelBuilder;
 import io.grpc.StatusRuntimeException;
@@ -12,7 +15,12 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Component;
 
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 @Slf4j
 @Component
@@ -21,10 +29,15 @@ public class GrpcCustomerClient implements CustomerClient, DisposableBean {
 
     private final ManagedChannel channel;
     private final CustomerServiceGrpc.CustomerServiceBlockingStub stub;
+    private final CustomerServiceGrpc.CustomerServiceFutureStub futureStub;
+
+    // Deadline je Call: bricht den Call auch auf dem Transport ab, nicht nur das Warten des Aufrufers
+    private final long deadlineMs;
 
     public GrpcCustomerClient(
             @Value("${customer.grpc.host:localhost}") String host,
-            @Value("${customer.grpc.port:9192}") int port) {
+            @Value("${customer.grpc.port:9192}") int port,
+            @Value("${customer.grpc.deadline-ms:${claims.submit.fan-out.timeout-ms:2000}}") long deadlineMs) {
 
         this.channel = ManagedChannelBuilder
                 .forAddress(host, port)
@@ -32,7 +45,9 @@ public class GrpcCustomerClient implements CustomerClient, DisposableBean {
                 .build();
 
         this.stub = CustomerServiceGrpc.newBlockingStub(channel);
-        log.info("Initialized GrpcCustomerClient for {}:{}", host, port);
+        this.futureStub = CustomerServiceGrpc.newFutureStub(channel);
+        this.deadlineMs = deadlineMs;
+        log.info("Initialized GrpcCustomerClient for {}:{} (deadlineMs={})", host, port, deadlineMs);
     }
 
     @Override
@@ -46,7 +61,7 @@ public class GrpcCustomerClient implements CustomerClient, DisposableBean {
 
         try {
             log.info("GrpcCustomerClient.isCustomerDataValid({}) called", customerId);
-            CustomerValidationResponse response = stub.isCustomerDataValid(request);
+            CustomerValidationResponse response = stub.withDeadlineAfter(deadlineMs, TimeUnit.MILLISECONDS).isCustomerDataValid(request);
             boolean valid = response.getValid();
             log.info("Customer validation result via gRPC: {}", valid);
             return valid;
@@ -59,6 +74,52 @@ public class GrpcCustomerClient implements CustomerClient, DisposableBean {
         }
     }
 
+    @Override
+    public CompletableFuture<Boolean> isCustomerDataValidAsync(UUID customerId) {
+        CustomerValidationRequest request = CustomerValidationRequest.newBuilder()
+                .setCustomerNumber(customerId.toString())
+                .build();
+
+        log.debug("GrpcCustomerClient.isCustomerDataValidAsync({}) called", customerId);
+
+        // Fehler werden wie im synchronen Pfad als "nicht valide" gewertet
+        return GrpcFutures.toCompletableFuture(futureStub.withDeadlineAfter(deadlineMs, TimeUnit.MILLISECONDS).isCustomerDataValid(request))
+                .thenApply(CustomerValidationResponse::getValid)
+                .exceptionally(ex -> {
+                    log.error("gRPC error in GrpcCustomerClient (async) for customerId {}: {}", customerId, ex.getMessage(), ex);
+                    return false;
+                });
+    }
+
+    @Override
+    public Map<UUID, Boolean> validateCustomers(Collection<UUID> customerIds) {
+        if (customerIds.isEmpty()) {
+            return Map.of();
+        }
+
+        ValidateCustomersRequest.Builder request = ValidateCustomersRequest.newBuilder();
+        customerIds.forEach(customerId -> request.addCustomerIds(customerId.toString()));
+
+        try {
+            log.debug("GrpcCustomerClient.validateCustomers called for {} customerIds", customerIds.size());
+
+            ValidateCustomersResponse response = stub.withDeadlineAfter(deadlineMs, TimeUnit.MILLISECONDS).validateCustomers(request.build());
+
+            Map<UUID, Boolean> result = new HashMap<>();
+            response.getResultsList().forEach(entry ->
+                    result.put(UUID.fromString(entry.getCustomerId()), entry.getValid()));
+            return result;
+        } catch (StatusRuntimeException ex) {
+            log.error("gRPC error in GrpcCustomerClient for batch validation of {} customers: {}",
+                    customerIds.size(), ex.getStatus(), ex);
+            return Map.of();
+        } catch (Exception ex) {
+            log.error("Unexpected error in GrpcCustomerClient for batch validation of {} customers: {}",
+                    customerIds.size(), ex.getMessage(), ex);
+            return Map.of();
+        }
+    }
+
     @Override
     public void destroy() {
         if (channel != null && !channel.isShutdown()) {
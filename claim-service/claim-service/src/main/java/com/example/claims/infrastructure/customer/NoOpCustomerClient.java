@@ -4,6 +4,8 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Component;
 
+import java.util.Collection;
+import java.util.Map;
 import java.util.UUID;
 
 /**
@@ -23,4 +25,11 @@ public class NoOpCustomerClient implements CustomerClient {
                 customerId);
         return false;
     }
+
+    @Override
+    public Map<UUID, Boolean> validateCustomers(Collection<UUID> customerIds) {
+        log.info("NoOpCustomerClient active (event-driven mode) – skipping synchronous batch validation for {} customerIds",
+                customerIds.size());
+        return Map.of();
+    }
 }
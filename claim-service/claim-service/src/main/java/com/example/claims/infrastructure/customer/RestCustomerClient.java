@@ -4,11 +4,15 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Profile;
+import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.*;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.RestTemplate;
 
+import java.util.Collection;
+import java.util.Map;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Component
@@ -54,4 +58,41 @@ public class RestCustomerClient implements CustomerClient {
             return false;
         }
     }
+
+    @Override
+    public Map<UUID, Boolean> validateCustomers(Collection<UUID> customerIds) {
+        if (customerIds.isEmpty()) {
+            return Map.of();
+        }
+
+        String ids = customerIds.stream()
+                .map(UUID::toString)
+                .collect(Collectors.joining(","));
+        String url = baseUrl + "/customers/valid?ids=" + ids;
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.add("X-Caller-Service", applicationName);
+
+        HttpEntity<Void> requestEntity = new HttpEntity<>(headers);
+
+        try {
+            log.debug("RestCustomerClient.validateCustomers called for {} customerIds", customerIds.size());
+
+            ResponseEntity<Map<UUID, Boolean>> response = customerRestTemplate.exchange(
+                    url, HttpMethod.GET, requestEntity, new ParameterizedTypeReference<>() {
+                    });
+
+            if (response.getStatusCode().is2xxSuccessful() && response.getBody() != null) {
+                return response.getBody();
+            }
+
+            log.warn("Batch validation of {} customers via REST returned status={}",
+                    customerIds.size(), response.getStatusCode());
+            return Map.of();
+        } catch (Exception ex) {
+            log.error("Error calling CustomerService (REST) for batch validation of {} customers: {}",
+                    customerIds.size(), ex.getMessage(), ex);
+            return Map.of();
+        }
+    }
 }
@@ -1,58 +1,74 @@
 package com.example.claims.infrastructure.grpc;
 
 import com.example.claims.application.ClaimService;
+import com.example.claims.application.ClaimSubmission;
 import com.example.claims.domain.Claim;
 import com.example.claims.grpc.*;
+import com.example.claims.support.error.ClaimBatchTooLargeException;
+import com.example.claims.support.metrics.Outcome;
+import com.example.claims.support.metrics.OutcomeMeters;
 import com.google.protobuf.Timestamp;
 import io.grpc.Status;
 import io.grpc.stub.StreamObserver;
-import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.MeterRegistry;
-import io.micrometer.core.instrument.Timer;
 import net.devh.boot.grpc.server.service.GrpcService;
+import org.springframework.beans.factory.annotation.Value;
 
 import java.math.BigDecimal;
 import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
 
 @GrpcService
 public class ClaimsGrpcService extends ClaimsServiceGrpc.ClaimsServiceImplBase {
 
     private final ClaimService claimService;
-    private final MeterRegistry meterRegistry;
 
-    public ClaimsGrpcService(ClaimService claimService, MeterRegistry meterRegistry) {
+    // Timer + Counter je (method, outcome), einmalig beim Start registriert
+    private final OutcomeMeters<Rpc> meters;
+
+    // Async-Modus: SubmitClaim antwortet aus dem Completion-Callback, der gRPC-Executor wird nicht blockiert
+    private final boolean asyncEnabled;
+
+    private final int maxSubmitBatchSize;
+
+    public ClaimsGrpcService(ClaimService claimService,
+                             MeterRegistry meterRegistry,
+                             @Value("${claims.grpc.async.enabled:false}") boolean asyncEnabled,
+                             @Value("${claims.submit.batch.max-size:100}") int maxSubmitBatchSize) {
         this.claimService = claimService;
-        this.meterRegistry = meterRegistry;
+        this.asyncEnabled = asyncEnabled;
+        this.maxSubmitBatchSize = maxSubmitBatchSize;
+        this.meters = OutcomeMeters.builder(Rpc.class, "method")
+                .keyTagValue(Rpc::tagValue)
+                .timer("claims.grpc.latency", "gRPC latency per claims RPC")
+                .counter("claims.grpc.requests", "gRPC request count per claims RPC")
+                .register(meterRegistry);
     }
 
-    // -------------------------------------------------------------------------
-    // Helper für Metriken
-    // -------------------------------------------------------------------------
+    enum Rpc {
+        SUBMIT_CLAIM("SubmitClaim"),
+        SUBMIT_CLAIMS("SubmitClaims"),
+        GET_CLAIM("GetClaim"),
+        LIST_CLAIMS_FOR_CUSTOMER("ListClaimsForCustomer"),
+        APPROVE_CLAIM("ApproveClaim"),
+        REJECT_CLAIM("RejectClaim"),
+        MARK_CLAIM_PAID_OUT("MarkClaimPaidOut"),
+        START_REVIEW("StartReview");
 
-    private Timer.Sample startSample() {
-        return Timer.start(meterRegistry);
-    }
+        private final String tagValue;
 
-    private void stopSample(Timer.Sample sample, String name, String method, String outcome) {
-        sample.stop(
-                Timer.builder(name)
-                        .description("gRPC latency per claims RPC")
-                        .tag("method", method)
-                        .tag("outcome", outcome)
-                        .publishPercentileHistogram(true)
-                        .publishPercentiles(0.5, 0.95, 0.99)
-                        .register(meterRegistry)
-        );
-    }
+        Rpc(String tagValue) {
+            this.tagValue = tagValue;
+        }
 
-    private void incrementCounter(String name, String method, String outcome) {
-        Counter.builder(name)
-                .description("gRPC request count per claims RPC")
-                .tag("method", method)
-                .tag("outcome", outcome)
-                .register(meterRegistry)
-                .increment();
+        String tagValue() {
+            return tagValue;
+        }
     }
 
     // -------------------------------------------------------------------------
@@ -63,8 +79,13 @@ public class ClaimsGrpcService extends ClaimsServiceGrpc.ClaimsServiceImplBase {
     public void submitClaim(SubmitClaimRequest request,
                             StreamObserver<SubmitClaimResponse> responseObserver) {
 
-        Timer.Sample sample = startSample();
-        String outcome = "success";
+        if (asyncEnabled) {
+            submitClaimAsync(request, responseObserver);
+            return;
+        }
+
+        long start = System.nanoTime();
+        Outcome outcome = Outcome.SUCCESS;
 
         try {
             Claim claim = claimService.submitClaim(
@@ -78,12 +99,10 @@ public class ClaimsGrpcService extends ClaimsServiceGrpc.ClaimsServiceImplBase {
                     .setClaim(toProtoClaim(claim))
                     .build();
 
-            incrementCounter("claims.grpc.requests", "SubmitClaim", "success");
             responseObserver.onNext(response);
             responseObserver.onCompleted();
         } catch (Exception ex) {
-            outcome = "error";
-            incrementCounter("claims.grpc.requests", "SubmitClaim", "error");
+            outcome = Outcome.ERROR;
             responseObserver.onError(
                     Status.INTERNAL
                             .withDescription(ex.getMessage())
@@ -91,7 +110,123 @@ public class ClaimsGrpcService extends ClaimsServiceGrpc.ClaimsServiceImplBase {
                             .asRuntimeException()
             );
         } finally {
-            stopSample(sample, "claims.grpc.latency", "SubmitClaim", outcome);
+            meters.record(Rpc.SUBMIT_CLAIM, outcome, start);
+        }
+    }
+
+    private void submitClaimAsync(SubmitClaimRequest request,
+                                  StreamObserver<SubmitClaimResponse> responseObserver) {
+
+        long start = System.nanoTime();
+
+        CompletableFuture<Claim> future;
+        try {
+            future = claimService.submitClaimAsync(
+                    UUID.fromString(request.getPolicyId()),
+                    UUID.fromString(request.getCustomerId()),
+                    request.getDescription(),
+                    BigDecimal.valueOf(request.getReportedAmount())
+            );
+        } catch (Exception ex) {
+            future = CompletableFuture.failedFuture(ex);
+        }
+
+        future.whenComplete((claim, throwable) -> {
+            if (throwable == null) {
+                responseObserver.onNext(SubmitClaimResponse.newBuilder()
+                        .setClaim(toProtoClaim(claim))
+                        .build());
+                responseObserver.onCompleted();
+                meters.record(Rpc.SUBMIT_CLAIM, Outcome.SUCCESS, start);
+                return;
+            }
+
+            Throwable cause = throwable instanceof CompletionException && throwable.getCause() != null
+                    ? throwable.getCause()
+                    : throwable;
+            // Persistenz-Executor ausgelastet -> Client soll es später erneut versuchen
+            Status status = cause instanceof RejectedExecutionException
+                    ? Status.RESOURCE_EXHAUSTED
+                    : Status.INTERNAL;
+
+            responseObserver.onError(
+                    status
+                            .withDescription(cause.getMessage())
+                            .withCause(cause)
+                            .asRuntimeException()
+            );
+            meters.record(Rpc.SUBMIT_CLAIM, Outcome.ERROR, start);
+        });
+    }
+
+    /**
+     * Batch-Submit: ungültige Einträge (IDs, Beschreibung, Betrag) werden einzeln abgelehnt,
+     * die gültigen gemeinsam gespeichert (alle oder keiner). Mehr als {@code claims.submit.batch.max-size}
+     * Einträge (gültige wie ungültige) -> INVALID_ARGUMENT.
+     */
+    @Override
+    public void submitClaims(SubmitClaimsRequest request,
+                             StreamObserver<SubmitClaimsResponse> responseObserver) {
+
+        long start = System.nanoTime();
+        Outcome outcome = Outcome.SUCCESS;
+
+        try {
+            int count = request.getClaimsCount();
+            // vor der Einzelvalidierung, damit auch ungültige Einträge zählen
+            if (count > maxSubmitBatchSize) {
+                throw new ClaimBatchTooLargeException(count, maxSubmitBatchSize);
+            }
+            SubmitClaimsResult[] results = new SubmitClaimsResult[count];
+            List<Integer> acceptedIndexes = new ArrayList<>(count);
+            List<ClaimSubmission> submissions = new ArrayList<>(count);
+
+            for (int i = 0; i < count; i++) {
+                SubmitClaimRequest item = request.getClaims(i);
+                String error = validationError(item);
+                if (error != null) {
+                    results[i] = SubmitClaimsResult.newBuilder()
+                            .setIndex(i)
+                            .setAccepted(false)
+                            .setError(error)
+                            .build();
+                    continue;
+                }
+                acceptedIndexes.add(i);
+                submissions.add(new ClaimSubmission(
+                        UUID.fromString(item.getPolicyId()),
+                        UUID.fromString(item.getCustomerId()),
+                        item.getDescription(),
+                        BigDecimal.valueOf(item.getReportedAmount())));
+            }
+
+            List<Claim> claims = claimService.submitClaims(submissions);
+            for (int i = 0; i < claims.size(); i++) {
+                int index = acceptedIndexes.get(i);
+                results[index] = SubmitClaimsResult.newBuilder()
+                        .setIndex(index)
+                        .setAccepted(true)
+                        .setClaim(toProtoClaim(claims.get(i)))
+                        .build();
+            }
+
+            responseObserver.onNext(SubmitClaimsResponse.newBuilder()
+                    .addAllResults(List.of(results))
+                    .build());
+            responseObserver.onCompleted();
+        } catch (Exception ex) {
+            outcome = Outcome.ERROR;
+            Status status = ex instanceof ClaimBatchTooLargeException
+                    ? Status.INVALID_ARGUMENT
+                    : Status.INTERNAL;
+            responseObserver.onError(
+                    status
+                            .withDescription(ex.getMessage())
+                            .withCause(ex)
+                            .asRuntimeException()
+            );
+        } finally {
+            meters.record(Rpc.SUBMIT_CLAIMS, outcome, start);
         }
     }
 
@@ -99,8 +234,8 @@ public class ClaimsGrpcService extends ClaimsServiceGrpc.ClaimsServiceImplBase {
     public void getClaim(GetClaimRequest request,
                          StreamObserver<GetClaimResponse> responseObserver) {
 
-        Timer.Sample sample = startSample();
-        String outcome = "success";
+        long start = System.nanoTime();
+        Outcome outcome = Outcome.SUCCESS;
 
         try {
             Claim claim = claimService.getClaimById(UUID.fromString(request.getClaimId()));
@@ -109,12 +244,10 @@ public class ClaimsGrpcService extends ClaimsServiceGrpc.ClaimsServiceImplBase {
                     .setClaim(toProtoClaim(claim))
                     .build();
 
-            incrementCounter("claims.grpc.requests", "GetClaim", "success");
             responseObserver.onNext(response);
             responseObserver.onCompleted();
         } catch (Exception ex) {
-            outcome = "error";
-            incrementCounter("claims.grpc.requests", "GetClaim", "error");
+            outcome = Outcome.ERROR;
             responseObserver.onError(
                     Status.INTERNAL
                             .withDescription(ex.getMessage())
@@ -122,7 +255,7 @@ public class ClaimsGrpcService extends ClaimsServiceGrpc.ClaimsServiceImplBase {
                             .asRuntimeException()
             );
         } finally {
-            stopSample(sample, "claims.grpc.latency", "GetClaim", outcome);
+            meters.record(Rpc.GET_CLAIM, outcome, start);
         }
     }
 
@@ -130,8 +263,8 @@ public class ClaimsGrpcService extends ClaimsServiceGrpc.ClaimsServiceImplBase {
     public void listClaimsForCustomer(ListClaimsForCustomerRequest request,
                                       StreamObserver<ListClaimsForCustomerResponse> responseObserver) {
 
-        Timer.Sample sample = startSample();
-        String outcome = "success";
+        long start = System.nanoTime();
+        Outcome outcome = Outcome.SUCCESS;
 
         try {
             var claims = claimService.getClaimsForCustomer(
@@ -143,12 +276,10 @@ public class ClaimsGrpcService extends ClaimsServiceGrpc.ClaimsServiceImplBase {
 
             claims.forEach(c -> builder.addClaims(toProtoClaim(c)));
 
-            incrementCounter("claims.grpc.requests", "ListClaimsForCustomer", "success");
             responseObserver.onNext(builder.build());
             responseObserver.onCompleted();
         } catch (Exception ex) {
-            outcome = "error";
-            incrementCounter("claims.grpc.requests", "ListClaimsForCustomer", "error");
+            outcome = Outcome.ERROR;
             responseObserver.onError(
                     Status.INTERNAL
                             .withDescription(ex.getMessage())
@@ -156,7 +287,7 @@ public class ClaimsGrpcService extends ClaimsServiceGrpc.ClaimsServiceImplBase {
                             .asRuntimeException()
             );
         } finally {
-            stopSample(sample, "claims.grpc.latency", "ListClaimsForCustomer", outcome);
+            meters.record(Rpc.LIST_CLAIMS_FOR_CUSTOMER, outcome, start);
         }
     }
 
@@ -164,8 +295,8 @@ public class ClaimsGrpcService extends ClaimsServiceGrpc.ClaimsServiceImplBase {
     public void approveClaim(ApproveClaimRequest request,
                              StreamObserver<ApproveClaimResponse> responseObserver) {
 
-        Timer.Sample sample = startSample();
-        String outcome = "success";
+        long start = System.nanoTime();
+        Outcome outcome = Outcome.SUCCESS;
 
         try {
             Claim claim = claimService.approveClaim(
@@ -178,12 +309,10 @@ public class ClaimsGrpcService extends ClaimsServiceGrpc.ClaimsServiceImplBase {
                     .setClaim(toProtoClaim(claim))
                     .build();
 
-            incrementCounter("claims.grpc.requests", "ApproveClaim", "success");
             responseObserver.onNext(response);
             responseObserver.onCompleted();
         } catch (Exception ex) {
-            outcome = "error";
-            incrementCounter("claims.grpc.requests", "ApproveClaim", "error");
+            outcome = Outcome.ERROR;
             responseObserver.onError(
                     Status.INTERNAL
                             .withDescription(ex.getMessage())
@@ -191,7 +320,7 @@ public class ClaimsGrpcService extends ClaimsServiceGrpc.ClaimsServiceImplBase {
                             .asRuntimeException()
             );
         } finally {
-            stopSample(sample, "claims.grpc.latency", "ApproveClaim", outcome);
+            meters.record(Rpc.APPROVE_CLAIM, outcome, start);
         }
     }
 
@@ -199,8 +328,8 @@ public class ClaimsGrpcService extends ClaimsServiceGrpc.ClaimsServiceImplBase {
     public void rejectClaim(RejectClaimRequest request,
                             StreamObserver<RejectClaimResponse> responseObserver) {
 
-        Timer.Sample sample = startSample();
-        String outcome = "success";
+        long start = System.nanoTime();
+        Outcome outcome = Outcome.SUCCESS;
 
         try {
             Claim claim = claimService.rejectClaim(
@@ -212,12 +341,10 @@ public class ClaimsGrpcService extends ClaimsServiceGrpc.ClaimsServiceImplBase {
                     .setClaim(toProtoClaim(claim))
                     .build();
 
-            incrementCounter("claims.grpc.requests", "RejectClaim", "success");
             responseObserver.onNext(response);
             responseObserver.onCompleted();
         } catch (Exception ex) {
-            outcome = "error";
-            incrementCounter("claims.grpc.requests", "RejectClaim", "error");
+            outcome = Outcome.ERROR;
             responseObserver.onError(
                     Status.INTERNAL
                             .withDescription(ex.getMessage())
@@ -225,7 +352,7 @@ public class ClaimsGrpcService extends ClaimsServiceGrpc.ClaimsServiceImplBase {
                             .asRuntimeException()
             );
         } finally {
-            stopSample(sample, "claims.grpc.latency", "RejectClaim", outcome);
+            meters.record(Rpc.REJECT_CLAIM, outcome, start);
         }
     }
 
@@ -233,8 +360,8 @@ public class ClaimsGrpcService extends ClaimsServiceGrpc.ClaimsServiceImplBase {
     public void markClaimPaidOut(MarkClaimPaidOutRequest request,
                                  StreamObserver<MarkClaimPaidOutResponse> responseObserver) {
 
-        Timer.Sample sample = startSample();
-        String outcome = "success";
+        long start = System.nanoTime();
+        Outcome outcome = Outcome.SUCCESS;
 
         try {
             Claim claim = claimService.payoutClaim(
@@ -245,12 +372,10 @@ public class ClaimsGrpcService extends ClaimsServiceGrpc.ClaimsServiceImplBase {
                     .setClaim(toProtoClaim(claim))
                     .build();
 
-            incrementCounter("claims.grpc.requests", "MarkClaimPaidOut", "success");
             responseObserver.onNext(response);
             responseObserver.onCompleted();
         } catch (Exception ex) {
-            outcome = "error";
-            incrementCounter("claims.grpc.requests", "MarkClaimPaidOut", "error");
+            outcome = Outcome.ERROR;
             responseObserver.onError(
                     Status.INTERNAL
                             .withDescription(ex.getMessage())
@@ -258,7 +383,7 @@ public class ClaimsGrpcService extends ClaimsServiceGrpc.ClaimsServiceImplBase {
                             .asRuntimeException()
             );
         } finally {
-            stopSample(sample, "claims.grpc.latency", "MarkClaimPaidOut", outcome);
+            meters.record(Rpc.MARK_CLAIM_PAID_OUT, outcome, start);
         }
     }
 
@@ -266,8 +391,8 @@ public class ClaimsGrpcService extends ClaimsServiceGrpc.ClaimsServiceImplBase {
     public void startReview(StartReviewRequest request,
                             StreamObserver<StartReviewResponse> responseObserver) {
 
-        Timer.Sample sample = startSample();
-        String outcome = "success";
+        long start = System.nanoTime();
+        Outcome outcome = Outcome.SUCCESS;
 
         try {
             Claim claim = claimService.startReview(
@@ -278,12 +403,10 @@ public class ClaimsGrpcService extends ClaimsServiceGrpc.ClaimsServiceImplBase {
                     .setClaim(toProtoClaim(claim))
                     .build();
 
-            incrementCounter("claims.grpc.requests", "StartReview", "success");
             responseObserver.onNext(response);
             responseObserver.onCompleted();
         } catch (Exception ex) {
-            outcome = "error";
-            incrementCounter("claims.grpc.requests", "StartReview", "error");
+            outcome = Outcome.ERROR;
             responseObserver.onError(
                     Status.INTERNAL
                             .withDescription(ex.getMessage())
@@ -291,7 +414,7 @@ public class ClaimsGrpcService extends ClaimsServiceGrpc.ClaimsServiceImplBase {
                             .asRuntimeException()
             );
         } finally {
-            stopSample(sample, "claims.grpc.latency", "StartReview", outcome);
+            meters.record(Rpc.START_REVIEW, outcome, start);
         }
     }
 
@@ -299,6 +422,33 @@ public class ClaimsGrpcService extends ClaimsServiceGrpc.ClaimsServiceImplBase {
     // Mapping Domain -> Proto
     // -------------------------------------------------------------------------
 
+    // entspricht den Constraints von ClaimCreateRequest (REST)
+    private static String validationError(SubmitClaimRequest item) {
+        if (!isUuid(item.getPolicyId())) {
+            return "policyId: must be a valid UUID";
+        }
+        if (!isUuid(item.getCustomerId())) {
+            return "customerId: must be a valid UUID";
+        }
+        int descriptionLength = item.getDescription().length();
+        if (descriptionLength < 5 || descriptionLength > 500) {
+            return "description: size must be between 5 and 500";
+        }
+        if (!(item.getReportedAmount() > 0)) {
+            return "reportedAmount: must be greater than 0";
+        }
+        return null;
+    }
+
+    private static boolean isUuid(String value) {
+        try {
+            UUID.fromString(value);
+            return true;
+        } catch (IllegalArgumentException ex) {
+            return false;
+        }
+    }
+
     private com.example.claims.grpc.Claim toProtoClaim(Claim claim) {
         return com.example.claims.grpc.Claim.newBuilder()
                 .setId(claim.getId().toString())
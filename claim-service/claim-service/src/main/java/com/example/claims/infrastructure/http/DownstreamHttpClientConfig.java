@@ -0,0 +1,69 @@
+package com.example.claims.infrastructure.http;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+
+/**
+ * Gemeinsamer HTTP-Client für RestPolicyClient und RestCustomerClient.
+ *
+ * - JDK-HttpClient statt HttpURLConnection: Keep-Alive-Pool, optional HTTP/2 (h2c per Upgrade,
+ *   Fallback auf HTTP/1.1, wenn der Server kein h2c anbietet).
+ * - Connect- und Response-Timeout, damit langsame Downstreams keine Tomcat-Threads unbegrenzt binden.
+ * - Limit pro Route und Lease-Metriken über {@link RouteLeaseInterceptor}.
+ *
+ * Die Keep-Alive-Dauer ist eine JVM-weite Einstellung des JDK-HttpClients und wird nur beim
+ * Laden seiner Klassen gelesen. Sie wird daher als JVM-Option gesetzt (Dockerfile,
+ * JAVA_TOOL_OPTIONS) und hier nur protokolliert.
+ */
+@Slf4j
+@Configuration
+@Profile("rest")
+public class DownstreamHttpClientConfig {
+
+    private static final String KEEP_ALIVE_PROPERTY = "jdk.httpclient.keepalive.timeout";
+    // JDK-Default für HTTP/1.1-Verbindungen in Sekunden
+    private static final String KEEP_ALIVE_DEFAULT_SECONDS = "1200";
+
+    @Bean
+    public ClientHttpRequestFactory downstreamClientHttpRequestFactory(
+            @Value("${claims.http-client.connect-timeout-ms:1000}") long connectTimeoutMs,
+            @Value("${claims.http-client.response-timeout-ms:2000}") long responseTimeoutMs,
+            @Value("${claims.http-client.http2:false}") boolean http2) {
+
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(http2 ? HttpClient.Version.HTTP_2 : HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .build();
+
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(httpClient);
+        requestFactory.setReadTimeout(Duration.ofMillis(responseTimeoutMs));
+
+        log.info("Initialized downstream HTTP client (http2={}, connectTimeoutMs={}, responseTimeoutMs={}, keepAliveSeconds={})",
+                http2, connectTimeoutMs, responseTimeoutMs,
+                System.getProperty(KEEP_ALIVE_PROPERTY, KEEP_ALIVE_DEFAULT_SECONDS));
+        return requestFactory;
+    }
+
+    @Bean
+    public RouteLeaseInterceptor routeLeaseInterceptor(
+            MeterRegistry meterRegistry,
+            @Value("${claims.http-client.max-connections-per-route:50}") int maxConnectionsPerRoute,
+            @Value("${claims.http-client.connection-request-timeout-ms:500}") long connectionRequestTimeoutMs) {
+
+        return new RouteLeaseInterceptor(
+                maxConnectionsPerRoute,
+                Duration.ofMillis(connectionRequestTimeoutMs),
+                meterRegistry
+        );
+    }
+}
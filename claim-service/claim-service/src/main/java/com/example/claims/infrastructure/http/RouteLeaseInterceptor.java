@@ -0,0 +1,192 @@
+package com.example.claims.infrastructure.http;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.net.URI;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Begrenzt gleichzeitige Requests pro Route (scheme://host:port) auf {@code maxPerRoute}.
+ *
+ * Der JDK-HttpClient poolt Verbindungen selbst, kennt aber kein Limit pro Route. Dieses
+ * Interceptor-"Lease" übernimmt die Rolle des Pool-Limits: wer länger als
+ * {@code leaseTimeout} auf einen freien Slot wartet, bekommt sofort einen Fehler statt
+ * einen Tomcat-Thread unbegrenzt zu blockieren. Der Slot wird erst beim Schließen der
+ * Response freigegeben, also nachdem der Body gelesen wurde.
+ *
+ * Metriken (getaggt mit {@code route}): claims_http_client_pending, claims_http_client_leased,
+ * claims_http_client_lease_wait_duration, claims_http_client_lease_duration,
+ * claims_http_client_lease_timeout_total.
+ */
+public class RouteLeaseInterceptor implements ClientHttpRequestInterceptor {
+
+    private final int maxPerRoute;
+    private final long leaseTimeoutNanos;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, Route> routes = new ConcurrentHashMap<>();
+
+    public RouteLeaseInterceptor(int maxPerRoute, Duration leaseTimeout, MeterRegistry meterRegistry) {
+        this.maxPerRoute = maxPerRoute;
+        this.leaseTimeoutNanos = leaseTimeout.toNanos();
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request,
+                                        byte[] body,
+                                        ClientHttpRequestExecution execution) throws IOException {
+
+        Route route = routes.computeIfAbsent(routeKey(request.getURI()), this::createRoute);
+
+        long waitStart = System.nanoTime();
+        route.pending.incrementAndGet();
+        boolean acquired;
+        try {
+            acquired = route.permits.tryAcquire(leaseTimeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for HTTP lease on " + route.key);
+        } finally {
+            route.pending.decrementAndGet();
+        }
+        long leasedAt = System.nanoTime();
+        route.waitTimer.record(leasedAt - waitStart, TimeUnit.NANOSECONDS);
+
+        if (!acquired) {
+            route.timeoutCounter.increment();
+            throw new IOException("Timeout waiting for HTTP lease on " + route.key
+                    + " (max " + maxPerRoute + " concurrent requests)");
+        }
+
+        route.leased.incrementAndGet();
+        try {
+            return new LeasedResponse(execution.execute(request, body), route, leasedAt);
+        } catch (IOException | RuntimeException ex) {
+            route.release(leasedAt);
+            throw ex;
+        }
+    }
+
+    private static String routeKey(URI uri) {
+        return uri.getScheme() + "://" + uri.getHost() + ":" + uri.getPort();
+    }
+
+    private Route createRoute(String key) {
+        Route route = new Route(key, new Semaphore(maxPerRoute, true));
+
+        route.waitTimer = Timer.builder("claims_http_client_lease_wait_duration")
+                .description("Time spent waiting for a free HTTP connection slot")
+                .tag("route", key)
+                .publishPercentileHistogram(true)
+                .register(meterRegistry);
+        route.leaseTimer = Timer.builder("claims_http_client_lease_duration")
+                .description("Time an HTTP connection slot is held (request until response closed)")
+                .tag("route", key)
+                .publishPercentileHistogram(true)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        route.timeoutCounter = Counter.builder("claims_http_client_lease_timeout_total")
+                .description("Requests rejected because no HTTP connection slot became free in time")
+                .tag("route", key)
+                .register(meterRegistry);
+        Gauge.builder("claims_http_client_pending", route.pending, AtomicInteger::get)
+                .description("Requests currently waiting for an HTTP connection slot")
+                .tag("route", key)
+                .register(meterRegistry);
+        Gauge.builder("claims_http_client_leased", route.leased, AtomicInteger::get)
+                .description("HTTP connection slots currently in use")
+                .tag("route", key)
+                .register(meterRegistry);
+
+        return route;
+    }
+
+    private static final class Route {
+
+        final String key;
+        final Semaphore permits;
+        final AtomicInteger pending = new AtomicInteger();
+        final AtomicInteger leased = new AtomicInteger();
+        Timer waitTimer;
+        Timer leaseTimer;
+        Counter timeoutCounter;
+
+        Route(String key, Semaphore permits) {
+            this.key = key;
+            this.permits = permits;
+        }
+
+        void release(long leasedAt) {
+            leaseTimer.record(System.nanoTime() - leasedAt, TimeUnit.NANOSECONDS);
+            leased.decrementAndGet();
+            permits.release();
+        }
+    }
+
+    /**
+     * Gibt den Slot beim (ersten) close() der Response frei.
+     */
+    private static final class LeasedResponse implements ClientHttpResponse {
+
+        private final ClientHttpResponse delegate;
+        private final Route route;
+        private final long leasedAt;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        LeasedResponse(ClientHttpResponse delegate, Route route, long leasedAt) {
+            this.delegate = delegate;
+            this.route = route;
+            this.leasedAt = leasedAt;
+        }
+
+        @Override
+        public HttpStatusCode getStatusCode() throws IOException {
+            return delegate.getStatusCode();
+        }
+
+        @Override
+        public String getStatusText() throws IOException {
+            return delegate.getStatusText();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return delegate.getHeaders();
+        }
+
+        @Override
+        public InputStream getBody() throws IOException {
+            return delegate.getBody();
+        }
+
+        @Override
+        public void close() {
+            try {
+                delegate.close();
+            } finally {
+                if (released.compareAndSet(false, true)) {
+                    route.release(leasedAt);
+                }
+            }
+        }
+    }
+}
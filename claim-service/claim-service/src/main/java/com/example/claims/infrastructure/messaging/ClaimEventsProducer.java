@@ -3,56 +3,69 @@ package com.example.claims.infrastructure.messaging;
 import com.example.claims.domain.Claim;
 import com.example.claims.infrastructure.messaging.events.ClaimEventPayload;
 import com.example.claims.infrastructure.messaging.events.ClaimEventType;
-import io.micrometer.core.instrument.Counter;
+import com.example.claims.infrastructure.persistence.ClaimOutboxEntity;
+import com.example.claims.infrastructure.persistence.ClaimOutboxJpaRepository;
+import com.example.claims.support.id.IdGenerator;
+import com.example.claims.support.metrics.Outcome;
+import com.example.claims.support.metrics.OutcomeMeters;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.micrometer.core.instrument.MeterRegistry;
-import io.micrometer.core.instrument.Timer;
-import lombok.RequiredArgsConstructor;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.errors.SerializationException;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
 import java.time.OffsetDateTime;
-import java.util.UUID;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Verantwortlich für das Publizieren von Claim-bezogenen Domain-Events über Kafka.
  * Zusätzlich werden eigene Metriken für Latenz und Erfolgs-/Fehlerquoten erfasst.
+ *
+ * Jeder Record trägt den Event-Typ im Header {@value #EVENT_TYPE_HEADER}.
+ *
+ * Mit {@code claims.outbox.enabled} wird nicht direkt gesendet, sondern das Event in der
+ * laufenden Transaktion in {@code claim_outbox} geschrieben; gesendet wird es dann
+ * gebündelt vom {@link ClaimOutboxRelay}.
  */
 @Service
-@RequiredArgsConstructor
 public class ClaimEventsProducer {
 
     private static final String DEFAULT_TOPIC = "claims.claim-events";
 
-    private final KafkaTemplate<String, ClaimEventPayload> kafkaTemplate;
-    private final MeterRegistry meterRegistry;
-
-    // -------------------------------------------------------------------------
-    // Helper für Metriken
-    // -------------------------------------------------------------------------
-
-    private Timer.Sample startSample() {
-        return Timer.start(meterRegistry);
-    }
+    // Consumer verwerfen nicht benötigte Typen anhand dieses Headers, ohne den Value zu parsen
+    static final String EVENT_TYPE_HEADER = "event-type";
 
-    private void stopSample(Timer.Sample sample, String name, String eventType, String outcome) {
-        sample.stop(
-                Timer.builder(name)
-                        .description("Kafka producer latency for claim events")
-                        .tag("eventType", eventType)
-                        .tag("outcome", outcome)
-                        .publishPercentileHistogram(true)
-                        .publishPercentiles(0.5, 0.95, 0.99)
-                        .register(meterRegistry)
-        );
-    }
-
-    private void incrementCounter(String name, String eventType, String outcome) {
-        Counter.builder(name)
-                .description("Kafka records produced for claim events")
-                .tag("eventType", eventType)
-                .tag("outcome", outcome)
-                .register(meterRegistry)
-                .increment();
+    private final KafkaTemplate<String, ClaimEventPayload> kafkaTemplate;
+    private final ClaimOutboxJpaRepository claimOutboxRepository;
+    private final ObjectMapper objectMapper;
+    private final IdGenerator idGenerator;
+    private final boolean outboxEnabled;
+
+    // Timer + Counter je (eventType, outcome), einmalig beim Start registriert
+    private final OutcomeMeters<ClaimEventType> meters;
+
+    public ClaimEventsProducer(KafkaTemplate<String, ClaimEventPayload> kafkaTemplate,
+                               ClaimOutboxJpaRepository claimOutboxRepository,
+                               ObjectMapper objectMapper,
+                               IdGenerator idGenerator,
+                               MeterRegistry meterRegistry,
+                               @Value("${claims.outbox.enabled:false}") boolean outboxEnabled) {
+        this.kafkaTemplate = kafkaTemplate;
+        this.claimOutboxRepository = claimOutboxRepository;
+        this.objectMapper = objectMapper;
+        this.idGenerator = idGenerator;
+        this.outboxEnabled = outboxEnabled;
+        this.meters = OutcomeMeters.builder(ClaimEventType.class, "eventType")
+                .outcomes(Outcome.SUCCESS, Outcome.ERROR, Outcome.EXCEPTION)
+                .timer("claims.kafka.producer.latency", "Kafka producer latency for claim events")
+                .counter("claims.kafka.producer.records", "Kafka records produced for claim events")
+                .register(meterRegistry);
     }
 
     // -------------------------------------------------------------------------
@@ -63,6 +76,22 @@ public class ClaimEventsProducer {
         publishEvent(claim, ClaimEventType.CLAIM_SUBMITTED);
     }
 
+    /**
+     * CLAIM_SUBMITTED für mehrere Claims (Batch-Submit): alle Records werden übergeben und mit
+     * {@code flush()} sofort gemeinsam gesendet, statt auf linger.ms bzw. den nächsten Sender-Lauf
+     * zu warten. Mit Outbox landen alle Events in der laufenden Transaktion.
+     */
+    public void publishClaimsSubmitted(List<Claim> claims) {
+        if (outboxEnabled) {
+            claims.forEach(claim -> appendToOutbox(payload(claim, ClaimEventType.CLAIM_SUBMITTED)));
+            return;
+        }
+        for (Claim claim : claims) {
+            send(kafkaTemplate, payload(claim, ClaimEventType.CLAIM_SUBMITTED));
+        }
+        kafkaTemplate.flush();
+    }
+
     public void publishClaimInReview(Claim claim) {
         publishEvent(claim, ClaimEventType.CLAIM_IN_REVIEW);
     }
@@ -84,10 +113,20 @@ public class ClaimEventsProducer {
     // -------------------------------------------------------------------------
 
     private void publishEvent(Claim claim, ClaimEventType eventType) {
+        var payload = payload(claim, eventType);
+
+        if (outboxEnabled) {
+            appendToOutbox(payload);
+        } else {
+            send(kafkaTemplate, payload);
+        }
+    }
+
+    private ClaimEventPayload payload(Claim claim, ClaimEventType eventType) {
         var now = OffsetDateTime.now();
 
-        var payload = ClaimEventPayload.builder()
-                .eventId(UUID.randomUUID())
+        return ClaimEventPayload.builder()
+                .eventId(idGenerator.next())
                 .eventType(eventType)
                 .occurredAt(now)
                 .claimId(claim.getId())
@@ -102,28 +141,54 @@ public class ClaimEventsProducer {
                 .createdAt(claim.getCreatedAt())
                 .lastUpdatedAt(claim.getLastUpdatedAt())
                 .build();
+    }
 
-        Timer.Sample sample = startSample();
-        String eventTypeName = eventType.name();
+    /**
+     * Sendet ein Event über das übergebene Template (direkt oder aus dem Outbox-Relay)
+     * und erfasst Latenz bis zur Bestätigung durch den Broker.
+     */
+    CompletableFuture<SendResult<String, ClaimEventPayload>> send(KafkaTemplate<String, ClaimEventPayload> template,
+                                                                  ClaimEventPayload payload) {
+        ClaimEventType eventType = payload.getEventType();
+        long start = System.nanoTime();
 
         try {
-            kafkaTemplate.send(DEFAULT_TOPIC, claim.getId().toString(), payload)
+            ProducerRecord<String, ClaimEventPayload> record =
+                    new ProducerRecord<>(DEFAULT_TOPIC, payload.getClaimId().toString(), payload);
+            record.headers().add(EVENT_TYPE_HEADER, eventType.name().getBytes(StandardCharsets.UTF_8));
+
+            return template.send(record)
                     .whenComplete((result, ex) -> {
                         if (ex == null) {
                             // erfolgreich gesendet
-                            stopSample(sample, "claims.kafka.producer.latency", eventTypeName, "success");
-                            incrementCounter("claims.kafka.producer.records", eventTypeName, "success");
+                            meters.record(eventType, Outcome.SUCCESS, start);
                         } else {
                             // asynchroner Fehler (Broker down, Timeout etc.)
-                            stopSample(sample, "claims.kafka.producer.latency", eventTypeName, "error");
-                            incrementCounter("claims.kafka.producer.records", eventTypeName, "error");
+                            meters.record(eventType, Outcome.ERROR, start);
                         }
                     });
         } catch (Exception ex) {
             // wirklich synchroner Fehler (z.B. Serialisierung vor dem Senden)
-            stopSample(sample, "claims.kafka.producer.latency", eventTypeName, "exception");
-            incrementCounter("claims.kafka.producer.records", eventTypeName, "exception");
+            meters.record(eventType, Outcome.EXCEPTION, start);
             throw ex;
         }
     }
+
+    // Teil der Transaktion des Aufrufers: wird die Claim-Änderung zurückgerollt, entfällt auch das Event
+    private void appendToOutbox(ClaimEventPayload payload) {
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException ex) {
+            throw new SerializationException("Can't serialize claim event " + payload.getEventId() + " for the outbox", ex);
+        }
+
+        claimOutboxRepository.save(ClaimOutboxEntity.builder()
+                .eventId(payload.getEventId())
+                .claimId(payload.getClaimId())
+                .eventType(payload.getEventType().name())
+                .payload(json)
+                .createdAt(payload.getOccurredAt())
+                .build());
+    }
 }
@@ -0,0 +1,48 @@
+package com.example.claims.infrastructure.messaging;
+
+import com.example.claims.infrastructure.messaging.events.ClaimEventPayload;
+import com.example.claims.infrastructure.messaging.serialization.EventFormat;
+import com.example.claims.infrastructure.messaging.serialization.EventProtoCodec;
+import com.example.claims.infrastructure.messaging.serialization.EventSerializer;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.kafka.common.serialization.Serializer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.kafka.DefaultKafkaProducerFactoryCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+/**
+ * Wire-Format für claims.claim-events ({@code claims.kafka.format.claim-events}: json | protobuf).
+ *
+ * Tauscht nur den Value-Serializer des von Spring Boot angelegten Producers (der einzige in
+ * claims-service), Producer-Properties aus application.yaml und Kafka-Client-Metriken bleiben.
+ */
+@Configuration
+public class ClaimEventsSerializationConfig {
+
+    @Bean
+    public DefaultKafkaProducerFactoryCustomizer claimEventsSerializerCustomizer(
+            @Value("${claims.kafka.format.claim-events:json}") String format,
+            MeterRegistry meterRegistry) {
+
+        JsonSerializer<ClaimEventPayload> jsonSerializer = new JsonSerializer<>();
+        jsonSerializer.setAddTypeInfo(false);
+
+        EventSerializer<ClaimEventPayload> serializer = new EventSerializer<>(
+                "claim_event",
+                EventFormat.fromConfig(format),
+                jsonSerializer,
+                EventProtoCodec::encodeClaimEvent,
+                meterRegistry
+        );
+
+        return producerFactory -> setValueSerializer(producerFactory, serializer);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void setValueSerializer(DefaultKafkaProducerFactory<?, ?> producerFactory, Serializer<?> serializer) {
+        ((DefaultKafkaProducerFactory<Object, Object>) producerFactory).setValueSerializer((Serializer<Object>) serializer);
+    }
+}
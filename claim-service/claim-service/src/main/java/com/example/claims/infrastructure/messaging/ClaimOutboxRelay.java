@@ -0,0 +1,345 @@
+package com.example.claims.infrastructure.messaging;
+
+import com.example.claims.infrastructure.messaging.events.ClaimEventPayload;
+import com.example.claims.infrastructure.persistence.ClaimOutboxEntity;
+import com.example.claims.infrastructure.persistence.ClaimOutboxJpaRepository;
+import com.example.claims.infrastructure.persistence.DbOperationContext;
+import com.example.claims.support.metrics.Outcome;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.kafka.KafkaException;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.ProducerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Überträgt Events aus {@code claim_outbox} gebündelt nach Kafka.
+ *
+ * Es relayt immer nur eine Instanz: Die aktive hält einen Postgres-Advisory-Lock auf einer
+ * eigenen Verbindung, alle anderen prüfen pro Durchlauf nur, ob sie ihn übernehmen können
+ * (z. B. nachdem die Verbindung des bisherigen Relays beendet wurde). Mehrere Relays mit
+ * {@code SKIP LOCKED} könnten Events desselben Claims in vertauschter Reihenfolge senden.
+ *
+ * Pro Durchlauf werden bis zu {@code batch-size} Zeilen ohne Sperre gelesen, alle gesendet,
+ * auf die Bestätigungen gewartet und dann in einer kurzen Transaktion mit einem DELETE
+ * entfernt. Während auf Kafka gewartet wird, ist weder eine Transaktion offen noch eine
+ * Pool-Verbindung belegt. Schlägt ein Senden fehl, bleiben die Zeilen stehen und der Batch wird
+ * im nächsten Durchlauf erneut gesendet (at-least-once, Duplikate sind über die eventId
+ * erkennbar, ebenso bei einem Wechsel des aktiven Relays mitten im Batch).
+ *
+ * Ist ein Batch voll, folgt der nächste sofort, sonst wartet der Relay {@code poll-interval-ms}.
+ * Gesendet wird über einen eigenen Producer mit {@code linger.ms}/{@code batch.size} aus
+ * {@code claims.outbox.producer}; Serializer und Wire-Format bleiben die des Standard-Producers.
+ *
+ * Metriken: claims_outbox_relay_batch_size, claims_outbox_relay_duration{outcome},
+ * claims_outbox_delay (Wartezeit eines Events in der Outbox bis zur Bestätigung),
+ * claims_outbox_relay_records_total{outcome}.
+ */
+@Slf4j
+@Component
+@Profile("event-driven")
+@ConditionalOnProperty(name = "claims.outbox.enabled", havingValue = "true")
+public class ClaimOutboxRelay implements ApplicationRunner, DisposableBean {
+
+    // Schlüssel des Advisory-Locks, den der aktive Relay hält
+    private static final long RELAY_LOCK_KEY = 0x636C61696D6F7574L;
+
+    private final ClaimOutboxJpaRepository claimOutboxRepository;
+    private final DataSource dataSource;
+    private final ClaimEventsProducer claimEventsProducer;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final ProducerFactory<String, ClaimEventPayload> relayProducerFactory;
+    private final KafkaTemplate<String, ClaimEventPayload> relayTemplate;
+    private final int batchSize;
+    private final long pollIntervalMs;
+    private final long sendTimeoutMs;
+
+    // Verbindung mit dem Advisory-Lock, nur vom Relay-Thread benutzt; null: nicht aktiv
+    private Connection leaderConnection;
+
+    private final ScheduledExecutorService relayThread = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "claims-outbox-relay");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final DistributionSummary batchSizeSummary;
+    private final Timer successTimer;
+    private final Timer errorTimer;
+    private final Timer delayTimer;
+    private final Counter sentCounter;
+    private final Counter unreadableCounter;
+
+    public ClaimOutboxRelay(ClaimOutboxJpaRepository claimOutboxRepository,
+                            DataSource dataSource,
+                            ClaimEventsProducer claimEventsProducer,
+                            KafkaTemplate<String, ClaimEventPayload> kafkaTemplate,
+                            ObjectMapper objectMapper,
+                            PlatformTransactionManager transactionManager,
+                            MeterRegistry meterRegistry,
+                            @Value("${claims.outbox.batch-size:500}") int batchSize,
+                            @Value("${claims.outbox.poll-interval-ms:50}") long pollIntervalMs,
+                            @Value("${claims.outbox.send-timeout-ms:10000}") long sendTimeoutMs,
+                            @Value("${claims.outbox.producer.linger-ms:5}") int lingerMs,
+                            @Value("${claims.outbox.producer.batch-size:131072}") int producerBatchSize) {
+        this.claimOutboxRepository = claimOutboxRepository;
+        this.dataSource = dataSource;
+        this.claimEventsProducer = claimEventsProducer;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.pollIntervalMs = pollIntervalMs;
+        this.sendTimeoutMs = sendTimeoutMs;
+
+        this.relayProducerFactory = kafkaTemplate.getProducerFactory().copyWithConfigurationOverride(Map.of(
+                ProducerConfig.LINGER_MS_CONFIG, lingerMs,
+                ProducerConfig.BATCH_SIZE_CONFIG, producerBatchSize
+        ));
+        this.relayTemplate = new KafkaTemplate<>(relayProducerFactory);
+
+        this.batchSizeSummary = DistributionSummary.builder("claims_outbox_relay_batch_size")
+                .description("Number of outbox rows relayed per batch")
+                .publishPercentileHistogram(true)
+                .register(meterRegistry);
+        this.successTimer = relayTimer(meterRegistry, Outcome.SUCCESS);
+        this.errorTimer = relayTimer(meterRegistry, Outcome.ERROR);
+        this.delayTimer = Timer.builder("claims_outbox_delay")
+                .description("Time a claim event spent in the outbox until Kafka acknowledged it")
+                .publishPercentileHistogram(true)
+                .register(meterRegistry);
+        this.sentCounter = recordCounter(meterRegistry, "sent");
+        this.unreadableCounter = recordCounter(meterRegistry, "unreadable");
+
+        log.info("ClaimOutboxRelay initialized: batchSize={}, pollIntervalMs={}, lingerMs={}, producerBatchSize={}",
+                batchSize, pollIntervalMs, lingerMs, producerBatchSize);
+    }
+
+    private static Timer relayTimer(MeterRegistry meterRegistry, Outcome outcome) {
+        return Timer.builder("claims_outbox_relay_duration")
+                .description("Duration of one outbox relay batch (read, send, await acks, delete)")
+                .tag("outcome", outcome.tagValue())
+                .publishPercentileHistogram(true)
+                .register(meterRegistry);
+    }
+
+    private static Counter recordCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("claims_outbox_relay_records_total")
+                .description("Outbox rows removed by the relay, by outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    // -------------------------------------------------------------------------
+    // Lebenszyklus
+    // -------------------------------------------------------------------------
+
+    // erst nach dem Start, damit das Schema (ddl-auto) sicher angelegt ist
+    @Override
+    public void run(ApplicationArguments args) {
+        relayThread.scheduleWithFixedDelay(this::drain, 0, pollIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        relayThread.shutdownNow();
+        // Lock erst freigeben, wenn kein Batch mehr läuft
+        if (relayThread.awaitTermination(sendTimeoutMs, TimeUnit.MILLISECONDS)) {
+            releaseLeadership();
+        }
+        // eigene Factory ist keine Bean, Producer daher selbst schließen
+        relayProducerFactory.reset();
+    }
+
+    // -------------------------------------------------------------------------
+    // Aktiver Relay
+    // -------------------------------------------------------------------------
+
+    private boolean acquireLeadership() {
+        try {
+            if (leaderConnection != null) {
+                if (leaderConnection.isValid(1)) {
+                    return true;
+                }
+                // mit der Verbindung hat Postgres auch den Lock freigegeben
+                log.warn("ClaimOutboxRelay lost its lock connection, trying to reacquire");
+                closeLeaderConnection();
+            }
+
+            Connection connection;
+            try (var ignored = DbOperationContext.open("outboxRelayLock")) {
+                connection = dataSource.getConnection();
+            }
+            connection.setAutoCommit(true);
+            if (!tryAdvisoryLock(connection)) {
+                connection.close();
+                return false;
+            }
+            leaderConnection = connection;
+            log.info("ClaimOutboxRelay acquired relay lock, this instance relays the outbox");
+            return true;
+        } catch (SQLException ex) {
+            closeLeaderConnection();
+            throw new IllegalStateException("Could not acquire outbox relay lock", ex);
+        }
+    }
+
+    private static boolean tryAdvisoryLock(Connection connection) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("SELECT pg_try_advisory_lock(?)")) {
+            statement.setLong(1, RELAY_LOCK_KEY);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return resultSet.next() && resultSet.getBoolean(1);
+            }
+        }
+    }
+
+    private void releaseLeadership() {
+        if (leaderConnection == null) {
+            return;
+        }
+        try (PreparedStatement statement = leaderConnection.prepareStatement("SELECT pg_advisory_unlock(?)")) {
+            statement.setLong(1, RELAY_LOCK_KEY);
+            statement.execute();
+        } catch (SQLException ex) {
+            log.warn("Could not release outbox relay lock: {}", ex.getMessage());
+        }
+        closeLeaderConnection();
+    }
+
+    private void closeLeaderConnection() {
+        if (leaderConnection == null) {
+            return;
+        }
+        try {
+            leaderConnection.close();
+        } catch (SQLException ex) {
+            log.debug("Closing outbox relay lock connection failed: {}", ex.getMessage());
+        }
+        leaderConnection = null;
+    }
+
+    // -------------------------------------------------------------------------
+    // Relay
+    // -------------------------------------------------------------------------
+
+    private void drain() {
+        try {
+            if (!acquireLeadership()) {
+                return;
+            }
+            // volle Batches direkt nacheinander, erst ein Teil-Batch beendet den Durchlauf
+            while (relayBatch() >= batchSize) {
+                if (Thread.currentThread().isInterrupted()) {
+                    return;
+                }
+            }
+        } catch (RuntimeException ex) {
+            // nicht weiterwerfen, sonst beendet der Executor die periodische Ausführung
+            log.error("Error while relaying claim outbox, retrying in {} ms: {}", pollIntervalMs, ex.getMessage(), ex);
+        }
+    }
+
+    private int relayBatch() {
+        long start = System.nanoTime();
+
+        try (var ignored = DbOperationContext.open("outboxRelay")) {
+            int relayed = relay();
+            if (relayed > 0) {
+                successTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+            return relayed;
+        } catch (RuntimeException ex) {
+            errorTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw ex;
+        }
+    }
+
+    private int relay() {
+        List<ClaimOutboxEntity> rows = claimOutboxRepository.findNextBatch(batchSize);
+        if (rows.isEmpty()) {
+            return 0;
+        }
+        batchSizeSummary.record(rows.size());
+
+        List<CompletableFuture<?>> acks = new ArrayList<>(rows.size());
+        List<Long> ids = new ArrayList<>(rows.size());
+        for (ClaimOutboxEntity row : rows) {
+            ids.add(row.getId());
+            ClaimEventPayload payload = readPayload(row);
+            if (payload != null) {
+                acks.add(claimEventsProducer.send(relayTemplate, payload));
+            }
+        }
+
+        // nicht auf linger.ms warten, der Batch ist vollständig übergeben
+        relayTemplate.flush();
+        awaitAcks(acks);
+
+        transactionTemplate.executeWithoutResult(status -> claimOutboxRepository.deleteByIds(ids));
+
+        OffsetDateTime now = OffsetDateTime.now();
+        for (ClaimOutboxEntity row : rows) {
+            delayTimer.record(Duration.between(row.getCreatedAt(), now));
+        }
+        sentCounter.increment(acks.size());
+
+        log.debug("ClaimOutboxRelay relayed batch: rows={}, sent={}", rows.size(), acks.size());
+        return rows.size();
+    }
+
+    private void awaitAcks(List<CompletableFuture<?>> acks) {
+        try {
+            CompletableFuture.allOf(acks.toArray(CompletableFuture[]::new)).get(sendTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new KafkaException("Interrupted while waiting for outbox acks", ex);
+        } catch (ExecutionException ex) {
+            throw new KafkaException("Sending outbox batch failed", ex.getCause());
+        } catch (TimeoutException ex) {
+            throw new KafkaException("Outbox batch not acknowledged within " + sendTimeoutMs + " ms", ex);
+        }
+    }
+
+    // nicht lesbare Zeilen würden den Relay dauerhaft blockieren, sie werden protokolliert und verworfen
+    private ClaimEventPayload readPayload(ClaimOutboxEntity row) {
+        try {
+            return objectMapper.readValue(row.getPayload(), ClaimEventPayload.class);
+        } catch (JsonProcessingException ex) {
+            unreadableCounter.increment();
+            log.error("Dropping unreadable outbox row id={} eventId={} claimId={}: {}",
+                    row.getId(), row.getEventId(), row.getClaimId(), ex.getMessage());
+            return null;
+        }
+    }
+}
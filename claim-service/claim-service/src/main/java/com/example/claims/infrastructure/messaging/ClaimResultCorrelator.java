@@ -0,0 +1,363 @@
+package com.example.claims.infrastructure.messaging;
+
+import com.example.claims.domain.ClaimStatus;
+import com.example.claims.infrastructure.persistence.ClaimJpaRepository;
+import com.example.claims.infrastructure.persistence.DbOperationContext;
+import com.example.claims.support.metrics.Outcome;
+import com.example.claims.support.timing.TimingWheel;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Führt Policy- und Customer-Ergebnis eines Claims im Speicher zusammen (Schlüssel: claimId)
+ * und schreibt beide erst dann mit genau einem bedingten UPDATE, wenn beide vorliegen:
+ *
+ * - beide positiv: SUBMITTED -> IN_REVIEW
+ * - mindestens eines negativ: SUBMITTED -> REJECTED mit decisionReason
+ *
+ * Fehlt eine Seite nach {@code timeout-ms}, läuft der Eintrag über ein {@link TimingWheel} ab und
+ * das vorhandene Ergebnis wird allein gespeichert, der Claim bleibt SUBMITTED. Dasselbe gilt,
+ * wenn {@code max-pending} erreicht ist (dann ohne Warten). Den Folgestatus leitet das UPDATE aus
+ * den gespeicherten Ergebnissen ab, daher entscheidet ein später eintreffendes zweites Ergebnis
+ * den Claim auch dann, wenn das erste schon allein geschrieben wurde (auch nach einem Neustart).
+ *
+ * Das UPDATE greift nur auf Claims im Status SUBMITTED; doppelt zugestellte Ergebnisse ändern
+ * einen bereits entschiedenen Claim daher nicht. Voraussetzung wie beim {@link ClaimSagaTracker}:
+ * beide Ergebnisse eines Claims landen auf derselben claims-service-Instanz.
+ *
+ * Im Batch-Modus der Result-Consumer werden alle in einem Poll abgeschlossenen Claims nach
+ * Ergebnis-Kombination gruppiert und mit je einem {@code UPDATE ... WHERE id IN (...)} in einer
+ * gemeinsamen Transaktion geschrieben (bei vollständigen Ergebnissen höchstens vier Statements).
+ *
+ * Metriken: claims_correlation_total{result}, claims_correlation_pending.
+ */
+@Slf4j
+@Component
+@Profile("event-driven")
+public class ClaimResultCorrelator implements DisposableBean {
+
+    // wie in ClaimJpaRepository.applyDownstreamVerdicts
+    private static final String POLICY_COVERAGE_INVALID = "Policy coverage invalid";
+    private static final String CUSTOMER_DATA_INVALID = "Customer data invalid";
+
+    private final ClaimJpaRepository claimJpaRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int maxPending;
+
+    private final Map<UUID, PendingVerdicts> pending = new ConcurrentHashMap<>();
+    private final TimingWheel<PendingVerdicts> timingWheel;
+    // UPDATE abgelaufener Einträge nicht auf dem Ticker-Thread, damit das Rad weiterläuft
+    private final ExecutorService expiryWriter = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "claims-correlation-expiry");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Counter completedCounter;
+    private final Counter notAppliedCounter;
+    private final Counter timeoutCounter;
+    private final Counter capacityCounter;
+
+    public ClaimResultCorrelator(ClaimJpaRepository claimJpaRepository,
+                                 PlatformTransactionManager transactionManager,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${claims.correlation.max-pending:100000}") int maxPending,
+                                 @Value("${claims.correlation.timeout-ms:30000}") long timeoutMs,
+                                 @Value("${claims.correlation.tick-ms:100}") long tickMs) {
+        this.claimJpaRepository = claimJpaRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxPending = maxPending;
+
+        this.completedCounter = resultCounter(meterRegistry, "completed");
+        this.notAppliedCounter = resultCounter(meterRegistry, "not_applied");
+        this.timeoutCounter = resultCounter(meterRegistry, "timeout");
+        this.capacityCounter = resultCounter(meterRegistry, "capacity");
+
+        Gauge.builder("claims_correlation_pending", pending, Map::size)
+                .description("Number of claims with exactly one downstream result waiting for the other")
+                .register(meterRegistry);
+
+        this.timingWheel = new TimingWheel<>(
+                "correlation",
+                Duration.ofMillis(tickMs),
+                Duration.ofMillis(timeoutMs),
+                this::expire
+        );
+
+        log.info("ClaimResultCorrelator initialized: maxPending={}, timeoutMs={}, tickMs={}", maxPending, timeoutMs, tickMs);
+    }
+
+    private static Counter resultCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("claims_correlation_total")
+                .description("Correlated downstream results per claim, by result")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    // -------------------------------------------------------------------------
+    // API
+    // -------------------------------------------------------------------------
+
+    /**
+     * @return {@link Outcome#SUCCESS}, wenn das Ergebnis gemerkt oder angewendet wurde,
+     * {@link Outcome#CLAIM_NOT_FOUND}, wenn das UPDATE keinen SUBMITTED-Claim gefunden hat
+     */
+    public Outcome onPolicyResult(UUID claimId, boolean coverageValid) {
+        return applyIfComplete(claimId, collect(claimId, coverageValid, null));
+    }
+
+    public Outcome onCustomerResult(UUID claimId, boolean customerDataValid) {
+        return applyIfComplete(claimId, collect(claimId, null, customerDataValid));
+    }
+
+    /**
+     * Batch-Variante: alle Ergebnisse eines Polls, abgeschlossene Claims gesammelt schreiben.
+     */
+    public void onPolicyResults(Map<UUID, Boolean> coverageValidByClaimId) {
+        Map<UUID, Verdict> completed = new LinkedHashMap<>();
+        coverageValidByClaimId.forEach((claimId, coverageValid) -> {
+            Verdict verdict = collect(claimId, coverageValid, null);
+            if (verdict != null) {
+                completed.put(claimId, verdict);
+            }
+        });
+        applyAll(completed);
+    }
+
+    public void onCustomerResults(Map<UUID, Boolean> customerDataValidByClaimId) {
+        Map<UUID, Verdict> completed = new LinkedHashMap<>();
+        customerDataValidByClaimId.forEach((claimId, customerDataValid) -> {
+            Verdict verdict = collect(claimId, null, customerDataValid);
+            if (verdict != null) {
+                completed.put(claimId, verdict);
+            }
+        });
+        applyAll(completed);
+    }
+
+    // -------------------------------------------------------------------------
+    // Intern
+    // -------------------------------------------------------------------------
+
+    /**
+     * Merkt das Ergebnis. Liefert die zu schreibenden Ergebnisse, sobald beide vorliegen
+     * (bzw. sofort das einzelne, wenn {@code max-pending} erreicht ist), sonst {@code null}.
+     */
+    private Verdict collect(UUID claimId, Boolean policyCoverageValid, Boolean customerDataValid) {
+        while (true) {
+            PendingVerdicts verdicts = pending.get(claimId);
+            if (verdicts == null) {
+                if (pending.size() >= maxPending) {
+                    capacityCounter.increment();
+                    return new Verdict(policyCoverageValid, customerDataValid);
+                }
+                verdicts = track(new PendingVerdicts(claimId));
+            }
+
+            Verdict verdict;
+            synchronized (verdicts) {
+                if (verdicts.closed) {
+                    // gerade abgeschlossen oder abgelaufen: mit neuem Eintrag erneut versuchen
+                    continue;
+                }
+                if (policyCoverageValid != null) {
+                    verdicts.policyCoverageValid = policyCoverageValid;
+                }
+                if (customerDataValid != null) {
+                    verdicts.customerDataValid = customerDataValid;
+                }
+                verdict = new Verdict(verdicts.policyCoverageValid, verdicts.customerDataValid);
+                if (!verdict.complete()) {
+                    return null;
+                }
+                verdicts.closed = true;
+            }
+            pending.remove(claimId, verdicts);
+            return verdict;
+        }
+    }
+
+    private PendingVerdicts track(PendingVerdicts verdicts) {
+        PendingVerdicts existing = pending.putIfAbsent(verdicts.claimId, verdicts);
+        if (existing != null) {
+            return existing;
+        }
+        timingWheel.schedule(verdicts);
+        return verdicts;
+    }
+
+    // Bei erneuter Zustellung (Kafka-Retry) liegt das andere Ergebnis wieder vor
+    private void retain(UUID claimId, Verdict verdict) {
+        PendingVerdicts retained = new PendingVerdicts(claimId);
+        retained.policyCoverageValid = verdict.policyCoverageValid();
+        retained.customerDataValid = verdict.customerDataValid();
+        track(retained);
+    }
+
+    private void expire(PendingVerdicts verdicts) {
+        Verdict verdict;
+        synchronized (verdicts) {
+            if (verdicts.closed) {
+                return;
+            }
+            verdicts.closed = true;
+            verdict = new Verdict(verdicts.policyCoverageValid, verdicts.customerDataValid);
+        }
+        pending.remove(verdicts.claimId, verdicts);
+
+        if (!verdict.complete()) {
+            timeoutCounter.increment();
+            log.warn("Downstream results for claimId={} incomplete after timeout (policyCoverageValid={}, customerDataValid={}), storing partial result",
+                    verdicts.claimId, verdict.policyCoverageValid(), verdict.customerDataValid());
+        }
+        expiryWriter.execute(() -> {
+            try {
+                applyIfComplete(verdicts.claimId, verdict);
+            } catch (RuntimeException ex) {
+                // applyIfComplete hat das Ergebnis bereits erneut vorgemerkt
+                log.error("Failed to store expired downstream results for claimId={}", verdicts.claimId, ex);
+            }
+        });
+    }
+
+    private Outcome applyIfComplete(UUID claimId, Verdict verdict) {
+        if (verdict == null) {
+            return Outcome.SUCCESS;
+        }
+
+        int updated;
+        try {
+            updated = update(List.of(claimId), verdict);
+        } catch (RuntimeException ex) {
+            retain(claimId, verdict);
+            throw ex;
+        }
+
+        count(verdict, 1, updated);
+        if (updated == 0) {
+            log.warn("Downstream results for claimId={} not applied: claim not found or no longer SUBMITTED", claimId);
+            return Outcome.CLAIM_NOT_FOUND;
+        }
+        if (verdict.complete()) {
+            log.info("Downstream results applied for claimId={}: status={}, decisionReason={}",
+                    claimId, verdict.status(), verdict.decisionReason());
+        }
+        return Outcome.SUCCESS;
+    }
+
+    private void applyAll(Map<UUID, Verdict> completed) {
+        if (completed.isEmpty()) {
+            return;
+        }
+
+        Map<Verdict, List<UUID>> claimIdsByVerdict = new LinkedHashMap<>();
+        completed.forEach((claimId, verdict) ->
+                claimIdsByVerdict.computeIfAbsent(verdict, ignored -> new ArrayList<>()).add(claimId));
+
+        Map<Verdict, Integer> updatedByVerdict;
+        try {
+            updatedByVerdict = transactionTemplate.execute(status -> {
+                Map<Verdict, Integer> updated = new LinkedHashMap<>();
+                claimIdsByVerdict.forEach((verdict, claimIds) -> updated.put(verdict, update(claimIds, verdict)));
+                return updated;
+            });
+        } catch (RuntimeException ex) {
+            completed.forEach(this::retain);
+            throw ex;
+        }
+
+        claimIdsByVerdict.forEach((verdict, claimIds) -> count(verdict, claimIds.size(), updatedByVerdict.get(verdict)));
+        log.info("Downstream results applied in batch: claims={}, statements={}", completed.size(), claimIdsByVerdict.size());
+    }
+
+    private int update(List<UUID> claimIds, Verdict verdict) {
+        try (var ignored = DbOperationContext.open("downstreamVerdicts")) {
+            return claimJpaRepository.applyDownstreamVerdicts(
+                    claimIds,
+                    verdict.policyCoverageValid(),
+                    verdict.customerDataValid(),
+                    OffsetDateTime.now()
+            );
+        }
+    }
+
+    private void count(Verdict verdict, int claims, int updated) {
+        if (updated < claims) {
+            notAppliedCounter.increment(claims - updated);
+        }
+        if (verdict.complete()) {
+            completedCounter.increment(updated);
+        }
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        timingWheel.close();
+        expiryWriter.shutdown();
+        if (!expiryWriter.awaitTermination(5, TimeUnit.SECONDS)) {
+            log.warn("Correlation expiry writer did not finish within 5s, pending partial results are dropped");
+            expiryWriter.shutdownNow();
+        }
+    }
+
+    /**
+     * Ergebnisse eines Claims ({@code null}: noch nicht vorhanden) und der daraus folgende Status
+     * (nur für das Logging; maßgeblich ist die Ableitung im UPDATE).
+     * Dient im Batch-Modus auch als Gruppierungsschlüssel.
+     */
+    private record Verdict(Boolean policyCoverageValid, Boolean customerDataValid) {
+
+        boolean complete() {
+            return policyCoverageValid != null && customerDataValid != null;
+        }
+
+        ClaimStatus status() {
+            if (!complete()) {
+                return ClaimStatus.SUBMITTED;
+            }
+            return decisionReason() == null ? ClaimStatus.IN_REVIEW : ClaimStatus.REJECTED;
+        }
+
+        String decisionReason() {
+            if (!complete() || (policyCoverageValid && customerDataValid)) {
+                return null;
+            }
+            if (!policyCoverageValid && !customerDataValid) {
+                return POLICY_COVERAGE_INVALID + ", " + CUSTOMER_DATA_INVALID.toLowerCase();
+            }
+            return policyCoverageValid ? CUSTOMER_DATA_INVALID : POLICY_COVERAGE_INVALID;
+        }
+    }
+
+    private static final class PendingVerdicts {
+
+        private final UUID claimId;
+        private Boolean policyCoverageValid;
+        private Boolean customerDataValid;
+        private boolean closed;
+
+        private PendingVerdicts(UUID claimId) {
+            this.claimId = claimId;
+        }
+    }
+}
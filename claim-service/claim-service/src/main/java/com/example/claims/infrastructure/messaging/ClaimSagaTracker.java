@@ -0,0 +1,193 @@
+package com.example.claims.infrastructure.messaging;
+
+import com.example.claims.domain.Claim;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Misst die End-to-End-Dauer der Claim-Saga im event-driven Modus: vom Anlegen des Claims
+ * (createdAt) bis claims-service sowohl das Policy- als auch das Customer-Ergebnis verarbeitet hat.
+ *
+ * Offene Sagas liegen in einer größenbegrenzten In-Memory-Map. Ist sie voll, wird der Claim
+ * nicht verfolgt (claims_saga_untracked_total{reason="capacity"}). Sagas ohne zweites Ergebnis
+ * werden nach {@code timeout-ms} entfernt und als claims_saga_timeout_total{missing} gezählt.
+ *
+ * Voraussetzung: Die Ergebnisse landen auf derselben Instanz, die den Claim angelegt hat
+ * (eine Instanz bzw. keine Aufteilung der Result-Topics auf mehrere claims-service-Instanzen).
+ */
+@Slf4j
+@Component
+@Profile("event-driven")
+public class ClaimSagaTracker implements DisposableBean {
+
+    private static final int POLICY_RESULT = 1;
+    private static final int CUSTOMER_RESULT = 2;
+    private static final int BOTH_RESULTS = POLICY_RESULT | CUSTOMER_RESULT;
+
+    private final int maxPending;
+    private final long timeoutNanos;
+
+    private final Map<UUID, PendingSaga> pending = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService sweeper;
+
+    private final Timer completionTimer;
+    private final Counter policyMissingTimeoutCounter;
+    private final Counter customerMissingTimeoutCounter;
+    private final Counter bothMissingTimeoutCounter;
+    private final Counter capacityUntrackedCounter;
+    private final Counter unknownClaimUntrackedCounter;
+
+    public ClaimSagaTracker(MeterRegistry meterRegistry,
+                            @Value("${claims.saga.max-pending:100000}") int maxPending,
+                            @Value("${claims.saga.timeout-ms:30000}") long timeoutMs) {
+        this.maxPending = maxPending;
+        this.timeoutNanos = TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+
+        this.completionTimer = Timer.builder("claims_saga_completion")
+                .description("Time from claim submission until both downstream results were consumed")
+                .publishPercentileHistogram(true)
+                .maximumExpectedValue(Duration.ofMillis(timeoutMs))
+                .register(meterRegistry);
+        this.policyMissingTimeoutCounter = timeoutCounter(meterRegistry, "policy");
+        this.customerMissingTimeoutCounter = timeoutCounter(meterRegistry, "customer");
+        this.bothMissingTimeoutCounter = timeoutCounter(meterRegistry, "both");
+        this.capacityUntrackedCounter = untrackedCounter(meterRegistry, "capacity");
+        this.unknownClaimUntrackedCounter = untrackedCounter(meterRegistry, "unknown_claim");
+
+        Gauge.builder("claims_saga_pending", pending, Map::size)
+                .description("Number of submitted claims still waiting for downstream results")
+                .register(meterRegistry);
+
+        long sweepIntervalMs = Math.max(100, timeoutMs / 10);
+        this.sweeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "claims-saga-sweeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.sweeper.scheduleWithFixedDelay(this::expire, sweepIntervalMs, sweepIntervalMs, TimeUnit.MILLISECONDS);
+
+        log.info("ClaimSagaTracker initialized: maxPending={}, timeoutMs={}", maxPending, timeoutMs);
+    }
+
+    private static Counter timeoutCounter(MeterRegistry meterRegistry, String missing) {
+        return Counter.builder("claims_saga_timeout_total")
+                .description("Claim sagas that did not complete within the timeout, by missing result")
+                .tag("missing", missing)
+                .register(meterRegistry);
+    }
+
+    private static Counter untrackedCounter(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("claims_saga_untracked_total")
+                .description("Claims or results that could not be tracked, by reason")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    // -------------------------------------------------------------------------
+    // API
+    // -------------------------------------------------------------------------
+
+    public void onClaimSubmitted(Claim claim) {
+        if (pending.size() >= maxPending) {
+            capacityUntrackedCounter.increment();
+            return;
+        }
+
+        // Startzeitpunkt auf createdAt zurückrechnen, damit Validierung und Insert mitgemessen werden
+        long ageNanos = claim.getCreatedAt() != null
+                ? Duration.between(claim.getCreatedAt().toInstant(), Instant.now()).toNanos()
+                : 0L;
+        pending.putIfAbsent(claim.getId(), new PendingSaga(System.nanoTime() - Math.max(ageNanos, 0L)));
+    }
+
+    /**
+     * Verwirft die Saga eines Claims, dessen Submit-Transaktion zurückgerollt wurde.
+     */
+    public void onClaimRolledBack(UUID claimId) {
+        pending.remove(claimId);
+    }
+
+    public void onPolicyResult(UUID claimId) {
+        onResult(claimId, POLICY_RESULT);
+    }
+
+    public void onCustomerResult(UUID claimId) {
+        onResult(claimId, CUSTOMER_RESULT);
+    }
+
+    // -------------------------------------------------------------------------
+    // Intern
+    // -------------------------------------------------------------------------
+
+    private void onResult(UUID claimId, int result) {
+        PendingSaga saga = pending.get(claimId);
+        if (saga == null) {
+            // z.B. bereits abgelaufen, vor einem Neustart angelegt oder Kapazitätsgrenze erreicht
+            unknownClaimUntrackedCounter.increment();
+            return;
+        }
+
+        // Doppelte Zustellung desselben Ergebnisses ändert nichts
+        int previous = saga.results.getAndUpdate(current -> current | result);
+        if ((previous & result) == 0 && (previous | result) == BOTH_RESULTS && pending.remove(claimId, saga)) {
+            completionTimer.record(System.nanoTime() - saga.startNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void expire() {
+        try {
+            long now = System.nanoTime();
+            for (Map.Entry<UUID, PendingSaga> entry : pending.entrySet()) {
+                PendingSaga saga = entry.getValue();
+                int results = saga.results.get();
+                // BOTH_RESULTS: wird gerade von onResult abgeschlossen
+                if (now - saga.startNanos < timeoutNanos || results == BOTH_RESULTS) {
+                    continue;
+                }
+                if (!pending.remove(entry.getKey(), saga)) {
+                    continue;
+                }
+
+                switch (results) {
+                    case POLICY_RESULT -> customerMissingTimeoutCounter.increment();
+                    case CUSTOMER_RESULT -> policyMissingTimeoutCounter.increment();
+                    default -> bothMissingTimeoutCounter.increment();
+                }
+            }
+        } catch (RuntimeException ex) {
+            log.error("Unexpected error while expiring pending claim sagas: {}", ex.getMessage(), ex);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        sweeper.shutdownNow();
+    }
+
+    private static final class PendingSaga {
+
+        private final long startNanos;
+        private final AtomicInteger results = new AtomicInteger();
+
+        private PendingSaga(long startNanos) {
+            this.startNanos = startNanos;
+        }
+    }
+}
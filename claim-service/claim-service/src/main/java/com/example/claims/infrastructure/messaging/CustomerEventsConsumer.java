@@ -0,0 +1,74 @@
+package com.example.claims.infrastructure.messaging;
+
+import com.example.claims.infrastructure.customer.CachingCustomerClient;
+import com.example.claims.infrastructure.customer.CustomerClient;
+import com.example.claims.messaging.events.CustomerEventPayload;
+import com.example.claims.messaging.events.CustomerEventType;
+import com.example.claims.support.metrics.Outcome;
+import com.example.claims.support.metrics.OutcomeMeters;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+/**
+ * Invalidiert den Customer-Cache, sobald customer-service Änderungen an Kundendaten meldet.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "claims.cache.customer.enabled", havingValue = "true")
+public class CustomerEventsConsumer {
+
+    private final CustomerClient customerClient;
+
+    // Counter je (event_type, outcome), einmalig beim Start registriert
+    private final OutcomeMeters<CustomerEventType> meters;
+
+    public CustomerEventsConsumer(CustomerClient customerClient, MeterRegistry meterRegistry) {
+        this.customerClient = customerClient;
+        this.meters = OutcomeMeters.builder(CustomerEventType.class, "event_type")
+                .tag("source", "customer")
+                .outcomes(Outcome.EVICTED, Outcome.NO_CUSTOMER_ID, Outcome.NO_CACHE)
+                .counter("claims.kafka.consumer.events", "Number of events processed in claims-service")
+                .register(meterRegistry);
+    }
+
+    @KafkaListener(
+            topics = "customers.customer-events",
+            containerFactory = "customerEventsKafkaListenerContainerFactory"
+    )
+    public void onCustomerEvent(CustomerEventPayload event) {
+        CustomerEventType eventType = event.getEventType();
+
+        if (!(customerClient instanceof CachingCustomerClient cachingCustomerClient)) {
+            meters.increment(eventType, Outcome.NO_CACHE);
+            return;
+        }
+
+        UUID customerId = parseUuid(event.getCustomerId());
+        if (customerId == null) {
+            meters.increment(eventType, Outcome.NO_CUSTOMER_ID);
+            log.warn("CustomerEvent without valid customerId received, ignoring event: {}", event);
+            return;
+        }
+
+        cachingCustomerClient.evict(customerId);
+        meters.increment(eventType, Outcome.EVICTED);
+        log.debug("Evicted customer validation cache entry for customerId={} (eventType={})",
+                customerId, eventType);
+    }
+
+    private UUID parseUuid(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return UUID.fromString(value);
+        } catch (IllegalArgumentException ex) {
+            return null;
+        }
+    }
+}
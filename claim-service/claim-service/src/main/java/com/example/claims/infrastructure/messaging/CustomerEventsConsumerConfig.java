@@ -0,0 +1,67 @@
+package com.example.claims.infrastructure.messaging;
+
+import com.example.claims.messaging.events.CustomerEventPayload;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Consumer für customers.customer-events, nur aktiv wenn der Customer-Cache eingeschaltet ist.
+ *
+ * Jede Instanz nutzt eine eigene Consumer-Group, damit alle Instanzen ihren lokalen Cache
+ * invalidieren (Broadcast statt Partitionierung). Gestartet wird bei "latest":
+ * ein frischer Cache ist leer, ältere Events sind für ihn irrelevant.
+ */
+@Configuration
+@ConditionalOnProperty(name = "claims.cache.customer.enabled", havingValue = "true")
+public class CustomerEventsConsumerConfig {
+
+    @Value("${spring.kafka.bootstrap-servers}")
+    private String bootstrapServers;
+
+    @Value("${spring.kafka.consumer.group-id:claims-service}")
+    private String groupIdPrefix;
+
+    @Bean
+    public ConsumerFactory<String, CustomerEventPayload> customerEventsConsumerFactory() {
+        Map<String, Object> props = new HashMap<>();
+
+        props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        props.put(ConsumerConfig.GROUP_ID_CONFIG, groupIdPrefix + "-customer-cache-" + UUID.randomUUID());
+        props.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "latest");
+
+        JsonDeserializer<CustomerEventPayload> deserializer =
+                new JsonDeserializer<>(CustomerEventPayload.class);
+        deserializer.addTrustedPackages("*");
+
+        return new DefaultKafkaConsumerFactory<>(
+                props,
+                new StringDeserializer(),
+                deserializer
+        );
+    }
+
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, CustomerEventPayload>
+    customerEventsKafkaListenerContainerFactory(
+            ConsumerFactory<String, CustomerEventPayload> customerEventsConsumerFactory) {
+
+        ConcurrentKafkaListenerContainerFactory<String, CustomerEventPayload> factory =
+                new ConcurrentKafkaListenerContainerFactory<>();
+
+        factory.setConsumerFactory(customerEventsConsumerFactory);
+        factory.setBatchListener(false);
+        return factory;
+    }
+}
@@ -0,0 +1,137 @@
+package com.example.claims.infrastructure.messaging;
+
+import com.example.claims.messaging.events.CustomerValidationResultPayload;
+import com.example.claims.messaging.events.CustomerValidationResultType;
+import com.example.claims.support.metrics.Outcome;
+import com.example.claims.support.metrics.OutcomeMeters;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Batch-Variante des {@link CustomerValidationResultConsumer}: alle Ergebnisse eines Polls gehen
+ * gemeinsam an den {@link ClaimResultCorrelator}, abgeschlossene Claims werden mit wenigen
+ * {@code UPDATE ... WHERE id IN (...)} geschrieben statt mit einem Statement pro Claim.
+ *
+ * Schlägt der Batch fehl, wird er vollständig erneut zugestellt; das bedingte UPDATE
+ * (nur SUBMITTED) macht die Wiederholung unkritisch.
+ */
+@Slf4j
+@Component
+@Profile("event-driven")
+@ConditionalOnProperty(name = "claims.kafka.result-consumer.batch.enabled", havingValue = "true")
+public class CustomerValidationResultBatchConsumer {
+
+    private final ClaimResultCorrelator claimResultCorrelator;
+    private final ClaimSagaTracker claimSagaTracker;
+    private final KnownClaimIds knownClaimIds;
+
+    // Counter je (event_type, outcome) pro Record, Dauer nur pro Batch
+    private final OutcomeMeters<CustomerValidationResultType> meters;
+    private final DistributionSummary batchSize;
+    private final Timer batchSuccessTimer;
+    private final Timer batchErrorTimer;
+
+    public CustomerValidationResultBatchConsumer(ClaimResultCorrelator claimResultCorrelator,
+                                               ClaimSagaTracker claimSagaTracker,
+                                                 KnownClaimIds knownClaimIds,
+                                               MeterRegistry meterRegistry) {
+        this.claimResultCorrelator = claimResultCorrelator;
+        this.claimSagaTracker = claimSagaTracker;
+        this.knownClaimIds = knownClaimIds;
+        this.meters = OutcomeMeters.builder(CustomerValidationResultType.class, "event_type")
+                .tag("source", "customer")
+                .outcomes(Outcome.SUCCESS, Outcome.NO_CLAIM_ID, Outcome.CLAIM_NOT_FOUND, Outcome.ERROR)
+                .counter("claims.kafka.consumer.events", "Number of events processed in claims-service")
+                .register(meterRegistry);
+        this.batchSize = DistributionSummary.builder("claims.kafka.consumer.batch.size")
+                .description("Number of records per consumed batch in claims-service")
+                .tag("source", "customer")
+                .publishPercentileHistogram(true)
+                .register(meterRegistry);
+        this.batchSuccessTimer = batchTimer(meterRegistry, Outcome.SUCCESS);
+        this.batchErrorTimer = batchTimer(meterRegistry, Outcome.ERROR);
+    }
+
+    private static Timer batchTimer(MeterRegistry meterRegistry, Outcome outcome) {
+        return Timer.builder("claims.kafka.consumer.batch.latency")
+                .description("Kafka consumer latency per batch in claims-service")
+                .tag("source", "customer")
+                .tag("outcome", outcome.tagValue())
+                .publishPercentileHistogram(true)
+                .register(meterRegistry);
+    }
+
+    // --------------------------- Listener -----------------------------------
+
+    @KafkaListener(
+            topics = "customers.customer-validation-events",
+            groupId = "claims-service",
+            containerFactory = "customerValidationKafkaListenerContainerFactory"
+    )
+    public void onCustomerValidationResults(List<CustomerValidationResultPayload> events) {
+
+        long start = System.nanoTime();
+        batchSize.record(events.size());
+
+        try {
+            Map<UUID, Boolean> passedByClaimId = new LinkedHashMap<>();
+            for (CustomerValidationResultPayload event : events) {
+                UUID claimId = event.getClaimId();
+                if (claimId == null) {
+                    meters.increment(event.getEventType(), Outcome.NO_CLAIM_ID);
+                    log.warn("CustomerValidationResult without claimId received, ignoring event");
+                    continue;
+                }
+
+                log.debug("ClaimService received CustomerValidationResult: eventType={}, claimId={}, customerId={}, valid={}",
+                        event.getEventType(), claimId, event.getCustomerId(), event.isCustomerDataValid());
+                passedByClaimId.put(claimId, event.getEventType() == CustomerValidationResultType.CUSTOMER_VALIDATION_PASSED);
+            }
+
+            // ein IN-Query nur für die IDs, die nicht im Speicher bekannt sind
+            Set<UUID> existing = knownClaimIds.retainExisting(passedByClaimId.keySet());
+            if (existing.size() < passedByClaimId.size()) {
+                passedByClaimId.keySet().retainAll(existing);
+                log.warn("CustomerValidationResult batch contained {} records for non-existing claims, ignoring them",
+                        events.size() - countForClaims(events, existing));
+            }
+
+            claimResultCorrelator.onCustomerResults(passedByClaimId);
+            passedByClaimId.keySet().forEach(claimSagaTracker::onCustomerResult);
+
+            for (CustomerValidationResultPayload event : events) {
+                if (event.getClaimId() != null) {
+                    meters.increment(event.getEventType(),
+                            existing.contains(event.getClaimId()) ? Outcome.SUCCESS : Outcome.CLAIM_NOT_FOUND);
+                }
+            }
+            log.info("ClaimService processed CustomerValidationResult batch: records={}, claims={}", events.size(), passedByClaimId.size());
+            batchSuccessTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+
+        } catch (Exception ex) {
+            for (CustomerValidationResultPayload event : events) {
+                meters.increment(event.getEventType(), Outcome.ERROR);
+            }
+            batchErrorTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            log.error("Error while handling CustomerValidationResult batch of {} records in ClaimService: {}", events.size(), ex.getMessage(), ex);
+            throw ex;
+        }
+    }
+
+    private static long countForClaims(List<CustomerValidationResultPayload> events, Set<UUID> claimIds) {
+        return events.stream().filter(event -> event.getClaimId() == null || claimIds.contains(event.getClaimId())).count();
+    }
+}
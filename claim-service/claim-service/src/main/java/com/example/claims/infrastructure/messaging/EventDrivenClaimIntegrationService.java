@@ -6,14 +6,22 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.math.BigDecimal;
+import java.util.List;
 
 /**
  * EventDrivenClaimIntegrationService nutzt den ClaimEventsProducer,
  * um für jede relevante Statusänderung ein Claim-Event auf Kafka zu publizieren.
  *
  * Aktiv, wenn das Spring-Profil "event-driven" gesetzt ist.
+ *
+ * Die Saga eines neuen Claims wird vor dem Publizieren von CLAIM_SUBMITTED registriert und seine
+ * ID in {@link KnownClaimIds} aufgenommen, damit auch ein sehr schnelles Ergebnis den Claim findet.
+ * Wird die Submit-Transaktion zurückgerollt, werden beide Einträge wieder entfernt, damit der Claim
+ * weder später als Timeout zählt noch als existierender Claim gilt.
  */
 @Slf4j
 @Service
@@ -22,6 +30,8 @@ import java.math.BigDecimal;
 public class EventDrivenClaimIntegrationService implements ClaimIntegrationService {
 
     private final ClaimEventsProducer claimEventsProducer;
+    private final ClaimSagaTracker claimSagaTracker;
+    private final KnownClaimIds knownClaimIds;
 
     @Override
     public void onClaimSubmitted(Claim claim) {
@@ -42,9 +52,18 @@ public class EventDrivenClaimIntegrationService implements ClaimIntegrationServi
                     claim.getDecisionReason());
         }
 
+        track(List.of(claim));
         claimEventsProducer.publishClaimSubmitted(claim);
     }
 
+    @Override
+    public void onClaimsSubmitted(List<Claim> claims) {
+        log.info("EventDrivenClaimIntegrationService.onClaimsSubmitted: Publishing {} CLAIM_SUBMITTED events", claims.size());
+
+        track(claims);
+        claimEventsProducer.publishClaimsSubmitted(claims);
+    }
+
     @Override
     public void onClaimInReview(Claim claim) {
         log.info(
@@ -134,6 +153,32 @@ public class EventDrivenClaimIntegrationService implements ClaimIntegrationServi
         claimEventsProducer.publishClaimPaidOut(claim);
     }
 
+    /**
+     * Registriert Saga und bekannte ID vor dem Publizieren; wird die laufende Transaktion
+     * zurückgerollt, werden beide wieder entfernt.
+     */
+    private void track(List<Claim> claims) {
+        for (Claim claim : claims) {
+            knownClaimIds.add(claim.getId());
+            claimSagaTracker.onClaimSubmitted(claim);
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_ROLLED_BACK) {
+                    return;
+                }
+                for (Claim claim : claims) {
+                    claimSagaTracker.onClaimRolledBack(claim.getId());
+                    knownClaimIds.remove(claim.getId());
+                }
+            }
+        });
+    }
+
     /**
      * Hilfsmethode, um Nullwerte bei Beträgen im Log sauber zu behandeln.
      */
@@ -1,7 +1,10 @@
 package com.example.claims.infrastructure.messaging;
 
+import com.example.claims.infrastructure.messaging.serialization.EventDeserializer;
+import com.example.claims.infrastructure.messaging.serialization.EventProtoCodec;
 import com.example.claims.messaging.events.CustomerValidationResultPayload;
 import com.example.claims.messaging.events.PolicyEvaluationResultPayload;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.common.serialization.StringDeserializer;
 import org.springframework.beans.factory.annotation.Value;
@@ -12,11 +15,22 @@ import org.springframework.kafka.annotation.EnableKafka;
 import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
 import org.springframework.kafka.core.ConsumerFactory;
 import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.listener.ContainerProperties;
 import org.springframework.kafka.support.serializer.JsonDeserializer;
 
 import java.util.HashMap;
 import java.util.Map;
 
+/**
+ * Consumer für die Ergebnisse aus policy- und customer-service.
+ *
+ * Mit {@code claims.kafka.result-consumer.batch.enabled=true} wird jeder Poll als Liste
+ * verarbeitet (Policy-/CustomerValidationResultBatchConsumer statt der Einzel-Consumer),
+ * Offsets werden einmal pro Batch committet.
+ *
+ * Values werden je nach Header als JSON oder Protobuf gelesen ({@link EventDeserializer}),
+ * das Format wählt der jeweilige Producer.
+ */
 @EnableKafka
 @Configuration
 @Profile("event-driven")
@@ -28,6 +42,12 @@ public class KafkaResultConsumerConfig {
     @Value("${spring.kafka.consumer.group-id:claims-service}")
     private String groupId;
 
+    @Value("${claims.kafka.result-consumer.batch.enabled:false}")
+    private boolean batchEnabled;
+
+    @Value("${claims.kafka.result-consumer.batch.max-poll-records:500}")
+    private int maxPollRecords;
+
     private Map<String, Object> baseConsumerConfigs() {
         Map<String, Object> props = new HashMap<>();
 
@@ -37,6 +57,10 @@ public class KafkaResultConsumerConfig {
         props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, JsonDeserializer.class);
         props.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
 
+        if (batchEnabled) {
+            props.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, maxPollRecords);
+        }
+
         return props;
     }
 
@@ -45,16 +69,21 @@ public class KafkaResultConsumerConfig {
     // -------------------------------------------------------------------------
 
     @Bean
-    public ConsumerFactory<String, CustomerValidationResultPayload> customerValidationConsumerFactory() {
+    public ConsumerFactory<String, CustomerValidationResultPayload> customerValidationConsumerFactory(MeterRegistry meterRegistry) {
 
-        JsonDeserializer<CustomerValidationResultPayload> deserializer =
+        JsonDeserializer<CustomerValidationResultPayload> jsonDeserializer =
                 new JsonDeserializer<>(CustomerValidationResultPayload.class);
-        deserializer.addTrustedPackages("*");
+        jsonDeserializer.addTrustedPackages("*");
 
         return new DefaultKafkaConsumerFactory<>(
                 baseConsumerConfigs(),
                 new StringDeserializer(),
-                deserializer
+                new EventDeserializer<>(
+                        "customer_validation_result",
+                        jsonDeserializer,
+                        EventProtoCodec::decodeCustomerValidationResult,
+                        meterRegistry
+                )
         );
     }
 
@@ -67,7 +96,7 @@ public class KafkaResultConsumerConfig {
                 new ConcurrentKafkaListenerContainerFactory<>();
 
         factory.setConsumerFactory(customerValidationConsumerFactory);
-        factory.setBatchListener(false);
+        configureBatchMode(factory);
         return factory;
     }
 
@@ -76,16 +105,21 @@ public class KafkaResultConsumerConfig {
     // -------------------------------------------------------------------------
 
     @Bean
-    public ConsumerFactory<String, PolicyEvaluationResultPayload> policyEvaluationConsumerFactory() {
+    public ConsumerFactory<String, PolicyEvaluationResultPayload> policyEvaluationConsumerFactory(MeterRegistry meterRegistry) {
 
-        JsonDeserializer<PolicyEvaluationResultPayload> deserializer =
+        JsonDeserializer<PolicyEvaluationResultPayload> jsonDeserializer =
                 new JsonDeserializer<>(PolicyEvaluationResultPayload.class);
-        deserializer.addTrustedPackages("*");
+        jsonDeserializer.addTrustedPackages("*");
 
         return new DefaultKafkaConsumerFactory<>(
                 baseConsumerConfigs(),
                 new StringDeserializer(),
-                deserializer
+                new EventDeserializer<>(
+                        "policy_evaluation_result",
+                        jsonDeserializer,
+                        EventProtoCodec::decodePolicyEvaluationResult,
+                        meterRegistry
+                )
         );
     }
 
@@ -98,7 +132,14 @@ public class KafkaResultConsumerConfig {
                 new ConcurrentKafkaListenerContainerFactory<>();
 
         factory.setConsumerFactory(policyEvaluationConsumerFactory);
-        factory.setBatchListener(false);
+        configureBatchMode(factory);
         return factory;
     }
+
+    private void configureBatchMode(ConcurrentKafkaListenerContainerFactory<String, ?> factory) {
+        factory.setBatchListener(batchEnabled);
+        if (batchEnabled) {
+            factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.BATCH);
+        }
+    }
 }
@@ -0,0 +1,203 @@
+package com.example.claims.infrastructure.messaging;
+
+import com.example.claims.infrastructure.persistence.ClaimJpaRepository;
+import com.example.claims.infrastructure.persistence.DbOperationContext;
+import com.example.claims.support.collections.ConcurrentUuidSet;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * In-Memory-Menge der Claim-IDs, die diese Instanz angelegt hat, damit Ergebnis-Events ohne
+ * DB-Zugriff einem existierenden Claim zugeordnet werden können.
+ *
+ * Befüllt bei jedem Submit vor dem Publizieren (event-driven, bei Rollback wieder entfernt) und beim Start aus den jüngsten Einträgen der
+ * Tabelle {@code claims}. Die Menge ist exakt (keine False Positives); ein Treffer ist daher
+ * verbindlich. Nur bei einem Fehltreffer ("vielleicht", z.B. Claim einer anderen Instanz oder
+ * bereits verdrängt) wird in der DB nachgesehen und ein gefundener Claim nachgetragen.
+ *
+ * Zwei Generationen je {@code capacity / 2}: Ist die aktuelle voll, wird die ältere verworfen.
+ * Alte Claims fallen so auf den DB-Pfad zurück, statt dass neue gar nicht mehr aufgenommen werden.
+ *
+ * Metriken: claims_known_ids_lookups_total{result}, claims_known_ids_fallback_ratio,
+ * claims_known_ids_size, claims_known_ids_memory_bytes.
+ */
+@Slf4j
+@Component
+@Profile("event-driven")
+public class KnownClaimIds implements ApplicationRunner {
+
+    private final ClaimJpaRepository claimJpaRepository;
+    private final int generationCapacity;
+
+    private volatile ConcurrentUuidSet current;
+    private volatile ConcurrentUuidSet previous;
+
+    private final Counter hitCounter;
+    private final Counter dbConfirmedCounter;
+    private final Counter unknownCounter;
+
+    public KnownClaimIds(ClaimJpaRepository claimJpaRepository,
+                         MeterRegistry meterRegistry,
+                         @Value("${claims.known-ids.capacity:262144}") int capacity) {
+        this.claimJpaRepository = claimJpaRepository;
+        this.generationCapacity = Math.max(1, capacity / 2);
+        this.current = new ConcurrentUuidSet(generationCapacity);
+        this.previous = new ConcurrentUuidSet(1);
+
+        this.hitCounter = lookupCounter(meterRegistry, "hit");
+        this.dbConfirmedCounter = lookupCounter(meterRegistry, "db_confirmed");
+        this.unknownCounter = lookupCounter(meterRegistry, "unknown");
+
+        Gauge.builder("claims_known_ids_size", this, KnownClaimIds::size)
+                .description("Number of claim ids held in memory")
+                .register(meterRegistry);
+        Gauge.builder("claims_known_ids_memory_bytes", this, KnownClaimIds::memoryBytes)
+                .description("Memory used by the in-memory claim id tables")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("claims_known_ids_fallback_ratio", this, KnownClaimIds::fallbackRatio)
+                .description("Share of lookups that were not answered in memory and needed the database")
+                .register(meterRegistry);
+    }
+
+    private static Counter lookupCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("claims_known_ids_lookups_total")
+                .description("Claim id lookups on the result consumer path, by result")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    // -------------------------------------------------------------------------
+    // API
+    // -------------------------------------------------------------------------
+
+    public void add(UUID claimId) {
+        ConcurrentUuidSet generation = current;
+        // size < Kapazität: nicht aufnehmbar (Nil-UUID), kein Generationswechsel
+        if (generation.add(claimId) || generation.size() < generationCapacity) {
+            return;
+        }
+
+        synchronized (this) {
+            if (current == generation) {
+                previous = generation;
+                current = new ConcurrentUuidSet(generationCapacity);
+            }
+            current.add(claimId);
+        }
+    }
+
+    /**
+     * Entfernt einen Claim, dessen Insert zurückgerollt wurde.
+     */
+    public void remove(UUID claimId) {
+        current.remove(claimId);
+        previous.remove(claimId);
+    }
+
+    /**
+     * @return {@code true}, wenn der Claim existiert (aus dem Speicher oder per DB bestätigt)
+     */
+    public boolean exists(UUID claimId) {
+        if (containsInMemory(claimId)) {
+            hitCounter.increment();
+            return true;
+        }
+
+        boolean exists;
+        try (var ignored = DbOperationContext.open("knownClaimIds")) {
+            exists = claimJpaRepository.existsById(claimId);
+        }
+        if (exists) {
+            dbConfirmedCounter.increment();
+            add(claimId);
+        } else {
+            unknownCounter.increment();
+        }
+        return exists;
+    }
+
+    /**
+     * Batch-Variante: alle Fehltreffer mit einem {@code WHERE id IN (...)} nachsehen.
+     *
+     * @return die existierenden Claim-IDs aus {@code claimIds}
+     */
+    public Set<UUID> retainExisting(Collection<UUID> claimIds) {
+        Set<UUID> existing = new HashSet<>(claimIds.size() * 2);
+        List<UUID> misses = new ArrayList<>();
+        for (UUID claimId : claimIds) {
+            if (containsInMemory(claimId)) {
+                existing.add(claimId);
+            } else {
+                misses.add(claimId);
+            }
+        }
+        hitCounter.increment(existing.size());
+
+        if (!misses.isEmpty()) {
+            List<UUID> found;
+            try (var ignored = DbOperationContext.open("knownClaimIds")) {
+                found = claimJpaRepository.findExistingIds(misses);
+            }
+            found.forEach(this::add);
+            existing.addAll(found);
+            dbConfirmedCounter.increment(found.size());
+            unknownCounter.increment(misses.size() - found.size());
+        }
+        return existing;
+    }
+
+    /**
+     * Füllt die Menge beim Start mit den jüngsten Claims (höchstens eine Generation).
+     */
+    @Override
+    public void run(ApplicationArguments args) {
+        long start = System.nanoTime();
+
+        List<UUID> recent;
+        try (var ignored = DbOperationContext.open("knownClaimIds")) {
+            recent = claimJpaRepository.findRecentIds(PageRequest.of(0, generationCapacity));
+        }
+        recent.forEach(this::add);
+
+        log.info("KnownClaimIds rebuilt from claims table: ids={}, generationCapacity={}, durationMs={}",
+                recent.size(), generationCapacity, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    // -------------------------------------------------------------------------
+    // Intern
+    // -------------------------------------------------------------------------
+
+    private boolean containsInMemory(UUID claimId) {
+        return current.contains(claimId) || previous.contains(claimId);
+    }
+
+    private double size() {
+        return current.size() + previous.size();
+    }
+
+    private double memoryBytes() {
+        return current.memoryBytes() + previous.memoryBytes();
+    }
+
+    private double fallbackRatio() {
+        double fallbacks = dbConfirmedCounter.count() + unknownCounter.count();
+        double total = hitCounter.count() + fallbacks;
+        return total > 0 ? fallbacks / total : 0.0;
+    }
+}
@@ -1,13 +1,12 @@
 package com.example.claims.infrastructure.messaging;
 
-import com.example.claims.infrastructure.persistence.ClaimJpaRepository;
 import com.example.claims.messaging.events.PolicyEvaluationResultPayload;
 import com.example.claims.messaging.events.PolicyEvaluationResultType;
-import io.micrometer.core.instrument.Counter;
+import com.example.claims.support.metrics.Outcome;
+import com.example.claims.support.metrics.OutcomeMeters;
 import io.micrometer.core.instrument.MeterRegistry;
-import io.micrometer.core.instrument.Timer;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Profile;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.stereotype.Component;
@@ -16,40 +15,30 @@ import java.util.UUID;
 
 @Slf4j
 @Component
-@RequiredArgsConstructor
 @Profile("event-driven")
+@ConditionalOnProperty(name = "claims.kafka.result-consumer.batch.enabled", havingValue = "false", matchIfMissing = true)
 public class PolicyEvaluationResultConsumer {
 
-    private final ClaimJpaRepository claimJpaRepository;
-    private final MeterRegistry meterRegistry;
-
-    // ------------------------- Metrics helpers ------------------------------
-
-    private Timer.Sample startSample() {
-        return Timer.start(meterRegistry);
-    }
-
-    private void stopSample(Timer.Sample sample, String outcome, String eventType) {
-        sample.stop(
-                Timer.builder("claims.kafka.consumer.latency")
-                        .description("Kafka consumer latency in claims-service")
-                        .tag("source", "policy")
-                        .tag("event_type", eventType)
-                        .tag("outcome", outcome)
-                        .publishPercentileHistogram(true)
-                        .publishPercentiles(0.5, 0.95, 0.99)
-                        .register(meterRegistry)
-        );
-    }
-
-    private void incrementCounter(String outcome, String eventType) {
-        Counter.builder("claims.kafka.consumer.events")
-                .description("Number of events processed in claims-service")
+    private final ClaimResultCorrelator claimResultCorrelator;
+    private final ClaimSagaTracker claimSagaTracker;
+    private final KnownClaimIds knownClaimIds;
+
+    // Timer + Counter je (event_type, outcome), einmalig beim Start registriert
+    private final OutcomeMeters<PolicyEvaluationResultType> meters;
+
+    public PolicyEvaluationResultConsumer(ClaimResultCorrelator claimResultCorrelator,
+                                          ClaimSagaTracker claimSagaTracker,
+                                          KnownClaimIds knownClaimIds,
+                                          MeterRegistry meterRegistry) {
+        this.claimResultCorrelator = claimResultCorrelator;
+        this.claimSagaTracker = claimSagaTracker;
+        this.knownClaimIds = knownClaimIds;
+        this.meters = OutcomeMeters.builder(PolicyEvaluationResultType.class, "event_type")
                 .tag("source", "policy")
-                .tag("event_type", eventType)
-                .tag("outcome", outcome)
-                .register(meterRegistry)
-                .increment();
+                .outcomes(Outcome.SUCCESS, Outcome.NO_CLAIM_ID, Outcome.CLAIM_NOT_FOUND, Outcome.ERROR)
+                .timer("claims.kafka.consumer.latency", "Kafka consumer latency in claims-service")
+                .counter("claims.kafka.consumer.events", "Number of events processed in claims-service")
+                .register(meterRegistry);
     }
 
     // --------------------------- Listener -----------------------------------
@@ -65,8 +54,8 @@ public class PolicyEvaluationResultConsumer {
                 ? event.getEventType().name()
                 : "UNKNOWN";
 
-        Timer.Sample sample = startSample();
-        String outcome = "success";
+        long start = System.nanoTime();
+        Outcome outcome = Outcome.SUCCESS;
 
         try {
             UUID claimId = event.getClaimId();
@@ -81,37 +70,36 @@ public class PolicyEvaluationResultConsumer {
             );
 
             if (claimId == null) {
-                outcome = "no_claim_id";
-                incrementCounter(outcome, eventTypeName);
+                outcome = Outcome.NO_CLAIM_ID;
                 log.warn("PolicyEvaluationResult without claimId received, ignoring event");
                 return;
             }
 
-            boolean exists = claimJpaRepository.existsById(claimId);
-            if (!exists) {
-                outcome = "claim_not_found";
-                incrementCounter(outcome, eventTypeName);
+            // Treffer im Speicher ohne DB-Zugriff, nur unbekannte IDs werden in der DB nachgesehen
+            if (!knownClaimIds.exists(claimId)) {
+                outcome = Outcome.CLAIM_NOT_FOUND;
                 log.warn("PolicyEvaluationResult for non-existing claimId={} received, ignoring", claimId);
                 return;
             }
 
-            // Hier könntest du später fachlich den Claim aktualisieren
-            if (event.getEventType() == PolicyEvaluationResultType.POLICY_EVALUATION_PASSED) {
+            boolean passed = event.getEventType() == PolicyEvaluationResultType.POLICY_EVALUATION_PASSED;
+            if (passed) {
                 log.info("Policy evaluation PASSED for claimId={}", claimId);
             } else {
                 log.info("Policy evaluation FAILED for claimId={}", claimId);
             }
 
-            outcome = "success";
-            incrementCounter(outcome, eventTypeName);
+            // Zusammenführung mit dem jeweils anderen Ergebnis, ein UPDATE sobald beide vorliegen
+            outcome = claimResultCorrelator.onPolicyResult(claimId, passed);
+
+            claimSagaTracker.onPolicyResult(claimId);
 
         } catch (Exception ex) {
-            outcome = "error";
-            incrementCounter(outcome, eventTypeName);
+            outcome = Outcome.ERROR;
             log.error("Error while handling PolicyEvaluationResult in ClaimService: {}", ex.getMessage(), ex);
             throw ex;
         } finally {
-            stopSample(sample, outcome, eventTypeName);
+            meters.record(event.getEventType(), outcome, start);
         }
     }
 }
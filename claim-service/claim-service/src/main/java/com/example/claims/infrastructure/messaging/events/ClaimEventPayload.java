@@ -3,6 +3,7 @@ package com.example.claims.infrastructure.messaging.events;
 import com.example.claims.domain.ClaimStatus;
 import lombok.Builder;
 import lombok.Data;
+import lombok.extern.jackson.Jacksonized;
 
 import java.math.BigDecimal;
 import java.time.OffsetDateTime;
@@ -10,6 +11,7 @@ import java.util.UUID;
 
 @Data
 @Builder
+@Jacksonized
 public class ClaimEventPayload {
 
     private UUID eventId;
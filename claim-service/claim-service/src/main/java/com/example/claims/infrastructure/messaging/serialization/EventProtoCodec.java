@@ -0,0 +1,171 @@
+package com.example.claims.infrastructure.messaging.serialization;
+
+import com.example.claims.infrastructure.messaging.events.ClaimEventPayload;
+import com.example.claims.messaging.events.CustomerValidationResultPayload;
+import com.example.claims.messaging.events.CustomerValidationResultType;
+import com.example.claims.messaging.events.PolicyEvaluationResultPayload;
+import com.example.claims.messaging.events.PolicyEvaluationResultType;
+import com.example.events.proto.ClaimEvent;
+import com.example.events.proto.ClaimEventType;
+import com.example.events.proto.CustomerValidationResult;
+import com.example.events.proto.PolicyEvaluationResult;
+import com.example.events.proto.Uuid;
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.google.protobuf.Timestamp;
+import org.apache.kafka.common.errors.SerializationException;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Abbildung der Kafka-Payloads auf die Protobuf-Nachrichten aus {@code events.proto}.
+ * {@code null}-Felder werden nicht gesetzt; Zeitpunkte werden als UTC übertragen.
+ */
+public final class EventProtoCodec {
+
+    private EventProtoCodec() {
+    }
+
+    // -------------------------------------------------------------------------
+    // claims.claim-events (Producer)
+    // -------------------------------------------------------------------------
+
+    public static byte[] encodeClaimEvent(ClaimEventPayload payload) {
+        ClaimEvent.Builder event = ClaimEvent.newBuilder()
+                .setApproved(payload.isApproved());
+
+        if (payload.getEventId() != null) {
+            event.setEventId(uuid(payload.getEventId()));
+        }
+        if (payload.getEventType() != null) {
+            event.setEventType(ClaimEventType.valueOf(payload.getEventType().name()));
+        }
+        if (payload.getOccurredAt() != null) {
+            event.setOccurredAt(timestamp(payload.getOccurredAt().toInstant()));
+        }
+        if (payload.getClaimId() != null) {
+            event.setClaimId(uuid(payload.getClaimId()));
+        }
+        if (payload.getPolicyId() != null) {
+            event.setPolicyId(uuid(payload.getPolicyId()));
+        }
+        if (payload.getCustomerId() != null) {
+            event.setCustomerId(uuid(payload.getCustomerId()));
+        }
+        if (payload.getDescription() != null) {
+            event.setDescription(payload.getDescription());
+        }
+        if (payload.getReportedAmount() != null) {
+            event.setReportedAmount(payload.getReportedAmount().toPlainString());
+        }
+        if (payload.getStatus() != null) {
+            event.setStatus(payload.getStatus().name());
+        }
+        if (payload.getApprovedAmount() != null) {
+            event.setApprovedAmount(payload.getApprovedAmount().toPlainString());
+        }
+        if (payload.getDecisionReason() != null) {
+            event.setDecisionReason(payload.getDecisionReason());
+        }
+        if (payload.getCreatedAt() != null) {
+            event.setCreatedAt(timestamp(payload.getCreatedAt().toInstant()));
+        }
+        if (payload.getLastUpdatedAt() != null) {
+            event.setLastUpdatedAt(timestamp(payload.getLastUpdatedAt().toInstant()));
+        }
+
+        return event.build().toByteArray();
+    }
+
+    // -------------------------------------------------------------------------
+    // policies.policy-evaluation-events (Consumer)
+    // -------------------------------------------------------------------------
+
+    public static PolicyEvaluationResultPayload decodePolicyEvaluationResult(byte[] data) {
+        PolicyEvaluationResult event;
+        try {
+            event = PolicyEvaluationResult.parseFrom(data);
+        } catch (InvalidProtocolBufferException ex) {
+            throw new SerializationException("Invalid protobuf PolicyEvaluationResult", ex);
+        }
+
+        return PolicyEvaluationResultPayload.builder()
+                .eventId(event.hasEventId() ? uuid(event.getEventId()) : null)
+                .eventType(switch (event.getEventType()) {
+                    case POLICY_EVALUATION_PASSED -> PolicyEvaluationResultType.POLICY_EVALUATION_PASSED;
+                    case POLICY_EVALUATION_FAILED -> PolicyEvaluationResultType.POLICY_EVALUATION_FAILED;
+                    default -> null;
+                })
+                .occurredAt(event.hasOccurredAt() ? instant(event.getOccurredAt()) : null)
+                .claimId(event.hasClaimId() ? uuid(event.getClaimId()) : null)
+                .policyId(event.hasPolicyId() ? uuid(event.getPolicyId()) : null)
+                .policyNumber(nullIfEmpty(event.getPolicyNumber()))
+                .productCode(nullIfEmpty(event.getProductCode()))
+                .status(nullIfEmpty(event.getStatus()))
+                .validFrom(event.hasValidFrom() ? LocalDate.ofEpochDay(event.getValidFrom()) : null)
+                .validTo(event.hasValidTo() ? LocalDate.ofEpochDay(event.getValidTo()) : null)
+                .coverageValid(event.getCoverageValid())
+                .build();
+    }
+
+    // -------------------------------------------------------------------------
+    // customers.customer-validation-events (Consumer)
+    // -------------------------------------------------------------------------
+
+    public static CustomerValidationResultPayload decodeCustomerValidationResult(byte[] data) {
+        CustomerValidationResult event;
+        try {
+            event = CustomerValidationResult.parseFrom(data);
+        } catch (InvalidProtocolBufferException ex) {
+            throw new SerializationException("Invalid protobuf CustomerValidationResult", ex);
+        }
+
+        return CustomerValidationResultPayload.builder()
+                .eventId(event.hasEventId() ? uuid(event.getEventId()) : null)
+                .eventType(switch (event.getEventType()) {
+                    case CUSTOMER_VALIDATION_PASSED -> CustomerValidationResultType.CUSTOMER_VALIDATION_PASSED;
+                    case CUSTOMER_VALIDATION_FAILED -> CustomerValidationResultType.CUSTOMER_VALIDATION_FAILED;
+                    default -> null;
+                })
+                .occurredAt(event.hasOccurredAt() ? instant(event.getOccurredAt()) : null)
+                .claimId(event.hasClaimId() ? uuid(event.getClaimId()) : null)
+                .customerId(event.hasCustomerId() ? uuid(event.getCustomerId()) : null)
+                .customerNumber(nullIfEmpty(event.getCustomerNumber()))
+                .addressComplete(event.getAddressComplete())
+                .contactDataComplete(event.getContactDataComplete())
+                .customerDataValid(event.getCustomerDataValid())
+                .build();
+    }
+
+    // -------------------------------------------------------------------------
+    // Hilfsfunktionen
+    // -------------------------------------------------------------------------
+
+    // proto3-Strings sind nie null, leer entspricht einem fehlenden Wert im JSON
+    private static String nullIfEmpty(String value) {
+        return value.isEmpty() ? null : value;
+    }
+
+    private static Uuid uuid(UUID value) {
+        return Uuid.newBuilder()
+                .setMostSignificantBits(value.getMostSignificantBits())
+                .setLeastSignificantBits(value.getLeastSignificantBits())
+                .build();
+    }
+
+    private static UUID uuid(Uuid value) {
+        return new UUID(value.getMostSignificantBits(), value.getLeastSignificantBits());
+    }
+
+    private static Timestamp timestamp(Instant value) {
+        return Timestamp.newBuilder()
+                .setSeconds(value.getEpochSecond())
+                .setNanos(value.getNano())
+                .build();
+    }
+
+    private static Instant instant(Timestamp value) {
+        return Instant.ofEpochSecond(value.getSeconds(), value.getNanos());
+    }
+}
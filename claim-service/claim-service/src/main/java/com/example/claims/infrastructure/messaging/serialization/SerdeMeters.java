@@ -0,0 +1,33 @@
+package com.example.claims.infrastructure.messaging.serialization;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+final class SerdeMeters {
+
+    private SerdeMeters() {
+    }
+
+    static DistributionSummary recordSize(MeterRegistry meterRegistry, String payload, EventFormat format, String operation) {
+        return DistributionSummary.builder("claims.kafka.serde.bytes")
+                .description("Serialized Kafka record value size in claims-service")
+                .baseUnit("bytes")
+                .tag("payload", payload)
+                .tag("format", format.tagValue())
+                .tag("operation", operation)
+                .publishPercentileHistogram(true)
+                .maximumExpectedValue(64.0 * 1024)
+                .register(meterRegistry);
+    }
+
+    static Timer latency(MeterRegistry meterRegistry, String payload, EventFormat format, String operation) {
+        return Timer.builder("claims.kafka.serde.latency")
+                .description("Kafka record value (de)serialization time in claims-service")
+                .tag("payload", payload)
+                .tag("format", format.tagValue())
+                .tag("operation", operation)
+                .publishPercentileHistogram(true)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.claims.infrastructure.persistence;
+
+import com.example.claims.domain.Claim;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.List;
+
+/**
+ * Fügt mehrere neue Claims mit einem JDBC-Batch ein, ohne Hibernate (kein Persistence Context,
+ * kein Entity-Mapping). Mit {@code reWriteBatchedInserts=true} in der Datasource-URL schreibt
+ * der PostgreSQL-Treiber den Batch zu mehrzeiligen {@code INSERT ... VALUES (...), (...)} um.
+ *
+ * Läuft über die Verbindung der umgebenden (JPA-)Transaktion.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ClaimBatchInsertJdbcRepository {
+
+    private static final String INSERT = """
+            INSERT INTO claims (id, policy_id, customer_id, description, reported_amount, status, approved,
+                                approved_amount, decision_reason, policy_coverage_valid, customer_data_valid,
+                                created_at, last_updated_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void insertAll(List<Claim> claims) {
+        if (claims.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT, claims, claims.size(), (ps, claim) -> {
+            ps.setObject(1, claim.getId());
+            ps.setObject(2, claim.getPolicyId());
+            ps.setObject(3, claim.getCustomerId());
+            ps.setString(4, claim.getDescription());
+            // wie ClaimEntityMapper: Beträge als double-Spalten, fehlender Betrag als 0.0
+            ps.setDouble(5, claim.getReportedAmount() != null ? claim.getReportedAmount().doubleValue() : 0.0);
+            ps.setString(6, claim.getStatus().name());
+            ps.setBoolean(7, claim.isApproved());
+            setNullableDouble(ps, 8, claim.getApprovedAmount());
+            ps.setString(9, claim.getDecisionReason());
+            ps.setObject(10, claim.getPolicyCoverageValid(), Types.BOOLEAN);
+            ps.setObject(11, claim.getCustomerDataValid(), Types.BOOLEAN);
+            ps.setObject(12, claim.getCreatedAt());
+            ps.setObject(13, claim.getLastUpdatedAt());
+        });
+    }
+
+    private static void setNullableDouble(PreparedStatement ps, int index, BigDecimal value) throws SQLException {
+        if (value != null) {
+            ps.setDouble(index, value.doubleValue());
+        } else {
+            ps.setNull(index, Types.DOUBLE);
+        }
+    }
+}
@@ -3,6 +3,7 @@ package com.example.claims.infrastructure.persistence;
 import com.example.claims.domain.ClaimStatus;
 import jakarta.persistence.*;
 import lombok.*;
+import org.springframework.data.domain.Persistable;
 
 import java.time.OffsetDateTime;
 import java.util.UUID;
@@ -14,7 +15,7 @@ import java.util.UUID;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-public class ClaimEntity {
+public class ClaimEntity implements Persistable<UUID> {
 
     @Id
     @Column(name = "id", nullable = false, updatable = false)
@@ -45,9 +46,33 @@ public class ClaimEntity {
     @Column(name = "decision_reason", length = 1000)
     private String decisionReason;
 
+    // Ergebnisse aus policy-/customer-service (event-driven), null solange ausstehend
+    @Column(name = "policy_coverage_valid")
+    private Boolean policyCoverageValid;
+
+    @Column(name = "customer_data_valid")
+    private Boolean customerDataValid;
+
     @Column(name = "created_at", nullable = false)
     private OffsetDateTime createdAt;
 
     @Column(name = "last_updated_at", nullable = false)
     private OffsetDateTime lastUpdatedAt;
+
+    // Nicht persistiert: nur frisch angelegte Claims sind "neu", save() macht dann persist
+    // statt merge und spart das SELECT vor dem INSERT (die ID wird selbst vergeben)
+    @Transient
+    @Builder.Default
+    private boolean newEntity = false;
+
+    @Override
+    public boolean isNew() {
+        return newEntity;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.newEntity = false;
+    }
 }
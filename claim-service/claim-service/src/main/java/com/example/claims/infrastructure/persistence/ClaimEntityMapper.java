@@ -31,11 +31,22 @@ public class ClaimEntityMapper {
                 .approved(claim.isApproved())
                 .approvedAmount(approvedAmount)
                 .decisionReason(claim.getDecisionReason())
+                .policyCoverageValid(claim.getPolicyCoverageValid())
+                .customerDataValid(claim.getCustomerDataValid())
                 .createdAt(claim.getCreatedAt())
                 .lastUpdatedAt(claim.getLastUpdatedAt())
                 .build();
     }
 
+    /**
+     * Für neu angelegte Claims: wird per INSERT gespeichert, ohne vorheriges SELECT.
+     */
+    public ClaimEntity toNewEntity(Claim claim) {
+        ClaimEntity entity = toEntity(claim);
+        entity.setNewEntity(true);
+        return entity;
+    }
+
     public Claim toDomain(ClaimEntity entity) {
         if (entity == null) {
             return null;
@@ -57,6 +68,8 @@ public class ClaimEntityMapper {
                 .approved(entity.isApproved())
                 .approvedAmount(approvedAmount)
                 .decisionReason(entity.getDecisionReason())
+                .policyCoverageValid(entity.getPolicyCoverageValid())
+                .customerDataValid(entity.getCustomerDataValid())
                 .createdAt(entity.getCreatedAt())
                 .lastUpdatedAt(entity.getLastUpdatedAt())
                 .build();
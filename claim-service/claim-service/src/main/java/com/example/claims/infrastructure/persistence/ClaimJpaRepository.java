@@ -1,11 +1,86 @@
 package com.example.claims.infrastructure.persistence;
 
+import com.example.claims.domain.ClaimStatus;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.OffsetDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
 public interface ClaimJpaRepository extends JpaRepository<ClaimEntity, UUID> {
 
     List<ClaimEntity> findByCustomerId(UUID customerId);
+
+    @Query("SELECT c.id FROM ClaimEntity c WHERE c.id IN :ids")
+    List<UUID> findExistingIds(@Param("ids") Collection<UUID> ids);
+
+    @Query("SELECT c.id FROM ClaimEntity c ORDER BY c.createdAt DESC")
+    List<UUID> findRecentIds(Pageable pageable);
+
+    /**
+     * Schreibt Downstream-Ergebnisse in einem bedingten UPDATE, ohne die Claims vorher zu laden
+     * (alle übergebenen Claims mit denselben Werten). Greift nur, solange der Claim noch SUBMITTED ist.
+     * Ein fehlendes Ergebnis ({@code null}) überschreibt kein bereits gespeichertes.
+     *
+     * Folgestatus, approvedAmount und decisionReason werden aus den danach gespeicherten Ergebnissen
+     * abgeleitet ({@code COALESCE(Parameter, Spalte)}), nicht nur aus den übergebenen. Wurde ein
+     * Ergebnis schon vorher allein gespeichert (Timeout, Kapazität, Neustart), entscheidet das
+     * zweite den Claim daher trotzdem:
+     * - beide positiv: IN_REVIEW
+     * - mindestens eines negativ: REJECTED mit decisionReason und approvedAmount 0
+     * - eines fehlt noch: bleibt SUBMITTED
+     *
+     * @return Anzahl geänderter Zeilen (fehlende: Claim unbekannt oder nicht mehr SUBMITTED)
+     */
+    @Transactional
+    @Modifying
+    @Query("""
+            UPDATE ClaimEntity c
+               SET c.policyCoverageValid = COALESCE(:policyCoverageValid, c.policyCoverageValid),
+                   c.customerDataValid = COALESCE(:customerDataValid, c.customerDataValid),
+                   c.status = CASE
+                       WHEN COALESCE(:policyCoverageValid, c.policyCoverageValid) IS NULL
+                         OR COALESCE(:customerDataValid, c.customerDataValid) IS NULL
+                           THEN com.example.claims.domain.ClaimStatus.SUBMITTED
+                       WHEN COALESCE(:policyCoverageValid, c.policyCoverageValid) = true
+                        AND COALESCE(:customerDataValid, c.customerDataValid) = true
+                           THEN com.example.claims.domain.ClaimStatus.IN_REVIEW
+                       ELSE com.example.claims.domain.ClaimStatus.REJECTED
+                   END,
+                   c.approvedAmount = CASE
+                       WHEN COALESCE(:policyCoverageValid, c.policyCoverageValid) = false
+                        AND COALESCE(:customerDataValid, c.customerDataValid) IS NOT NULL
+                           THEN 0.0
+                       WHEN COALESCE(:customerDataValid, c.customerDataValid) = false
+                        AND COALESCE(:policyCoverageValid, c.policyCoverageValid) IS NOT NULL
+                           THEN 0.0
+                       ELSE c.approvedAmount
+                   END,
+                   c.decisionReason = CASE
+                       WHEN COALESCE(:policyCoverageValid, c.policyCoverageValid) IS NULL
+                         OR COALESCE(:customerDataValid, c.customerDataValid) IS NULL
+                           THEN c.decisionReason
+                       WHEN COALESCE(:policyCoverageValid, c.policyCoverageValid) = false
+                        AND COALESCE(:customerDataValid, c.customerDataValid) = false
+                           THEN 'Policy coverage invalid, customer data invalid'
+                       WHEN COALESCE(:policyCoverageValid, c.policyCoverageValid) = false
+                           THEN 'Policy coverage invalid'
+                       WHEN COALESCE(:customerDataValid, c.customerDataValid) = false
+                           THEN 'Customer data invalid'
+                       ELSE c.decisionReason
+                   END,
+                   c.lastUpdatedAt = :lastUpdatedAt
+             WHERE c.id IN :ids
+               AND c.status = com.example.claims.domain.ClaimStatus.SUBMITTED
+            """)
+    int applyDownstreamVerdicts(@Param("ids") Collection<UUID> ids,
+                                @Param("policyCoverageValid") Boolean policyCoverageValid,
+                                @Param("customerDataValid") Boolean customerDataValid,
+                                @Param("lastUpdatedAt") OffsetDateTime lastUpdatedAt);
 }
@@ -0,0 +1,44 @@
+package com.example.claims.infrastructure.persistence;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * Noch nicht an Kafka übergebenes Claim-Event (Transactional Outbox).
+ *
+ * Wird in derselben Transaktion wie die Claim-Änderung geschrieben; die fortlaufende
+ * {@code id} bestimmt die Reihenfolge, in der der Relay die Events sendet.
+ */
+@Entity
+@Table(name = "claim_outbox")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ClaimOutboxEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id", nullable = false, updatable = false)
+    private Long id;
+
+    @Column(name = "event_id", nullable = false, updatable = false)
+    private UUID eventId;
+
+    @Column(name = "claim_id", nullable = false, updatable = false)
+    private UUID claimId;
+
+    @Column(name = "event_type", nullable = false, updatable = false, length = 50)
+    private String eventType;
+
+    // ClaimEventPayload als JSON, das Wire-Format wählt erst der Relay beim Senden
+    @Column(name = "payload", nullable = false, updatable = false, columnDefinition = "text")
+    private String payload;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private OffsetDateTime createdAt;
+}
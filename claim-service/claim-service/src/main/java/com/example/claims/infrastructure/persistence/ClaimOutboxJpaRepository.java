@@ -0,0 +1,27 @@
+package com.example.claims.infrastructure.persistence;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface ClaimOutboxJpaRepository extends JpaRepository<ClaimOutboxEntity, Long> {
+
+    /**
+     * Liest die ältesten Einträge ohne Zeilensperren. Nur für den aktiven Relay gedacht
+     * (siehe ClaimOutboxRelay), der die Reihenfolge je Claim über die ID-Ordnung erhält.
+     */
+    @Query(value = """
+            SELECT * FROM claim_outbox
+             ORDER BY id
+             LIMIT :limit
+            """, nativeQuery = true)
+    List<ClaimOutboxEntity> findNextBatch(@Param("limit") int limit);
+
+    @Modifying
+    @Query("DELETE FROM ClaimOutboxEntity o WHERE o.id IN :ids")
+    int deleteByIds(@Param("ids") Collection<Long> ids);
+}
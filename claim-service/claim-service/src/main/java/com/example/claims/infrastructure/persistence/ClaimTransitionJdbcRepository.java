@@ -0,0 +1,103 @@
+package com.example.claims.infrastructure.persistence;
+
+import com.example.claims.domain.Claim;
+import com.example.claims.domain.ClaimStatus;
+import com.example.claims.domain.ClaimTransition;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Statusübergänge als ein bedingtes {@code UPDATE ... WHERE id = ? AND status = ? RETURNING},
+ * ohne Laden, Hibernate-Merge und Entity-Mapping. Die Bedingung auf den Ausgangsstatus
+ * wirkt wie ein Compare-and-Set: von zwei gleichzeitigen Übergängen greift nur einer.
+ *
+ * Läuft über die Verbindung der umgebenden (JPA-)Transaktion. Die zurückgegebene Zeile wird
+ * direkt auf das Domainobjekt gemappt.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ClaimTransitionJdbcRepository {
+
+    private static final String RETURNING = """
+             RETURNING id, policy_id, customer_id, description, reported_amount, status, approved,
+                       approved_amount, decision_reason, policy_coverage_valid, customer_data_valid,
+                       created_at, last_updated_at
+            """;
+
+    private static final String UPDATE_STATUS = """
+            UPDATE claims
+               SET status = ?, last_updated_at = ?
+             WHERE id = ? AND status = ?
+            """ + RETURNING;
+
+    private static final String UPDATE_DECISION = """
+            UPDATE claims
+               SET status = ?, approved = ?, approved_amount = ?, decision_reason = ?, last_updated_at = ?
+             WHERE id = ? AND status = ?
+            """ + RETURNING;
+
+    private static final RowMapper<Claim> CLAIM_ROW_MAPPER = (rs, rowNum) -> {
+        Double approvedAmount = rs.getObject("approved_amount", Double.class);
+        return Claim.builder()
+                .id(rs.getObject("id", UUID.class))
+                .policyId(rs.getObject("policy_id", UUID.class))
+                .customerId(rs.getObject("customer_id", UUID.class))
+                .description(rs.getString("description"))
+                // wie ClaimEntityMapper: double-Spalten über BigDecimal.valueOf
+                .reportedAmount(BigDecimal.valueOf(rs.getDouble("reported_amount")))
+                .status(ClaimStatus.valueOf(rs.getString("status")))
+                .approved(rs.getBoolean("approved"))
+                .approvedAmount(approvedAmount != null ? BigDecimal.valueOf(approvedAmount) : null)
+                .decisionReason(rs.getString("decision_reason"))
+                .policyCoverageValid(rs.getObject("policy_coverage_valid", Boolean.class))
+                .customerDataValid(rs.getObject("customer_data_valid", Boolean.class))
+                .createdAt(rs.getObject("created_at", OffsetDateTime.class))
+                .lastUpdatedAt(rs.getObject("last_updated_at", OffsetDateTime.class))
+                .build();
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Führt den Übergang aus, wenn der Claim im Ausgangsstatus ist.
+     * {@code approvedAmount} und {@code decisionReason} werden nur bei APPROVE/REJECT verwendet.
+     *
+     * @return der Claim nach dem Übergang, leer wenn er nicht existiert oder nicht im Ausgangsstatus ist
+     */
+    public Optional<Claim> apply(ClaimTransition transition,
+                                 UUID claimId,
+                                 BigDecimal approvedAmount,
+                                 String decisionReason,
+                                 OffsetDateTime now) {
+
+        String to = transition.to().name();
+        String from = transition.from().name();
+
+        return switch (transition) {
+            case START_REVIEW, PAYOUT -> single(UPDATE_STATUS, to, now, claimId, from);
+            case APPROVE -> single(UPDATE_DECISION, to, true, approvedAmount.doubleValue(), decisionReason, now, claimId, from);
+            case REJECT -> single(UPDATE_DECISION, to, false, 0.0, decisionReason, now, claimId, from);
+        };
+    }
+
+    /**
+     * Nur für den Fehlerfall eines Übergangs: unterscheidet "unbekannt" von "falscher Status".
+     */
+    public Optional<ClaimStatus> findStatus(UUID claimId) {
+        return jdbcTemplate.query("SELECT status FROM claims WHERE id = ?",
+                        (rs, rowNum) -> ClaimStatus.valueOf(rs.getString("status")), claimId)
+                .stream()
+                .findFirst();
+    }
+
+    private Optional<Claim> single(String sql, Object... args) {
+        return jdbcTemplate.query(sql, CLAIM_ROW_MAPPER, args).stream().findFirst();
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.claims.infrastructure.persistence;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * DataSource-Wrapper, der misst, wie lange eine Verbindung aus dem Pool gehalten wird
+ * (getConnection() bis close()), getaggt nach der aktuellen {@link DbOperationContext}-Operation.
+ *
+ * Damit lässt sich zeigen, ob der Hikari-Pool durch lange gehaltene Verbindungen
+ * (z.B. Remote-Aufrufe innerhalb einer Transaktion) zum Engpass wird.
+ */
+public class ConnectionHoldTimeDataSource extends DelegatingDataSource {
+
+    // Lazy, damit die DataSource nicht vor der MeterRegistry initialisiert werden muss
+    private final Supplier<MeterRegistry> meterRegistry;
+    private final Map<String, Timer> holdTimers = new ConcurrentHashMap<>();
+
+    public ConnectionHoldTimeDataSource(DataSource targetDataSource, Supplier<MeterRegistry> meterRegistry) {
+        super(targetDataSource);
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return track(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return track(super.getConnection(username, password));
+    }
+
+    private Connection track(Connection target) {
+        Timer timer = holdTimer(DbOperationContext.current());
+        long acquiredAt = System.nanoTime();
+        boolean[] released = {false};
+
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    if ("close".equals(method.getName()) && !released[0]) {
+                        released[0] = true;
+                        timer.record(System.nanoTime() - acquiredAt, TimeUnit.NANOSECONDS);
+                    }
+                    try {
+                        return method.invoke(target, args);
+                    } catch (InvocationTargetException ex) {
+                        throw ex.getTargetException();
+                    }
+                });
+    }
+
+    private Timer holdTimer(String operation) {
+        return holdTimers.computeIfAbsent(operation, op ->
+                Timer.builder("claims_db_connection_hold_duration")
+                        .description("Time a pooled JDBC connection is held per claim service operation")
+                        .tag("operation", op)
+                        .publishPercentileHistogram(true)
+                        .publishPercentiles(0.5, 0.95, 0.99)
+                        .register(meterRegistry.get()));
+    }
+}
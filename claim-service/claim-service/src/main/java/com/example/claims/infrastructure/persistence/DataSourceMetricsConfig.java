@@ -0,0 +1,35 @@
+package com.example.claims.infrastructure.persistence;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+@Configuration
+public class DataSourceMetricsConfig {
+
+    /**
+     * Hüllt die (Hikari-)DataSource in eine {@link ConnectionHoldTimeDataSource} und eine
+     * {@link StatementCountingDataSource} ein.
+     * Static, damit der BeanPostProcessor früh und ohne Abhängigkeit auf diese Config erzeugt wird.
+     */
+    @Bean
+    public static BeanPostProcessor connectionHoldTimeDataSourcePostProcessor(
+            ObjectProvider<MeterRegistry> meterRegistry) {
+
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ConnectionHoldTimeDataSource)) {
+                    return new ConnectionHoldTimeDataSource(
+                            new StatementCountingDataSource(dataSource, meterRegistry::getObject),
+                            meterRegistry::getObject);
+                }
+                return bean;
+            }
+        };
+    }
+}
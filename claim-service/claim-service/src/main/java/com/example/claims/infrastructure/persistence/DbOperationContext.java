@@ -0,0 +1,46 @@
+package com.example.claims.infrastructure.persistence;
+
+/**
+ * Merkt sich pro Thread, für welche fachliche Operation gerade eine DB-Verbindung
+ * bezogen wird. Wird von {@link ConnectionHoldTimeDataSource} als Metrik-Tag genutzt.
+ *
+ * Verwendung:
+ * <pre>
+ * try (var ignored = DbOperationContext.open("submit")) {
+ *     ... Transaktion ...
+ * }
+ * </pre>
+ */
+public final class DbOperationContext {
+
+    public static final String UNKNOWN_OPERATION = "other";
+
+    private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+
+    private DbOperationContext() {
+    }
+
+    public static Scope open(String operation) {
+        String previous = CURRENT.get();
+        CURRENT.set(operation);
+        return () -> {
+            if (previous != null) {
+                CURRENT.set(previous);
+            } else {
+                CURRENT.remove();
+            }
+        };
+    }
+
+    public static String current() {
+        String operation = CURRENT.get();
+        return operation != null ? operation : UNKNOWN_OPERATION;
+    }
+
+    @FunctionalInterface
+    public interface Scope extends AutoCloseable {
+
+        @Override
+        void close();
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.claims.infrastructure.persistence;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Configuration
+public class PersistenceExecutorConfig {
+
+    /**
+     * Executor für blockierende DB-Arbeit im asynchronen Submit-Pfad.
+     * Größe sinnvollerweise = Hikari-Poolgröße; bei voller Queue wird abgelehnt statt
+     * einen gRPC-Callback-Thread zu blockieren.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ThreadPoolExecutor claimPersistenceExecutor(
+            MeterRegistry meterRegistry,
+            @Value("${claims.persistence.executor.pool-size:10}") int poolSize,
+            @Value("${claims.persistence.executor.queue-capacity:1000}") int queueCapacity) {
+
+        AtomicInteger counter = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                poolSize, poolSize,
+                60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "claims-persistence-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+
+        new ExecutorServiceMetrics(executor, "claims_persistence", List.of()).bindTo(meterRegistry);
+        return executor;
+    }
+}
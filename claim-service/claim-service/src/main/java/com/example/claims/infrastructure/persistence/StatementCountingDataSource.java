@@ -0,0 +1,90 @@
+package com.example.claims.infrastructure.persistence;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * DataSource-Wrapper, der die an die DB gesendeten SQL-Statements zählt, getaggt nach der
+ * aktuellen {@link DbOperationContext}-Operation und der Statement-Art (select, insert, ...).
+ *
+ * Gezählt wird beim Vorbereiten ({@code prepareStatement}/{@code prepareCall}/{@code createStatement}).
+ * Ein JDBC-Batch zählt daher einmal, unabhängig von der Anzahl der Zeilen.
+ *
+ * Metrik: claims_db_statements_total{operation, kind}.
+ */
+public class StatementCountingDataSource extends DelegatingDataSource {
+
+    // Lazy, damit die DataSource nicht vor der MeterRegistry initialisiert werden muss
+    private final Supplier<MeterRegistry> meterRegistry;
+    private final Map<String, Map<String, Counter>> counters = new ConcurrentHashMap<>();
+
+    public StatementCountingDataSource(DataSource targetDataSource, Supplier<MeterRegistry> meterRegistry) {
+        super(targetDataSource);
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return count(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return count(super.getConnection(username, password));
+    }
+
+    private Connection count(Connection target) {
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "prepareStatement", "prepareCall" -> counter(DbOperationContext.current(), kind((String) args[0])).increment();
+                        // SQL erst beim execute bekannt, Art daher unbekannt
+                        case "createStatement" -> counter(DbOperationContext.current(), "other").increment();
+                        default -> {
+                        }
+                    }
+                    try {
+                        return method.invoke(target, args);
+                    } catch (InvocationTargetException ex) {
+                        throw ex.getTargetException();
+                    }
+                });
+    }
+
+    private static String kind(String sql) {
+        String trimmed = sql.stripLeading();
+        int end = 0;
+        while (end < trimmed.length() && Character.isLetter(trimmed.charAt(end))) {
+            end++;
+        }
+        return switch (trimmed.substring(0, end).toLowerCase(Locale.ROOT)) {
+            case "select", "with" -> "select";
+            case "insert" -> "insert";
+            case "update" -> "update";
+            case "delete" -> "delete";
+            default -> "other";
+        };
+    }
+
+    private Counter counter(String operation, String kind) {
+        return counters.computeIfAbsent(operation, op -> new ConcurrentHashMap<>())
+                .computeIfAbsent(kind, k -> Counter.builder("claims_db_statements_total")
+                        .description("SQL statements sent to the claims database per claim service operation")
+                        .tag("operation", operation)
+                        .tag("kind", k)
+                        .register(meterRegistry.get()));
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.claims.infrastructure.policy;
+
+import com.example.claims.support.batch.MicroBatcher;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Bündelt gleichzeitige Einzel-Lookups zu einem GetPolicies-Aufruf (REST: GET /policies?ids=).
+ *
+ * Jeder Aufrufer wartet höchstens {@code timeout} (wie die Deadline der Submit-Validierung);
+ * danach oder bei einem Fehler des Batch-Aufrufs gilt – wie bei den Transport-Clients –
+ * "keine Policy". Liegt ein Cache davor, kommen hier nur die Misses an.
+ */
+@Slf4j
+public class BatchingPolicyClient implements PolicyClient, DisposableBean {
+
+    private final PolicyClient delegate;
+    private final MicroBatcher<UUID, PolicySummary> batcher;
+    private final Duration timeout;
+
+    public BatchingPolicyClient(PolicyClient delegate,
+                                int maxBatchSize,
+                                Duration maxWait,
+                                int maxConcurrentBatches,
+                                Duration timeout,
+                                MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.timeout = timeout;
+        this.batcher = new MicroBatcher<>(
+                "policy",
+                maxBatchSize,
+                maxWait,
+                maxConcurrentBatches,
+                delegate::getPoliciesByIds,
+                meterRegistry
+        );
+    }
+
+    @Override
+    public Optional<PolicySummary> getPolicyById(UUID policyId) {
+        try {
+            return Optional.ofNullable(batcher.submit(policyId).get(timeout.toNanos(), TimeUnit.NANOSECONDS));
+        } catch (TimeoutException ex) {
+            log.warn("Batched policy lookup for policyId={} exceeded {} ms", policyId, timeout.toMillis());
+            return Optional.empty();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return Optional.empty();
+        } catch (ExecutionException ex) {
+            log.error("Batched policy lookup for policyId={} failed: {}",
+                    policyId, ex.getCause().getMessage(), ex.getCause());
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public CompletableFuture<Optional<PolicySummary>> getPolicyByIdAsync(UUID policyId) {
+        return batcher.submit(policyId)
+                .orTimeout(timeout.toNanos(), TimeUnit.NANOSECONDS)
+                .thenApply(Optional::ofNullable);
+    }
+
+    @Override
+    public Map<UUID, PolicySummary> getPoliciesByIds(Collection<UUID> policyIds) {
+        return delegate.getPoliciesByIds(policyIds);
+    }
+
+    @Override
+    public void destroy() {
+        batcher.close();
+    }
+}
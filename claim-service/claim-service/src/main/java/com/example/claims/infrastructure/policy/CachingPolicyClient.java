@@ -0,0 +1,80 @@
+package com.example.claims.infrastructure.policy;
+
+import com.example.claims.support.cache.LoadingTtlCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Read-Through-Cache vor einem beliebigen {@link PolicyClient} (REST, gRPC, No-Op).
+ *
+ * PolicySummaries ändern sich praktisch nie, daher werden gefundene Policies lange gecacht.
+ * Leere Ergebnisse (nicht gefunden oder Downstream-Fehler) werden nur kurz gecacht,
+ * damit ein kurzzeitig nicht erreichbarer Policy-Service nicht dauerhaft "keine Policy" liefert.
+ * Bulk-Lookups beantworten Treffer aus dem Cache und fragen nur die übrigen IDs mit einem
+ * Batch-Aufruf beim Delegate an.
+ *
+ * Ersetzt die Bean des Delegates, daher wird dessen Destroy-Hook hier weitergereicht.
+ */
+public class CachingPolicyClient implements PolicyClient, DisposableBean {
+
+    private final PolicyClient delegate;
+    private final LoadingTtlCache<UUID, Optional<PolicySummary>> cache;
+
+    public CachingPolicyClient(PolicyClient delegate,
+                               int maximumSize,
+                               Duration ttl,
+                               Duration negativeTtl,
+                               MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.cache = new LoadingTtlCache<>(
+                "policy",
+                maximumSize,
+                ttl,
+                negativeTtl,
+                Optional::isEmpty,
+                meterRegistry
+        );
+    }
+
+    @Override
+    public Optional<PolicySummary> getPolicyById(UUID policyId) {
+        return cache.get(policyId, delegate::getPolicyById);
+    }
+
+    @Override
+    public CompletableFuture<Optional<PolicySummary>> getPolicyByIdAsync(UUID policyId) {
+        return cache.getAsync(policyId, delegate::getPolicyByIdAsync);
+    }
+
+    @Override
+    public Map<UUID, PolicySummary> getPoliciesByIds(Collection<UUID> policyIds) {
+        Map<UUID, PolicySummary> result = new LinkedHashMap<>();
+        cache.getAll(policyIds, this::loadPolicies, Optional.empty())
+                .forEach((policyId, summary) -> summary.ifPresent(found -> result.put(policyId, found)));
+        return result;
+    }
+
+    // nicht gefundene IDs fehlen in der Antwort und werden als "keine Policy" gecacht
+    private Map<UUID, Optional<PolicySummary>> loadPolicies(Set<UUID> policyIds) {
+        Map<UUID, Optional<PolicySummary>> loaded = new HashMap<>();
+        delegate.getPoliciesByIds(policyIds).forEach((policyId, summary) -> loaded.put(policyId, Optional.of(summary)));
+        return loaded;
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        if (delegate instanceof DisposableBean disposable) {
+            disposable.destroy();
+        }
+    }
+}
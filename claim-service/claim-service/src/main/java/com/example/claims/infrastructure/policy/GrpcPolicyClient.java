@@ -1,9 +1,12 @@
 package com.example.claims.infrastructure.policy;
 
+import com.example.policies.grpc.GetPoliciesRequest;
+import com.example.policies.grpc.GetPoliciesResponse;
 import com.example.policies.grpc.GetPolicyRequest;
 import com.example.policies.grpc.GetPolicyResponse;
 import com.example.policies.grpc.PolicyServiceGrpc;
 import com.example.policies.grpc.Policy;
+import com.example.claims.support.grpc.GrpcFutures;
 import io.grpc.ManagedChannel;
 import io.grpc.ManagedChannelBuilder;
 import io.grpc.StatusRuntimeException;
@@ -14,8 +17,13 @@ import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDate;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 @Slf4j
 @Component
@@ -24,10 +32,15 @@ public class GrpcPolicyClient implements PolicyClient, DisposableBean {
 
     private final ManagedChannel channel;
     private final PolicyServiceGrpc.PolicyServiceBlockingStub stub;
+    private final PolicyServiceGrpc.PolicyServiceFutureStub futureStub;
+
+    // Deadline je Call: bricht den Call auch auf dem Transport ab, nicht nur das Warten des Aufrufers
+    private final long deadlineMs;
 
     public GrpcPolicyClient(
             @Value("${policy.grpc.host:localhost}") String host,
-            @Value("${policy.grpc.port:9191}") int port) {
+            @Value("${policy.grpc.port:9191}") int port,
+            @Value("${policy.grpc.deadline-ms:${claims.submit.fan-out.timeout-ms:2000}}") long deadlineMs) {
 
         this.channel = ManagedChannelBuilder
                 .forAddress(host, port)
@@ -35,7 +48,9 @@ public class GrpcPolicyClient implements PolicyClient, DisposableBean {
                 .build();
 
         this.stub = PolicyServiceGrpc.newBlockingStub(channel);
-        log.info("Initialized GrpcPolicyClient for {}:{}", host, port);
+        this.futureStub = PolicyServiceGrpc.newFutureStub(channel);
+        this.deadlineMs = deadlineMs;
+        log.info("Initialized GrpcPolicyClient for {}:{} (deadlineMs={})", host, port, deadlineMs);
     }
 
     @Override
@@ -50,7 +65,7 @@ public class GrpcPolicyClient implements PolicyClient, DisposableBean {
             log.info("GrpcPolicyClient.getPolicyById({}) called", policyId);
 
             // 2) gRPC-Aufruf durchführen
-            GetPolicyResponse response = stub.getPolicy(request);
+            GetPolicyResponse response = stub.withDeadlineAfter(deadlineMs, TimeUnit.MILLISECONDS).getPolicy(request);
 
             // 3) Falls der Server keine Policy zurückliefert → Optional.empty()
             if (!response.hasPolicy()) {
@@ -58,29 +73,7 @@ public class GrpcPolicyClient implements PolicyClient, DisposableBean {
                 return Optional.empty();
             }
 
-            Policy policy = response.getPolicy();
-
-            // 4) Strings der Datumsfelder defensiv in LocalDate parsen
-            String validFromStr = policy.getValidFrom();
-            String validToStr = policy.getValidTo();
-
-            LocalDate validFrom = (validFromStr == null || validFromStr.isBlank())
-                    ? null
-                    : LocalDate.parse(validFromStr);
-
-            LocalDate validTo = (validToStr == null || validToStr.isBlank())
-                    ? null
-                    : LocalDate.parse(validToStr);
-
-            // 5) PolicySummary aus gRPC-Response bauen
-            PolicySummary summary = new PolicySummary(
-                    UUID.fromString(policy.getId()),
-                    policy.getPolicyNumber(),
-                    policy.getProductCode(),
-                    policy.getStatus(),
-                    validFrom,
-                    validTo
-            );
+            PolicySummary summary = toSummary(response.getPolicy());
 
             log.info(
                     "GrpcPolicyClient.getPolicyById({}) received policyNumber={} from PolicyService (gRPC)",
@@ -99,6 +92,80 @@ public class GrpcPolicyClient implements PolicyClient, DisposableBean {
         }
     }
 
+    @Override
+    public CompletableFuture<Optional<PolicySummary>> getPolicyByIdAsync(UUID policyId) {
+        GetPolicyRequest request = GetPolicyRequest.newBuilder()
+                .setPolicyId(policyId.toString())
+                .build();
+
+        log.debug("GrpcPolicyClient.getPolicyByIdAsync({}) called", policyId);
+
+        // Fehler werden wie im synchronen Pfad auf "keine Policy" abgebildet
+        return GrpcFutures.toCompletableFuture(futureStub.withDeadlineAfter(deadlineMs, TimeUnit.MILLISECONDS).getPolicy(request))
+                .thenApply(response -> response.hasPolicy()
+                        ? Optional.of(toSummary(response.getPolicy()))
+                        : Optional.<PolicySummary>empty())
+                .exceptionally(ex -> {
+                    log.error("gRPC error in GrpcPolicyClient (async) for policyId {}: {}", policyId, ex.getMessage(), ex);
+                    return Optional.empty();
+                });
+    }
+
+    @Override
+    public Map<UUID, PolicySummary> getPoliciesByIds(Collection<UUID> policyIds) {
+        if (policyIds.isEmpty()) {
+            return Map.of();
+        }
+
+        GetPoliciesRequest.Builder request = GetPoliciesRequest.newBuilder();
+        policyIds.forEach(policyId -> request.addPolicyIds(policyId.toString()));
+
+        try {
+            log.debug("GrpcPolicyClient.getPoliciesByIds called for {} policyIds", policyIds.size());
+
+            GetPoliciesResponse response = stub.withDeadlineAfter(deadlineMs, TimeUnit.MILLISECONDS).getPolicies(request.build());
+
+            Map<UUID, PolicySummary> result = new LinkedHashMap<>();
+            for (Policy policy : response.getPoliciesList()) {
+                PolicySummary summary = toSummary(policy);
+                result.put(summary.id(), summary);
+            }
+            return result;
+
+        } catch (StatusRuntimeException ex) {
+            log.error("gRPC error in GrpcPolicyClient for batch lookup of {} policyIds: {}",
+                    policyIds.size(), ex.getStatus(), ex);
+            return Map.of();
+        } catch (Exception ex) {
+            log.error("Unexpected error in GrpcPolicyClient for batch lookup of {} policyIds: {}",
+                    policyIds.size(), ex.getMessage(), ex);
+            return Map.of();
+        }
+    }
+
+    private PolicySummary toSummary(Policy policy) {
+        // Strings der Datumsfelder defensiv in LocalDate parsen
+        String validFromStr = policy.getValidFrom();
+        String validToStr = policy.getValidTo();
+
+        LocalDate validFrom = (validFromStr == null || validFromStr.isBlank())
+                ? null
+                : LocalDate.parse(validFromStr);
+
+        LocalDate validTo = (validToStr == null || validToStr.isBlank())
+                ? null
+                : LocalDate.parse(validToStr);
+
+        return new PolicySummary(
+                UUID.fromString(policy.getId()),
+                policy.getPolicyNumber(),
+                policy.getProductCode(),
+                policy.getStatus(),
+                validFrom,
+                validTo
+        );
+    }
+
     @Override
     public void destroy() {
         if (channel != null && !channel.isShutdown()) {
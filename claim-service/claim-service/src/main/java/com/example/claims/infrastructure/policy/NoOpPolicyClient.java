@@ -4,6 +4,8 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Component;
 
+import java.util.Collection;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -26,4 +28,11 @@ public class NoOpPolicyClient implements PolicyClient {
         log.info("NoOpPolicyClient active (event-driven mode) – skipping synchronous policy lookup for policyId={}", policyId);
         return Optional.empty();
     }
+
+    @Override
+    public Map<UUID, PolicySummary> getPoliciesByIds(Collection<UUID> policyIds) {
+        log.info("NoOpPolicyClient active (event-driven mode) – skipping synchronous batch policy lookup for {} policyIds",
+                policyIds.size());
+        return Map.of();
+    }
 }
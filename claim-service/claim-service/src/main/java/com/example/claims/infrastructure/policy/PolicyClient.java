@@ -1,7 +1,11 @@
 package com.example.claims.infrastructure.policy;
 
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 public interface PolicyClient {
 
@@ -12,4 +16,26 @@ public interface PolicyClient {
      * @return Optional mit PolicySummary, leer falls nicht gefunden oder Fehler.
      */
     Optional<PolicySummary> getPolicyById(UUID policyId);
+
+    /**
+     * Nicht-blockierende Variante für den asynchronen gRPC-Pfad.
+     * Default: synchroner Aufruf, gRPC überschreibt das mit dem Future-Stub.
+     */
+    default CompletableFuture<Optional<PolicySummary>> getPolicyByIdAsync(UUID policyId) {
+        return CompletableFuture.completedFuture(getPolicyById(policyId));
+    }
+
+    /**
+     * Lädt mehrere Policy-Summaries auf einmal.
+     * Default: Einzel-Lookups; REST und gRPC überschreiben das mit einem echten Batch-Aufruf.
+     *
+     * @return Map policyId -> PolicySummary, nicht gefundene IDs fehlen.
+     */
+    default Map<UUID, PolicySummary> getPoliciesByIds(Collection<UUID> policyIds) {
+        Map<UUID, PolicySummary> result = new LinkedHashMap<>();
+        for (UUID policyId : policyIds) {
+            getPolicyById(policyId).ifPresent(summary -> result.put(policyId, summary));
+        }
+        return result;
+    }
 }
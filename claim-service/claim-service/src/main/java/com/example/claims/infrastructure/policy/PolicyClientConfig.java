@@ -1,17 +1,85 @@
 package com.example.claims.infrastructure.policy;
 
+import com.example.claims.infrastructure.http.RouteLeaseInterceptor;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
+import java.time.Duration;
+
 @Configuration
 public class PolicyClientConfig {
 
     @Bean
     @Profile("rest")
-    public RestTemplate policyRestTemplate(RestTemplateBuilder builder) {
-        return builder.build();
+    public RestTemplate policyRestTemplate(RestTemplateBuilder builder,
+                                           ClientHttpRequestFactory downstreamClientHttpRequestFactory,
+                                           RouteLeaseInterceptor routeLeaseInterceptor) {
+        return builder
+                .requestFactory(() -> downstreamClientHttpRequestFactory)
+                .additionalInterceptors(routeLeaseInterceptor)
+                .build();
+    }
+
+    /**
+     * Legt die optionalen Decorators um die jeweils aktive PolicyClient-Implementierung
+     * (REST, gRPC oder No-Op). Reihenfolge von außen nach innen:
+     * {@link CachingPolicyClient} → {@link BatchingPolicyClient} → Transport,
+     * damit nur Cache-Misses gebündelt werden.
+     * Static, damit der BeanPostProcessor früh und ohne Abhängigkeit auf diese Config erzeugt wird.
+     */
+    @Bean
+    public static BeanPostProcessor policyClientDecoratorPostProcessor(
+            ObjectProvider<MeterRegistry> meterRegistry,
+            @Value("${claims.batch.policy.enabled:false}") boolean batchEnabled,
+            @Value("${claims.batch.policy.max-batch-size:64}") int maxBatchSize,
+            @Value("${claims.batch.policy.max-wait-micros:1000}") long maxWaitMicros,
+            @Value("${claims.batch.policy.max-concurrent-batches:8}") int maxConcurrentBatches,
+            @Value("${claims.batch.policy.timeout-ms:${claims.submit.fan-out.timeout-ms:2000}}") long batchTimeoutMs,
+            @Value("${claims.cache.policy.enabled:false}") boolean cacheEnabled,
+            @Value("${claims.cache.policy.maximum-size:10000}") int maximumSize,
+            @Value("${claims.cache.policy.ttl-ms:300000}") long ttlMs,
+            @Value("${claims.cache.policy.negative-ttl-ms:5000}") long negativeTtlMs) {
+
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof PolicyClient policyClient)
+                        || bean instanceof CachingPolicyClient
+                        || bean instanceof BatchingPolicyClient) {
+                    return bean;
+                }
+
+                if (batchEnabled) {
+                    policyClient = new BatchingPolicyClient(
+                            policyClient,
+                            maxBatchSize,
+                            Duration.ofNanos(maxWaitMicros * 1_000L),
+                            maxConcurrentBatches,
+                            Duration.ofMillis(batchTimeoutMs),
+                            meterRegistry.getObject()
+                    );
+                }
+
+                if (cacheEnabled) {
+                    policyClient = new CachingPolicyClient(
+                            policyClient,
+                            maximumSize,
+                            Duration.ofMillis(ttlMs),
+                            Duration.ofMillis(negativeTtlMs),
+                            meterRegistry.getObject()
+                    );
+                }
+
+                return policyClient;
+            }
+        };
     }
 }
@@ -8,7 +8,11 @@ import org.springframework.http.*;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.RestTemplate;
 
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
 import java.util.UUID;
 
 @Slf4j
@@ -56,4 +60,45 @@ public class RestPolicyClient implements PolicyClient {
             return Optional.empty();
         }
     }
+
+    @Override
+    public Map<UUID, PolicySummary> getPoliciesByIds(Collection<UUID> policyIds) {
+        if (policyIds.isEmpty()) {
+            return Map.of();
+        }
+
+        String ids = policyIds.stream()
+                .map(UUID::toString)
+                .collect(Collectors.joining(","));
+        String url = baseUrl + "/policies?ids=" + ids;
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.add("X-Caller-Service", applicationName);
+
+        HttpEntity<Void> requestEntity = new HttpEntity<>(headers);
+
+        try {
+            log.debug("RestPolicyClient.getPoliciesByIds called for {} policyIds", policyIds.size());
+
+            ResponseEntity<PolicySummary[]> response =
+                    policyRestTemplate.exchange(url, HttpMethod.GET, requestEntity, PolicySummary[].class);
+
+            if (response.getStatusCode().is2xxSuccessful() && response.getBody() != null) {
+                Map<UUID, PolicySummary> result = new LinkedHashMap<>();
+                for (PolicySummary summary : response.getBody()) {
+                    result.put(summary.id(), summary);
+                }
+                return result;
+            }
+
+            log.warn("PolicyService returned status={} for batch lookup of {} policyIds",
+                    response.getStatusCode(), policyIds.size());
+            return Map.of();
+
+        } catch (Exception ex) {
+            log.error("Error calling PolicyService (REST) for batch lookup of {} policyIds: {}",
+                    policyIds.size(), ex.getMessage(), ex);
+            return Map.of();
+        }
+    }
 }
@@ -1,57 +1,82 @@
 package com.example.claims.infrastructure.rest;
 
 import com.example.claims.api.dto.ClaimApproveRequest;
+import com.example.claims.api.dto.ClaimBatchCreateRequest;
+import com.example.claims.api.dto.ClaimBatchItemResponse;
+import com.example.claims.api.dto.ClaimBatchResponse;
 import com.example.claims.api.dto.ClaimCreateRequest;
 import com.example.claims.api.dto.ClaimRejectRequest;
 import com.example.claims.api.dto.ClaimResponse;
 import com.example.claims.api.mapper.ClaimDtoMapper;
 import com.example.claims.application.ClaimService;
-import io.micrometer.core.instrument.Counter;
+import com.example.claims.application.ClaimSubmission;
+import com.example.claims.domain.Claim;
+import com.example.claims.support.error.ClaimBatchTooLargeException;
+import com.example.claims.support.metrics.Outcome;
+import com.example.claims.support.metrics.OutcomeMeters;
 import io.micrometer.core.instrument.MeterRegistry;
-import io.micrometer.core.instrument.Timer;
+import jakarta.validation.ConstraintViolation;
 import jakarta.validation.Valid;
-import lombok.RequiredArgsConstructor;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/claims")
-@RequiredArgsConstructor
 public class ClaimRestController {
 
     private final ClaimService claimService;
     private final ClaimDtoMapper claimDtoMapper;
-    private final MeterRegistry meterRegistry;
+    private final Validator validator;
+    private final int maxSubmitBatchSize;
+
+    // Timer + Counter je (method, outcome), einmalig beim Start registriert
+    private final OutcomeMeters<Endpoint> meters;
+
+    public ClaimRestController(ClaimService claimService,
+                               ClaimDtoMapper claimDtoMapper,
+                               Validator validator,
+                               MeterRegistry meterRegistry,
+                               @Value("${claims.submit.batch.max-size:100}") int maxSubmitBatchSize) {
+        this.claimService = claimService;
+        this.claimDtoMapper = claimDtoMapper;
+        this.validator = validator;
+        this.maxSubmitBatchSize = maxSubmitBatchSize;
+        this.meters = OutcomeMeters.builder(Endpoint.class, "method")
+                .keyTagValue(Endpoint::tagValue)
+                .timer("claims.rest.latency", "REST latency per claims endpoint")
+                .counter("claims.rest.requests", "REST request count per claims endpoint")
+                .register(meterRegistry);
+    }
 
-    // --- Helper für Metriken -------------------------------------------------
+    enum Endpoint {
+        SUBMIT_CLAIM("submitClaim"),
+        SUBMIT_CLAIMS("submitClaims"),
+        GET_CLAIM("getClaim"),
+        LIST_CLAIMS_FOR_CUSTOMER("listClaimsForCustomer"),
+        START_REVIEW("startReview"),
+        APPROVE_CLAIM("approveClaim"),
+        REJECT_CLAIM("rejectClaim"),
+        PAYOUT_CLAIM("payoutClaim");
 
-    private Timer.Sample startSample() {
-        return Timer.start(meterRegistry);
-    }
+        private final String tagValue;
 
-    private void stopSample(Timer.Sample sample, String name, String method, String outcome) {
-        sample.stop(
-                Timer.builder(name)
-                        .description("REST latency per claims endpoint")
-                        .tag("method", method)
-                        .tag("outcome", outcome)
-                        .publishPercentileHistogram(true)
-                        .publishPercentiles(0.5, 0.95, 0.99)
-                        .register(meterRegistry)
-        );
-    }
+        Endpoint(String tagValue) {
+            this.tagValue = tagValue;
+        }
 
-    private void incrementCounter(String name, String method, String outcome) {
-        Counter.builder(name)
-                .description("REST request count per claims endpoint")
-                .tag("method", method)
-                .tag("outcome", outcome)
-                .register(meterRegistry)
-                .increment();
+        String tagValue() {
+            return tagValue;
+        }
     }
 
     // --- Endpunkte -----------------------------------------------------------
@@ -63,8 +88,8 @@ public class ClaimRestController {
     public ResponseEntity<ClaimResponse> submitClaim(
             @RequestBody @Valid ClaimCreateRequest request) {
 
-        Timer.Sample sample = startSample();
-        String outcome = "success";
+        long start = System.nanoTime();
+        Outcome outcome = Outcome.SUCCESS;
 
         try {
             var claim = claimService.submitClaim(
@@ -76,14 +101,76 @@ public class ClaimRestController {
 
             ClaimResponse response = claimDtoMapper.toResponse(claim);
 
-            incrementCounter("claims.rest.requests", "submitClaim", "success");
             return ResponseEntity.status(HttpStatus.CREATED).body(response);
         } catch (Exception ex) {
-            outcome = "error";
-            incrementCounter("claims.rest.requests", "submitClaim", "error");
+            outcome = Outcome.ERROR;
             throw ex;
         } finally {
-            stopSample(sample, "claims.rest.latency", "submitClaim", outcome);
+            meters.record(Endpoint.SUBMIT_CLAIM, outcome, start);
+        }
+    }
+
+    /**
+     * POST /claims/batch – mehrere Schadenfälle in einem Aufruf anlegen.
+     *
+     * Jeder Eintrag wird einzeln validiert; ungültige Einträge erscheinen als REJECTED im
+     * Ergebnis, die gültigen werden gemeinsam gespeichert (alle oder keiner). Mehr als
+     * {@code claims.submit.batch.max-size} Einträge (gültige wie ungültige) -> 400.
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<ClaimBatchResponse> submitClaims(
+            @RequestBody @Valid ClaimBatchCreateRequest request) {
+
+        long start = System.nanoTime();
+        Outcome outcome = Outcome.SUCCESS;
+
+        try {
+            List<ClaimCreateRequest> items = request.getClaims();
+            // vor der Einzelvalidierung, damit auch ungültige Einträge zählen
+            if (items.size() > maxSubmitBatchSize) {
+                throw new ClaimBatchTooLargeException(items.size(), maxSubmitBatchSize);
+            }
+            List<ClaimBatchItemResponse> results = new ArrayList<>(items.size());
+            List<Integer> acceptedIndexes = new ArrayList<>(items.size());
+            List<ClaimSubmission> submissions = new ArrayList<>(items.size());
+
+            for (int i = 0; i < items.size(); i++) {
+                String error = validationError(items.get(i));
+                if (error != null) {
+                    results.add(rejected(i, error));
+                    continue;
+                }
+                ClaimCreateRequest item = items.get(i);
+                acceptedIndexes.add(i);
+                submissions.add(new ClaimSubmission(
+                        item.getPolicyId(),
+                        item.getCustomerId(),
+                        item.getDescription(),
+                        item.getReportedAmount()));
+            }
+
+            List<Claim> claims = claimService.submitClaims(submissions);
+            for (int i = 0; i < claims.size(); i++) {
+                results.add(ClaimBatchItemResponse.builder()
+                        .index(acceptedIndexes.get(i))
+                        .status(ClaimBatchItemResponse.Status.CREATED)
+                        .claim(claimDtoMapper.toResponse(claims.get(i)))
+                        .build());
+            }
+            results.sort(Comparator.comparingInt(ClaimBatchItemResponse::getIndex));
+
+            ClaimBatchResponse response = ClaimBatchResponse.builder()
+                    .created(claims.size())
+                    .rejected(items.size() - claims.size())
+                    .results(results)
+                    .build();
+
+            return ResponseEntity.ok(response);
+        } catch (Exception ex) {
+            outcome = Outcome.ERROR;
+            throw ex;
+        } finally {
+            meters.record(Endpoint.SUBMIT_CLAIMS, outcome, start);
         }
     }
 
@@ -93,21 +180,19 @@ public class ClaimRestController {
     @GetMapping("/{claimId}")
     public ResponseEntity<ClaimResponse> getClaim(@PathVariable UUID claimId) {
 
-        Timer.Sample sample = startSample();
-        String outcome = "success";
+        long start = System.nanoTime();
+        Outcome outcome = Outcome.SUCCESS;
 
         try {
             var claim = claimService.getClaimById(claimId);
             ClaimResponse response = claimDtoMapper.toResponse(claim);
 
-            incrementCounter("claims.rest.requests", "getClaim", "success");
             return ResponseEntity.ok(response);
         } catch (Exception ex) {
-            outcome = "error";
-            incrementCounter("claims.rest.requests", "getClaim", "error");
+            outcome = Outcome.ERROR;
             throw ex;
         } finally {
-            stopSample(sample, "claims.rest.latency", "getClaim", outcome);
+            meters.record(Endpoint.GET_CLAIM, outcome, start);
         }
     }
 
@@ -118,8 +203,8 @@ public class ClaimRestController {
     public ResponseEntity<List<ClaimResponse>> listClaimsForCustomer(
             @RequestParam("customerId") UUID customerId) {
 
-        Timer.Sample sample = startSample();
-        String outcome = "success";
+        long start = System.nanoTime();
+        Outcome outcome = Outcome.SUCCESS;
 
         try {
             var claims = claimService.getClaimsForCustomer(customerId);
@@ -128,14 +213,12 @@ public class ClaimRestController {
                     .map(claimDtoMapper::toResponse)
                     .toList();
 
-            incrementCounter("claims.rest.requests", "listClaimsForCustomer", "success");
             return ResponseEntity.ok(responses);
         } catch (Exception ex) {
-            outcome = "error";
-            incrementCounter("claims.rest.requests", "listClaimsForCustomer", "error");
+            outcome = Outcome.ERROR;
             throw ex;
         } finally {
-            stopSample(sample, "claims.rest.latency", "listClaimsForCustomer", outcome);
+            meters.record(Endpoint.LIST_CLAIMS_FOR_CUSTOMER, outcome, start);
         }
     }
 
@@ -145,21 +228,19 @@ public class ClaimRestController {
     @PostMapping("/{claimId}/review")
     public ResponseEntity<ClaimResponse> startReview(@PathVariable UUID claimId) {
 
-        Timer.Sample sample = startSample();
-        String outcome = "success";
+        long start = System.nanoTime();
+        Outcome outcome = Outcome.SUCCESS;
 
         try {
             var claim = claimService.startReview(claimId);
             ClaimResponse response = claimDtoMapper.toResponse(claim);
 
-            incrementCounter("claims.rest.requests", "startReview", "success");
             return ResponseEntity.ok(response);
         } catch (Exception ex) {
-            outcome = "error";
-            incrementCounter("claims.rest.requests", "startReview", "error");
+            outcome = Outcome.ERROR;
             throw ex;
         } finally {
-            stopSample(sample, "claims.rest.latency", "startReview", outcome);
+            meters.record(Endpoint.START_REVIEW, outcome, start);
         }
     }
 
@@ -171,8 +252,8 @@ public class ClaimRestController {
             @PathVariable UUID claimId,
             @RequestBody @Valid ClaimApproveRequest request) {
 
-        Timer.Sample sample = startSample();
-        String outcome = "success";
+        long start = System.nanoTime();
+        Outcome outcome = Outcome.SUCCESS;
 
         try {
             var claim = claimService.approveClaim(
@@ -183,14 +264,12 @@ public class ClaimRestController {
 
             ClaimResponse response = claimDtoMapper.toResponse(claim);
 
-            incrementCounter("claims.rest.requests", "approveClaim", "success");
             return ResponseEntity.ok(response);
         } catch (Exception ex) {
-            outcome = "error";
-            incrementCounter("claims.rest.requests", "approveClaim", "error");
+            outcome = Outcome.ERROR;
             throw ex;
         } finally {
-            stopSample(sample, "claims.rest.latency", "approveClaim", outcome);
+            meters.record(Endpoint.APPROVE_CLAIM, outcome, start);
         }
     }
 
@@ -202,8 +281,8 @@ public class ClaimRestController {
             @PathVariable UUID claimId,
             @RequestBody @Valid ClaimRejectRequest request) {
 
-        Timer.Sample sample = startSample();
-        String outcome = "success";
+        long start = System.nanoTime();
+        Outcome outcome = Outcome.SUCCESS;
 
         try {
             var claim = claimService.rejectClaim(
@@ -213,14 +292,12 @@ public class ClaimRestController {
 
             ClaimResponse response = claimDtoMapper.toResponse(claim);
 
-            incrementCounter("claims.rest.requests", "rejectClaim", "success");
             return ResponseEntity.ok(response);
         } catch (Exception ex) {
-            outcome = "error";
-            incrementCounter("claims.rest.requests", "rejectClaim", "error");
+            outcome = Outcome.ERROR;
             throw ex;
         } finally {
-            stopSample(sample, "claims.rest.latency", "rejectClaim", outcome);
+            meters.record(Endpoint.REJECT_CLAIM, outcome, start);
         }
     }
 
@@ -230,21 +307,43 @@ public class ClaimRestController {
     @PostMapping("/{claimId}/payout")
     public ResponseEntity<ClaimResponse> payoutClaim(@PathVariable UUID claimId) {
 
-        Timer.Sample sample = startSample();
-        String outcome = "success";
+        long start = System.nanoTime();
+        Outcome outcome = Outcome.SUCCESS;
 
         try {
             var claim = claimService.payoutClaim(claimId);
             ClaimResponse response = claimDtoMapper.toResponse(claim);
 
-            incrementCounter("claims.rest.requests", "payoutClaim", "success");
             return ResponseEntity.ok(response);
         } catch (Exception ex) {
-            outcome = "error";
-            incrementCounter("claims.rest.requests", "payoutClaim", "error");
+            outcome = Outcome.ERROR;
             throw ex;
         } finally {
-            stopSample(sample, "claims.rest.latency", "payoutClaim", outcome);
+            meters.record(Endpoint.PAYOUT_CLAIM, outcome, start);
+        }
+    }
+
+    // --- Hilfsmethoden -------------------------------------------------------
+
+    private String validationError(ClaimCreateRequest item) {
+        if (item == null) {
+            return "claim must not be null";
         }
+        Set<ConstraintViolation<ClaimCreateRequest>> violations = validator.validate(item);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    private static ClaimBatchItemResponse rejected(int index, String error) {
+        return ClaimBatchItemResponse.builder()
+                .index(index)
+                .status(ClaimBatchItemResponse.Status.REJECTED)
+                .error(error)
+                .build();
     }
 }
@@ -1,6 +1,7 @@
 package com.example.claims.infrastructure.rest;
 
 import com.example.claims.api.dto.ErrorResponse;
+import com.example.claims.support.error.ClaimBatchTooLargeException;
 import com.example.claims.support.error.InvalidClaimStateException;
 import com.example.claims.support.error.ClaimNotFoundException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -41,6 +42,19 @@ public class GlobalRestExceptionHandler {
         return ResponseEntity.badRequest().body(body);
     }
 
+    @ExceptionHandler(ClaimBatchTooLargeException.class)
+    public ResponseEntity<ErrorResponse> handleClaimBatchTooLarge(ClaimBatchTooLargeException ex,
+                                                                  HttpServletRequest request) {
+        ErrorResponse body = ErrorResponse.builder()
+                .timestamp(OffsetDateTime.now())
+                .status(HttpStatus.BAD_REQUEST.value())
+                .error(HttpStatus.BAD_REQUEST.getReasonPhrase())
+                .message(ex.getMessage())
+                .path(request.getRequestURI())
+                .build();
+        return ResponseEntity.badRequest().body(body);
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ErrorResponse> handleValidation(MethodArgumentNotValidException ex,
                                                           HttpServletRequest request) {
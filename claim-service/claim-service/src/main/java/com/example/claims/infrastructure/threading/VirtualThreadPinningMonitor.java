@@ -0,0 +1,80 @@
+package com.example.claims.infrastructure.threading;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+
+import java.time.Duration;
+
+/**
+ * Streamt JFR-Events "jdk.VirtualThreadPinned" (virtueller Thread blockiert, während er an
+ * seinen Carrier-Thread gepinnt ist, z.B. in synchronized) und exportiert sie als Metriken:
+ * claims.virtual_threads.pinned (Counter) und claims.virtual_threads.pinned.duration (Timer).
+ *
+ * Erfasst werden nur Pinning-Phasen länger als {@code threshold}.
+ */
+@Slf4j
+public class VirtualThreadPinningMonitor implements SmartLifecycle {
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+    private final Duration threshold;
+    private final Counter pinnedCounter;
+    private final Timer pinnedTimer;
+
+    private volatile RecordingStream stream;
+
+    public VirtualThreadPinningMonitor(MeterRegistry meterRegistry, Duration threshold) {
+        this.threshold = threshold;
+        this.pinnedCounter = Counter.builder("claims.virtual_threads.pinned")
+                .description("Virtual threads that blocked while pinned to their carrier thread")
+                .register(meterRegistry);
+        this.pinnedTimer = Timer.builder("claims.virtual_threads.pinned.duration")
+                .description("Duration virtual threads stayed pinned to their carrier thread")
+                .publishPercentileHistogram(true)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void start() {
+        RecordingStream recordingStream = new RecordingStream();
+        recordingStream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        recordingStream.onEvent(PINNED_EVENT, this::onPinned);
+        recordingStream.startAsync();
+        this.stream = recordingStream;
+
+        log.info("Virtual thread pinning monitor started (threshold={}ms)", threshold.toMillis());
+    }
+
+    private void onPinned(RecordedEvent event) {
+        pinnedCounter.increment();
+        pinnedTimer.record(event.getDuration());
+
+        if (log.isDebugEnabled() && event.getStackTrace() != null && !event.getStackTrace().getFrames().isEmpty()) {
+            RecordedFrame top = event.getStackTrace().getFrames().get(0);
+            log.debug("Virtual thread pinned for {}ms at {}.{}",
+                    event.getDuration().toMillis(),
+                    top.getMethod().getType().getName(),
+                    top.getMethod().getName());
+        }
+    }
+
+    @Override
+    public void stop() {
+        RecordingStream recordingStream = this.stream;
+        if (recordingStream != null) {
+            recordingStream.close();
+            this.stream = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return stream != null;
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.claims.infrastructure.threading;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import net.devh.boot.grpc.server.serverfactory.GrpcServerConfigurer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.kafka.config.AbstractKafkaListenerContainerFactory;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+
+/**
+ * Opt-in Profil "virtual-threads".
+ *
+ * - Tomcat: über spring.threads.virtual.enabled (siehe application.yaml).
+ * - gRPC-Server: ein virtueller Thread pro Call statt des Default-Executors.
+ * - Kafka: alle Listener-Container-Factories (auch die selbst definierten) bekommen einen
+ *   virtuellen Listener-Task-Executor.
+ * - Pinning der Carrier-Threads wird über {@link VirtualThreadPinningMonitor} als Metrik exportiert.
+ */
+@Configuration
+@Profile("virtual-threads")
+public class VirtualThreadsConfig {
+
+    @Bean
+    public GrpcServerConfigurer virtualThreadGrpcServerConfigurer() {
+        return serverBuilder -> serverBuilder.executor(Executors.newVirtualThreadPerTaskExecutor());
+    }
+
+    @Bean
+    public static BeanPostProcessor virtualThreadKafkaListenerPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof AbstractKafkaListenerContainerFactory<?, ?, ?> factory) {
+                    SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor(beanName + "-");
+                    executor.setVirtualThreads(true);
+                    factory.getContainerProperties().setListenerTaskExecutor(executor);
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public VirtualThreadPinningMonitor virtualThreadPinningMonitor(
+            MeterRegistry meterRegistry,
+            @Value("${claims.virtual-threads.pinning-threshold-ms:20}") long thresholdMs) {
+
+        return new VirtualThreadPinningMonitor(meterRegistry, Duration.ofMillis(thresholdMs));
+    }
+}
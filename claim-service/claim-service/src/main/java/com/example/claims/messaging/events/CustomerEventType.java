@@ -0,0 +1,9 @@
+package com.example.claims.messaging.events;
+
+public enum CustomerEventType {
+
+    CUSTOMER_CREATED,
+    CUSTOMER_UPDATED,
+    CUSTOMER_DATA_VALID,
+    CUSTOMER_DATA_INVALID
+}
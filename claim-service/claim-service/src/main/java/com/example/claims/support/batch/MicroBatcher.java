@@ -0,0 +1,229 @@
+package com.example.claims.support.batch;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Sammelt gleichzeitige Einzel-Lookups und führt sie als einen Batch-Aufruf aus.
+ *
+ * Ein Dispatcher-Thread wartet auf den ersten Key und sammelt dann weitere Keys, bis entweder
+ * {@code maxBatchSize} erreicht oder {@code maxWait} seit dem ersten Key verstrichen ist.
+ * Der Batch wird auf einem kleinen Pool ausgeführt, damit mehrere Batches gleichzeitig unterwegs
+ * sein können. Ist der Pool ausgelastet, lädt der Dispatcher selbst (Backpressure).
+ *
+ * Doppelte Keys innerhalb eines Fensters werden nur einmal geladen. Keys, die im Ergebnis
+ * des Batch-Loaders fehlen, werden mit {@code null} beantwortet.
+ *
+ * {@link #close()} stoppt Dispatcher und Pool; noch nicht geladene Keys schlagen mit
+ * {@link RejectedExecutionException} fehl, ebenso jeder spätere {@link #submit}.
+ *
+ * Metriken (getaggt mit {@code batcher}): claims_batch_size, claims_batch_flush_total{trigger},
+ * claims_batch_load_duration{outcome}.
+ */
+@Slf4j
+public class MicroBatcher<K, V> implements AutoCloseable {
+
+    private final String name;
+    private final int maxBatchSize;
+    private final long maxWaitNanos;
+    private final Function<Set<K>, Map<K, V>> batchLoader;
+
+    private final BlockingQueue<Request<K, V>> queue = new LinkedBlockingQueue<>();
+    private final ThreadPoolExecutor loadExecutor;
+    private final Thread dispatcher;
+    private volatile boolean closed;
+
+    private final DistributionSummary batchSize;
+    private final Counter sizeFlushCounter;
+    private final Counter timeFlushCounter;
+    private final Timer loadSuccessTimer;
+    private final Timer loadErrorTimer;
+
+    public MicroBatcher(String name,
+                        int maxBatchSize,
+                        Duration maxWait,
+                        int maxConcurrentBatches,
+                        Function<Set<K>, Map<K, V>> batchLoader,
+                        MeterRegistry meterRegistry) {
+        this.name = name;
+        this.maxBatchSize = maxBatchSize;
+        this.maxWaitNanos = maxWait.toNanos();
+        this.batchLoader = batchLoader;
+
+        AtomicInteger threadCounter = new AtomicInteger();
+        this.loadExecutor = new ThreadPoolExecutor(
+                maxConcurrentBatches,
+                maxConcurrentBatches,
+                60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(maxConcurrentBatches),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "claims-batch-" + name + "-" + threadCounter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy()
+        );
+        this.loadExecutor.allowCoreThreadTimeOut(true);
+
+        this.batchSize = DistributionSummary.builder("claims_batch_size")
+                .description("Number of distinct keys per dispatched batch")
+                .tag("batcher", name)
+                .publishPercentileHistogram(true)
+                .register(meterRegistry);
+        this.sizeFlushCounter = flushCounter(meterRegistry, name, "size");
+        this.timeFlushCounter = flushCounter(meterRegistry, name, "time");
+        this.loadSuccessTimer = loadTimer(meterRegistry, name, "success");
+        this.loadErrorTimer = loadTimer(meterRegistry, name, "error");
+
+        this.dispatcher = new Thread(this::dispatchLoop, "claims-batch-" + name + "-dispatcher");
+        this.dispatcher.setDaemon(true);
+        this.dispatcher.start();
+    }
+
+    private static Counter flushCounter(MeterRegistry meterRegistry, String name, String trigger) {
+        return Counter.builder("claims_batch_flush_total")
+                .description("Dispatched batches by flush trigger")
+                .tag("batcher", name)
+                .tag("trigger", trigger)
+                .register(meterRegistry);
+    }
+
+    private static Timer loadTimer(MeterRegistry meterRegistry, String name, String outcome) {
+        return Timer.builder("claims_batch_load_duration")
+                .description("Duration of one batch call to the downstream service")
+                .tag("batcher", name)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram(true)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+    }
+
+    // -------------------------------------------------------------------------
+    // API
+    // -------------------------------------------------------------------------
+
+    public CompletableFuture<V> submit(K key) {
+        if (closed) {
+            return CompletableFuture.failedFuture(closedException());
+        }
+        Request<K, V> request = new Request<>(key, new CompletableFuture<>(), System.nanoTime());
+        queue.add(request);
+        return request.result();
+    }
+
+    // -------------------------------------------------------------------------
+    // Dispatcher
+    // -------------------------------------------------------------------------
+
+    private void dispatchLoop() {
+        while (!Thread.currentThread().isInterrupted()) {
+            Map<K, List<CompletableFuture<V>>> batch = null;
+            try {
+                Request<K, V> first = queue.take();
+
+                batch = new LinkedHashMap<>();
+                add(batch, first);
+
+                long deadline = first.enqueuedAtNanos() + maxWaitNanos;
+                while (batch.size() < maxBatchSize) {
+                    long remaining = deadline - System.nanoTime();
+                    Request<K, V> next = remaining > 0
+                            ? queue.poll(remaining, TimeUnit.NANOSECONDS)
+                            : queue.poll();
+                    if (next == null) {
+                        break;
+                    }
+                    add(batch, next);
+                }
+
+                (batch.size() >= maxBatchSize ? sizeFlushCounter : timeFlushCounter).increment();
+                batchSize.record(batch.size());
+                Map<K, List<CompletableFuture<V>>> dispatched = batch;
+                loadExecutor.execute(() -> load(dispatched));
+
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                if (batch != null) {
+                    fail(batch, closedException());
+                }
+            } catch (RuntimeException ex) {
+                log.error("Unexpected error in micro batcher {}: {}", name, ex.getMessage(), ex);
+            }
+        }
+    }
+
+    private void add(Map<K, List<CompletableFuture<V>>> batch, Request<K, V> request) {
+        batch.computeIfAbsent(request.key(), k -> new ArrayList<>(1)).add(request.result());
+    }
+
+    private void load(Map<K, List<CompletableFuture<V>>> batch) {
+        long start = System.nanoTime();
+        try {
+            Map<K, V> values = batchLoader.apply(batch.keySet());
+            loadSuccessTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+
+            batch.forEach((key, waiters) -> {
+                V value = values.get(key);
+                waiters.forEach(waiter -> waiter.complete(value));
+            });
+        } catch (RuntimeException ex) {
+            loadErrorTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            log.error("Batch load of {} keys in micro batcher {} failed: {}", batch.size(), name, ex.getMessage(), ex);
+            fail(batch, ex);
+        }
+    }
+
+    private void fail(Map<K, List<CompletableFuture<V>>> batch, Throwable ex) {
+        batch.values().forEach(waiters -> waiters.forEach(waiter -> waiter.completeExceptionally(ex)));
+    }
+
+    private RejectedExecutionException closedException() {
+        return new RejectedExecutionException("Micro batcher " + name + " is closed");
+    }
+
+    /**
+     * Stoppt den Dispatcher, wartet kurz auf laufende Batches und lässt alle noch
+     * wartenden Keys fehlschlagen.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        dispatcher.interrupt();
+        try {
+            // erst nach dem Dispatcher: CallerRunsPolicy verwirft Tasks eines beendeten Pools stillschweigend
+            dispatcher.join(TimeUnit.SECONDS.toMillis(5));
+            loadExecutor.shutdown();
+            loadExecutor.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            loadExecutor.shutdown();
+        }
+
+        Request<K, V> pending;
+        while ((pending = queue.poll()) != null) {
+            pending.result().completeExceptionally(closedException());
+        }
+    }
+
+    private record Request<K, V>(K key, CompletableFuture<V> result, long enqueuedAtNanos) {
+    }
+}
@@ -0,0 +1,355 @@
+package com.example.claims.support.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Kleiner, größenbegrenzter Read-Through-Cache mit TTL.
+ *
+ * - Positive und negative Ergebnisse haben eigene TTLs ({@code isNegative} entscheidet).
+ * - Stampede-Schutz: gleichzeitige Misses für denselben Key führen genau einen Load aus,
+ *   alle anderen Aufrufer warten auf dessen Ergebnis. Das gilt auch über {@link #getAll}.
+ * - {@link #invalidate} koppelt auch einen laufenden Load ab: dessen Ergebnis geht noch an die
+ *   bereits wartenden Aufrufer, wird aber nicht mehr gespeichert (kein veralteter Wert nach
+ *   einem Update-Event).
+ * - Wird {@code maximumSize} überschritten, werden zuerst abgelaufene und danach beliebige
+ *   Einträge entfernt (keine strikte LRU-Reihenfolge, dafür lock-frei).
+ *
+ * Metriken (getaggt mit {@code cache}):
+ * claims_cache_requests_total{result=hit|miss|coalesced}, claims_cache_evictions_total{cause},
+ * claims_cache_load_duration und claims_cache_size.
+ */
+public class LoadingTtlCache<K, V> {
+
+    private final int maximumSize;
+    private final long ttlNanos;
+    private final long negativeTtlNanos;
+    private final Predicate<V> isNegative;
+
+    private final Map<K, Entry<V>> entries = new ConcurrentHashMap<>();
+    private final Map<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    private final Counter hitCounter;
+    private final Counter missCounter;
+    private final Counter coalescedCounter;
+    private final Counter sizeEvictionCounter;
+    private final Counter expiredEvictionCounter;
+    private final Counter explicitEvictionCounter;
+    private final Timer loadTimer;
+
+    public LoadingTtlCache(String name,
+                           int maximumSize,
+                           Duration ttl,
+                           Duration negativeTtl,
+                           Predicate<V> isNegative,
+                           MeterRegistry meterRegistry) {
+        this.maximumSize = maximumSize;
+        this.ttlNanos = ttl.toNanos();
+        this.negativeTtlNanos = negativeTtl.toNanos();
+        this.isNegative = isNegative;
+
+        this.hitCounter = requestCounter(meterRegistry, name, "hit");
+        this.missCounter = requestCounter(meterRegistry, name, "miss");
+        this.coalescedCounter = requestCounter(meterRegistry, name, "coalesced");
+        this.sizeEvictionCounter = evictionCounter(meterRegistry, name, "size");
+        this.expiredEvictionCounter = evictionCounter(meterRegistry, name, "expired");
+        this.explicitEvictionCounter = evictionCounter(meterRegistry, name, "explicit");
+        this.loadTimer = Timer.builder("claims_cache_load_duration")
+                .description("Duration of downstream loads triggered by cache misses")
+                .tag("cache", name)
+                .publishPercentileHistogram(true)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+
+        Gauge.builder("claims_cache_size", entries, Map::size)
+                .description("Number of entries currently held in the cache")
+                .tag("cache", name)
+                .register(meterRegistry);
+    }
+
+    private static Counter requestCounter(MeterRegistry meterRegistry, String name, String result) {
+        return Counter.builder("claims_cache_requests_total")
+                .description("Cache lookups by result")
+                .tag("cache", name)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private static Counter evictionCounter(MeterRegistry meterRegistry, String name, String cause) {
+        return Counter.builder("claims_cache_evictions_total")
+                .description("Cache entries removed by cause")
+                .tag("cache", name)
+                .tag("cause", cause)
+                .register(meterRegistry);
+    }
+
+    // -------------------------------------------------------------------------
+    // API
+    // -------------------------------------------------------------------------
+
+    public V get(K key, Function<K, V> loader) {
+        Entry<V> entry = entries.get(key);
+        if (entry != null) {
+            if (!entry.isExpired(System.nanoTime())) {
+                hitCounter.increment();
+                return entry.value();
+            }
+            if (entries.remove(key, entry)) {
+                expiredEvictionCounter.increment();
+            }
+        }
+
+        CompletableFuture<V> ownLoad = new CompletableFuture<>();
+        CompletableFuture<V> runningLoad = inFlight.putIfAbsent(key, ownLoad);
+        if (runningLoad != null) {
+            coalescedCounter.increment();
+            return join(runningLoad);
+        }
+
+        missCounter.increment();
+        try {
+            long start = System.nanoTime();
+            V value = loader.apply(key);
+            loadTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+
+            completeLoad(key, ownLoad, value);
+            ownLoad.complete(value);
+            return value;
+        } catch (RuntimeException ex) {
+            inFlight.remove(key, ownLoad);
+            ownLoad.completeExceptionally(ex);
+            throw ex;
+        }
+    }
+
+    /**
+     * Asynchrone Variante von {@link #get(Object, Function)}: blockiert nie, gleichzeitige
+     * Misses teilen sich denselben Future.
+     */
+    public CompletableFuture<V> getAsync(K key, Function<K, CompletableFuture<V>> loader) {
+        Entry<V> entry = entries.get(key);
+        if (entry != null) {
+            if (!entry.isExpired(System.nanoTime())) {
+                hitCounter.increment();
+                return CompletableFuture.completedFuture(entry.value());
+            }
+            if (entries.remove(key, entry)) {
+                expiredEvictionCounter.increment();
+            }
+        }
+
+        CompletableFuture<V> ownLoad = new CompletableFuture<>();
+        CompletableFuture<V> runningLoad = inFlight.putIfAbsent(key, ownLoad);
+        if (runningLoad != null) {
+            coalescedCounter.increment();
+            return runningLoad;
+        }
+
+        missCounter.increment();
+        long start = System.nanoTime();
+        CompletableFuture<V> load;
+        try {
+            load = loader.apply(key);
+        } catch (RuntimeException ex) {
+            load = CompletableFuture.failedFuture(ex);
+        }
+
+        load.whenComplete((value, ex) -> {
+            if (ex == null) {
+                loadTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                completeLoad(key, ownLoad, value);
+                ownLoad.complete(value);
+            } else {
+                inFlight.remove(key, ownLoad);
+                ownLoad.completeExceptionally(ex);
+            }
+        });
+        return ownLoad;
+    }
+
+    /**
+     * Bulk-Variante von {@link #get(Object, Function)}: Treffer kommen aus dem Cache, alle
+     * übrigen Keys werden mit genau einem Aufruf von {@code bulkLoader} geladen. Keys, die gerade
+     * ein anderer Aufrufer lädt, werden nicht erneut angefragt, sondern abgewartet (erst nachdem
+     * die eigenen Loads abgeschlossen sind, daher ohne gegenseitiges Warten).
+     *
+     * @param missingValue Wert für Keys, die {@code bulkLoader} nicht zurückliefert
+     * @return Map Key -> Wert für alle übergebenen Keys
+     */
+    public Map<K, V> getAll(Collection<K> keys, Function<Set<K>, Map<K, V>> bulkLoader, V missingValue) {
+        Map<K, V> result = new LinkedHashMap<>();
+        Map<K, CompletableFuture<V>> ownLoads = new LinkedHashMap<>();
+        Map<K, CompletableFuture<V>> runningLoads = new LinkedHashMap<>();
+
+        long now = System.nanoTime();
+        for (K key : keys) {
+            if (result.containsKey(key) || ownLoads.containsKey(key) || runningLoads.containsKey(key)) {
+                continue;
+            }
+            Entry<V> entry = entries.get(key);
+            if (entry != null) {
+                if (!entry.isExpired(now)) {
+                    hitCounter.increment();
+                    result.put(key, entry.value());
+                    continue;
+                }
+                if (entries.remove(key, entry)) {
+                    expiredEvictionCounter.increment();
+                }
+            }
+
+            CompletableFuture<V> ownLoad = new CompletableFuture<>();
+            CompletableFuture<V> runningLoad = inFlight.putIfAbsent(key, ownLoad);
+            if (runningLoad != null) {
+                coalescedCounter.increment();
+                runningLoads.put(key, runningLoad);
+            } else {
+                missCounter.increment();
+                ownLoads.put(key, ownLoad);
+            }
+        }
+
+        if (!ownLoads.isEmpty()) {
+            Map<K, V> loaded;
+            try {
+                long start = System.nanoTime();
+                loaded = bulkLoader.apply(Collections.unmodifiableSet(ownLoads.keySet()));
+                loadTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            } catch (RuntimeException ex) {
+                ownLoads.forEach((key, ownLoad) -> {
+                    inFlight.remove(key, ownLoad);
+                    ownLoad.completeExceptionally(ex);
+                });
+                throw ex;
+            }
+
+            ownLoads.forEach((key, ownLoad) -> {
+                V value = loaded.getOrDefault(key, missingValue);
+                completeLoad(key, ownLoad, value);
+                ownLoad.complete(value);
+                result.put(key, value);
+            });
+        }
+
+        runningLoads.forEach((key, runningLoad) -> result.put(key, join(runningLoad)));
+        return result;
+    }
+
+    public void put(K key, V value) {
+        store(key, value);
+        evictIfOversized();
+    }
+
+    /**
+     * Entfernt den Eintrag und koppelt einen laufenden Load ab. Beides passiert atomar zum
+     * Speichern eines Load-Ergebnisses ({@link #completeLoad}), daher kann ein vor dem Aufruf
+     * gestarteter Load den Eintrag nicht wieder anlegen.
+     */
+    public void invalidate(K key) {
+        inFlight.compute(key, (k, running) -> {
+            if (entries.remove(k) != null) {
+                explicitEvictionCounter.increment();
+            }
+            return null;
+        });
+    }
+
+    public void invalidateAll() {
+        // zuerst laufende Loads abkoppeln, damit keiner nach dem clear() noch speichert
+        inFlight.clear();
+        int size = entries.size();
+        entries.clear();
+        explicitEvictionCounter.increment(size);
+    }
+
+    // -------------------------------------------------------------------------
+    // Intern
+    // -------------------------------------------------------------------------
+
+    /**
+     * Speichert das Ergebnis eines Loads nur, wenn er noch der registrierte Load für den Key ist,
+     * also nicht durch {@link #invalidate} abgekoppelt wurde. Prüfen, Speichern und Abmelden
+     * laufen unter dem Lock des Keys in {@code inFlight}.
+     */
+    private void completeLoad(K key, CompletableFuture<V> load, V value) {
+        inFlight.computeIfPresent(key, (k, running) -> {
+            if (running != load) {
+                return running;
+            }
+            store(k, value);
+            return null;
+        });
+        evictIfOversized();
+    }
+
+    private void store(K key, V value) {
+        long ttl = isNegative.test(value) ? negativeTtlNanos : ttlNanos;
+        if (ttl > 0) {
+            entries.put(key, new Entry<>(value, System.nanoTime() + ttl));
+        }
+    }
+
+    private void evictIfOversized() {
+        if (entries.size() > maximumSize) {
+            evict();
+        }
+    }
+
+    /**
+     * Räumt auf ca. 90 % der Maximalgröße auf, damit nicht bei jedem weiteren Insert erneut
+     * über alle Einträge iteriert werden muss.
+     */
+    private void evict() {
+        int target = Math.max(0, maximumSize - Math.max(1, maximumSize / 10));
+        long now = System.nanoTime();
+
+        Iterator<Map.Entry<K, Entry<V>>> it = entries.entrySet().iterator();
+        while (it.hasNext() && entries.size() > target) {
+            if (it.next().getValue().isExpired(now)) {
+                it.remove();
+                expiredEvictionCounter.increment();
+            }
+        }
+
+        it = entries.entrySet().iterator();
+        while (it.hasNext() && entries.size() > target) {
+            it.next();
+            it.remove();
+            sizeEvictionCounter.increment();
+        }
+    }
+
+    private V join(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw ex;
+        }
+    }
+
+    private record Entry<V>(V value, long expiresAtNanos) {
+
+        boolean isExpired(long now) {
+            return now - expiresAtNanos >= 0;
+        }
+    }
+}
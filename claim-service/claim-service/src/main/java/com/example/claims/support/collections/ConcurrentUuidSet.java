@@ -0,0 +1,148 @@
+package com.example.claims.support.collections;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * UUID-Menge mit fester Kapazität: Open Addressing mit linearem Sondieren über
+ * ein {@code long[]} (zwei Longs pro Slot), ohne {@code UUID}-Objekte, Entries oder Boxing.
+ * Speicherbedarf: 16 Byte pro Slot, die Tabelle ist doppelt so groß wie die Kapazität.
+ *
+ * Lesen ist lock-frei, Schreiben läuft über einen Lock. Ein Slot wird erst über das
+ * most significant Long veröffentlicht (nach dem least significant), ein gleichzeitiger
+ * Leser sieht daher entweder nichts oder die vollständige UUID.
+ *
+ * Ist die Kapazität erreicht, wird nichts mehr aufgenommen ({@link #add} liefert {@code false}).
+ * {@link #remove} hinterlässt einen Grabstein, damit Sondierketten intakt bleiben; der Slot wird
+ * nicht wiederverwendet und zählt weiter gegen die Kapazität. Die Menge ist daher für seltene
+ * Entfernungen gedacht (z.B. zurückgerollte Inserts).
+ *
+ * Die Nil-UUID (0/0) markiert leere Slots, 0/1 Grabsteine; beide können nicht aufgenommen werden.
+ */
+public final class ConcurrentUuidSet {
+
+    private static final long TOMBSTONE_MSB = 0L;
+    private static final long TOMBSTONE_LSB = 1L;
+
+    private final AtomicLongArray table;
+    private final int mask;
+    private final int capacity;
+    private final AtomicInteger size = new AtomicInteger();
+    // belegte Slots inklusive Grabsteinen, nur unter writeLock geändert
+    private int occupied;
+    private final Object writeLock = new Object();
+
+    public ConcurrentUuidSet(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        // Load Factor höchstens 0,5, damit Sondierketten kurz bleiben
+        int slots = Integer.highestOneBit(Math.max(2, capacity) * 2 - 1) << 1;
+        this.capacity = capacity;
+        this.mask = slots - 1;
+        this.table = new AtomicLongArray(slots * 2);
+    }
+
+    public boolean contains(UUID id) {
+        long msb = id.getMostSignificantBits();
+        long lsb = id.getLeastSignificantBits();
+        if (isReserved(msb, lsb)) {
+            // sonst "Treffer" auf einem leeren Slot oder Grabstein
+            return false;
+        }
+
+        for (int slot = indexFor(msb, lsb); ; slot = (slot + 1) & mask) {
+            long storedMsb = table.get(slot * 2);
+            long storedLsb = table.get(slot * 2 + 1);
+            if (storedMsb == msb && storedLsb == lsb) {
+                return true;
+            }
+            if (storedMsb == 0L && storedLsb == 0L) {
+                return false;
+            }
+        }
+    }
+
+    /**
+     * @return {@code true}, wenn die UUID enthalten ist (neu oder bereits vorhanden),
+     * {@code false}, wenn die Kapazität erreicht ist
+     */
+    public boolean add(UUID id) {
+        long msb = id.getMostSignificantBits();
+        long lsb = id.getLeastSignificantBits();
+        if (isReserved(msb, lsb)) {
+            return false;
+        }
+
+        synchronized (writeLock) {
+            for (int slot = indexFor(msb, lsb); ; slot = (slot + 1) & mask) {
+                long storedMsb = table.get(slot * 2);
+                long storedLsb = table.get(slot * 2 + 1);
+                if (storedMsb == msb && storedLsb == lsb) {
+                    return true;
+                }
+                if (storedMsb == 0L && storedLsb == 0L) {
+                    if (occupied >= capacity) {
+                        return false;
+                    }
+                    table.set(slot * 2 + 1, lsb);
+                    table.set(slot * 2, msb);
+                    occupied++;
+                    size.incrementAndGet();
+                    return true;
+                }
+            }
+        }
+    }
+
+    /**
+     * @return {@code true}, wenn die UUID enthalten war
+     */
+    public boolean remove(UUID id) {
+        long msb = id.getMostSignificantBits();
+        long lsb = id.getLeastSignificantBits();
+        if (isReserved(msb, lsb)) {
+            return false;
+        }
+
+        synchronized (writeLock) {
+            for (int slot = indexFor(msb, lsb); ; slot = (slot + 1) & mask) {
+                long storedMsb = table.get(slot * 2);
+                long storedLsb = table.get(slot * 2 + 1);
+                if (storedMsb == msb && storedLsb == lsb) {
+                    // lsb zuerst: ein gleichzeitiger Leser sieht weder die UUID noch einen leeren Slot
+                    table.set(slot * 2 + 1, TOMBSTONE_LSB);
+                    table.set(slot * 2, TOMBSTONE_MSB);
+                    size.decrementAndGet();
+                    return true;
+                }
+                if (storedMsb == 0L && storedLsb == 0L) {
+                    return false;
+                }
+            }
+        }
+    }
+
+    public int size() {
+        return size.get();
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    public long memoryBytes() {
+        return (long) table.length() * Long.BYTES;
+    }
+
+    private static boolean isReserved(long msb, long lsb) {
+        return msb == 0L && (lsb == 0L || lsb == TOMBSTONE_LSB);
+    }
+
+    private int indexFor(long msb, long lsb) {
+        // random UUIDs sind bereits gleichverteilt, Mischen schützt vor strukturierten IDs (z.B. zeitbasiert)
+        long hash = (msb ^ lsb) * 0x9E3779B97F4A7C15L;
+        return (int) (hash >>> 32) & mask;
+    }
+}
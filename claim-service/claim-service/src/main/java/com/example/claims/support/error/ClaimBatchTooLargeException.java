@@ -0,0 +1,12 @@
+package com.example.claims.support.error;
+
+/**
+ * Wird geworfen, wenn ein Batch-Submit mehr Claims enthält als erlaubt
+ * ({@code claims.submit.batch.max-size}).
+ */
+public class ClaimBatchTooLargeException extends RuntimeException {
+
+    public ClaimBatchTooLargeException(int size, int maxSize) {
+        super("Claim batch contains " + size + " claims, but at most " + maxSize + " are allowed");
+    }
+}
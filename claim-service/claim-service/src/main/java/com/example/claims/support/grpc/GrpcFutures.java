@@ -0,0 +1,46 @@
+package com.example.claims.support.grpc;
+
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Brücke von den ListenableFutures der gRPC-Future-Stubs zu {@link CompletableFuture}.
+ */
+public final class GrpcFutures {
+
+    private GrpcFutures() {
+    }
+
+    /**
+     * Callbacks laufen direkt auf dem gRPC-Callback-Thread – nachgelagerte Stufen dürfen
+     * dort nicht blockieren (ggf. mit *Async und eigenem Executor weiterarbeiten).
+     * Ein cancel() auf dem Ergebnis bricht auch den gRPC-Call ab.
+     */
+    public static <T> CompletableFuture<T> toCompletableFuture(ListenableFuture<T> listenableFuture) {
+        CompletableFuture<T> result = new CompletableFuture<>() {
+            @Override
+            public boolean cancel(boolean mayInterruptIfRunning) {
+                listenableFuture.cancel(mayInterruptIfRunning);
+                return super.cancel(mayInterruptIfRunning);
+            }
+        };
+
+        Futures.addCallback(listenableFuture, new FutureCallback<>() {
+            @Override
+            public void onSuccess(T value) {
+                result.complete(value);
+            }
+
+            @Override
+            public void onFailure(Throwable throwable) {
+                result.completeExceptionally(throwable);
+            }
+        }, MoreExecutors.directExecutor());
+
+        return result;
+    }
+}
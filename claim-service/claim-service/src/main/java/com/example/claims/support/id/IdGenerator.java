@@ -0,0 +1,17 @@
+package com.example.claims.support.id;
+
+import java.util.UUID;
+
+/**
+ * Quelle für technische IDs (Claim-IDs, Event-IDs).
+ *
+ * Standard ist {@link UUID#randomUUID()} (v4). Mit {@code claims.ids.uuid-v7.enabled} liefert
+ * {@link UuidV7Generator} zeitlich geordnete UUIDv7, siehe {@link IdGeneratorConfig}.
+ */
+@FunctionalInterface
+public interface IdGenerator {
+
+    IdGenerator RANDOM = UUID::randomUUID;
+
+    UUID next();
+}
@@ -0,0 +1,43 @@
+package com.example.claims.support.metrics;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+
+/**
+ * Leichtgewichtiger Metrik-Modus ("claims.metrics.lightweight=true"):
+ * clientseitig berechnete Percentile (publishPercentiles bzw. management.metrics.distribution.percentiles)
+ * werden für alle claims-Meter entfernt. Die Histogramm-Buckets bleiben, Quantile werden
+ * serverseitig per histogram_quantile() in Prometheus berechnet.
+ */
+@Configuration
+@ConditionalOnProperty(name = "claims.metrics.lightweight", havingValue = "true")
+public class LightweightMetricsConfig {
+
+    private static final double[] NO_PERCENTILES = new double[0];
+
+    /**
+     * Läuft nach dem PropertiesMeterFilter (Order 0), damit auch per YAML konfigurierte Percentile entfallen.
+     */
+    @Bean
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public MeterFilter dropClientSidePercentilesFilter() {
+        return new MeterFilter() {
+            @Override
+            public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+                if (!id.getName().startsWith("claims")) {
+                    return config;
+                }
+                return DistributionStatisticConfig.builder()
+                        .percentiles(NO_PERCENTILES)
+                        .build()
+                        .merge(config);
+            }
+        };
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.claims.support.metrics;
+
+/**
+ * Einheitliche Outcome-Werte für Metrik-Tags. Der Tag-Wert wird einmalig berechnet,
+ * damit auf dem Hot Path kein String erzeugt wird.
+ */
+public enum Outcome {
+
+    SUCCESS,
+    ERROR,
+    EXCEPTION,
+    NOT_FOUND,
+    IGNORED,
+    NO_CLAIM_ID,
+    CLAIM_NOT_FOUND,
+    NO_CACHE,
+    NO_CUSTOMER_ID,
+    EVICTED;
+
+    private final String tagValue = name().toLowerCase();
+
+    public String tagValue() {
+        return tagValue;
+    }
+}
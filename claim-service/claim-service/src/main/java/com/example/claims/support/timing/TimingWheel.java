@@ -0,0 +1,82 @@
+package com.example.claims.support.timing;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Hashed Timing Wheel für Einträge mit einheitlichem Timeout.
+ *
+ * {@link #schedule} legt den Eintrag in den Slot, den der Zeiger nach {@code timeout} erreicht
+ * (O(1), kein Sortieren, kein Scannen aller offenen Einträge). Ein Ticker-Thread rückt den Zeiger
+ * alle {@code tick} weiter und übergibt die Einträge des erreichten Slots an {@code onExpire}.
+ * Die Genauigkeit ist damit eine Tick-Dauer.
+ *
+ * Ein Abbrechen gibt es nicht: Wer einen Eintrag vorher erledigt, prüft in {@code onExpire}
+ * selbst, ob noch etwas zu tun ist (z.B. über {@code Map.remove(key, value)}).
+ * {@code onExpire} läuft auf dem Ticker-Thread und sollte kurz bleiben.
+ */
+@Slf4j
+public class TimingWheel<T> implements AutoCloseable {
+
+    private final Queue<T>[] slots;
+    private final int ticksPerTimeout;
+    private final Consumer<T> onExpire;
+    private final ScheduledExecutorService ticker;
+
+    private volatile long currentTick;
+
+    @SuppressWarnings("unchecked")
+    public TimingWheel(String name, Duration tick, Duration timeout, Consumer<T> onExpire) {
+        long tickMs = Math.max(1, tick.toMillis());
+        // mindestens zwei Ticks, sonst fällt der Ziel-Slot mit dem nächsten gelesenen Slot zusammen
+        this.ticksPerTimeout = (int) Math.max(2, (timeout.toMillis() + tickMs - 1) / tickMs);
+        this.onExpire = onExpire;
+
+        this.slots = new Queue[ticksPerTimeout + 1];
+        for (int i = 0; i < slots.length; i++) {
+            slots[i] = new ConcurrentLinkedQueue<>();
+        }
+
+        this.ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "claims-timing-wheel-" + name);
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.ticker.scheduleAtFixedRate(this::advance, tickMs, tickMs, TimeUnit.MILLISECONDS);
+    }
+
+    public void schedule(T entry) {
+        slots[slotIndex(currentTick + ticksPerTimeout)].add(entry);
+    }
+
+    private int slotIndex(long tick) {
+        return (int) (tick % slots.length);
+    }
+
+    private void advance() {
+        long tick = currentTick + 1;
+        currentTick = tick;
+
+        Queue<T> slot = slots[slotIndex(tick)];
+        T entry;
+        while ((entry = slot.poll()) != null) {
+            try {
+                onExpire.accept(entry);
+            } catch (RuntimeException ex) {
+                log.error("Error while expiring timing wheel entry: {}", ex.getMessage(), ex);
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        ticker.shutdownNow();
+    }
+}
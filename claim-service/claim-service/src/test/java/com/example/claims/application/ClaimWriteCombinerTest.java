@@ -0,0 +1,202 @@
+package com.example.claims.application;
+
+import com.example.claims.domain.Claim;
+import com.example.claims.domain.ClaimStatus;
+import com.example.claims.infrastructure.persistence.ClaimBatchInsertJdbcRepository;
+import com.example.claims.infrastructure.persistence.ClaimEntityMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ClaimWriteCombinerTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final RecordingInsertRepository repository = new RecordingInsertRepository();
+    private final RecordingIntegrationService integration = new RecordingIntegrationService();
+    private final CountingTransactionManager transactionManager = new CountingTransactionManager();
+
+    private ClaimWriteCombiner combiner;
+
+    @AfterEach
+    void destroyCombiner() throws Exception {
+        if (combiner != null) {
+            combiner.destroy();
+        }
+    }
+
+    private ClaimWriteCombiner combiner(int maxBatchSize, long maxWaitMicros) {
+        combiner = new ClaimWriteCombiner(repository, new ClaimEntityMapper(), integration, transactionManager,
+                meterRegistry, maxBatchSize, maxWaitMicros, 1024, 2);
+        return combiner;
+    }
+
+    private static Claim newClaim() {
+        OffsetDateTime now = OffsetDateTime.now();
+        return Claim.builder()
+                .id(UUID.randomUUID())
+                .policyId(UUID.randomUUID())
+                .customerId(UUID.randomUUID())
+                .description("Wasserschaden")
+                .reportedAmount(new BigDecimal("1200.00"))
+                .status(ClaimStatus.SUBMITTED)
+                .createdAt(now)
+                .lastUpdatedAt(now)
+                .build();
+    }
+
+    private double flushes(String trigger) {
+        return meterRegistry.get("claims_write_combiner_flush_total").tag("trigger", trigger).counter().count();
+    }
+
+    @Test
+    void flushesOneTransactionAsSoonAsMaxBatchSizeIsReached() throws Exception {
+        // maxWait so lang, dass nur die Größe den Batch auslösen kann
+        combiner(3, TimeUnit.SECONDS.toMicros(30));
+
+        List<CompletableFuture<Claim>> results = List.of(
+                combiner.submit(newClaim()), combiner.submit(newClaim()), combiner.submit(newClaim()));
+
+        for (CompletableFuture<Claim> result : results) {
+            assertEquals(ClaimStatus.SUBMITTED, result.get(2, TimeUnit.SECONDS).getStatus());
+        }
+        assertEquals(List.of(3), repository.batchSizes);
+        assertEquals(3, integration.submitted.size());
+        assertEquals(1, transactionManager.commits.get());
+        assertEquals(1.0, flushes("size"));
+    }
+
+    @Test
+    void flushesAPartialBatchAfterMaxWait() throws Exception {
+        combiner(100, TimeUnit.MILLISECONDS.toMicros(20));
+
+        long start = System.nanoTime();
+        Claim claim = combiner.submit(newClaim()).get(2, TimeUnit.SECONDS);
+
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(20), "flushed before maxWait");
+        assertEquals(List.of(1), repository.batchSizes);
+        assertEquals(List.of(claim.getId()), integration.submitted);
+        assertEquals(1.0, flushes("time"));
+    }
+
+    @Test
+    void failsEveryFutureOfAFailedBatch() {
+        IllegalStateException failure = new IllegalStateException("insert failed");
+        repository.failure = failure;
+        combiner(2, TimeUnit.SECONDS.toMicros(30));
+
+        CompletableFuture<Claim> first = combiner.submit(newClaim());
+        CompletableFuture<Claim> second = combiner.submit(newClaim());
+
+        assertSame(failure, assertThrows(ExecutionException.class, () -> first.get(2, TimeUnit.SECONDS)).getCause());
+        assertSame(failure, assertThrows(ExecutionException.class, () -> second.get(2, TimeUnit.SECONDS)).getCause());
+        assertEquals(0, transactionManager.commits.get());
+        assertEquals(1, transactionManager.rollbacks.get());
+    }
+
+    @Test
+    void completesFuturesOffTheWriterThread() throws Exception {
+        repository.gate = new CountDownLatch(1);
+        combiner(1, TimeUnit.SECONDS.toMicros(30));
+
+        // Stage anhängen, solange der Batch noch nicht geschrieben ist
+        CompletableFuture<String> thread = combiner.submit(newClaim())
+                .thenApply(claim -> Thread.currentThread().getName());
+        repository.gate.countDown();
+
+        assertTrue(thread.get(2, TimeUnit.SECONDS).startsWith("claims-write-combiner-completion-"),
+                "completed on " + thread.get());
+    }
+
+    private static final class RecordingInsertRepository extends ClaimBatchInsertJdbcRepository {
+
+        private final List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+        private volatile RuntimeException failure;
+        private volatile CountDownLatch gate;
+
+        RecordingInsertRepository() {
+            super(null);
+        }
+
+        @Override
+        public void insertAll(List<Claim> claims) {
+            if (gate != null) {
+                try {
+                    gate.await(2, TimeUnit.SECONDS);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            if (failure != null) {
+                throw failure;
+            }
+            batchSizes.add(claims.size());
+        }
+    }
+
+    private static final class RecordingIntegrationService implements ClaimIntegrationService {
+
+        private final List<UUID> submitted = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void onClaimSubmitted(Claim claim) {
+            submitted.add(claim.getId());
+        }
+
+        @Override
+        public void onClaimInReview(Claim claim) {
+        }
+
+        @Override
+        public void onClaimApproved(Claim claim) {
+        }
+
+        @Override
+        public void onClaimRejected(Claim claim) {
+        }
+
+        @Override
+        public void onClaimPaidOut(Claim claim) {
+        }
+    }
+
+    private static final class CountingTransactionManager implements PlatformTransactionManager {
+
+        private final AtomicInteger commits = new AtomicInteger();
+        private final AtomicInteger rollbacks = new AtomicInteger();
+
+        @Override
+        public TransactionStatus getTransaction(TransactionDefinition definition) {
+            return new SimpleTransactionStatus();
+        }
+
+        @Override
+        public void commit(TransactionStatus status) {
+            commits.incrementAndGet();
+        }
+
+        @Override
+        public void rollback(TransactionStatus status) {
+            rollbacks.incrementAndGet();
+        }
+    }
+}
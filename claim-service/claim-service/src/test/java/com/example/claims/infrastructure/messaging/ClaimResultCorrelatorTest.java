@@ -0,0 +1,141 @@
+package com.example.claims.infrastructure.messaging;
+
+import com.example.claims.infrastructure.persistence.ClaimJpaRepository;
+import com.example.claims.support.metrics.Outcome;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.lang.reflect.Proxy;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class ClaimResultCorrelatorTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final BlockingQueue<Update> updates = new LinkedBlockingQueue<>();
+    private ClaimResultCorrelator correlator;
+
+    @AfterEach
+    void destroyCorrelator() throws Exception {
+        if (correlator != null) {
+            correlator.destroy();
+        }
+    }
+
+    private ClaimResultCorrelator correlator(int maxPending, long timeoutMs) {
+        correlator = new ClaimResultCorrelator(repository(), new NoOpTransactionManager(), meterRegistry,
+                maxPending, timeoutMs, 10);
+        return correlator;
+    }
+
+    // erfasst nur applyDownstreamVerdicts, jede Zeile gilt als aktualisiert
+    @SuppressWarnings("unchecked")
+    private ClaimJpaRepository repository() {
+        return (ClaimJpaRepository) Proxy.newProxyInstance(
+                ClaimJpaRepository.class.getClassLoader(),
+                new Class<?>[]{ClaimJpaRepository.class},
+                (proxy, method, args) -> {
+                    if (!method.getName().equals("applyDownstreamVerdicts")) {
+                        throw new UnsupportedOperationException(method.getName());
+                    }
+                    Collection<UUID> ids = (Collection<UUID>) args[0];
+                    updates.add(new Update(List.copyOf(ids), (Boolean) args[1], (Boolean) args[2],
+                            Thread.currentThread().getName()));
+                    return ids.size();
+                });
+    }
+
+    private double results(String result) {
+        return meterRegistry.get("claims_correlation_total").tag("result", result).counter().count();
+    }
+
+    @Test
+    void appliesBothResultsInOneUpdate() throws Exception {
+        correlator(100, 30_000);
+        UUID claimId = UUID.randomUUID();
+
+        assertEquals(Outcome.SUCCESS, correlator.onPolicyResult(claimId, true));
+        assertNull(updates.poll());
+        assertEquals(Outcome.SUCCESS, correlator.onCustomerResult(claimId, false));
+
+        assertEquals(new Update(List.of(claimId), true, false, Thread.currentThread().getName()), updates.poll());
+        assertNull(updates.poll(50, TimeUnit.MILLISECONDS));
+        assertEquals(1.0, results("completed"));
+    }
+
+    @Test
+    void storesThePartialResultAfterTheTimeoutOffTheTickerThread() throws Exception {
+        correlator(100, 50);
+        UUID claimId = UUID.randomUUID();
+
+        correlator.onPolicyResult(claimId, true);
+
+        Update update = updates.poll(2, TimeUnit.SECONDS);
+        assertNotNull(update);
+        assertEquals(new Update(List.of(claimId), true, null, "claims-correlation-expiry"), update);
+        assertEquals(1.0, results("timeout"));
+    }
+
+    @Test
+    void storesResultsImmediatelyWhenMaxPendingIsReached() throws Exception {
+        correlator(1, 30_000);
+        UUID pending = UUID.randomUUID();
+        UUID overflow = UUID.randomUUID();
+
+        correlator.onPolicyResult(pending, true);
+        correlator.onCustomerResult(overflow, true);
+
+        assertEquals(new Update(List.of(overflow), null, true, Thread.currentThread().getName()), updates.poll());
+        assertEquals(1.0, results("capacity"));
+    }
+
+    @Test
+    void batchModeWritesClaimsWithEqualResultsTogether() throws Exception {
+        correlator(100, 30_000);
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+
+        correlator.onPolicyResults(Map.of(first, true, second, true));
+        correlator.onCustomerResults(Map.of(first, true, second, true));
+
+        Update update = updates.poll();
+        assertNotNull(update);
+        assertEquals(2, update.claimIds().size());
+        assertEquals(true, update.policyCoverageValid());
+        assertEquals(true, update.customerDataValid());
+        assertNull(updates.poll());
+    }
+
+    private record Update(List<UUID> claimIds, Boolean policyCoverageValid, Boolean customerDataValid, String thread) {
+    }
+
+    private static final class NoOpTransactionManager implements PlatformTransactionManager {
+
+        @Override
+        public TransactionStatus getTransaction(TransactionDefinition definition) {
+            return new SimpleTransactionStatus();
+        }
+
+        @Override
+        public void commit(TransactionStatus status) {
+        }
+
+        @Override
+        public void rollback(TransactionStatus status) {
+        }
+    }
+}
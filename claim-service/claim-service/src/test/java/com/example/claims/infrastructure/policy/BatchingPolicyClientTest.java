@@ -0,0 +1,83 @@
+package com.example.claims.infrastructure.policy;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BatchingPolicyClientTest {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private BatchingPolicyClient client;
+
+    @AfterEach
+    void destroyClient() {
+        release.countDown();
+        if (client != null) {
+            client.destroy();
+        }
+    }
+
+    private static PolicySummary summary(UUID policyId) {
+        return new PolicySummary(policyId, "P-1", "HOME", "ACTIVE", null, null);
+    }
+
+    @Test
+    void returnsTheBatchedPolicy() {
+        UUID policyId = UUID.randomUUID();
+        client = new BatchingPolicyClient(new StubPolicyClient(false), 10, Duration.ofMillis(5), 2,
+                Duration.ofSeconds(2), new SimpleMeterRegistry());
+
+        assertEquals(Optional.of(summary(policyId)), client.getPolicyById(policyId));
+    }
+
+    @Test
+    void givesUpAfterTheTimeoutWithoutAPolicy() {
+        client = new BatchingPolicyClient(new StubPolicyClient(true), 10, Duration.ofMillis(5), 2,
+                Duration.ofMillis(50), new SimpleMeterRegistry());
+
+        long start = System.nanoTime();
+        Optional<PolicySummary> result = client.getPolicyById(UUID.randomUUID());
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertEquals(Optional.empty(), result);
+        assertTrue(elapsedMs < 1000, "waited " + elapsedMs + " ms despite 50 ms timeout");
+    }
+
+    private class StubPolicyClient implements PolicyClient {
+
+        private final boolean blocking;
+
+        StubPolicyClient(boolean blocking) {
+            this.blocking = blocking;
+        }
+
+        @Override
+        public Optional<PolicySummary> getPolicyById(UUID policyId) {
+            return Optional.of(summary(policyId));
+        }
+
+        @Override
+        public Map<UUID, PolicySummary> getPoliciesByIds(Collection<UUID> policyIds) {
+            if (blocking) {
+                try {
+                    release.await();
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            UUID policyId = policyIds.iterator().next();
+            return Map.of(policyId, summary(policyId));
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.example.claims.support.batch;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MicroBatcherTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<Set<Integer>> batches = new CopyOnWriteArrayList<>();
+
+    private MicroBatcher<Integer, String> batcher;
+
+    @AfterEach
+    void closeBatcher() {
+        if (batcher != null) {
+            batcher.close();
+        }
+    }
+
+    private MicroBatcher<Integer, String> batcher(int maxBatchSize, Duration maxWait,
+                                                  Function<Set<Integer>, Map<Integer, String>> loader) {
+        batcher = new MicroBatcher<>("test", maxBatchSize, maxWait, 2, loader, meterRegistry);
+        return batcher;
+    }
+
+    private Map<Integer, String> recordAndLoad(Set<Integer> keys) {
+        batches.add(Set.copyOf(keys));
+        Map<Integer, String> values = new HashMap<>();
+        keys.forEach(key -> values.put(key, "v" + key));
+        return values;
+    }
+
+    private double flushCount(String trigger) {
+        return meterRegistry.get("claims_batch_flush_total").tag("trigger", trigger).counter().count();
+    }
+
+    @Test
+    void coalescesDuplicateKeysWithinOneWindow() throws Exception {
+        batcher(10, Duration.ofMillis(200), this::recordAndLoad);
+
+        CompletableFuture<String> first = batcher.submit(1);
+        CompletableFuture<String> duplicate = batcher.submit(1);
+        CompletableFuture<String> other = batcher.submit(2);
+
+        assertEquals("v1", first.get(2, TimeUnit.SECONDS));
+        assertEquals("v1", duplicate.get(2, TimeUnit.SECONDS));
+        assertEquals("v2", other.get(2, TimeUnit.SECONDS));
+        assertEquals(List.of(Set.of(1, 2)), batches);
+    }
+
+    @Test
+    void flushesAsSoonAsMaxBatchSizeIsReached() throws Exception {
+        // maxWait so lang, dass nur die Größe den Batch auslösen kann
+        batcher(3, Duration.ofSeconds(30), this::recordAndLoad);
+
+        CompletableFuture<String> a = batcher.submit(1);
+        CompletableFuture<String> b = batcher.submit(2);
+        CompletableFuture<String> c = batcher.submit(3);
+
+        assertEquals("v3", c.get(2, TimeUnit.SECONDS));
+        assertEquals("v1", a.get(2, TimeUnit.SECONDS));
+        assertEquals("v2", b.get(2, TimeUnit.SECONDS));
+        assertEquals(List.of(Set.of(1, 2, 3)), batches);
+        assertEquals(1.0, flushCount("size"));
+        assertEquals(0.0, flushCount("time"));
+    }
+
+    @Test
+    void flushesPartialBatchAfterMaxWait() throws Exception {
+        batcher(100, Duration.ofMillis(20), this::recordAndLoad);
+
+        long start = System.nanoTime();
+        assertEquals("v7", batcher.submit(7).get(2, TimeUnit.SECONDS));
+
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(20), "flushed before maxWait");
+        assertEquals(List.of(Set.of(7)), batches);
+        assertEquals(1.0, flushCount("time"));
+    }
+
+    @Test
+    void answersKeysMissingFromTheResultWithNull() throws Exception {
+        batcher(10, Duration.ofMillis(5), keys -> Map.of());
+
+        assertNull(batcher.submit(1).get(2, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void failsAllWaitersOfABatchWhenTheLoaderFails() {
+        IllegalStateException failure = new IllegalStateException("downstream unavailable");
+        batcher(10, Duration.ofMillis(20), keys -> {
+            throw failure;
+        });
+
+        CompletableFuture<String> a = batcher.submit(1);
+        CompletableFuture<String> b = batcher.submit(2);
+
+        ExecutionException exA = assertThrows(ExecutionException.class, () -> a.get(2, TimeUnit.SECONDS));
+        ExecutionException exB = assertThrows(ExecutionException.class, () -> b.get(2, TimeUnit.SECONDS));
+        assertEquals(failure, exA.getCause());
+        assertEquals(failure, exB.getCause());
+    }
+
+    @Test
+    void closeFailsPendingKeysAndRejectsLaterSubmits() throws Exception {
+        // maxWait so lang, dass der Key beim close() noch im Fenster wartet
+        batcher(10, Duration.ofSeconds(30), this::recordAndLoad);
+        CompletableFuture<String> pending = batcher.submit(1);
+
+        batcher.close();
+
+        ExecutionException ex = assertThrows(ExecutionException.class, () -> pending.get(2, TimeUnit.SECONDS));
+        assertInstanceOf(RejectedExecutionException.class, ex.getCause());
+        assertTrue(batcher.submit(2).isCompletedExceptionally());
+        assertTrue(batches.isEmpty());
+    }
+}
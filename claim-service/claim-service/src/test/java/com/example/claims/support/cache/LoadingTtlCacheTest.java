@@ -0,0 +1,180 @@
+package com.example.claims.support.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LoadingTtlCacheTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ExecutorService callers = Executors.newFixedThreadPool(4);
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @AfterEach
+    void stopCallers() {
+        callers.shutdownNow();
+    }
+
+    private LoadingTtlCache<String, String> cache(Duration ttl, Duration negativeTtl) {
+        return new LoadingTtlCache<>("test", 100, ttl, negativeTtl, String::isEmpty, meterRegistry);
+    }
+
+    private String load(String key) {
+        loads.incrementAndGet();
+        return "v-" + key;
+    }
+
+    private double requests(String result) {
+        return meterRegistry.get("claims_cache_requests_total").tag("result", result).counter().count();
+    }
+
+    @Test
+    void servesRepeatedLookupsFromTheCache() {
+        LoadingTtlCache<String, String> cache = cache(Duration.ofMinutes(5), Duration.ofMinutes(5));
+
+        assertEquals("v-a", cache.get("a", this::load));
+        assertEquals("v-a", cache.get("a", this::load));
+
+        assertEquals(1, loads.get());
+        assertEquals(1.0, requests("hit"));
+        assertEquals(1.0, requests("miss"));
+    }
+
+    @Test
+    void coalescesConcurrentMissesIntoOneLoad() throws Exception {
+        LoadingTtlCache<String, String> cache = cache(Duration.ofMinutes(5), Duration.ofMinutes(5));
+        CountDownLatch loadStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<String> first = CompletableFuture.supplyAsync(() -> cache.get("a", key -> {
+            loadStarted.countDown();
+            await(release);
+            return load(key);
+        }), callers);
+        assertTrue(loadStarted.await(2, TimeUnit.SECONDS));
+
+        CompletableFuture<String> second = CompletableFuture.supplyAsync(() -> cache.get("a", this::load), callers);
+        // der zweite Aufrufer muss sich an den laufenden Load hängen, bevor dieser endet
+        waitFor(() -> requests("coalesced") == 1.0);
+        release.countDown();
+
+        assertEquals("v-a", first.get(2, TimeUnit.SECONDS));
+        assertEquals("v-a", second.get(2, TimeUnit.SECONDS));
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void doesNotCacheALoadThatWasInvalidatedWhileRunning() throws Exception {
+        LoadingTtlCache<String, String> cache = cache(Duration.ofMinutes(5), Duration.ofMinutes(5));
+        CountDownLatch loadStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<String> stale = CompletableFuture.supplyAsync(() -> cache.get("a", key -> {
+            loadStarted.countDown();
+            await(release);
+            return "stale";
+        }), callers);
+        assertTrue(loadStarted.await(2, TimeUnit.SECONDS));
+
+        cache.invalidate("a");
+        release.countDown();
+
+        // der laufende Aufrufer bekommt sein Ergebnis, gespeichert wird es nicht
+        assertEquals("stale", stale.get(2, TimeUnit.SECONDS));
+        assertEquals("v-a", cache.get("a", this::load));
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void reloadsAfterTheTtlExpired() throws Exception {
+        LoadingTtlCache<String, String> cache = cache(Duration.ofMillis(20), Duration.ofMinutes(5));
+
+        cache.get("a", this::load);
+        Thread.sleep(40);
+        cache.get("a", this::load);
+
+        assertEquals(2, loads.get());
+        assertEquals(1.0, meterRegistry.get("claims_cache_evictions_total").tag("cause", "expired").counter().count());
+    }
+
+    @Test
+    void usesTheNegativeTtlForNegativeResults() throws Exception {
+        LoadingTtlCache<String, String> cache = cache(Duration.ofMinutes(5), Duration.ofMillis(20));
+
+        cache.get("a", key -> {
+            loads.incrementAndGet();
+            return "";
+        });
+        Thread.sleep(40);
+        assertEquals("v-a", cache.get("a", this::load));
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void doesNotCacheFailedLoads() {
+        LoadingTtlCache<String, String> cache = cache(Duration.ofMinutes(5), Duration.ofMinutes(5));
+
+        assertThrows(IllegalStateException.class, () -> cache.get("a", key -> {
+            throw new IllegalStateException("downstream unavailable");
+        }));
+
+        assertEquals("v-a", cache.get("a", this::load));
+    }
+
+    @Test
+    void getAllLoadsOnlyMissesWithOneBulkCall() {
+        LoadingTtlCache<String, String> cache = cache(Duration.ofMinutes(5), Duration.ofMinutes(5));
+        cache.put("a", "cached-a");
+        List<Set<String>> bulkCalls = new CopyOnWriteArrayList<>();
+
+        Map<String, String> result = cache.getAll(List.of("a", "b", "c", "b"), keys -> {
+            bulkCalls.add(Set.copyOf(keys));
+            Map<String, String> loaded = new HashMap<>();
+            loaded.put("b", "v-b");
+            // "c" fehlt in der Antwort
+            return loaded;
+        }, "");
+
+        assertEquals(Map.of("a", "cached-a", "b", "v-b", "c", ""), result);
+        assertEquals(List.of(Set.of("b", "c")), bulkCalls);
+        assertEquals("v-b", cache.get("b", this::load));
+        assertEquals(0, loads.get());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(2, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void waitFor(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                throw new AssertionError("condition not met within 2 s");
+            }
+            Thread.sleep(1);
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.example.claims.support.collections;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ConcurrentUuidSetTest {
+
+    @Test
+    void containsOnlyAddedIds() {
+        ConcurrentUuidSet set = new ConcurrentUuidSet(16);
+        UUID added = UUID.randomUUID();
+
+        assertTrue(set.add(added));
+        assertTrue(set.add(added));
+
+        assertTrue(set.contains(added));
+        assertFalse(set.contains(UUID.randomUUID()));
+        assertEquals(1, set.size());
+    }
+
+    @Test
+    void rejectsNewIdsOnceTheCapacityIsReached() {
+        ConcurrentUuidSet set = new ConcurrentUuidSet(2);
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+
+        assertTrue(set.add(first));
+        assertTrue(set.add(second));
+        assertFalse(set.add(UUID.randomUUID()));
+        // bereits enthaltene IDs bleiben "enthalten"
+        assertTrue(set.add(first));
+        assertEquals(2, set.size());
+    }
+
+    @Test
+    void neverContainsTheNilUuid() {
+        ConcurrentUuidSet set = new ConcurrentUuidSet(4);
+        UUID nil = new UUID(0L, 0L);
+
+        assertFalse(set.add(nil));
+        assertFalse(set.contains(nil));
+    }
+
+    @Test
+    void removedIdsAreNoLongerContainedButKeepTheirProbeChain() {
+        // volle kleine Tabelle, Sondierketten über den entfernten Slot hinweg
+        ConcurrentUuidSet set = new ConcurrentUuidSet(8);
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            UUID id = UUID.randomUUID();
+            ids.add(id);
+            set.add(id);
+        }
+
+        assertTrue(set.remove(ids.get(0)));
+        assertFalse(set.remove(ids.get(0)));
+
+        assertFalse(set.contains(ids.get(0)));
+        for (UUID id : ids.subList(1, ids.size())) {
+            assertTrue(set.contains(id), "missing " + id);
+        }
+        assertEquals(7, set.size());
+    }
+
+    @Test
+    void removedSlotsStillCountAgainstTheCapacity() {
+        ConcurrentUuidSet set = new ConcurrentUuidSet(2);
+        UUID first = UUID.randomUUID();
+
+        set.add(first);
+        set.add(UUID.randomUUID());
+        set.remove(first);
+
+        assertFalse(set.add(UUID.randomUUID()));
+        assertEquals(1, set.size());
+    }
+
+    @Test
+    void neverContainsTheTombstoneMarker() {
+        ConcurrentUuidSet set = new ConcurrentUuidSet(4);
+        UUID tombstone = new UUID(0L, 1L);
+
+        assertFalse(set.add(tombstone));
+        assertFalse(set.contains(tombstone));
+        assertFalse(set.remove(tombstone));
+    }
+
+    @Test
+    void rejectsNonPositiveCapacity() {
+        assertThrows(IllegalArgumentException.class, () -> new ConcurrentUuidSet(0));
+    }
+
+    @Test
+    void concurrentAddsAreAllVisibleToConcurrentReaders() throws Exception {
+        int writers = 4;
+        int idsPerWriter = 5_000;
+        ConcurrentUuidSet set = new ConcurrentUuidSet(writers * idsPerWriter);
+
+        List<List<UUID>> idsByWriter = new ArrayList<>();
+        for (int w = 0; w < writers; w++) {
+            List<UUID> ids = new ArrayList<>(idsPerWriter);
+            for (int i = 0; i < idsPerWriter; i++) {
+                ids.add(UUID.randomUUID());
+            }
+            idsByWriter.add(ids);
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(writers + 1);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            AtomicBoolean missing = new AtomicBoolean();
+            List<Future<?>> tasks = new ArrayList<>();
+            for (List<UUID> ids : idsByWriter) {
+                tasks.add(executor.submit(() -> {
+                    start.await();
+                    for (UUID id : ids) {
+                        set.add(id);
+                        // gleich nach dem eigenen add muss die ID sichtbar sein
+                        if (!set.contains(id)) {
+                            missing.set(true);
+                        }
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> task : tasks) {
+                task.get(10, TimeUnit.SECONDS);
+            }
+
+            assertFalse(missing.get());
+            assertEquals(writers * idsPerWriter, set.size());
+            for (List<UUID> ids : idsByWriter) {
+                for (UUID id : ids) {
+                    assertTrue(set.contains(id), "missing " + id);
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
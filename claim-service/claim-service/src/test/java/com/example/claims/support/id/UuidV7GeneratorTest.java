@@ -0,0 +1,87 @@
+package com.example.claims.support.id;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class UuidV7GeneratorTest {
+
+    private final UuidV7Generator generator = new UuidV7Generator();
+
+    @Test
+    void setsVersionSevenAndTheRfcVariant() {
+        for (int i = 0; i < 1_000; i++) {
+            UUID id = generator.next();
+            assertEquals(7, id.version());
+            assertEquals(2, id.variant());
+        }
+    }
+
+    @Test
+    void encodesTheCurrentUnixTimeInMilliseconds() {
+        long before = System.currentTimeMillis();
+        UUID id = generator.next();
+        long after = System.currentTimeMillis();
+
+        long millis = id.getMostSignificantBits() >>> 16;
+        assertTrue(millis >= before && millis <= after, "timestamp " + millis + " not in [" + before + ", " + after + "]");
+    }
+
+    @Test
+    void isStrictlyMonotonicWithinOneInstance() {
+        // mehr IDs, als die 12-Bit-Sequenz in einer Millisekunde fasst
+        UUID previous = generator.next();
+        for (int i = 0; i < 20_000; i++) {
+            UUID next = generator.next();
+            assertTrue(Long.compareUnsigned(next.getMostSignificantBits(), previous.getMostSignificantBits()) > 0,
+                    next + " not after " + previous);
+            previous = next;
+        }
+    }
+
+    @Test
+    void generatesUniqueIdsAcrossThreads() throws Exception {
+        int threads = 4;
+        int idsPerThread = 10_000;
+        Set<UUID> ids = ConcurrentHashMap.newKeySet();
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<List<UUID>>> tasks = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                tasks.add(executor.submit(() -> {
+                    List<UUID> own = new ArrayList<>(idsPerThread);
+                    for (int i = 0; i < idsPerThread; i++) {
+                        own.add(generator.next());
+                    }
+                    return own;
+                }));
+            }
+            Set<Long> prefixes = new HashSet<>();
+            for (Future<List<UUID>> task : tasks) {
+                for (UUID id : task.get(10, TimeUnit.SECONDS)) {
+                    ids.add(id);
+                    prefixes.add(id.getMostSignificantBits());
+                }
+            }
+
+            assertEquals(threads * idsPerThread, ids.size());
+            // Zeitstempel und Sequenz allein sind schon eindeutig
+            assertEquals(threads * idsPerThread, prefixes.size());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.claims.support.timing;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TimingWheelTest {
+
+    private final Map<String, Long> expiredAtNanos = new ConcurrentHashMap<>();
+    private TimingWheel<String> wheel;
+
+    @AfterEach
+    void closeWheel() {
+        if (wheel != null) {
+            wheel.close();
+        }
+    }
+
+    private TimingWheel<String> wheel(Duration tick, Duration timeout, Consumer<String> onExpire) {
+        wheel = new TimingWheel<>("test", tick, timeout, onExpire);
+        return wheel;
+    }
+
+    @Test
+    void expiresEntriesAfterTheTimeoutButNotBefore() throws Exception {
+        CountDownLatch expired = new CountDownLatch(2);
+        wheel(Duration.ofMillis(10), Duration.ofMillis(100), entry -> {
+            expiredAtNanos.put(entry, System.nanoTime());
+            expired.countDown();
+        });
+
+        long scheduledAt = System.nanoTime();
+        wheel.schedule("a");
+        wheel.schedule("b");
+
+        assertTrue(expired.await(2, TimeUnit.SECONDS));
+        for (long at : expiredAtNanos.values()) {
+            // Genauigkeit eine Tick-Dauer
+            assertTrue(at - scheduledAt >= TimeUnit.MILLISECONDS.toNanos(90),
+                    "expired after " + TimeUnit.NANOSECONDS.toMillis(at - scheduledAt) + " ms");
+        }
+        assertEquals(2, expiredAtNanos.size());
+    }
+
+    @Test
+    void keepsTickingWhenOnExpireFails() throws Exception {
+        CountDownLatch expired = new CountDownLatch(1);
+        wheel(Duration.ofMillis(5), Duration.ofMillis(10), entry -> {
+            if (entry.equals("broken")) {
+                throw new IllegalStateException("expire failed");
+            }
+            expired.countDown();
+        });
+
+        wheel.schedule("broken");
+        Thread.sleep(30);
+        wheel.schedule("ok");
+
+        assertTrue(expired.await(2, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void expiresNothingAfterClose() throws Exception {
+        CountDownLatch expired = new CountDownLatch(1);
+        wheel(Duration.ofMillis(5), Duration.ofMillis(20), entry -> expired.countDown());
+
+        wheel.schedule("a");
+        wheel.close();
+
+        assertFalse(expired.await(100, TimeUnit.MILLISECONDS));
+    }
+}
@@ -2,6 +2,8 @@ package com.example.customers.application;
 
 import com.example.customers.domain.Customer;
 
+import java.util.Collection;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -11,6 +13,17 @@ public interface CustomerService {
 
     Optional<Customer> findByCustomerNumber(String customerNumber);
 
+    /**
+     * Lädt mehrere Kunden mit einer einzigen Query. Unbekannte IDs fehlen in der Map.
+     */
+    Map<UUID, Customer> findAllById(Collection<UUID> ids);
+
+    /**
+     * Lädt mehrere Kunden über die fachliche Kundennummer mit einer einzigen Query.
+     * Unbekannte Kundennummern fehlen in der Map.
+     */
+    Map<String, Customer> findAllByCustomerNumber(Collection<String> customerNumbers);
+
     /**
      * Validiert Kundendaten anhand der fachlichen Kundennummer.
      */
@@ -20,4 +33,17 @@ public interface CustomerService {
      * Validiert Kundendaten anhand der technischen ID.
      */
     boolean isCustomerDataValidById(UUID customerId);
+
+    /**
+     * Validiert mehrere Kunden mit einer einzigen Query.
+     * Enthält für jede angefragte ID einen Eintrag, unbekannte Kunden sind ungültig.
+     */
+    Map<UUID, Boolean> validateCustomersById(Collection<UUID> customerIds);
+
+    /**
+     * Aktualisiert Namen, Adress- und Kontaktdaten eines Kunden und publiziert ein CUSTOMER_UPDATED-Event.
+     *
+     * @return der aktualisierte Kunde oder leer, wenn es keinen Kunden mit dieser ID gibt.
+     */
+    Optional<Customer> updateCustomer(UUID customerId, Customer changes);
 }
@@ -1,11 +1,16 @@
 package com.example.customers.application;
 
 import com.example.customers.domain.Customer;
+import com.example.customers.infrastructure.messaging.CustomerEventsProducer;
+import com.example.customers.infrastructure.persistence.CustomerEntity;
 import com.example.customers.infrastructure.persistence.CustomerEntityMapper;
 import com.example.customers.infrastructure.persistence.CustomerJpaRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -15,6 +20,7 @@ public class CustomerServiceImpl implements CustomerService {
 
     private final CustomerJpaRepository customerJpaRepository;
     private final CustomerEntityMapper customerEntityMapper;
+    private final CustomerEventsProducer customerEventsProducer;
 
     @Override
     public Optional<Customer> findById(UUID id) {
@@ -28,6 +34,32 @@ public class CustomerServiceImpl implements CustomerService {
                 .map(customerEntityMapper::toDomain);
     }
 
+    @Override
+    public Map<UUID, Customer> findAllById(Collection<UUID> ids) {
+        Map<UUID, Customer> result = new HashMap<>();
+        if (ids.isEmpty()) {
+            return result;
+        }
+
+        for (CustomerEntity entity : customerJpaRepository.findAllById(ids)) {
+            result.put(entity.getId(), customerEntityMapper.toDomain(entity));
+        }
+        return result;
+    }
+
+    @Override
+    public Map<String, Customer> findAllByCustomerNumber(Collection<String> customerNumbers) {
+        Map<String, Customer> result = new HashMap<>();
+        if (customerNumbers.isEmpty()) {
+            return result;
+        }
+
+        for (CustomerEntity entity : customerJpaRepository.findByCustomerNumberIn(customerNumbers)) {
+            result.put(entity.getCustomerNumber(), customerEntityMapper.toDomain(entity));
+        }
+        return result;
+    }
+
     @Override
     public boolean isCustomerDataValid(String customerNumber) {
         return customerJpaRepository.findByCustomerNumber(customerNumber)
@@ -43,4 +75,46 @@ public class CustomerServiceImpl implements CustomerService {
                 .map(Customer::isCustomerDataValid)
                 .orElse(false);
     }
+
+    @Override
+    public Map<UUID, Boolean> validateCustomersById(Collection<UUID> customerIds) {
+        Map<UUID, Boolean> result = new HashMap<>();
+        customerIds.forEach(customerId -> result.put(customerId, false));
+        if (customerIds.isEmpty()) {
+            return result;
+        }
+
+        for (CustomerEntity entity : customerJpaRepository.findAllById(customerIds)) {
+            result.put(entity.getId(), customerEntityMapper.toDomain(entity).isCustomerDataValid());
+        }
+        return result;
+    }
+
+    @Override
+    public Optional<Customer> updateCustomer(UUID customerId, Customer changes) {
+        Optional<CustomerEntity> existing = customerJpaRepository.findById(customerId);
+        if (existing.isEmpty()) {
+            return Optional.empty();
+        }
+
+        CustomerEntity entity = existing.get();
+        // Namen sind Pflichtfelder und werden nur überschrieben, wenn sie mitgeschickt werden
+        if (changes.getFirstName() != null) {
+            entity.setFirstName(changes.getFirstName());
+        }
+        if (changes.getLastName() != null) {
+            entity.setLastName(changes.getLastName());
+        }
+        entity.setStreet(changes.getStreet());
+        entity.setPostalCode(changes.getPostalCode());
+        entity.setCity(changes.getCity());
+        entity.setEmail(changes.getEmail());
+        entity.setPhoneNumber(changes.getPhoneNumber());
+
+        Customer updated = customerEntityMapper.toDomain(customerJpaRepository.save(entity));
+
+        // Erst nach dem Speichern publizieren, damit Konsumenten beim Nachladen den neuen Stand sehen
+        customerEventsProducer.publishCustomerUpdated(updated);
+        return Optional.of(updated);
+    }
 }
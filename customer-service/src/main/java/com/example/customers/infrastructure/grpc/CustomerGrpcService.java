@@ -5,25 +5,38 @@ import com.example.customers.domain.Customer;
 import com.example.customers.grpc.CustomerServiceGrpc;
 import com.example.customers.grpc.CustomerValidationRequest;
 import com.example.customers.grpc.CustomerValidationResponse;
+import com.example.customers.grpc.CustomerValidity;
 import com.example.customers.grpc.GetCustomerRequest;
 import com.example.customers.grpc.GetCustomerResponse;
+import com.example.customers.grpc.ValidateCustomersRequest;
+import com.example.customers.grpc.ValidateCustomersResponse;
 import io.grpc.Status;
 import io.grpc.stub.StreamObserver;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import net.devh.boot.grpc.server.service.GrpcService;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Profile;
 
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 @GrpcService                                  // <- WICHTIG: registriert den gRPC-Service
-@RequiredArgsConstructor
 @Slf4j
 @Profile("grpc")                              // <- nur aktiv, wenn Profil "grpc" gesetzt ist
 public class CustomerGrpcService extends CustomerServiceGrpc.CustomerServiceImplBase {
 
     private final CustomerService customerService;
 
+    // Obergrenze für ValidateCustomers, hält die IN-Query unter dem Bind-Parameter-Limit von Postgres
+    private final int maxBatchIds;
+
+    public CustomerGrpcService(CustomerService customerService,
+                               @Value("${customers.batch.max-ids:1000}") int maxBatchIds) {
+        this.customerService = customerService;
+        this.maxBatchIds = maxBatchIds;
+    }
+
     // -------------------------------------------------------------------------
     // GetCustomer
     // -------------------------------------------------------------------------
@@ -152,4 +165,62 @@ public class CustomerGrpcService extends CustomerServiceGrpc.CustomerServiceImpl
             );
         }
     }
+
+    // -------------------------------------------------------------------------
+    // ValidateCustomers – Batch, eine DB-Query für alle IDs
+    // -------------------------------------------------------------------------
+
+    @Override
+    public void validateCustomers(
+            ValidateCustomersRequest request,
+            StreamObserver<ValidateCustomersResponse> responseObserver) {
+
+        log.debug("gRPC ValidateCustomers called for {} customerIds", request.getCustomerIdsCount());
+
+        if (request.getCustomerIdsCount() > maxBatchIds) {
+            log.warn("Rejecting gRPC ValidateCustomers with {} customerIds (max {})",
+                    request.getCustomerIdsCount(), maxBatchIds);
+            responseObserver.onError(
+                    Status.INVALID_ARGUMENT
+                            .withDescription("Too many customerIds in batch request: "
+                                    + request.getCustomerIdsCount() + " (max " + maxBatchIds + ")")
+                            .asRuntimeException()
+            );
+            return;
+        }
+
+        try {
+            List<UUID> customerIds = request.getCustomerIdsList().stream()
+                    .map(UUID::fromString)
+                    .distinct()
+                    .toList();
+
+            Map<UUID, Boolean> valid = customerService.validateCustomersById(customerIds);
+
+            ValidateCustomersResponse.Builder response = ValidateCustomersResponse.newBuilder();
+            valid.forEach((customerId, isValid) -> response.addResults(CustomerValidity.newBuilder()
+                    .setCustomerId(customerId.toString())
+                    .setValid(isValid)));
+
+            responseObserver.onNext(response.build());
+            responseObserver.onCompleted();
+
+        } catch (IllegalArgumentException ex) {
+            log.warn("gRPC ValidateCustomers received invalid UUID in customer_ids", ex);
+            responseObserver.onError(
+                    Status.INVALID_ARGUMENT
+                            .withDescription("Invalid customerId in batch request")
+                            .asRuntimeException()
+            );
+        } catch (Exception ex) {
+            log.error("Error in gRPC ValidateCustomers for {} customerIds: {}",
+                    request.getCustomerIdsCount(), ex.getMessage(), ex);
+            responseObserver.onError(
+                    Status.INTERNAL
+                            .withDescription("Error while processing ValidateCustomers")
+                            .withCause(ex)
+                            .asRuntimeException()
+            );
+        }
+    }
 }
@@ -0,0 +1,146 @@
+package com.example.customers.infrastructure.messaging;
+
+import com.example.customers.application.CustomerService;
+import com.example.customers.domain.Customer;
+import com.example.customers.infrastructure.messaging.CustomerValidationResultProducer.Validation;
+import com.example.customers.messaging.events.ClaimEventPayload;
+import com.example.customers.messaging.events.ClaimEventType;
+import com.example.customers.support.metrics.Outcome;
+import com.example.customers.support.metrics.OutcomeMeters;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Batch-Variante des {@link ClaimEventsConsumer}: alle CLAIM_SUBMITTED-Events eines Polls werden
+ * gemeinsam verarbeitet. Die referenzierten Kunden werden mit je einer IN-Query (Kundennummer
+ * bzw. ID) geladen, alle Ergebnisse gesammelt an den Producer übergeben und bestätigt, erst
+ * danach committet der Container den Batch.
+ *
+ * Schlägt der Batch fehl, wird er vollständig erneut zugestellt; claims-service wendet pro
+ * Claim nur das erste Ergebnis an, doppelte Ergebnisse sind daher unkritisch.
+ */
+@Slf4j
+@Component
+@Profile("event-driven")
+@ConditionalOnProperty(name = "customers.kafka.claim-events.batch.enabled", havingValue = "true")
+public class ClaimEventsBatchConsumer {
+
+    private final CustomerService customerService;
+    private final CustomerValidationResultProducer validationResultProducer;
+    private final Duration sendTimeout;
+
+    // Counter je (event_type, outcome) pro Record, Dauer nur pro Batch
+    private final OutcomeMeters<ClaimEventType> meters;
+    private final DistributionSummary batchSize;
+    private final Timer batchSuccessTimer;
+    private final Timer batchErrorTimer;
+
+    public ClaimEventsBatchConsumer(CustomerService customerService,
+                                    CustomerValidationResultProducer validationResultProducer,
+                                    MeterRegistry meterRegistry,
+                                    @Value("${customers.kafka.claim-events.batch.send-timeout-ms:10000}") long sendTimeoutMs) {
+        this.customerService = customerService;
+        this.validationResultProducer = validationResultProducer;
+        this.sendTimeout = Duration.ofMillis(sendTimeoutMs);
+        this.meters = OutcomeMeters.builder(ClaimEventType.class, "event_type")
+                .outcomes(Outcome.SUCCESS, Outcome.IGNORED, Outcome.ERROR)
+                .counter("customers.kafka.consumer.events", "Number of claim events processed in customer-service")
+                .register(meterRegistry);
+        this.batchSize = DistributionSummary.builder("customers.kafka.consumer.batch.size")
+                .description("Number of records per consumed batch in customer-service")
+                .publishPercentileHistogram(true)
+                .register(meterRegistry);
+        this.batchSuccessTimer = batchTimer(meterRegistry, Outcome.SUCCESS);
+        this.batchErrorTimer = batchTimer(meterRegistry, Outcome.ERROR);
+    }
+
+    private static Timer batchTimer(MeterRegistry meterRegistry, Outcome outcome) {
+        return Timer.builder("customers.kafka.consumer.batch.latency")
+                .description("Kafka consumer latency per batch in customer-service")
+                .tag("outcome", outcome.tagValue())
+                .publishPercentileHistogram(true)
+                .register(meterRegistry);
+    }
+
+    @KafkaListener(
+            topics = "claims.claim-events",
+            groupId = "customer-service",
+            containerFactory = "batchKafkaListenerContainerFactory"
+    )
+    public void onClaimEvents(List<ClaimEventPayload> events) {
+
+        long start = System.nanoTime();
+        batchSize.record(events.size());
+
+        List<ClaimEventPayload> submitted = new ArrayList<>(events.size());
+        for (ClaimEventPayload event : events) {
+            if (event.getEventType() == ClaimEventType.CLAIM_SUBMITTED) {
+                submitted.add(event);
+            } else {
+                meters.increment(event.getEventType(), Outcome.IGNORED);
+            }
+        }
+
+        try {
+            // wie im Einzelmodus: Kundennummer vor technischer ID
+            Set<String> customerNumbers = new HashSet<>();
+            Set<UUID> customerIds = new HashSet<>();
+            for (ClaimEventPayload event : submitted) {
+                if (hasCustomerNumber(event)) {
+                    customerNumbers.add(event.getCustomerNumber());
+                } else if (event.getCustomerId() != null) {
+                    customerIds.add(event.getCustomerId());
+                }
+            }
+
+            Map<String, Customer> byCustomerNumber = customerService.findAllByCustomerNumber(customerNumbers);
+            Map<UUID, Customer> byCustomerId = customerService.findAllById(customerIds);
+
+            List<Validation> validations = new ArrayList<>(submitted.size());
+            for (ClaimEventPayload event : submitted) {
+                Customer customer = hasCustomerNumber(event)
+                        ? byCustomerNumber.get(event.getCustomerNumber())
+                        : (event.getCustomerId() != null ? byCustomerId.get(event.getCustomerId()) : null);
+
+                validations.add(new Validation(event.getClaimId(), event.getCustomerId(), event.getCustomerNumber(), customer));
+            }
+
+            validationResultProducer.publishValidationResults(validations, sendTimeout);
+
+            for (ClaimEventPayload event : submitted) {
+                meters.increment(event.getEventType(), Outcome.SUCCESS);
+            }
+            log.info("CustomerService processed ClaimEvent batch: records={}, submitted={}, customersLoaded={}",
+                    events.size(), submitted.size(), byCustomerNumber.size() + byCustomerId.size());
+            batchSuccessTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+
+        } catch (Exception ex) {
+            for (ClaimEventPayload event : submitted) {
+                meters.increment(event.getEventType(), Outcome.ERROR);
+            }
+            batchErrorTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            log.error("Error while handling ClaimEvent batch of {} records in CustomerService: {}", events.size(), ex.getMessage(), ex);
+            throw ex;
+        }
+    }
+
+    private static boolean hasCustomerNumber(ClaimEventPayload event) {
+        return event.getCustomerNumber() != null && !event.getCustomerNumber().isBlank();
+    }
+}
@@ -4,11 +4,11 @@ import com.example.customers.application.CustomerService;
 import com.example.customers.domain.Customer;
 import com.example.customers.messaging.events.ClaimEventPayload;
 import com.example.customers.messaging.events.ClaimEventType;
-import io.micrometer.core.instrument.Counter;
+import com.example.customers.support.metrics.Outcome;
+import com.example.customers.support.metrics.OutcomeMeters;
 import io.micrometer.core.instrument.MeterRegistry;
-import io.micrometer.core.instrument.Timer;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Profile;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.stereotype.Component;
@@ -18,37 +18,26 @@ import java.util.UUID;
 
 @Slf4j
 @Component
-@RequiredArgsConstructor
 @Profile("event-driven")
+@ConditionalOnProperty(name = "customers.kafka.claim-events.batch.enabled", havingValue = "false", matchIfMissing = true)
 public class ClaimEventsConsumer {
 
     private final CustomerService customerService;
     private final CustomerValidationResultProducer validationResultProducer;
-    private final MeterRegistry meterRegistry;
 
-    private Timer.Sample startSample() {
-        return Timer.start(meterRegistry);
-    }
-
-    private void stopSample(Timer.Sample sample, String outcome, String eventType) {
-        sample.stop(
-                Timer.builder("customers.kafka.consumer.latency")
-                        .description("Kafka consumer latency for claim events in customer-service")
-                        .tag("event_type", eventType)
-                        .tag("outcome", outcome)
-                        .publishPercentileHistogram(true)
-                        .publishPercentiles(0.5, 0.95, 0.99)
-                        .register(meterRegistry)
-        );
-    }
-
-    private void incrementCounter(String outcome, String eventType) {
-        Counter.builder("customers.kafka.consumer.events")
-                .description("Number of claim events processed in customer-service")
-                .tag("event_type", eventType)
-                .tag("outcome", outcome)
-                .register(meterRegistry)
-                .increment();
+    // Timer + Counter je (event_type, outcome), einmalig beim Start registriert
+    private final OutcomeMeters<ClaimEventType> meters;
+
+    public ClaimEventsConsumer(CustomerService customerService,
+                               CustomerValidationResultProducer validationResultProducer,
+                               MeterRegistry meterRegistry) {
+        this.customerService = customerService;
+        this.validationResultProducer = validationResultProducer;
+        this.meters = OutcomeMeters.builder(ClaimEventType.class, "event_type")
+                .outcomes(Outcome.SUCCESS, Outcome.IGNORED, Outcome.ERROR)
+                .timer("customers.kafka.consumer.latency", "Kafka consumer latency for claim events in customer-service")
+                .counter("customers.kafka.consumer.events", "Number of claim events processed in customer-service")
+                .register(meterRegistry);
     }
 
     @KafkaListener(
@@ -60,16 +49,15 @@ public class ClaimEventsConsumer {
                 ? event.getEventType().name()
                 : "UNKNOWN";
 
-        Timer.Sample sample = Timer.start(meterRegistry);
-        String outcome = "success";
+        long start = System.nanoTime();
+        Outcome outcome = Outcome.SUCCESS;
 
         try {
             log.info("CustomerService received ClaimEvent: eventType={}, claimId={}, customerId={}, customerNumber={}",
                     eventTypeName, event.getClaimId(), event.getCustomerId(), event.getCustomerNumber());
 
             if (event.getEventType() != ClaimEventType.CLAIM_SUBMITTED) {
-                outcome = "ignored";
-                incrementCounter(outcome, eventTypeName);
+                outcome = Outcome.IGNORED;
                 return;
             }
 
@@ -95,16 +83,12 @@ public class ClaimEventsConsumer {
                     customer
             );
 
-            outcome = "success";
-            incrementCounter(outcome, eventTypeName);
-
         } catch (Exception ex) {
-            outcome = "error";
-            incrementCounter(outcome, eventTypeName);
+            outcome = Outcome.ERROR;
             log.error("Error while handling ClaimEvent in CustomerService: {}", ex.getMessage(), ex);
             throw ex;
         } finally {
-            stopSample(sample, outcome, eventTypeName);
+            meters.record(event.getEventType(), outcome, start);
         }
     }
 
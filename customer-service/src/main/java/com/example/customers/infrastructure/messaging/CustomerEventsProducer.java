@@ -0,0 +1,79 @@
+package com.example.customers.infrastructure.messaging;
+
+import com.example.customers.domain.Customer;
+import com.example.customers.messaging.events.CustomerEventPayload;
+import com.example.customers.messaging.events.CustomerEventType;
+import com.example.customers.support.metrics.Outcome;
+import com.example.customers.support.metrics.OutcomeMeters;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Publiziert Änderungen an Kundendaten auf customers.customer-events.
+ *
+ * Unabhängig vom Kommunikationsprofil aktiv: claims-service nutzt die Events,
+ * um seinen Cache der Validierungsergebnisse zu invalidieren (REST und gRPC).
+ */
+@Slf4j
+@Component
+public class CustomerEventsProducer {
+
+    private final KafkaTemplate<String, CustomerEventPayload> customerEventsKafkaTemplate;
+
+    // Timer + Counter je (eventType, outcome), einmalig beim Start registriert
+    private final OutcomeMeters<CustomerEventType> meters;
+
+    @Value("${customers.events.customer-topic-name}")
+    private String customerTopicName;
+
+    public CustomerEventsProducer(KafkaTemplate<String, CustomerEventPayload> customerEventsKafkaTemplate,
+                                  MeterRegistry meterRegistry) {
+        this.customerEventsKafkaTemplate = customerEventsKafkaTemplate;
+        this.meters = OutcomeMeters.builder(CustomerEventType.class, "eventType")
+                .outcomes(Outcome.SUCCESS, Outcome.ERROR, Outcome.EXCEPTION)
+                .timer("customers.events.publish.latency", "Latency for publishing customer events to Kafka")
+                .counter("customers.events.published", "Number of customer events published to Kafka")
+                .register(meterRegistry);
+    }
+
+    public void publishCustomerUpdated(Customer customer) {
+        CustomerEventType eventType = CustomerEventType.CUSTOMER_UPDATED;
+        long start = System.nanoTime();
+
+        try {
+            CustomerEventPayload payload = CustomerEventPayload.builder()
+                    .eventId(UUID.randomUUID().toString())
+                    .eventType(eventType)
+                    .occurredAt(Instant.now())
+                    .customerId(customer.getId().toString())
+                    .customerNumber(customer.getCustomerNumber())
+                    .addressComplete(customer.isAddressComplete())
+                    .contactDataComplete(customer.isContactDataComplete())
+                    .customerDataValid(customer.isCustomerDataValid())
+                    .build();
+
+            // Key = customerId, damit Events eines Kunden geordnet bleiben
+            customerEventsKafkaTemplate.send(customerTopicName, payload.getCustomerId(), payload)
+                    .whenComplete((sendResult, ex) -> {
+                        if (ex != null) {
+                            meters.record(eventType, Outcome.ERROR, start);
+                            log.error("Failed to publish {} for customerId={}", eventType, customer.getId(), ex);
+                        } else {
+                            meters.record(eventType, Outcome.SUCCESS, start);
+                            log.debug("Published {} for customerId={}", eventType, customer.getId());
+                        }
+                    });
+
+        } catch (Exception ex) {
+            meters.record(eventType, Outcome.EXCEPTION, start);
+            log.error("Unexpected error while publishing {} for customerId={}", eventType, customer.getId(), ex);
+            throw ex;
+        }
+    }
+}
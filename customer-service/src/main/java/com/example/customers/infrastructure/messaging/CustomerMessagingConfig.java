@@ -18,4 +18,14 @@ public class CustomerMessagingConfig {
                 .replicas(1)
                 .build();
     }
+
+    @Bean
+    public NewTopic customerEventsTopic(
+            @Value("${customers.events.customer-topic-name}") String topicName) {
+
+        return TopicBuilder.name(topicName)
+                .partitions(3)
+                .replicas(1)
+                .build();
+    }
 }
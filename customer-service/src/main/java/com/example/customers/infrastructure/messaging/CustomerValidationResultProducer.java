@@ -3,47 +3,115 @@ package com.example.customers.infrastructure.messaging;
 import com.example.customers.domain.Customer;
 import com.example.customers.messaging.events.CustomerValidationResultPayload;
 import com.example.customers.messaging.events.CustomerValidationResultType;
-import io.micrometer.core.instrument.Counter;
+import com.example.customers.support.id.IdGenerator;
+import com.example.customers.support.metrics.Outcome;
+import com.example.customers.support.metrics.OutcomeMeters;
 import io.micrometer.core.instrument.MeterRegistry;
-import io.micrometer.core.instrument.Timer;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.kafka.clients.producer.RecordMetadata;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Profile;
+import org.springframework.kafka.KafkaException;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.kafka.support.SendResult;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 @Slf4j
 @Component
-@RequiredArgsConstructor
 @Profile("event-driven")
 public class CustomerValidationResultProducer {
 
     private final KafkaTemplate<String, CustomerValidationResultPayload> kafkaTemplate;
-    private final MeterRegistry meterRegistry;
+    private final IdGenerator idGenerator;
+
+    // Timer + Counter je outcome, einmalig beim Start registriert
+    private final OutcomeMeters<PublishedEvent> meters;
 
     @Value("${customers.events.validation-topic-name}")
     private String validationTopicName;
 
+    public CustomerValidationResultProducer(KafkaTemplate<String, CustomerValidationResultPayload> kafkaTemplate,
+                                            IdGenerator idGenerator,
+                                            MeterRegistry meterRegistry) {
+        this.kafkaTemplate = kafkaTemplate;
+        this.idGenerator = idGenerator;
+        this.meters = OutcomeMeters.builder(PublishedEvent.class, "eventType")
+                .outcomes(Outcome.SUCCESS, Outcome.ERROR, Outcome.EXCEPTION)
+                .timer("customers.events.publish.latency", "Latency for publishing customer validation result events to Kafka")
+                .counter("customers.events.published", "Number of customer validation result events published to Kafka")
+                .register(meterRegistry);
+    }
+
+    enum PublishedEvent {
+        CUSTOMER_VALIDATION_RESULT
+    }
+
+    /**
+     * Ergebnis der Kundenprüfung für einen Claim; {@code customer} ist null, wenn der Kunde unbekannt ist.
+     */
+    public record Validation(UUID claimId, UUID customerId, String customerNumber, Customer customer) {
+    }
+
     public void publishValidationResult(UUID claimId,
                                         UUID customerId,
                                         String customerNumber,
                                         Customer customer) {
 
+        send(new Validation(claimId, customerId, customerNumber, customer));
+    }
+
+    /**
+     * Übergibt alle Ergebnisse eines Batches an den Producer, sendet sie sofort (flush statt
+     * linger.ms) und wartet auf die Bestätigungen. Kehrt erst zurück, wenn alle Records
+     * geschrieben sind, der Aufrufer darf danach den Consumer-Batch committen.
+     */
+    public void publishValidationResults(List<Validation> validations, Duration timeout) {
+        if (validations.isEmpty()) {
+            return;
+        }
+
+        List<CompletableFuture<?>> acks = new ArrayList<>(validations.size());
+        for (Validation validation : validations) {
+            acks.add(send(validation));
+        }
+        kafkaTemplate.flush();
+
+        try {
+            CompletableFuture.allOf(acks.toArray(CompletableFuture[]::new)).get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new KafkaException("Interrupted while waiting for CustomerValidationResult acks", ex);
+        } catch (ExecutionException ex) {
+            throw new KafkaException("Publishing CustomerValidationResult batch failed", ex.getCause());
+        } catch (TimeoutException ex) {
+            throw new KafkaException("CustomerValidationResult batch not acknowledged within " + timeout.toMillis() + " ms", ex);
+        }
+    }
+
+    private CompletableFuture<SendResult<String, CustomerValidationResultPayload>> send(Validation validation) {
+
+        UUID claimId = validation.claimId();
+        UUID customerId = validation.customerId();
+        String customerNumber = validation.customerNumber();
+        Customer customer = validation.customer();
+
         boolean valid = customer != null && customer.isCustomerDataValid();
 
-        Timer.Sample sample = Timer.start(meterRegistry);
-        String outcome = "success";
+        long start = System.nanoTime();
 
         try {
             CustomerValidationResultPayload payload = CustomerValidationResultPayload.builder()
-                    .eventId(UUID.randomUUID())
+                    .eventId(idGenerator.next())
                     .eventType(valid
                             ? CustomerValidationResultType.CUSTOMER_VALIDATION_PASSED
                             : CustomerValidationResultType.CUSTOMER_VALIDATION_FAILED)
@@ -62,16 +130,13 @@ public class CustomerValidationResultProducer {
             CompletableFuture<SendResult<String, CustomerValidationResultPayload>> future =
                     kafkaTemplate.send(validationTopicName, key, payload);
 
-            future.whenComplete((sendResult, ex) -> {
+            return future.whenComplete((sendResult, ex) -> {
                 if (ex != null) {
-                    String errOutcome = "error";
-                    incrementCounter(errOutcome);
-                    stopSample(sample, errOutcome);
+                    meters.record(PublishedEvent.CUSTOMER_VALIDATION_RESULT, Outcome.ERROR, start);
                     log.error("Failed to publish CustomerValidationResult for claimId={} customerId={} customerNumber={}",
                             claimId, customerId, customerNumber, ex);
                 } else {
-                    incrementCounter("success");
-                    stopSample(sample, "success");
+                    meters.record(PublishedEvent.CUSTOMER_VALIDATION_RESULT, Outcome.SUCCESS, start);
                     if (log.isDebugEnabled() && sendResult != null) {
                         RecordMetadata metadata = sendResult.getRecordMetadata();
                         log.debug("Published CustomerValidationResult to topic={}, partition={}, offset={}",
@@ -81,33 +146,10 @@ public class CustomerValidationResultProducer {
             });
 
         } catch (Exception ex) {
-            outcome = "exception";
-            incrementCounter(outcome);
-            stopSample(sample, outcome);
+            meters.record(PublishedEvent.CUSTOMER_VALIDATION_RESULT, Outcome.EXCEPTION, start);
             log.error("Unexpected error while publishing CustomerValidationResult for claimId={} customerId={}",
                     claimId, customerId, ex);
             throw ex;
         }
     }
-
-    private void incrementCounter(String outcome) {
-        Counter.builder("customers.events.published")
-                .description("Number of customer validation result events published to Kafka")
-                .tag("eventType", "CUSTOMER_VALIDATION_RESULT")
-                .tag("outcome", outcome)
-                .register(meterRegistry)
-                .increment();
-    }
-
-    private void stopSample(Timer.Sample sample, String outcome) {
-        sample.stop(
-                Timer.builder("customers.events.publish.latency")
-                        .description("Latency for publishing customer validation result events to Kafka")
-                        .tag("eventType", "CUSTOMER_VALIDATION_RESULT")
-                        .tag("outcome", outcome)
-                        .publishPercentileHistogram(true)
-                        .publishPercentiles(0.5, 0.95, 0.99)
-                        .register(meterRegistry)
-        );
-    }
 }
@@ -1,19 +1,29 @@
 package com.example.customers.infrastructure.messaging;
 
+import com.example.customers.infrastructure.messaging.serialization.EventDeserializer;
+import com.example.customers.infrastructure.messaging.serialization.EventProtoCodec;
+import com.example.customers.infrastructure.messaging.serialization.EventTypeFilteringDeserializer;
 import com.example.customers.messaging.events.ClaimEventPayload;
+import com.example.customers.messaging.events.ClaimEventType;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.common.serialization.Deserializer;
 import org.apache.kafka.common.serialization.StringDeserializer;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.kafka.annotation.EnableKafka;
 import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
 import org.springframework.kafka.core.ConsumerFactory;
 import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.listener.ContainerProperties;
 import org.springframework.kafka.support.serializer.JacksonJsonDeserializer;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
 
 @EnableKafka
 @Configuration
@@ -25,6 +35,9 @@ public class KafkaConsumerConfig {
     @Value("${spring.kafka.consumer.group-id:customer-service}")
     private String groupId;
 
+    @Value("${customers.kafka.claim-events.header-filter.enabled:true}")
+    private boolean headerFilterEnabled;
+
     @Bean
     public Map<String, Object> consumerConfigs() {
         Map<String, Object> props = new HashMap<>();
@@ -38,15 +51,34 @@ public class KafkaConsumerConfig {
     }
 
     @Bean
-    public ConsumerFactory<String, ClaimEventPayload> consumerFactory() {
-        JacksonJsonDeserializer<ClaimEventPayload> deserializer =
+    public ConsumerFactory<String, ClaimEventPayload> consumerFactory(MeterRegistry meterRegistry) {
+        JacksonJsonDeserializer<ClaimEventPayload> jsonDeserializer =
                 new JacksonJsonDeserializer<>(ClaimEventPayload.class);
-        deserializer.addTrustedPackages("*");
+        jsonDeserializer.addTrustedPackages("*");
+
+        // JSON oder Protobuf je nach Header "event-format" des Records
+        Deserializer<ClaimEventPayload> valueDeserializer = new EventDeserializer<>(
+                "claim_event",
+                jsonDeserializer,
+                EventProtoCodec::decodeClaimEvent,
+                meterRegistry
+        );
+
+        if (headerFilterEnabled) {
+            // nur CLAIM_SUBMITTED wird verarbeitet, andere Typen gar nicht erst parsen
+            valueDeserializer = new EventTypeFilteringDeserializer<>(
+                    "claim_event",
+                    ClaimEventType.class,
+                    Set.of(ClaimEventType.CLAIM_SUBMITTED),
+                    valueDeserializer,
+                    meterRegistry
+            );
+        }
 
         return new DefaultKafkaConsumerFactory<>(
                 consumerConfigs(),
                 new StringDeserializer(),
-                deserializer
+                valueDeserializer
         );
     }
 
@@ -59,6 +91,36 @@ public class KafkaConsumerConfig {
 
         factory.setConsumerFactory(consumerFactory);
         factory.setBatchListener(false);
+
+        // vom EventTypeFilteringDeserializer verworfene Records (Value null) erreichen den Listener nicht
+        factory.setRecordFilterStrategy(consumerRecord -> consumerRecord.value() == null);
+        factory.setAckDiscarded(true);
+        return factory;
+    }
+
+    /**
+     * Für den {@link ClaimEventsBatchConsumer}: ganzer Poll als Liste, ein Offset-Commit pro Batch.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "customers.kafka.claim-events.batch.enabled", havingValue = "true")
+    public ConcurrentKafkaListenerContainerFactory<String, ClaimEventPayload> batchKafkaListenerContainerFactory(
+            ConsumerFactory<String, ClaimEventPayload> consumerFactory,
+            @Value("${customers.kafka.claim-events.batch.max-poll-records:500}") int maxPollRecords) {
+
+        ConcurrentKafkaListenerContainerFactory<String, ClaimEventPayload> factory =
+                new ConcurrentKafkaListenerContainerFactory<>();
+
+        factory.setConsumerFactory(consumerFactory);
+        factory.setBatchListener(true);
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.BATCH);
+
+        Properties consumerProperties = new Properties();
+        consumerProperties.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, maxPollRecords);
+        factory.getContainerProperties().setKafkaConsumerProperties(consumerProperties);
+
+        // verworfene Records werden vor dem Aufruf aus der Liste entfernt
+        factory.setRecordFilterStrategy(consumerRecord -> consumerRecord.value() == null);
+        factory.setAckDiscarded(true);
         return factory;
     }
 }
@@ -1,6 +1,11 @@
 package com.example.customers.infrastructure.messaging;
 
+import com.example.customers.infrastructure.messaging.serialization.EventFormat;
+import com.example.customers.infrastructure.messaging.serialization.EventProtoCodec;
+import com.example.customers.infrastructure.messaging.serialization.EventSerializer;
+import com.example.customers.messaging.events.CustomerEventPayload;
 import com.example.customers.messaging.events.CustomerValidationResultPayload;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.apache.kafka.clients.producer.ProducerConfig;
 import org.apache.kafka.common.serialization.StringSerializer;
 import org.springframework.beans.factory.annotation.Value;
@@ -16,26 +21,66 @@ import java.util.HashMap;
 import java.util.Map;
 
 @Configuration
-@Profile("event-driven")
 public class KafkaProducerConfig {
 
-    @Bean
-    public ProducerFactory<String, CustomerValidationResultPayload> customerValidationProducerFactory(
-            @Value("${spring.kafka.bootstrap-servers}") String bootstrapServers) {
-
+    private static Map<String, Object> baseProducerConfigs(String bootstrapServers) {
         Map<String, Object> props = new HashMap<>();
         props.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
         props.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
         props.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JacksonJsonSerializer.class);
         props.put(JacksonJsonSerializer.ADD_TYPE_INFO_HEADERS, false);
+        return props;
+    }
+
+    // -------------------------------------------------------------------------
+    // CustomerValidationResult (nur event-driven)
+    // -------------------------------------------------------------------------
+
+    @Bean
+    @Profile("event-driven")
+    public ProducerFactory<String, CustomerValidationResultPayload> customerValidationProducerFactory(
+            @Value("${spring.kafka.bootstrap-servers}") String bootstrapServers,
+            @Value("${customers.kafka.format.customer-validation-events:json}") String format,
+            MeterRegistry meterRegistry) {
+
+        JacksonJsonSerializer<CustomerValidationResultPayload> jsonSerializer = new JacksonJsonSerializer<>();
+        jsonSerializer.setAddTypeInfo(false);
+
+        // Wire-Format per Konfiguration (json | protobuf), Consumer erkennen es am Header
+        EventSerializer<CustomerValidationResultPayload> valueSerializer = new EventSerializer<>(
+                "customer_validation_result",
+                EventFormat.fromConfig(format),
+                jsonSerializer,
+                EventProtoCodec::encodeCustomerValidationResult,
+                meterRegistry
+        );
 
-        return new DefaultKafkaProducerFactory<>(props);
+        return new DefaultKafkaProducerFactory<>(baseProducerConfigs(bootstrapServers), new StringSerializer(), valueSerializer);
     }
 
     @Bean
+    @Profile("event-driven")
     public KafkaTemplate<String, CustomerValidationResultPayload> customerValidationKafkaTemplate(
             ProducerFactory<String, CustomerValidationResultPayload> customerValidationProducerFactory) {
 
         return new KafkaTemplate<>(customerValidationProducerFactory);
     }
+
+    // -------------------------------------------------------------------------
+    // CustomerEvents (alle Profile)
+    // -------------------------------------------------------------------------
+
+    @Bean
+    public ProducerFactory<String, CustomerEventPayload> customerEventsProducerFactory(
+            @Value("${spring.kafka.bootstrap-servers}") String bootstrapServers) {
+
+        return new DefaultKafkaProducerFactory<>(baseProducerConfigs(bootstrapServers));
+    }
+
+    @Bean
+    public KafkaTemplate<String, CustomerEventPayload> customerEventsKafkaTemplate(
+            ProducerFactory<String, CustomerEventPayload> customerEventsProducerFactory) {
+
+        return new KafkaTemplate<>(customerEventsProducerFactory);
+    }
 }
@@ -0,0 +1,72 @@
+package com.example.customers.infrastructure.messaging.serialization;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Deserializer;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Liest ein Event im Format laut Header ({@link EventFormat#fromHeaders}): Protobuf über
+ * {@code protobufDecoder}, sonst JSON über den übergebenen Jackson-Deserializer.
+ *
+ * Metriken (getaggt mit payload, format, operation="deserialize"): customers.kafka.serde.bytes,
+ * customers.kafka.serde.latency.
+ */
+public class EventDeserializer<T> implements Deserializer<T> {
+
+    private static final EventFormat[] FORMATS = EventFormat.values();
+
+    private final Deserializer<T> jsonDeserializer;
+    private final Function<byte[], T> protobufDecoder;
+
+    private final DistributionSummary[] recordSize = new DistributionSummary[FORMATS.length];
+    private final Timer[] latency = new Timer[FORMATS.length];
+
+    public EventDeserializer(String payload,
+                             Deserializer<T> jsonDeserializer,
+                             Function<byte[], T> protobufDecoder,
+                             MeterRegistry meterRegistry) {
+        this.jsonDeserializer = jsonDeserializer;
+        this.protobufDecoder = protobufDecoder;
+        for (EventFormat format : FORMATS) {
+            recordSize[format.ordinal()] = SerdeMeters.recordSize(meterRegistry, payload, format, "deserialize");
+            latency[format.ordinal()] = SerdeMeters.latency(meterRegistry, payload, format, "deserialize");
+        }
+    }
+
+    @Override
+    public T deserialize(String topic, byte[] data) {
+        return deserialize(topic, null, data);
+    }
+
+    @Override
+    public T deserialize(String topic, Headers headers, byte[] data) {
+        if (data == null) {
+            return null;
+        }
+
+        EventFormat format = EventFormat.fromHeaders(headers);
+        long start = System.nanoTime();
+        T result;
+        if (format == EventFormat.PROTOBUF) {
+            result = protobufDecoder.apply(data);
+        } else {
+            result = headers != null
+                    ? jsonDeserializer.deserialize(topic, headers, data)
+                    : jsonDeserializer.deserialize(topic, data);
+        }
+
+        latency[format.ordinal()].record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        recordSize[format.ordinal()].record(data.length);
+        return result;
+    }
+
+    @Override
+    public void close() {
+        jsonDeserializer.close();
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.customers.infrastructure.messaging.serialization;
+
+import com.example.customers.messaging.events.ClaimEventPayload;
+import com.example.customers.messaging.events.ClaimEventType;
+import com.example.customers.messaging.events.CustomerValidationResultPayload;
+import com.example.events.proto.ClaimEvent;
+import com.example.events.proto.CustomerValidationResult;
+import com.example.events.proto.CustomerValidationResultType;
+import com.example.events.proto.Uuid;
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.google.protobuf.Timestamp;
+import org.apache.kafka.common.errors.SerializationException;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+/**
+ * Abbildung der Kafka-Payloads auf die Protobuf-Nachrichten aus {@code events.proto}.
+ * {@code null}-Felder werden nicht gesetzt; Zeitpunkte werden als UTC übertragen.
+ */
+public final class EventProtoCodec {
+
+    private EventProtoCodec() {
+    }
+
+    // -------------------------------------------------------------------------
+    // claims.claim-events (Consumer)
+    // -------------------------------------------------------------------------
+
+    public static ClaimEventPayload decodeClaimEvent(byte[] data) {
+        ClaimEvent event;
+        try {
+            event = ClaimEvent.parseFrom(data);
+        } catch (InvalidProtocolBufferException ex) {
+            throw new SerializationException("Invalid protobuf ClaimEvent", ex);
+        }
+
+        ClaimEventPayload payload = new ClaimEventPayload();
+        payload.setEventId(event.hasEventId() ? uuid(event.getEventId()) : null);
+        payload.setEventType(switch (event.getEventType()) {
+            case CLAIM_SUBMITTED -> ClaimEventType.CLAIM_SUBMITTED;
+            case CLAIM_IN_REVIEW -> ClaimEventType.CLAIM_IN_REVIEW;
+            case CLAIM_APPROVED -> ClaimEventType.CLAIM_APPROVED;
+            case CLAIM_REJECTED -> ClaimEventType.CLAIM_REJECTED;
+            case CLAIM_PAID_OUT -> ClaimEventType.CLAIM_PAID_OUT;
+            default -> null;
+        });
+        payload.setClaimId(event.hasClaimId() ? uuid(event.getClaimId()) : null);
+        payload.setPolicyId(event.hasPolicyId() ? uuid(event.getPolicyId()) : null);
+        payload.setCustomerId(event.hasCustomerId() ? uuid(event.getCustomerId()) : null);
+        payload.setDescription(nullIfEmpty(event.getDescription()));
+        payload.setReportedAmount(event.getReportedAmount().isEmpty() ? null : new BigDecimal(event.getReportedAmount()));
+        payload.setStatus(nullIfEmpty(event.getStatus()));
+        payload.setApproved(event.getApproved());
+        payload.setApprovedAmount(event.hasApprovedAmount() ? new BigDecimal(event.getApprovedAmount()) : null);
+        payload.setDecisionReason(event.hasDecisionReason() ? event.getDecisionReason() : null);
+        payload.setCreatedAt(event.hasCreatedAt() ? offsetDateTime(event.getCreatedAt()) : null);
+        payload.setLastUpdatedAt(event.hasLastUpdatedAt() ? offsetDateTime(event.getLastUpdatedAt()) : null);
+        return payload;
+    }
+
+    // -------------------------------------------------------------------------
+    // customers.customer-validation-events (Producer)
+    // -------------------------------------------------------------------------
+
+    public static byte[] encodeCustomerValidationResult(CustomerValidationResultPayload payload) {
+        CustomerValidationResult.Builder event = CustomerValidationResult.newBuilder()
+                .setAddressComplete(payload.isAddressComplete())
+                .setContactDataComplete(payload.isContactDataComplete())
+                .setCustomerDataValid(payload.isCustomerDataValid());
+
+        if (payload.getEventId() != null) {
+            event.setEventId(uuid(payload.getEventId()));
+        }
+        if (payload.getEventType() != null) {
+            event.setEventType(CustomerValidationResultType.valueOf(payload.getEventType().name()));
+        }
+        if (payload.getOccurredAt() != null) {
+            event.setOccurredAt(timestamp(payload.getOccurredAt()));
+        }
+        if (payload.getClaimId() != null) {
+            event.setClaimId(uuid(payload.getClaimId()));
+        }
+        if (payload.getCustomerId() != null) {
+            event.setCustomerId(uuid(payload.getCustomerId()));
+        }
+        if (payload.getCustomerNumber() != null) {
+            event.setCustomerNumber(payload.getCustomerNumber());
+        }
+
+        return event.build().toByteArray();
+    }
+
+    // -------------------------------------------------------------------------
+    // Hilfsfunktionen
+    // -------------------------------------------------------------------------
+
+    // proto3-Strings sind nie null, leer entspricht einem fehlenden Wert im JSON
+    private static String nullIfEmpty(String value) {
+        return value.isEmpty() ? null : value;
+    }
+
+    private static Uuid uuid(UUID value) {
+        return Uuid.newBuilder()
+                .setMostSignificantBits(value.getMostSignificantBits())
+                .setLeastSignificantBits(value.getLeastSignificantBits())
+                .build();
+    }
+
+    private static UUID uuid(Uuid value) {
+        return new UUID(value.getMostSignificantBits(), value.getLeastSignificantBits());
+    }
+
+    private static Timestamp timestamp(Instant value) {
+        return Timestamp.newBuilder()
+                .setSeconds(value.getEpochSecond())
+                .setNanos(value.getNano())
+                .build();
+    }
+
+    private static OffsetDateTime offsetDateTime(Timestamp value) {
+        return Instant.ofEpochSecond(value.getSeconds(), value.getNanos()).atOffset(ZoneOffset.UTC);
+    }
+}
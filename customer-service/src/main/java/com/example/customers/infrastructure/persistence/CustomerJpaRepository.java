@@ -3,6 +3,8 @@ package com.example.customers.infrastructure.persistence;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -10,4 +12,6 @@ import java.util.UUID;
 public interface CustomerJpaRepository extends JpaRepository<CustomerEntity, UUID> {
 
     Optional<CustomerEntity> findByCustomerNumber(String customerNumber);
+
+    List<CustomerEntity> findByCustomerNumberIn(Collection<String> customerNumbers);
 }
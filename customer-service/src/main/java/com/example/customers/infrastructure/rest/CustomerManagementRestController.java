@@ -0,0 +1,98 @@
+package com.example.customers.infrastructure.rest;
+
+import com.example.customers.api.dto.CustomerResponse;
+import com.example.customers.api.dto.UpdateCustomerRequest;
+import com.example.customers.api.mapper.CustomerResponseMapper;
+import com.example.customers.application.CustomerService;
+import com.example.customers.domain.Customer;
+import com.example.customers.support.metrics.Outcome;
+import com.example.customers.support.metrics.OutcomeMeters;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.UUID;
+
+/**
+ * Pflege von Kundendaten.
+ *
+ * Bewusst ohne @Profile: Änderungen müssen auch im gRPC-Setup möglich sein,
+ * damit die CUSTOMER_UPDATED-Events den Cache im claims-service invalidieren.
+ */
+@RestController
+@RequestMapping("/customers")
+@Slf4j
+public class CustomerManagementRestController {
+
+    private final CustomerService customerService;
+    private final CustomerResponseMapper customerResponseMapper;
+
+    // Timer + Counter je (method, outcome), einmalig beim Start registriert
+    private final OutcomeMeters<Endpoint> meters;
+
+    public CustomerManagementRestController(CustomerService customerService,
+                                            CustomerResponseMapper customerResponseMapper,
+                                            MeterRegistry meterRegistry) {
+        this.customerService = customerService;
+        this.customerResponseMapper = customerResponseMapper;
+        this.meters = OutcomeMeters.builder(Endpoint.class, "method")
+                .keyTagValue(Endpoint::tagValue)
+                .outcomes(Outcome.SUCCESS, Outcome.NOT_FOUND, Outcome.ERROR)
+                .timer("customers.rest.latency", "REST latency per customer REST endpoint")
+                .counter("customers.rest.requests", "REST request count per customer REST endpoint")
+                .register(meterRegistry);
+    }
+
+    enum Endpoint {
+        UPDATE_CUSTOMER("updateCustomer");
+
+        private final String tagValue;
+
+        Endpoint(String tagValue) {
+            this.tagValue = tagValue;
+        }
+
+        String tagValue() {
+            return tagValue;
+        }
+    }
+
+    @PutMapping("/{customerId}")
+    public ResponseEntity<CustomerResponse> updateCustomer(
+            @PathVariable("customerId") UUID customerId,
+            @RequestBody UpdateCustomerRequest request) {
+
+        long start = System.nanoTime();
+        Outcome outcome = Outcome.SUCCESS;
+
+        try {
+            log.info("REST updateCustomer called for customerId={}", customerId);
+
+            Customer changes = Customer.builder()
+                    .firstName(request.getFirstName())
+                    .lastName(request.getLastName())
+                    .street(request.getStreet())
+                    .postalCode(request.getPostalCode())
+                    .city(request.getCity())
+                    .email(request.getEmail())
+                    .phoneNumber(request.getPhoneNumber())
+                    .build();
+
+            var updated = customerService.updateCustomer(customerId, changes);
+            if (updated.isEmpty()) {
+                outcome = Outcome.NOT_FOUND;
+                return ResponseEntity.notFound().build();
+            }
+
+            return ResponseEntity.ok(customerResponseMapper.toResponse(updated.get()));
+
+        } catch (Exception ex) {
+            outcome = Outcome.ERROR;
+            log.error("Error handling REST updateCustomer for customerId {}: {}", customerId, ex.getMessage(), ex);
+            throw ex;
+        } finally {
+            meters.record(Endpoint.UPDATE_CUSTOMER, outcome, start);
+        }
+    }
+}
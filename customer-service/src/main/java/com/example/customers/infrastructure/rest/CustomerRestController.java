@@ -1,33 +1,68 @@
 package com.example.customers.infrastructure.rest;
 
 import com.example.customers.application.CustomerService;
+import com.example.customers.support.metrics.Outcome;
+import com.example.customers.support.metrics.OutcomeMeters;
 import io.micrometer.core.instrument.MeterRegistry;
-import io.micrometer.core.instrument.Timer;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Profile;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 @RestController
 @RequestMapping("/customers")
-@RequiredArgsConstructor
 @Slf4j
 @Profile("rest")
 public class CustomerRestController {
 
     private final CustomerService customerService;
-    private final MeterRegistry meterRegistry;
+
+    // Timer + Counter je (method, outcome), einmalig beim Start registriert
+    private final OutcomeMeters<Endpoint> meters;
+
+    // Obergrenze für GET /customers/valid?ids=, hält die IN-Query unter dem Bind-Parameter-Limit von Postgres
+    private final int maxBatchIds;
+
+    public CustomerRestController(CustomerService customerService,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${customers.batch.max-ids:1000}") int maxBatchIds) {
+        this.customerService = customerService;
+        this.maxBatchIds = maxBatchIds;
+        this.meters = OutcomeMeters.builder(Endpoint.class, "method")
+                .keyTagValue(Endpoint::tagValue)
+                .outcomes(Outcome.SUCCESS, Outcome.INVALID_ARGUMENT, Outcome.ERROR)
+                .timer("customers.rest.latency", "REST latency per customer REST endpoint")
+                .counter("customers.rest.requests", "REST request count per customer REST endpoint")
+                .register(meterRegistry);
+    }
+
+    enum Endpoint {
+        IS_CUSTOMER_DATA_VALID("isCustomerDataValid"),
+        VALIDATE_CUSTOMERS("validateCustomers");
+
+        private final String tagValue;
+
+        Endpoint(String tagValue) {
+            this.tagValue = tagValue;
+        }
+
+        String tagValue() {
+            return tagValue;
+        }
+    }
 
     @GetMapping("/{customerId}/valid")
     public ResponseEntity<Boolean> isCustomerDataValid(
             @PathVariable("customerId") UUID customerId,
             @RequestHeader(name = "X-Caller-Service", required = false) String callerService) {
 
-        Timer.Sample sample = Timer.start(meterRegistry);
-        String outcome = "success";
+        long start = System.nanoTime();
+        Outcome outcome = Outcome.SUCCESS;
 
         try {
             log.info(
@@ -44,12 +79,10 @@ public class CustomerRestController {
                     valid
             );
 
-            incrementRestCounter("isCustomerDataValid", "success");
             return ResponseEntity.ok(valid);
 
         } catch (Exception ex) {
-            outcome = "error";
-            incrementRestCounter("isCustomerDataValid", outcome);
+            outcome = Outcome.ERROR;
             log.error(
                     "Error handling REST isCustomerDataValid for customerId {}: {}",
                     customerId,
@@ -58,32 +91,51 @@ public class CustomerRestController {
             );
             throw ex;
         } finally {
-            stopRestTimer(sample, "isCustomerDataValid", outcome);
+            meters.record(Endpoint.IS_CUSTOMER_DATA_VALID, outcome, start);
         }
     }
 
-    // -------------------------------------------------------------------------
-    // Metrics helpers
-    // -------------------------------------------------------------------------
-
-    private void stopRestTimer(Timer.Sample sample, String method, String outcome) {
-        sample.stop(
-                Timer.builder("customers.rest.latency")
-                        .description("REST latency per customer REST endpoint")
-                        .tag("method", method)
-                        .tag("outcome", outcome)
-                        .publishPercentileHistogram(true)
-                        .publishPercentiles(0.5, 0.95, 0.99)
-                        .register(meterRegistry)
-        );
-    }
+    /**
+     * Batch-Validierung: GET /customers/valid?ids=a,b,c.
+     * Antwort enthält jede angefragte ID, unbekannte Kunden sind false.
+     * Mehr als {@code customers.batch.max-ids} IDs werden mit 400 abgelehnt.
+     */
+    @GetMapping(value = "/valid", params = "ids")
+    public ResponseEntity<Map<UUID, Boolean>> validateCustomers(
+            @RequestParam("ids") List<UUID> customerIds,
+            @RequestHeader(name = "X-Caller-Service", required = false) String callerService) {
+
+        long start = System.nanoTime();
+        Outcome outcome = Outcome.SUCCESS;
+
+        try {
+            log.debug(
+                    "REST validateCustomers called for {} customerIds from callerService={}",
+                    customerIds.size(),
+                    callerService != null ? callerService : "unknown"
+            );
+
+            if (customerIds.size() > maxBatchIds) {
+                outcome = Outcome.INVALID_ARGUMENT;
+                log.warn("Rejecting REST validateCustomers with {} customerIds (max {})", customerIds.size(), maxBatchIds);
+                return ResponseEntity.badRequest().build();
+            }
 
-    private void incrementRestCounter(String method, String outcome) {
-        meterRegistry.counter(
-                        "customers.rest.requests",
-                        "method", method,
-                        "outcome", outcome
-                )
-                .increment();
+            Map<UUID, Boolean> valid = customerService.validateCustomersById(customerIds.stream().distinct().toList());
+
+            return ResponseEntity.ok(valid);
+
+        } catch (Exception ex) {
+            outcome = Outcome.ERROR;
+            log.error(
+                    "Error handling REST validateCustomers for {} customerIds: {}",
+                    customerIds.size(),
+                    ex.getMessage(),
+                    ex
+            );
+            throw ex;
+        } finally {
+            meters.record(Endpoint.VALIDATE_CUSTOMERS, outcome, start);
+        }
     }
 }
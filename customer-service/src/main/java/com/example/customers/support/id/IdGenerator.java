@@ -0,0 +1,17 @@
+package com.example.customers.support.id;
+
+import java.util.UUID;
+
+/**
+ * Quelle für Event-IDs der produzierten Result-Events.
+ *
+ * Standard ist {@link UUID#randomUUID()} (v4). Mit {@code customers.ids.uuid-v7.enabled} liefert
+ * {@link UuidV7Generator} zeitlich geordnete UUIDv7, siehe {@link IdGeneratorConfig}.
+ */
+@FunctionalInterface
+public interface IdGenerator {
+
+    IdGenerator RANDOM = UUID::randomUUID;
+
+    UUID next();
+}
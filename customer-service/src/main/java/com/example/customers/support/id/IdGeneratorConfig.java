@@ -0,0 +1,21 @@
+package com.example.customers.support.id;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Wählt den {@link IdGenerator} für Event-IDs.
+ * Default bleibt v4, damit bestehende Messreihen vergleichbar sind.
+ */
+@Slf4j
+@Configuration
+public class IdGeneratorConfig {
+
+    @Bean
+    public IdGenerator idGenerator(@Value("${customers.ids.uuid-v7.enabled:false}") boolean uuidV7Enabled) {
+        log.info("Event id generator: {}", uuidV7Enabled ? "uuid-v7" : "uuid-v4");
+        return uuidV7Enabled ? new UuidV7Generator() : IdGenerator.RANDOM;
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.customers.support.id;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * UUIDv7 nach RFC 9562: 48 Bit Unix-Zeit in Millisekunden, 12 Bit Sequenz (rand_a),
+ * 62 Bit Zufall (rand_b). Event-IDs sind damit nach Erzeugungszeit sortierbar, und ein
+ * Empfänger, der sie indiziert, fügt am rechten Rand des B-Baums ein statt verstreut wie bei v4.
+ *
+ * Monoton je Instanz: Zeitstempel und Sequenz liegen zusammen in einem {@link AtomicLong}
+ * und werden per CAS um mindestens eins erhöht (RFC 9562, Abschnitt 6.2, Methode 1).
+ * Läuft die Sequenz innerhalb einer Millisekunde über, zählt der Zeitstempel vor,
+ * bis die Uhr aufgeholt hat. Geht die Uhr zurück, wird ebenso vom letzten Wert weitergezählt.
+ *
+ * Lock-frei, der Zufall kommt aus {@link ThreadLocalRandom}; pro ID wird nur die UUID allokiert.
+ */
+public final class UuidV7Generator implements IdGenerator {
+
+    private static final int SEQUENCE_BITS = 12;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+    private static final long VERSION = 0x7L << SEQUENCE_BITS;
+    private static final long VARIANT = 0x8000000000000000L;
+    private static final long RAND_B_MASK = 0x3FFFFFFFFFFFFFFFL;
+
+    // (Millisekunden << 12) | Sequenz der zuletzt vergebenen ID
+    private final AtomicLong last = new AtomicLong();
+
+    @Override
+    public UUID next() {
+        long timestampAndSequence = nextTimestampAndSequence();
+
+        long millis = timestampAndSequence >>> SEQUENCE_BITS;
+        long msb = (millis << 16) | VERSION | (timestampAndSequence & SEQUENCE_MASK);
+        long lsb = VARIANT | (ThreadLocalRandom.current().nextLong() & RAND_B_MASK);
+        return new UUID(msb, lsb);
+    }
+
+    private long nextTimestampAndSequence() {
+        // neue Millisekunde: Sequenz startet bei 0, sonst letzter Wert + 1
+        long now = System.currentTimeMillis() << SEQUENCE_BITS;
+        while (true) {
+            long previous = last.get();
+            long next = Math.max(now, previous + 1);
+            if (last.compareAndSet(previous, next)) {
+                return next;
+            }
+        }
+    }
+}
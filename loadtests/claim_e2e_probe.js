@@ -19,6 +19,11 @@ import { Trend, Rate } from 'k6/metrics';
  *   consumed BOTH downstream result events (policy + customer), measured via
  *   Prometheus counters.
  *
+ * Note: claim-service now records the event-driven E2E latency natively
+ *   (claims_saga_completion_seconds histogram, claims_saga_timeout_total),
+ *   which also works at full arrival rate. This probe remains for
+ *   cross-pattern comparisons from the client's point of view.
+ *
  * How to run (via your run-loadtest.sh after you add the "e2e" menu entries):
  * - Use low rates / 1 VU for clean E2E:
  *   RATE=1 DURATION=10m VUS=1 MAX_VUS=1 ./run-loadtest.sh
@@ -2,6 +2,8 @@ package com.example.policies.application;
 
 import com.example.policies.domain.Policy;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -10,4 +12,9 @@ public interface PolicyService {
     Optional<Policy> findById(UUID policyId);
 
     Optional<Policy> findByPolicyNumber(String policyNumber);
+
+    /**
+     * Lädt mehrere Policen mit einer einzigen Query. Nicht gefundene IDs fehlen im Ergebnis.
+     */
+    List<Policy> findAllById(Collection<UUID> policyIds);
 }
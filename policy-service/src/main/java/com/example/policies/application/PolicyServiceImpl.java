@@ -7,6 +7,8 @@ import com.example.policies.infrastructure.persistence.PolicyJpaRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -28,4 +30,14 @@ public class PolicyServiceImpl implements PolicyService {
         return policyJpaRepository.findByPolicyNumber(policyNumber)
                 .map(policyEntityMapper::toDomain);
     }
+
+    @Override
+    public List<Policy> findAllById(Collection<UUID> policyIds) {
+        if (policyIds.isEmpty()) {
+            return List.of();
+        }
+        return policyJpaRepository.findAllById(policyIds).stream()
+                .map(policyEntityMapper::toDomain)
+                .toList();
+    }
 }
@@ -2,19 +2,22 @@ package com.example.policies.infrastructure.grpc;
 
 import com.example.policies.application.PolicyService;
 import com.example.policies.domain.Policy;
+import com.example.policies.grpc.GetPoliciesRequest;
+import com.example.policies.grpc.GetPoliciesResponse;
 import com.example.policies.grpc.GetPolicyRequest;
 import com.example.policies.grpc.GetPolicyResponse;
 import com.example.policies.grpc.PolicyServiceGrpc;
+import com.example.policies.support.metrics.Outcome;
+import com.example.policies.support.metrics.OutcomeMeters;
 import io.grpc.Status;
 import io.grpc.stub.StreamObserver;
-import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.MeterRegistry;
-import io.micrometer.core.instrument.Timer;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import net.devh.boot.grpc.server.service.GrpcService;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Profile;
 
+import java.util.List;
 import java.util.UUID;
 
 /**
@@ -23,44 +26,51 @@ import java.util.UUID;
  */
 @Slf4j
 @GrpcService
-@RequiredArgsConstructor
 @Profile("grpc")
 public class PolicyGrpcService extends PolicyServiceGrpc.PolicyServiceImplBase {
 
     private final com.example.policies.application.PolicyService policyService;
-    private final MeterRegistry meterRegistry;
 
-    private Timer.Sample startSample() {
-        return Timer.start(meterRegistry);
+    // Timer + Counter je (method, outcome), einmalig beim Start registriert
+    private final OutcomeMeters<Rpc> meters;
+
+    // Obergrenze für GetPolicies, hält findAllById unter dem Bind-Parameter-Limit von Postgres
+    private final int maxBatchIds;
+
+    public PolicyGrpcService(PolicyService policyService,
+                             MeterRegistry meterRegistry,
+                             @Value("${policies.batch.max-ids:1000}") int maxBatchIds) {
+        this.policyService = policyService;
+        this.maxBatchIds = maxBatchIds;
+        this.meters = OutcomeMeters.builder(Rpc.class, "method")
+                .keyTagValue(Rpc::tagValue)
+                .outcomes(Outcome.SUCCESS, Outcome.NOT_FOUND, Outcome.INVALID_ARGUMENT, Outcome.ERROR)
+                .timer("policies.grpc.latency", "gRPC latency per policies RPC")
+                .counter("policies.grpc.requests", "gRPC request count per policies RPC")
+                .register(meterRegistry);
     }
 
-    private void stopSample(Timer.Sample sample, String method, String outcome) {
-        sample.stop(
-                Timer.builder("policies.grpc.latency")
-                        .description("gRPC latency per policies RPC")
-                        .tag("method", method)
-                        .tag("outcome", outcome)
-                        .publishPercentileHistogram(true)
-                        .publishPercentiles(0.5, 0.95, 0.99)
-                        .register(meterRegistry)
-        );
-    }
+    enum Rpc {
+        GET_POLICY("GetPolicy"),
+        GET_POLICIES("GetPolicies");
+
+        private final String tagValue;
 
-    private void incrementCounter(String method, String outcome) {
-        Counter.builder("policies.grpc.requests")
-                .description("gRPC request count per policies RPC")
-                .tag("method", method)
-                .tag("outcome", outcome)
-                .register(meterRegistry)
-                .increment();
+        Rpc(String tagValue) {
+            this.tagValue = tagValue;
+        }
+
+        String tagValue() {
+            return tagValue;
+        }
     }
 
     @Override
     public void getPolicy(GetPolicyRequest request,
                           StreamObserver<GetPolicyResponse> responseObserver) {
 
-        Timer.Sample sample = startSample();
-        String outcome = "success";
+        long start = System.nanoTime();
+        Outcome outcome = Outcome.SUCCESS;
 
         log.info("Received gRPC policy lookup for policyId={} from callerService={}",
                 request.getPolicyId(), "claims-service");
@@ -70,8 +80,7 @@ public class PolicyGrpcService extends PolicyServiceGrpc.PolicyServiceImplBase {
 
             var policyOpt = policyService.findById(policyId);
             if (policyOpt.isEmpty()) {
-                outcome = "not_found";
-                incrementCounter("GetPolicy", outcome);
+                outcome = Outcome.NOT_FOUND;
                 responseObserver.onError(
                         Status.NOT_FOUND
                                 .withDescription("Policy not found: " + request.getPolicyId())
@@ -80,28 +89,14 @@ public class PolicyGrpcService extends PolicyServiceGrpc.PolicyServiceImplBase {
                 return;
             }
 
-            var domainPolicy = policyOpt.get();
-
-            com.example.policies.grpc.Policy protoPolicy =
-                    com.example.policies.grpc.Policy.newBuilder()
-                            .setId(domainPolicy.getId().toString())
-                            .setPolicyNumber(domainPolicy.getPolicyNumber())
-                            .setProductCode(domainPolicy.getProductCode())
-                            .setStatus(domainPolicy.getStatus().name())
-                            .setValidFrom(domainPolicy.getValidFrom().toString())
-                            .setValidTo(domainPolicy.getValidTo().toString())
-                            .build();
-
             GetPolicyResponse response = GetPolicyResponse.newBuilder()
-                    .setPolicy(protoPolicy)
+                    .setPolicy(toProto(policyOpt.get()))
                     .build();
 
-            incrementCounter("GetPolicy", "success");
             responseObserver.onNext(response);
             responseObserver.onCompleted();
         } catch (IllegalArgumentException ex) {
-            outcome = "invalid_argument";
-            incrementCounter("GetPolicy", outcome);
+            outcome = Outcome.INVALID_ARGUMENT;
             responseObserver.onError(
                     Status.INVALID_ARGUMENT
                             .withDescription("Invalid policyId: " + request.getPolicyId())
@@ -109,8 +104,7 @@ public class PolicyGrpcService extends PolicyServiceGrpc.PolicyServiceImplBase {
                             .asRuntimeException()
             );
         } catch (Exception ex) {
-            outcome = "error";
-            incrementCounter("GetPolicy", outcome);
+            outcome = Outcome.ERROR;
             responseObserver.onError(
                     Status.INTERNAL
                             .withDescription("Unexpected error in getPolicy")
@@ -118,7 +112,79 @@ public class PolicyGrpcService extends PolicyServiceGrpc.PolicyServiceImplBase {
                             .asRuntimeException()
             );
         } finally {
-            stopSample(sample, "GetPolicy", outcome);
+            meters.record(Rpc.GET_POLICY, outcome, start);
+        }
+    }
+
+    /**
+     * Batch-Lookup mit einer einzigen DB-Query. Nicht gefundene IDs fehlen in der Antwort,
+     * der Aufrufer ordnet die Ergebnisse über die ID zu. Mehr als {@code policies.batch.max-ids}
+     * IDs werden mit INVALID_ARGUMENT abgelehnt.
+     */
+    @Override
+    public void getPolicies(GetPoliciesRequest request,
+                            StreamObserver<GetPoliciesResponse> responseObserver) {
+
+        long start = System.nanoTime();
+        Outcome outcome = Outcome.SUCCESS;
+
+        log.debug("Received gRPC batch policy lookup for {} policyIds", request.getPolicyIdsCount());
+
+        if (request.getPolicyIdsCount() > maxBatchIds) {
+            log.warn("Rejecting gRPC batch policy lookup with {} policyIds (max {})",
+                    request.getPolicyIdsCount(), maxBatchIds);
+            responseObserver.onError(
+                    Status.INVALID_ARGUMENT
+                            .withDescription("Too many policyIds in batch request: "
+                                    + request.getPolicyIdsCount() + " (max " + maxBatchIds + ")")
+                            .asRuntimeException()
+            );
+            meters.record(Rpc.GET_POLICIES, Outcome.INVALID_ARGUMENT, start);
+            return;
         }
+
+        try {
+            List<UUID> policyIds = request.getPolicyIdsList().stream()
+                    .map(UUID::fromString)
+                    .distinct()
+                    .toList();
+
+            GetPoliciesResponse.Builder response = GetPoliciesResponse.newBuilder();
+            for (Policy policy : policyService.findAllById(policyIds)) {
+                response.addPolicies(toProto(policy));
+            }
+
+            responseObserver.onNext(response.build());
+            responseObserver.onCompleted();
+        } catch (IllegalArgumentException ex) {
+            outcome = Outcome.INVALID_ARGUMENT;
+            responseObserver.onError(
+                    Status.INVALID_ARGUMENT
+                            .withDescription("Invalid policyId in batch request")
+                            .withCause(ex)
+                            .asRuntimeException()
+            );
+        } catch (Exception ex) {
+            outcome = Outcome.ERROR;
+            responseObserver.onError(
+                    Status.INTERNAL
+                            .withDescription("Unexpected error in getPolicies")
+                            .withCause(ex)
+                            .asRuntimeException()
+            );
+        } finally {
+            meters.record(Rpc.GET_POLICIES, outcome, start);
+        }
+    }
+
+    private com.example.policies.grpc.Policy toProto(Policy domainPolicy) {
+        return com.example.policies.grpc.Policy.newBuilder()
+                .setId(domainPolicy.getId().toString())
+                .setPolicyNumber(domainPolicy.getPolicyNumber())
+                .setProductCode(domainPolicy.getProductCode())
+                .setStatus(domainPolicy.getStatus().name())
+                .setValidFrom(domainPolicy.getValidFrom().toString())
+                .setValidTo(domainPolicy.getValidTo().toString())
+                .build();
     }
 }
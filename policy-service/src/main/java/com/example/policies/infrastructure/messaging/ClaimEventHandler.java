@@ -0,0 +1,100 @@
+package com.example.policies.infrastructure.messaging;
+
+import com.example.policies.application.PolicyService;
+import com.example.policies.domain.Policy;
+import com.example.policies.messaging.events.ClaimEventPayload;
+import com.example.policies.messaging.events.ClaimEventType;
+import com.example.policies.support.metrics.Outcome;
+import com.example.policies.support.metrics.OutcomeMeters;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+/**
+ * Verarbeitung eines Claim-Events (Policy laden, Deckung prüfen, Ergebnis publizieren),
+ * gemeinsam genutzt vom {@link ClaimEventsConsumer} und vom {@link ParallelClaimEventsConsumer}.
+ */
+@Slf4j
+@Component
+@Profile("event-driven")
+public class ClaimEventHandler {
+
+    private final PolicyService policyService;
+    private final PolicyEvaluationResultProducer evaluationResultProducer;
+
+    // Timer + Counter je (event_type, outcome), einmalig beim Start registriert
+    private final OutcomeMeters<ClaimEventType> meters;
+
+    public ClaimEventHandler(PolicyService policyService,
+                             PolicyEvaluationResultProducer evaluationResultProducer,
+                             MeterRegistry meterRegistry) {
+        this.policyService = policyService;
+        this.evaluationResultProducer = evaluationResultProducer;
+        this.meters = OutcomeMeters.builder(ClaimEventType.class, "event_type")
+                .outcomes(Outcome.SUCCESS, Outcome.IGNORED, Outcome.ERROR)
+                .timer("policies.kafka.consumer.latency", "Kafka consumer latency for claim events in policy-service")
+                .counter("policies.kafka.consumer.events", "Number of claim events processed in policy-service")
+                .register(meterRegistry);
+    }
+
+    public void handle(ClaimEventPayload event) {
+
+        String eventTypeName = event.getEventType() != null
+                ? event.getEventType().name()
+                : "UNKNOWN";
+
+        long start = System.nanoTime();
+        Outcome outcome = Outcome.SUCCESS;
+
+        try {
+            log.info("PolicyService received ClaimEvent: eventType={}, claimId={}, policyId={}",
+                    eventTypeName, event.getClaimId(), event.getPolicyId());
+
+            if (event.getEventType() != ClaimEventType.CLAIM_SUBMITTED) {
+                outcome = Outcome.IGNORED;
+                return;
+            }
+
+            Optional<Policy> policyOpt = Optional.empty();
+            if (event.getPolicyId() != null) {
+                policyOpt = policyService.findById(event.getPolicyId());
+            }
+
+            Policy policy = policyOpt.orElse(null);
+            boolean coverageValid = evaluateCoverage(policy);
+
+            evaluationResultProducer.publishPolicyEvaluationResult(
+                    event.getClaimId(),
+                    policy,
+                    coverageValid
+            );
+
+        } catch (Exception ex) {
+            outcome = Outcome.ERROR;
+            log.error("Error while handling ClaimEvent in PolicyService: {}", ex.getMessage(), ex);
+            throw ex;
+        } finally {
+            meters.record(event.getEventType(), outcome, start);
+        }
+    }
+
+    private boolean evaluateCoverage(Policy policy) {
+        if (policy == null) {
+            return false;
+        }
+
+        // sehr einfache Deckungslogik:
+        // - Policy ACTIVE
+        // - heutiges Datum liegt in [validFrom, validTo]
+        LocalDate today = LocalDate.now();
+        boolean withinValidity =
+                (policy.getValidFrom() == null || !today.isBefore(policy.getValidFrom())) &&
+                        (policy.getValidTo() == null || !today.isAfter(policy.getValidTo()));
+
+        return "ACTIVE".equalsIgnoreCase(policy.getStatus().name()) && withinValidity;
+    }
+}
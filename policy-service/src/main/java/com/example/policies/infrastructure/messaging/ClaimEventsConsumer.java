@@ -1,119 +1,28 @@
 package com.example.policies.infrastructure.messaging;
 
-import com.example.policies.application.PolicyService;
-import com.example.policies.domain.Policy;
 import com.example.policies.messaging.events.ClaimEventPayload;
-import com.example.policies.messaging.events.ClaimEventType;
-import io.micrometer.core.instrument.Counter;
-import io.micrometer.core.instrument.MeterRegistry;
-import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
-import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Profile;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.stereotype.Component;
 
-import java.time.LocalDate;
-import java.util.Optional;
-
-@Slf4j
+/**
+ * Standardmodus: ein Record nach dem anderen pro Partition, Offset-Commit durch den Container.
+ */
 @Component
-@RequiredArgsConstructor
 @Profile("event-driven")
+@ConditionalOnProperty(name = "policies.kafka.parallel-consumer.enabled", havingValue = "false", matchIfMissing = true)
+@RequiredArgsConstructor
 public class ClaimEventsConsumer {
 
-    private final PolicyService policyService;
-    private final PolicyEvaluationResultProducer evaluationResultProducer;
-    private final MeterRegistry meterRegistry;
-
-    private Timer.Sample startSample() {
-        return Timer.start(meterRegistry);
-    }
-
-    private void stopSample(Timer.Sample sample, String outcome, String eventType) {
-        sample.stop(
-                Timer.builder("policies.kafka.consumer.latency")
-                        .description("Kafka consumer latency for claim events in policy-service")
-                        .tag("event_type", eventType)
-                        .tag("outcome", outcome)
-                        .publishPercentileHistogram(true)
-                        .publishPercentiles(0.5, 0.95, 0.99)
-                        .register(meterRegistry)
-        );
-    }
-
-    private void incrementCounter(String outcome, String eventType) {
-        Counter.builder("policies.kafka.consumer.events")
-                .description("Number of claim events processed in policy-service")
-                .tag("event_type", eventType)
-                .tag("outcome", outcome)
-                .register(meterRegistry)
-                .increment();
-    }
+    private final ClaimEventHandler claimEventHandler;
 
     @KafkaListener(
             topics = "claims.claim-events",
             groupId = "policy-service"
     )
     public void onClaimEvent(ClaimEventPayload event) {
-
-        String eventTypeName = event.getEventType() != null
-                ? event.getEventType().name()
-                : "UNKNOWN";
-
-        Timer.Sample sample = startSample();
-        String outcome = "success";
-
-        try {
-            log.info("PolicyService received ClaimEvent: eventType={}, claimId={}, policyId={}",
-                    eventTypeName, event.getClaimId(), event.getPolicyId());
-
-            if (event.getEventType() != ClaimEventType.CLAIM_SUBMITTED) {
-                outcome = "ignored";
-                incrementCounter(outcome, eventTypeName);
-                return;
-            }
-
-            Optional<Policy> policyOpt = Optional.empty();
-            if (event.getPolicyId() != null) {
-                policyOpt = policyService.findById(event.getPolicyId());
-            }
-
-            Policy policy = policyOpt.orElse(null);
-            boolean coverageValid = evaluateCoverage(policy);
-
-            evaluationResultProducer.publishPolicyEvaluationResult(
-                    event.getClaimId(),
-                    policy,
-                    coverageValid
-            );
-
-            outcome = "success";
-            incrementCounter(outcome, eventTypeName);
-
-        } catch (Exception ex) {
-            outcome = "error";
-            incrementCounter(outcome, eventTypeName);
-            log.error("Error while handling ClaimEvent in PolicyService: {}", ex.getMessage(), ex);
-            throw ex;
-        } finally {
-            stopSample(sample, outcome, eventTypeName);
-        }
-    }
-
-    private boolean evaluateCoverage(Policy policy) {
-        if (policy == null) {
-            return false;
-        }
-
-        // sehr einfache Deckungslogik:
-        // - Policy ACTIVE
-        // - heutiges Datum liegt in [validFrom, validTo]
-        LocalDate today = LocalDate.now();
-        boolean withinValidity =
-                (policy.getValidFrom() == null || !today.isBefore(policy.getValidFrom())) &&
-                        (policy.getValidTo() == null || !today.isAfter(policy.getValidTo()));
-
-        return "ACTIVE".equalsIgnoreCase(policy.getStatus().name()) && withinValidity;
+        claimEventHandler.handle(event);
     }
 }
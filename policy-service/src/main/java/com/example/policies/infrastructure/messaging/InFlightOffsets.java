@@ -0,0 +1,80 @@
+package com.example.policies.infrastructure.messaging;
+
+import org.apache.kafka.common.TopicPartition;
+
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Offsets je Partition, die an einen Worker übergeben wurden, für die Metriken des
+ * {@link ParallelClaimEventsConsumer}.
+ *
+ * Committet werden kann nur bis vor den kleinsten noch offenen Offset einer Partition.
+ * Bereits abgeschlossene Records hinter diesem Offset zählen als Commit-Lag; sie werden
+ * erst mit dem Abschluss des blockierenden Records committet.
+ */
+final class InFlightOffsets {
+
+    private final Map<TopicPartition, PartitionOffsets> partitions = new ConcurrentHashMap<>();
+
+    void started(TopicPartition partition, long offset) {
+        partitions.computeIfAbsent(partition, ignored -> new PartitionOffsets()).started(offset);
+    }
+
+    void completed(TopicPartition partition, long offset) {
+        PartitionOffsets offsets = partitions.get(partition);
+        if (offsets != null) {
+            offsets.completed(offset);
+        }
+    }
+
+    int inFlight() {
+        int sum = 0;
+        for (PartitionOffsets offsets : partitions.values()) {
+            sum += offsets.inFlight;
+        }
+        return sum;
+    }
+
+    int commitLag() {
+        int sum = 0;
+        for (PartitionOffsets offsets : partitions.values()) {
+            sum += offsets.commitLag;
+        }
+        return sum;
+    }
+
+    private static final class PartitionOffsets {
+
+        private final TreeSet<Long> inFlightOffsets = new TreeSet<>();
+        private final TreeSet<Long> completedAhead = new TreeSet<>();
+
+        // für die Gauges ohne Lock lesbar
+        private volatile int inFlight;
+        private volatile int commitLag;
+
+        synchronized void started(long offset) {
+            inFlightOffsets.add(offset);
+            inFlight = inFlightOffsets.size();
+        }
+
+        synchronized void completed(long offset) {
+            inFlightOffsets.remove(offset);
+
+            if (inFlightOffsets.isEmpty()) {
+                completedAhead.clear();
+            } else {
+                long lowestOpen = inFlightOffsets.first();
+                if (offset > lowestOpen) {
+                    completedAhead.add(offset);
+                }
+                // alles vor dem kleinsten offenen Offset ist jetzt committbar
+                completedAhead.headSet(lowestOpen).clear();
+            }
+
+            inFlight = inFlightOffsets.size();
+            commitLag = completedAhead.size();
+        }
+    }
+}
@@ -1,6 +1,10 @@
 package com.example.policies.infrastructure.messaging;
 
+import com.example.policies.infrastructure.messaging.serialization.EventFormat;
+import com.example.policies.infrastructure.messaging.serialization.EventProtoCodec;
+import com.example.policies.infrastructure.messaging.serialization.EventSerializer;
 import com.example.policies.messaging.events.PolicyEvaluationResultPayload;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.apache.kafka.clients.producer.ProducerConfig;
 import org.apache.kafka.common.serialization.StringSerializer;
 import org.springframework.beans.factory.annotation.Value;
@@ -21,15 +25,26 @@ public class KafkaProducerConfig {
 
     @Bean
     public ProducerFactory<String, PolicyEvaluationResultPayload> policyEvaluationProducerFactory(
-            @Value("${spring.kafka.bootstrap-servers}") String bootstrapServers) {
+            @Value("${spring.kafka.bootstrap-servers}") String bootstrapServers,
+            @Value("${policies.kafka.format.policy-evaluation-events:json}") String format,
+            MeterRegistry meterRegistry) {
 
         Map<String, Object> props = new HashMap<>();
         props.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
-        props.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
-        props.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JacksonJsonSerializer.class);
-        props.put(JacksonJsonSerializer.ADD_TYPE_INFO_HEADERS, false);
 
-        return new DefaultKafkaProducerFactory<>(props);
+        JacksonJsonSerializer<PolicyEvaluationResultPayload> jsonSerializer = new JacksonJsonSerializer<>();
+        jsonSerializer.setAddTypeInfo(false);
+
+        // Wire-Format per Konfiguration (json | protobuf), Consumer erkennen es am Header
+        EventSerializer<PolicyEvaluationResultPayload> valueSerializer = new EventSerializer<>(
+                "policy_evaluation_result",
+                EventFormat.fromConfig(format),
+                jsonSerializer,
+                EventProtoCodec::encodePolicyEvaluationResult,
+                meterRegistry
+        );
+
+        return new DefaultKafkaProducerFactory<>(props, new StringSerializer(), valueSerializer);
     }
 
     @Bean
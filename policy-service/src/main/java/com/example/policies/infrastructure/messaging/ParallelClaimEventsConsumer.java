@@ -0,0 +1,173 @@
+package com.example.policies.infrastructure.messaging;
+
+import com.example.policies.messaging.events.ClaimEventPayload;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.stereotype.Component;
+
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parallelmodus für claims.claim-events: Records einer Partition werden auf einen festen
+ * Pool von Workern verteilt, statt nacheinander auf dem Listener-Thread verarbeitet zu werden.
+ *
+ * Reihenfolge je Key (claimId) bleibt erhalten: Jeder Key landet per Hash immer auf demselben
+ * Worker, und jeder Worker arbeitet seine Queue der Reihe nach ab.
+ *
+ * Jeder Worker bestätigt seinen Record selbst (AckMode MANUAL mit asyncAcks, siehe
+ * {@link KafkaConsumerConfig}). Der Container committet nur bis zum höchsten lückenlos
+ * bestätigten Offset und pausiert die Partitionen, bis der laufende Poll vollständig
+ * bestätigt ist. {@code max-poll-records} begrenzt damit die Zahl der Records in Arbeit.
+ *
+ * Schlägt die Verarbeitung fehl, wiederholt der Worker sie bis zu {@code retry.max-attempts}
+ * Mal mit verdoppeltem Backoff (höchstens {@code retry.max-backoff-ms}). Erst danach wird der
+ * Record bestätigt und in policies.kafka.consumer.dropped gezählt. Wird der Worker beim
+ * Herunterfahren unterbrochen, bleibt der Record unbestätigt und wird erneut zugestellt.
+ *
+ * Metriken: policies.kafka.consumer.in_flight, policies.kafka.consumer.commit_lag,
+ * policies.kafka.consumer.queue.wait, policies.kafka.consumer.dropped.
+ */
+@Slf4j
+@Component
+@Profile("event-driven")
+@ConditionalOnProperty(name = "policies.kafka.parallel-consumer.enabled", havingValue = "true")
+public class ParallelClaimEventsConsumer implements DisposableBean {
+
+    private final ClaimEventHandler claimEventHandler;
+    private final ExecutorService[] workers;
+    private final InFlightOffsets inFlightOffsets = new InFlightOffsets();
+    private final Timer queueWaitTimer;
+    private final Counter droppedCounter;
+    private final int maxAttempts;
+    private final long backoffMs;
+    private final long maxBackoffMs;
+
+    public ParallelClaimEventsConsumer(ClaimEventHandler claimEventHandler,
+                                       MeterRegistry meterRegistry,
+                                       @Value("${policies.kafka.parallel-consumer.workers:16}") int workerCount,
+                                       @Value("${policies.kafka.parallel-consumer.retry.max-attempts:3}") int maxAttempts,
+                                       @Value("${policies.kafka.parallel-consumer.retry.backoff-ms:100}") long backoffMs,
+                                       @Value("${policies.kafka.parallel-consumer.retry.max-backoff-ms:1000}") long maxBackoffMs) {
+        this.claimEventHandler = claimEventHandler;
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.backoffMs = Math.max(0, backoffMs);
+        this.maxBackoffMs = Math.max(this.backoffMs, maxBackoffMs);
+
+        this.workers = new ExecutorService[Math.max(1, workerCount)];
+        for (int i = 0; i < workers.length; i++) {
+            String name = "policies-claim-worker-" + i;
+            workers[i] = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, name);
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+
+        Gauge.builder("policies.kafka.consumer.in_flight", inFlightOffsets, InFlightOffsets::inFlight)
+                .description("Claim event records handed to workers and not yet acknowledged in policy-service")
+                .register(meterRegistry);
+        Gauge.builder("policies.kafka.consumer.commit_lag", inFlightOffsets, InFlightOffsets::commitLag)
+                .description("Completed claim event records that cannot be committed yet because an earlier offset is still in flight")
+                .register(meterRegistry);
+        this.queueWaitTimer = Timer.builder("policies.kafka.consumer.queue.wait")
+                .description("Time a claim event record waited for its worker in policy-service")
+                .publishPercentileHistogram(true)
+                .register(meterRegistry);
+        this.droppedCounter = Counter.builder("policies.kafka.consumer.dropped")
+                .description("Claim event records acknowledged without successful processing after all retries in policy-service")
+                .register(meterRegistry);
+
+        log.info("ParallelClaimEventsConsumer initialized: workers={}, maxAttempts={}, backoffMs={}, maxBackoffMs={}",
+                workers.length, this.maxAttempts, this.backoffMs, this.maxBackoffMs);
+    }
+
+    @KafkaListener(
+            topics = "claims.claim-events",
+            groupId = "policy-service",
+            containerFactory = "parallelKafkaListenerContainerFactory"
+    )
+    public void onClaimEvent(ConsumerRecord<String, ClaimEventPayload> record, Acknowledgment acknowledgment) {
+        TopicPartition partition = new TopicPartition(record.topic(), record.partition());
+        long offset = record.offset();
+
+        inFlightOffsets.started(partition, offset);
+        long dispatchedAt = System.nanoTime();
+
+        workerFor(record).execute(() -> {
+            queueWaitTimer.record(System.nanoTime() - dispatchedAt, TimeUnit.NANOSECONDS);
+            try {
+                if (handleWithRetry(record)) {
+                    acknowledgment.acknowledge();
+                }
+            } finally {
+                inFlightOffsets.completed(partition, offset);
+            }
+        });
+    }
+
+    /**
+     * @return {@code true}, wenn der Record bestätigt werden soll (verarbeitet oder nach allen
+     * Versuchen verworfen), {@code false}, wenn der Worker unterbrochen wurde
+     */
+    private boolean handleWithRetry(ConsumerRecord<String, ClaimEventPayload> record) {
+        long delayMs = backoffMs;
+        for (int attempt = 1; ; attempt++) {
+            try {
+                claimEventHandler.handle(record.value());
+                return true;
+            } catch (Exception ex) {
+                // Fehler selbst ist bereits vom Handler gezählt und protokolliert
+                if (attempt >= maxAttempts) {
+                    droppedCounter.increment();
+                    log.error("Dropping ClaimEvent record partition={} offset={} after {} attempts",
+                            record.partition(), record.offset(), attempt);
+                    return true;
+                }
+                log.warn("Retrying ClaimEvent record partition={} offset={} in {} ms (attempt {}/{})",
+                        record.partition(), record.offset(), delayMs, attempt, maxAttempts);
+            }
+            try {
+                Thread.sleep(delayMs);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                log.warn("Worker interrupted, leaving ClaimEvent record partition={} offset={} unacknowledged",
+                        record.partition(), record.offset());
+                return false;
+            }
+            delayMs = Math.min(delayMs * 2, maxBackoffMs);
+        }
+    }
+
+    private ExecutorService workerFor(ConsumerRecord<String, ClaimEventPayload> record) {
+        // Key ist die claimId; ohne Key die claimId aus dem Payload
+        Object key = record.key() != null ? record.key() : record.value().getClaimId();
+        return workers[Math.floorMod(Objects.hashCode(key), workers.length)];
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        for (ExecutorService worker : workers) {
+            worker.shutdown();
+        }
+        for (ExecutorService worker : workers) {
+            if (!worker.awaitTermination(5, TimeUnit.SECONDS)) {
+                // bricht laufende Backoffs ab, der Record bleibt unbestätigt
+                worker.shutdownNow();
+            }
+        }
+    }
+}
@@ -3,10 +3,10 @@ package com.example.policies.infrastructure.messaging;
 import com.example.policies.domain.Policy;
 import com.example.policies.messaging.events.PolicyEvaluationResultPayload;
 import com.example.policies.messaging.events.PolicyEvaluationResultType;
-import io.micrometer.core.instrument.Counter;
+import com.example.policies.support.id.IdGenerator;
+import com.example.policies.support.metrics.Outcome;
+import com.example.policies.support.metrics.OutcomeMeters;
 import io.micrometer.core.instrument.MeterRegistry;
-import io.micrometer.core.instrument.Timer;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.kafka.clients.producer.RecordMetadata;
 import org.springframework.beans.factory.annotation.Value;
@@ -21,24 +21,41 @@ import java.util.concurrent.CompletableFuture;
 
 @Slf4j
 @Component
-@RequiredArgsConstructor
 @Profile("event-driven")
 public class PolicyEvaluationResultProducer {
 
     private final KafkaTemplate<String, PolicyEvaluationResultPayload> kafkaTemplate;
-    private final MeterRegistry meterRegistry;
+    private final IdGenerator idGenerator;
+
+    // Timer + Counter je outcome, einmalig beim Start registriert
+    private final OutcomeMeters<PublishedEvent> meters;
 
     @Value("${policies.events.evaluation-topic-name}")
     private String evaluationTopicName;
 
+    public PolicyEvaluationResultProducer(KafkaTemplate<String, PolicyEvaluationResultPayload> kafkaTemplate,
+                                          IdGenerator idGenerator,
+                                          MeterRegistry meterRegistry) {
+        this.kafkaTemplate = kafkaTemplate;
+        this.idGenerator = idGenerator;
+        this.meters = OutcomeMeters.builder(PublishedEvent.class, "eventType")
+                .outcomes(Outcome.SUCCESS, Outcome.ERROR, Outcome.EXCEPTION)
+                .timer("policies.events.publish.latency", "Latency for publishing policy evaluation result events to Kafka")
+                .counter("policies.events.published", "Number of policy evaluation result events published to Kafka")
+                .register(meterRegistry);
+    }
+
+    enum PublishedEvent {
+        POLICY_EVALUATION_RESULT
+    }
+
     public void publishPolicyEvaluationResult(UUID claimId, Policy policy, boolean coverageValid) {
 
-        Timer.Sample sample = Timer.start(meterRegistry);
-        String outcome = "success";
+        long start = System.nanoTime();
 
         try {
             PolicyEvaluationResultPayload payload = PolicyEvaluationResultPayload.builder()
-                    .eventId(UUID.randomUUID())
+                    .eventId(idGenerator.next())
                     .eventType(coverageValid
                             ? PolicyEvaluationResultType.POLICY_EVALUATION_PASSED
                             : PolicyEvaluationResultType.POLICY_EVALUATION_FAILED)
@@ -61,13 +78,10 @@ public class PolicyEvaluationResultProducer {
 
             future.whenComplete((sendResult, ex) -> {
                 if (ex != null) {
-                    String errOutcome = "error";
-                    incrementCounter(errOutcome);
-                    stopSample(sample, errOutcome);
+                    meters.record(PublishedEvent.POLICY_EVALUATION_RESULT, Outcome.ERROR, start);
                     log.error("Failed to publish PolicyEvaluationResult for claimId={}", claimId, ex);
                 } else {
-                    incrementCounter("success");
-                    stopSample(sample, "success");
+                    meters.record(PublishedEvent.POLICY_EVALUATION_RESULT, Outcome.SUCCESS, start);
                     if (log.isDebugEnabled() && sendResult != null) {
                         RecordMetadata metadata = sendResult.getRecordMetadata();
                         log.debug("Published PolicyEvaluationResult to topic={}, partition={}, offset={}",
@@ -77,32 +91,9 @@ public class PolicyEvaluationResultProducer {
             });
 
         } catch (Exception ex) {
-            outcome = "exception";
-            incrementCounter(outcome);
-            stopSample(sample, outcome);
+            meters.record(PublishedEvent.POLICY_EVALUATION_RESULT, Outcome.EXCEPTION, start);
             log.error("Unexpected error while publishing PolicyEvaluationResult for claimId={}", claimId, ex);
             throw ex;
         }
     }
-
-    private void incrementCounter(String outcome) {
-        Counter.builder("policies.events.published")
-                .description("Number of policy evaluation result events published to Kafka")
-                .tag("eventType", "POLICY_EVALUATION_RESULT")
-                .tag("outcome", outcome)
-                .register(meterRegistry)
-                .increment();
-    }
-
-    private void stopSample(Timer.Sample sample, String outcome) {
-        sample.stop(
-                Timer.builder("policies.events.publish.latency")
-                        .description("Latency for publishing policy evaluation result events to Kafka")
-                        .tag("eventType", "POLICY_EVALUATION_RESULT")
-                        .tag("outcome", outcome)
-                        .publishPercentileHistogram(true)
-                        .publishPercentiles(0.5, 0.95, 0.99)
-                        .register(meterRegistry)
-        );
-    }
 }
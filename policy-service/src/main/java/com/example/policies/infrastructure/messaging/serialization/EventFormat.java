@@ -0,0 +1,41 @@
+package com.example.policies.infrastructure.messaging.serialization;
+
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.Headers;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Wire-Format eines Kafka-Events. Protobuf-Records tragen den Header {@value #HEADER},
+ * Records ohne Header sind JSON (bisheriges Format). Consumer erkennen das Format daher
+ * pro Record, umgestellt wird nur auf der Producer-Seite.
+ */
+public enum EventFormat {
+
+    JSON,
+    PROTOBUF;
+
+    public static final String HEADER = "event-format";
+
+    private final String tagValue = name().toLowerCase(Locale.ROOT);
+    private final byte[] headerValue = tagValue.getBytes(StandardCharsets.UTF_8);
+
+    public String tagValue() {
+        return tagValue;
+    }
+
+    byte[] headerValue() {
+        return headerValue;
+    }
+
+    public static EventFormat fromConfig(String value) {
+        return valueOf(value.trim().toUpperCase(Locale.ROOT));
+    }
+
+    static EventFormat fromHeaders(Headers headers) {
+        Header header = headers != null ? headers.lastHeader(HEADER) : null;
+        return header != null && Arrays.equals(header.value(), PROTOBUF.headerValue) ? PROTOBUF : JSON;
+    }
+}
@@ -0,0 +1,137 @@
+package com.example.policies.infrastructure.messaging.serialization;
+
+import com.example.events.proto.ClaimEvent;
+import com.example.events.proto.PolicyEvaluationResult;
+import com.example.events.proto.PolicyEvaluationResultType;
+import com.example.events.proto.Uuid;
+import com.example.policies.messaging.events.ClaimEventPayload;
+import com.example.policies.messaging.events.ClaimEventType;
+import com.example.policies.messaging.events.PolicyEvaluationResultPayload;
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.google.protobuf.Timestamp;
+import org.apache.kafka.common.errors.SerializationException;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+/**
+ * Abbildung der Kafka-Payloads auf die Protobuf-Nachrichten aus {@code events.proto}.
+ * {@code null}-Felder werden nicht gesetzt; Zeitpunkte werden als UTC übertragen.
+ */
+public final class EventProtoCodec {
+
+    private EventProtoCodec() {
+    }
+
+    // -------------------------------------------------------------------------
+    // claims.claim-events (Consumer)
+    // -------------------------------------------------------------------------
+
+    public static ClaimEventPayload decodeClaimEvent(byte[] data) {
+        ClaimEvent event;
+        try {
+            event = ClaimEvent.parseFrom(data);
+        } catch (InvalidProtocolBufferException ex) {
+            throw new SerializationException("Invalid protobuf ClaimEvent", ex);
+        }
+
+        ClaimEventPayload payload = new ClaimEventPayload();
+        payload.setEventId(event.hasEventId() ? uuid(event.getEventId()) : null);
+        payload.setEventType(switch (event.getEventType()) {
+            case CLAIM_SUBMITTED -> ClaimEventType.CLAIM_SUBMITTED;
+            case CLAIM_IN_REVIEW -> ClaimEventType.CLAIM_IN_REVIEW;
+            case CLAIM_APPROVED -> ClaimEventType.CLAIM_APPROVED;
+            case CLAIM_REJECTED -> ClaimEventType.CLAIM_REJECTED;
+            case CLAIM_PAID_OUT -> ClaimEventType.CLAIM_PAID_OUT;
+            default -> null;
+        });
+        payload.setClaimId(event.hasClaimId() ? uuid(event.getClaimId()) : null);
+        payload.setPolicyId(event.hasPolicyId() ? uuid(event.getPolicyId()) : null);
+        payload.setCustomerId(event.hasCustomerId() ? uuid(event.getCustomerId()) : null);
+        payload.setDescription(nullIfEmpty(event.getDescription()));
+        payload.setReportedAmount(event.getReportedAmount().isEmpty() ? null : new BigDecimal(event.getReportedAmount()));
+        payload.setStatus(nullIfEmpty(event.getStatus()));
+        payload.setApproved(event.getApproved());
+        payload.setApprovedAmount(event.hasApprovedAmount() ? new BigDecimal(event.getApprovedAmount()) : null);
+        payload.setDecisionReason(event.hasDecisionReason() ? event.getDecisionReason() : null);
+        payload.setCreatedAt(event.hasCreatedAt() ? offsetDateTime(event.getCreatedAt()) : null);
+        payload.setLastUpdatedAt(event.hasLastUpdatedAt() ? offsetDateTime(event.getLastUpdatedAt()) : null);
+        return payload;
+    }
+
+    // -------------------------------------------------------------------------
+    // policies.policy-evaluation-events (Producer)
+    // -------------------------------------------------------------------------
+
+    public static byte[] encodePolicyEvaluationResult(PolicyEvaluationResultPayload payload) {
+        PolicyEvaluationResult.Builder event = PolicyEvaluationResult.newBuilder()
+                .setCoverageValid(payload.isCoverageValid());
+
+        if (payload.getEventId() != null) {
+            event.setEventId(uuid(payload.getEventId()));
+        }
+        if (payload.getEventType() != null) {
+            event.setEventType(PolicyEvaluationResultType.valueOf(payload.getEventType().name()));
+        }
+        if (payload.getOccurredAt() != null) {
+            event.setOccurredAt(timestamp(payload.getOccurredAt()));
+        }
+        if (payload.getClaimId() != null) {
+            event.setClaimId(uuid(payload.getClaimId()));
+        }
+        if (payload.getPolicyId() != null) {
+            event.setPolicyId(uuid(payload.getPolicyId()));
+        }
+        if (payload.getPolicyNumber() != null) {
+            event.setPolicyNumber(payload.getPolicyNumber());
+        }
+        if (payload.getProductCode() != null) {
+            event.setProductCode(payload.getProductCode());
+        }
+        if (payload.getStatus() != null) {
+            event.setStatus(payload.getStatus());
+        }
+        if (payload.getValidFrom() != null) {
+            event.setValidFrom(payload.getValidFrom().toEpochDay());
+        }
+        if (payload.getValidTo() != null) {
+            event.setValidTo(payload.getValidTo().toEpochDay());
+        }
+
+        return event.build().toByteArray();
+    }
+
+    // -------------------------------------------------------------------------
+    // Hilfsfunktionen
+    // -------------------------------------------------------------------------
+
+    // proto3-Strings sind nie null, leer entspricht einem fehlenden Wert im JSON
+    private static String nullIfEmpty(String value) {
+        return value.isEmpty() ? null : value;
+    }
+
+    private static Uuid uuid(UUID value) {
+        return Uuid.newBuilder()
+                .setMostSignificantBits(value.getMostSignificantBits())
+                .setLeastSignificantBits(value.getLeastSignificantBits())
+                .build();
+    }
+
+    private static UUID uuid(Uuid value) {
+        return new UUID(value.getMostSignificantBits(), value.getLeastSignificantBits());
+    }
+
+    private static Timestamp timestamp(Instant value) {
+        return Timestamp.newBuilder()
+                .setSeconds(value.getEpochSecond())
+                .setNanos(value.getNano())
+                .build();
+    }
+
+    private static OffsetDateTime offsetDateTime(Timestamp value) {
+        return Instant.ofEpochSecond(value.getSeconds(), value.getNanos()).atOffset(ZoneOffset.UTC);
+    }
+}
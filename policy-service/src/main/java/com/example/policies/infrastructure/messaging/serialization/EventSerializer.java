@@ -0,0 +1,73 @@
+package com.example.policies.infrastructure.messaging.serialization;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Serializer;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Serialisiert ein Event im konfigurierten {@link EventFormat}: JSON über den übergebenen
+ * Jackson-Serializer, Protobuf über {@code protobufEncoder} (setzt zusätzlich den Format-Header).
+ *
+ * Metriken (getaggt mit payload, format, operation="serialize"): policies.kafka.serde.bytes,
+ * policies.kafka.serde.latency.
+ */
+public class EventSerializer<T> implements Serializer<T> {
+
+    private final EventFormat format;
+    private final Serializer<T> jsonSerializer;
+    private final Function<T, byte[]> protobufEncoder;
+
+    private final DistributionSummary recordSize;
+    private final Timer latency;
+
+    public EventSerializer(String payload,
+                           EventFormat format,
+                           Serializer<T> jsonSerializer,
+                           Function<T, byte[]> protobufEncoder,
+                           MeterRegistry meterRegistry) {
+        this.format = format;
+        this.jsonSerializer = jsonSerializer;
+        this.protobufEncoder = protobufEncoder;
+        this.recordSize = SerdeMeters.recordSize(meterRegistry, payload, format, "serialize");
+        this.latency = SerdeMeters.latency(meterRegistry, payload, format, "serialize");
+    }
+
+    @Override
+    public byte[] serialize(String topic, T data) {
+        return serialize(topic, null, data);
+    }
+
+    @Override
+    public byte[] serialize(String topic, Headers headers, T data) {
+        if (data == null) {
+            return null;
+        }
+
+        long start = System.nanoTime();
+        byte[] bytes;
+        if (format == EventFormat.PROTOBUF) {
+            bytes = protobufEncoder.apply(data);
+            if (headers != null) {
+                headers.add(EventFormat.HEADER, format.headerValue());
+            }
+        } else {
+            bytes = headers != null
+                    ? jsonSerializer.serialize(topic, headers, data)
+                    : jsonSerializer.serialize(topic, data);
+        }
+
+        latency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        recordSize.record(bytes.length);
+        return bytes;
+    }
+
+    @Override
+    public void close() {
+        jsonSerializer.close();
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.policies.infrastructure.messaging.serialization;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Deserializer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Set;
+
+/**
+ * Verwirft Records anhand des Headers {@value #HEADER}, bevor der Value gelesen wird: Ist der
+ * Event-Typ nicht in {@code acceptedTypes}, wird {@code null} geliefert (kein JSON-/Protobuf-Parsing),
+ * der Container entfernt den Record danach über eine RecordFilterStrategy.
+ *
+ * Records ohne Header (ältere Producer) gehen unverändert an den Delegate.
+ *
+ * Metrik: policies.kafka.consumer.filtered{payload, event_type}.
+ */
+public class EventTypeFilteringDeserializer<T, E extends Enum<E>> implements Deserializer<T> {
+
+    public static final String HEADER = "event-type";
+
+    private final Deserializer<T> delegate;
+    private final E[] types;
+    private final byte[][] headerValues;
+    private final boolean[] accepted;
+    private final Counter[] filteredCounters;
+    private final Counter unknownCounter;
+
+    public EventTypeFilteringDeserializer(String payload,
+                                          Class<E> typeClass,
+                                          Set<E> acceptedTypes,
+                                          Deserializer<T> delegate,
+                                          MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.types = typeClass.getEnumConstants();
+        this.headerValues = new byte[types.length][];
+        this.accepted = new boolean[types.length];
+        this.filteredCounters = new Counter[types.length];
+
+        for (E type : types) {
+            headerValues[type.ordinal()] = type.name().getBytes(StandardCharsets.UTF_8);
+            accepted[type.ordinal()] = acceptedTypes.contains(type);
+            filteredCounters[type.ordinal()] = filteredCounter(meterRegistry, payload, type.name());
+        }
+        this.unknownCounter = filteredCounter(meterRegistry, payload, "UNKNOWN");
+    }
+
+    private static Counter filteredCounter(MeterRegistry meterRegistry, String payload, String eventType) {
+        return Counter.builder("policies.kafka.consumer.filtered")
+                .description("Records dropped by event-type header before value deserialization in policy-service")
+                .tag("payload", payload)
+                .tag("event_type", eventType)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public T deserialize(String topic, byte[] data) {
+        return delegate.deserialize(topic, data);
+    }
+
+    @Override
+    public T deserialize(String topic, Headers headers, byte[] data) {
+        Header header = headers != null ? headers.lastHeader(HEADER) : null;
+        if (header == null) {
+            return delegate.deserialize(topic, headers, data);
+        }
+
+        // Bytevergleich statt String-Dekodierung, es gibt nur wenige Typen
+        byte[] value = header.value();
+        for (E type : types) {
+            if (Arrays.equals(value, headerValues[type.ordinal()])) {
+                if (accepted[type.ordinal()]) {
+                    return delegate.deserialize(topic, headers, data);
+                }
+                filteredCounters[type.ordinal()].increment();
+                return null;
+            }
+        }
+
+        unknownCounter.increment();
+        return null;
+    }
+
+    @Override
+    public void close() {
+        delegate.close();
+    }
+}
@@ -3,35 +3,68 @@ package com.example.policies.infrastructure.rest;
 import com.example.policies.api.dto.PolicyResponse;
 import com.example.policies.api.mapper.PolicyDtoMapper;
 import com.example.policies.application.PolicyService;
-import io.micrometer.core.instrument.Counter;
+import com.example.policies.support.metrics.Outcome;
+import com.example.policies.support.metrics.OutcomeMeters;
 import io.micrometer.core.instrument.MeterRegistry;
-import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.http.HttpServletRequest;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Profile;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
 import java.util.UUID;
 
 @RestController
 @RequestMapping("/policies")
-@RequiredArgsConstructor
 @Slf4j
 @Profile("rest")
 public class PolicyRestController {
 
     private final PolicyService policyService;
-    private final MeterRegistry meterRegistry;
+
+    // Timer + Counter je (method, outcome), einmalig beim Start registriert
+    private final OutcomeMeters<Endpoint> meters;
+
+    // Obergrenze für GET /policies?ids=, hält findAllById unter dem Bind-Parameter-Limit von Postgres
+    private final int maxBatchIds;
+
+    public PolicyRestController(PolicyService policyService,
+                                MeterRegistry meterRegistry,
+                                @Value("${policies.batch.max-ids:1000}") int maxBatchIds) {
+        this.policyService = policyService;
+        this.maxBatchIds = maxBatchIds;
+        this.meters = OutcomeMeters.builder(Endpoint.class, "method")
+                .keyTagValue(Endpoint::tagValue)
+                .outcomes(Outcome.SUCCESS, Outcome.NOT_FOUND, Outcome.INVALID_ARGUMENT, Outcome.ERROR)
+                .timer("policies.rest.latency", "REST latency per policy REST endpoint")
+                .counter("policies.rest.requests", "REST request count per policy REST endpoint")
+                .register(meterRegistry);
+    }
+
+    enum Endpoint {
+        GET_POLICY_BY_ID("getPolicyById"),
+        GET_POLICIES_BY_IDS("getPoliciesByIds");
+
+        private final String tagValue;
+
+        Endpoint(String tagValue) {
+            this.tagValue = tagValue;
+        }
+
+        String tagValue() {
+            return tagValue;
+        }
+    }
 
     @GetMapping("/{id}")
     public ResponseEntity<PolicyResponseDto> getPolicyById(
             @PathVariable("id") UUID policyId,
             @RequestHeader(name = "X-Caller-Service", required = false) String callerService) {
 
-        Timer.Sample sample = Timer.start(meterRegistry);
-        String outcome = "success";
+        long start = System.nanoTime();
+        Outcome outcome = Outcome.SUCCESS;
 
         try {
             log.info("Received policy lookup for policyId={} from callerService={}",
@@ -39,45 +72,60 @@ public class PolicyRestController {
 
             var policyOpt = policyService.findById(policyId);
             if (policyOpt.isEmpty()) {
-                outcome = "not_found";
-                incrementRestCounter("getPolicyById", outcome);
+                outcome = Outcome.NOT_FOUND;
                 return ResponseEntity.notFound().build();
             }
 
             var policy = policyOpt.get();
             var dto = PolicyResponseDto.fromDomain(policy);
 
-            incrementRestCounter("getPolicyById", "success");
             return ResponseEntity.ok(dto);
 
         } catch (Exception ex) {
-            outcome = "error";
-            incrementRestCounter("getPolicyById", outcome);
+            outcome = Outcome.ERROR;
             log.error("Error handling REST getPolicyById for policyId {}: {}", policyId, ex.getMessage(), ex);
             throw ex;
         } finally {
-            stopRestTimer(sample, "getPolicyById", outcome);
+            meters.record(Endpoint.GET_POLICY_BY_ID, outcome, start);
         }
     }
 
-    private void stopRestTimer(Timer.Sample sample, String method, String outcome) {
-        sample.stop(
-                Timer.builder("policies.rest.latency")
-                        .description("REST latency per policy REST endpoint")
-                        .tag("method", method)
-                        .tag("outcome", outcome)
-                        .publishPercentileHistogram(true)
-                        .publishPercentiles(0.5, 0.95, 0.99)
-                        .register(meterRegistry)
-        );
-    }
+    /**
+     * Batch-Lookup: GET /policies?ids=a,b,c. Nicht gefundene IDs fehlen in der Antwort.
+     * Mehr als {@code policies.batch.max-ids} IDs werden mit 400 abgelehnt.
+     */
+    @GetMapping(params = "ids")
+    public ResponseEntity<List<PolicyResponseDto>> getPoliciesByIds(
+            @RequestParam("ids") List<UUID> policyIds,
+            @RequestHeader(name = "X-Caller-Service", required = false) String callerService) {
+
+        long start = System.nanoTime();
+        Outcome outcome = Outcome.SUCCESS;
+
+        try {
+            log.debug("Received batch policy lookup for {} policyIds from callerService={}",
+                    policyIds.size(), callerService != null ? callerService : "unknown");
+
+            if (policyIds.size() > maxBatchIds) {
+                outcome = Outcome.INVALID_ARGUMENT;
+                log.warn("Rejecting batch policy lookup with {} policyIds (max {})", policyIds.size(), maxBatchIds);
+                return ResponseEntity.badRequest().build();
+            }
 
-    private void incrementRestCounter(String method, String outcome) {
-        Counter.builder("policies.rest.requests")
-                .description("REST request count per policy REST endpoint")
-                .tag("method", method)
-                .tag("outcome", outcome)
-                .register(meterRegistry)
-                .increment();
+            List<PolicyResponseDto> policies = policyService.findAllById(policyIds.stream().distinct().toList())
+                    .stream()
+                    .map(PolicyResponseDto::fromDomain)
+                    .toList();
+
+            return ResponseEntity.ok(policies);
+
+        } catch (Exception ex) {
+            outcome = Outcome.ERROR;
+            log.error("Error handling REST getPoliciesByIds for {} policyIds: {}",
+                    policyIds.size(), ex.getMessage(), ex);
+            throw ex;
+        } finally {
+            meters.record(Endpoint.GET_POLICIES_BY_IDS, outcome, start);
+        }
     }
 }
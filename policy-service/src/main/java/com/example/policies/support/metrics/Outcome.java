@@ -0,0 +1,21 @@
+package com.example.policies.support.metrics;
+
+/**
+ * Einheitliche Outcome-Werte für Metrik-Tags. Der Tag-Wert wird einmalig berechnet,
+ * damit auf dem Hot Path kein String erzeugt wird.
+ */
+public enum Outcome {
+
+    SUCCESS,
+    ERROR,
+    EXCEPTION,
+    NOT_FOUND,
+    INVALID_ARGUMENT,
+    IGNORED;
+
+    private final String tagValue = name().toLowerCase();
+
+    public String tagValue() {
+        return tagValue;
+    }
+}
@@ -0,0 +1,178 @@
+package com.example.policies.support.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Function;
+
+/**
+ * Vorab aufgelöste Timer/Counter je (Key, {@link Outcome}), z.B. (method, outcome) oder
+ * (event_type, outcome), abgelegt in einem Array mit Index aus den Enum-Ordinals.
+ *
+ * Ersetzt das bisherige Muster {@code Timer.builder(...).tag(...).register(registry)} pro Request:
+ * {@link #record} macht keinen Registry-Lookup und erzeugt keine Objekte. Die Messung läuft über
+ * {@code System.nanoTime()} statt {@code Timer.Sample}.
+ *
+ * Es werden nur die Kombinationen aus {@code outcomes} beim Start registriert; andere Outcomes
+ * werden beim ersten Auftreten nachregistriert. Ein {@code null}-Key wird als "UNKNOWN" getaggt.
+ */
+public final class OutcomeMeters<K extends Enum<K>> {
+
+    private static final String UNKNOWN_KEY = "UNKNOWN";
+    private static final Outcome[] OUTCOMES = Outcome.values();
+
+    private final K[] keys;
+    private final AtomicReferenceArray<Timer> timers;
+    private final AtomicReferenceArray<Counter> counters;
+
+    private final Builder<K> definition;
+    private final MeterRegistry meterRegistry;
+
+    private OutcomeMeters(Builder<K> definition, MeterRegistry meterRegistry) {
+        this.definition = definition;
+        this.meterRegistry = meterRegistry;
+        this.keys = definition.keyType.getEnumConstants();
+
+        // letzter Slot je Outcome-Zeile ist für den null-Key reserviert
+        int size = (keys.length + 1) * OUTCOMES.length;
+        this.timers = definition.timerName != null ? new AtomicReferenceArray<>(size) : null;
+        this.counters = definition.counterName != null ? new AtomicReferenceArray<>(size) : null;
+
+        for (K key : keys) {
+            for (Outcome outcome : definition.outcomes) {
+                resolve(key, outcome);
+            }
+        }
+    }
+
+    public static <K extends Enum<K>> Builder<K> builder(Class<K> keyType, String keyTag) {
+        return new Builder<>(keyType, keyTag);
+    }
+
+    // -------------------------------------------------------------------------
+    // Hot Path
+    // -------------------------------------------------------------------------
+
+    /**
+     * Zählt den Request und erfasst die Dauer seit {@code startNanos} ({@code System.nanoTime()}).
+     */
+    public void record(K key, Outcome outcome, long startNanos) {
+        int index = resolve(key, outcome);
+        if (timers != null) {
+            timers.get(index).record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        }
+        if (counters != null) {
+            counters.get(index).increment();
+        }
+    }
+
+    /**
+     * Nur zählen, ohne Dauer.
+     */
+    public void increment(K key, Outcome outcome) {
+        int index = resolve(key, outcome);
+        if (counters != null) {
+            counters.get(index).increment();
+        }
+    }
+
+    // -------------------------------------------------------------------------
+    // Intern
+    // -------------------------------------------------------------------------
+
+    private int resolve(K key, Outcome outcome) {
+        int row = key != null ? key.ordinal() : keys.length;
+        int index = row * OUTCOMES.length + outcome.ordinal();
+
+        // Fast Path: bereits registriert. Ein Race beim Nachregistrieren ist harmlos,
+        // die Registry liefert für dieselbe ID dieselbe Meter-Instanz.
+        if ((timers == null || timers.get(index) != null) && (counters == null || counters.get(index) != null)) {
+            return index;
+        }
+
+        List<Tag> tags = new ArrayList<>(definition.commonTags);
+        tags.add(Tag.of(definition.keyTag, key != null ? definition.keyTagValue.apply(key) : UNKNOWN_KEY));
+        tags.add(Tag.of("outcome", outcome.tagValue()));
+
+        if (timers != null) {
+            timers.set(index, Timer.builder(definition.timerName)
+                    .description(definition.timerDescription)
+                    .tags(tags)
+                    .publishPercentileHistogram(true)
+                    .publishPercentiles(0.5, 0.95, 0.99)
+                    .register(meterRegistry));
+        }
+        if (counters != null) {
+            counters.set(index, Counter.builder(definition.counterName)
+                    .description(definition.counterDescription)
+                    .tags(tags)
+                    .register(meterRegistry));
+        }
+        return index;
+    }
+
+    // -------------------------------------------------------------------------
+    // Builder
+    // -------------------------------------------------------------------------
+
+    public static final class Builder<K extends Enum<K>> {
+
+        private final Class<K> keyType;
+        private final String keyTag;
+        private Function<K, String> keyTagValue = Enum::name;
+        private final List<Tag> commonTags = new ArrayList<>();
+        private Set<Outcome> outcomes = EnumSet.of(Outcome.SUCCESS, Outcome.ERROR);
+
+        private String timerName;
+        private String timerDescription;
+        private String counterName;
+        private String counterDescription;
+
+        private Builder(Class<K> keyType, String keyTag) {
+            this.keyType = keyType;
+            this.keyTag = keyTag;
+        }
+
+        public Builder<K> keyTagValue(Function<K, String> keyTagValue) {
+            this.keyTagValue = keyTagValue;
+            return this;
+        }
+
+        public Builder<K> tag(String key, String value) {
+            this.commonTags.add(Tag.of(key, value));
+            return this;
+        }
+
+        /**
+         * Outcomes, die beim Start für jeden Key registriert werden (Default: success, error).
+         */
+        public Builder<K> outcomes(Outcome first, Outcome... rest) {
+            this.outcomes = EnumSet.of(first, rest);
+            return this;
+        }
+
+        public Builder<K> timer(String name, String description) {
+            this.timerName = name;
+            this.timerDescription = description;
+            return this;
+        }
+
+        public Builder<K> counter(String name, String description) {
+            this.counterName = name;
+            this.counterDescription = description;
+            return this;
+        }
+
+        public OutcomeMeters<K> register(MeterRegistry meterRegistry) {
+            return new OutcomeMeters<>(this, meterRegistry);
+        }
+    }
+}
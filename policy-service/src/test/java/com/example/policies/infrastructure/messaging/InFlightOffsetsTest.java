@@ -0,0 +1,78 @@
+package com.example.policies.infrastructure.messaging;
+
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class InFlightOffsetsTest {
+
+    private final TopicPartition partition0 = new TopicPartition("claims.claim-events", 0);
+    private final TopicPartition partition1 = new TopicPartition("claims.claim-events", 1);
+    private final InFlightOffsets offsets = new InFlightOffsets();
+
+    @Test
+    void countsStartedRecordsAcrossPartitions() {
+        offsets.started(partition0, 10);
+        offsets.started(partition0, 11);
+        offsets.started(partition1, 5);
+
+        assertEquals(3, offsets.inFlight());
+        assertEquals(0, offsets.commitLag());
+    }
+
+    @Test
+    void completingInOrderLeavesNoCommitLag() {
+        offsets.started(partition0, 10);
+        offsets.started(partition0, 11);
+
+        offsets.completed(partition0, 10);
+        assertEquals(0, offsets.commitLag());
+        offsets.completed(partition0, 11);
+
+        assertEquals(0, offsets.inFlight());
+        assertEquals(0, offsets.commitLag());
+    }
+
+    @Test
+    void recordsCompletedBehindTheLowestOpenOffsetWaitForIt() {
+        offsets.started(partition0, 10);
+        offsets.started(partition0, 11);
+        offsets.started(partition0, 12);
+        offsets.started(partition0, 13);
+
+        // 11 und 12 sind fertig, committet werden kann aber erst nach 10
+        offsets.completed(partition0, 11);
+        offsets.completed(partition0, 12);
+        assertEquals(2, offsets.inFlight());
+        assertEquals(2, offsets.commitLag());
+
+        // 10 fertig: 11 und 12 sind committbar, 13 blockiert nichts dahinter
+        offsets.completed(partition0, 10);
+        assertEquals(1, offsets.inFlight());
+        assertEquals(0, offsets.commitLag());
+    }
+
+    @Test
+    void tracksCommitLagPerPartition() {
+        offsets.started(partition0, 10);
+        offsets.started(partition0, 11);
+        offsets.started(partition1, 20);
+        offsets.started(partition1, 21);
+
+        // Partition 1 ist in Ordnung, nur Partition 0 wartet auf Offset 10
+        offsets.completed(partition0, 11);
+        offsets.completed(partition1, 20);
+
+        assertEquals(2, offsets.inFlight());
+        assertEquals(1, offsets.commitLag());
+    }
+
+    @Test
+    void ignoresCompletionsForUnknownPartitions() {
+        offsets.completed(partition1, 42);
+
+        assertEquals(0, offsets.inFlight());
+        assertEquals(0, offsets.commitLag());
+    }
+}
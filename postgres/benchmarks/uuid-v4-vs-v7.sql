@@ -0,0 +1,154 @@
+-- postgres/benchmarks/uuid-v4-vs-v7.sql
+
+-- Insert-Durchsatz und Größe des Primärschlüssel-Index: UUIDv4 (gen_random_uuid) gegen UUIDv7
+-- (wie claims.ids.uuid-v7.enabled). Beide Tabellen haben den Zeilenaufbau von claims und liegen
+-- im eigenen Schema uuid_bench; eingefügt wird in Batches mit einem Commit je Batch.
+--
+-- Aufruf bei laufendem Stack (nicht Teil von init/, läuft nur manuell):
+--   docker compose exec -T postgres psql -U claims_user -d claimsdb \
+--     -v rows=10000000 -v batch=100000 < postgres/benchmarks/uuid-v4-vs-v7.sql
+--
+-- Ausgabe:
+--   1) Durchsatz je 10 % der Zeilen: v4 bricht ein, sobald der PK-Index nicht mehr in
+--      shared_buffers passt (Default im Container: 128 MB), v7 bleibt annähernd konstant
+--   2) Gesamtdurchsatz, WAL-Volumen (Full-Page-Writes durch verstreute Index-Inserts)
+--      sowie Größe von Tabelle und PK-Index
+--
+-- Das Schema bleibt für eigene Auswertungen stehen: DROP SCHEMA uuid_bench CASCADE;
+
+\set ON_ERROR_STOP on
+\if :{?rows}
+\else
+\set rows 10000000
+\endif
+\if :{?batch}
+\else
+\set batch 100000
+\endif
+
+DROP SCHEMA IF EXISTS uuid_bench CASCADE;
+CREATE SCHEMA uuid_bench;
+
+-- UUIDv7 aus einer v4: die ersten 48 Bit durch die Unix-Zeit in ms ersetzen, Version 4 -> 7
+-- (Bits 52/53 setzen). Ohne Sequenz wie im UuidV7Generator, innerhalb einer Millisekunde
+-- ist die Reihenfolge daher zufällig; am Einfügen am rechten Index-Rand ändert das nichts.
+CREATE FUNCTION uuid_bench.uuid_v7() RETURNS uuid
+    LANGUAGE sql VOLATILE AS
+$$
+SELECT encode(
+               set_bit(set_bit(
+                               overlay(uuid_send(gen_random_uuid())
+                                       PLACING substring(int8send((extract(epoch FROM clock_timestamp()) * 1000)::bigint) FROM 3)
+                                       FROM 1 FOR 6),
+                               52, 1), 53, 1),
+               'hex')::uuid
+$$;
+
+CREATE TABLE uuid_bench.claims_v4
+(
+    id                    uuid PRIMARY KEY,
+    policy_id             uuid             NOT NULL,
+    customer_id           uuid             NOT NULL,
+    description           varchar(1000)    NOT NULL,
+    reported_amount       double precision NOT NULL,
+    status                varchar(50)      NOT NULL,
+    approved              boolean          NOT NULL,
+    approved_amount       double precision,
+    decision_reason       varchar(1000),
+    policy_coverage_valid boolean,
+    customer_data_valid   boolean,
+    created_at            timestamptz      NOT NULL,
+    last_updated_at       timestamptz      NOT NULL
+);
+
+CREATE TABLE uuid_bench.claims_v7 (LIKE uuid_bench.claims_v4 INCLUDING ALL);
+
+CREATE TABLE uuid_bench.results
+(
+    variant     text             NOT NULL,
+    batch_no    int              NOT NULL,
+    rows_total  bigint           NOT NULL,
+    elapsed_ms  double precision NOT NULL,
+    wal_bytes   numeric          NOT NULL,
+    index_bytes bigint           NOT NULL,
+    PRIMARY KEY (variant, batch_no)
+);
+
+-- Ein Commit je Batch, damit Checkpoints und Full-Page-Writes wie im Betrieb anfallen
+CREATE PROCEDURE uuid_bench.run(variant text, total_rows bigint, batch_rows int)
+    LANGUAGE plpgsql AS
+$$
+DECLARE
+    batch_no   int    := 0;
+    inserted   bigint := 0;
+    batch_size int;
+    started    timestamptz;
+    wal_before pg_lsn;
+BEGIN
+    WHILE inserted < total_rows
+        LOOP
+            batch_no := batch_no + 1;
+            batch_size := least(batch_rows, total_rows - inserted);
+            started := clock_timestamp();
+            wal_before := pg_current_wal_lsn();
+
+            EXECUTE format(
+                    $sql$
+                    INSERT INTO uuid_bench.%I (id, policy_id, customer_id, description, reported_amount,
+                                              status, approved, created_at, last_updated_at)
+                    SELECT %s, gen_random_uuid(), gen_random_uuid(), 'Benchmark claim', 1000.0,
+                           'SUBMITTED', false, clock_timestamp(), clock_timestamp()
+                      FROM generate_series(1, $1)
+                    $sql$,
+                    'claims_' || variant,
+                    CASE variant WHEN 'v7' THEN 'uuid_bench.uuid_v7()' ELSE 'gen_random_uuid()' END)
+                USING batch_size;
+
+            inserted := inserted + batch_size;
+
+            INSERT INTO uuid_bench.results
+            VALUES (variant,
+                    batch_no,
+                    inserted,
+                    extract(epoch FROM clock_timestamp() - started) * 1000,
+                    pg_wal_lsn_diff(pg_current_wal_lsn(), wal_before),
+                    pg_relation_size(format('uuid_bench.claims_%s_pkey', variant)::regclass));
+            COMMIT;
+        END LOOP;
+END
+$$;
+
+\echo 'Inserting' :rows 'rows per variant in batches of' :batch '...'
+CHECKPOINT;
+CALL uuid_bench.run('v4', :rows, :batch);
+CHECKPOINT;
+CALL uuid_bench.run('v7', :rows, :batch);
+
+\echo
+\echo '== Durchsatz je 10 % der Zeilen (rows/s)'
+SELECT decile * 10                                                            AS "bis_%",
+       round(sum(batch_rows) FILTER (WHERE variant = 'v4')
+                 / (sum(elapsed_ms) FILTER (WHERE variant = 'v4') / 1000))    AS v4_rows_per_s,
+       round(sum(batch_rows) FILTER (WHERE variant = 'v7')
+                 / (sum(elapsed_ms) FILTER (WHERE variant = 'v7') / 1000))    AS v7_rows_per_s
+FROM (SELECT variant,
+             elapsed_ms,
+             rows_total - lag(rows_total, 1, 0::bigint) OVER (PARTITION BY variant ORDER BY batch_no) AS batch_rows,
+             ceil(rows_total * 10.0 / max(rows_total) OVER (PARTITION BY variant))::int              AS decile
+      FROM uuid_bench.results) r
+GROUP BY decile
+ORDER BY decile;
+
+\echo '== Gesamt'
+SELECT r.variant,
+       max(r.rows_total)                                                   AS rows,
+       round(sum(r.elapsed_ms) / 1000, 1)                                  AS seconds,
+       round(max(r.rows_total) / (sum(r.elapsed_ms) / 1000))               AS rows_per_s,
+       pg_size_pretty(sum(r.wal_bytes))                                    AS wal,
+       pg_size_pretty(pg_relation_size(format('uuid_bench.claims_%s', r.variant)::regclass))      AS table_size,
+       pg_size_pretty(pg_relation_size(format('uuid_bench.claims_%s_pkey', r.variant)::regclass)) AS pkey_size,
+       round(pg_relation_size(format('uuid_bench.claims_%s_pkey', r.variant)::regclass)
+                 / max(r.rows_total)::numeric, 1)                          AS pkey_bytes_per_row
+FROM uuid_bench.results r
+GROUP BY r.variant
+ORDER BY r.variant;